@@ -1,5 +1,6 @@
 package com.samsa;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.samsa.core.Flow;
@@ -10,14 +11,21 @@ import com.samsa.core.node.OutNode;
 import com.samsa.core.node.InOutNode;
 import com.samsa.core.port.InPort;
 import com.samsa.core.port.OutPort;
+import com.samsa.file.MappedRecordReader;
+import com.samsa.modbus.ModbusRegister;
 import com.samsa.node.in.DebugNode;
 import com.samsa.node.in.InfluxNode;
 import com.samsa.node.in.MqttOutNode;
 import com.samsa.node.in.MySqlNode;
+import com.samsa.node.inout.ChangeNode;
 import com.samsa.node.inout.DelayNode;
 import com.samsa.node.inout.FunctionNode;
+import com.samsa.node.inout.JsonParserNode;
+import com.samsa.node.inout.MySqlLookupNode;
+import com.samsa.node.inout.MySqlQueryNode;
 import com.samsa.node.inout.RangeNode;
 import com.samsa.node.inout.ReadFileNode;
+import com.samsa.node.inout.SwitchNode;
 import com.samsa.node.inout.WriteFileNode;
 import com.samsa.node.out.InjectNode;
 import com.samsa.node.out.ModbusNode;
@@ -27,7 +35,9 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -42,7 +52,11 @@ public class FlowLoader {
                 "DebugNode"), FUNCTION("FunctionNode"), INJECT(
                         "InjectNode"), INFLUX("InfluxNode"), MQTT_OUT("MqttOutNode"), MYSQL(
                                 "MysqlNode"), RANGE("RangeNode"), READ_FILE(
-                                        "ReadFileNode"), WRITE_FILE("WriterFileNode");
+                                        "ReadFileNode"), WRITE_FILE("WriterFileNode"), SWITCH(
+                                                "SwitchNode"), CHANGE("ChangeNode"), JSON_PARSER(
+                                                        "JsonParserNode"), MYSQL_QUERY(
+                                                                "MysqlQueryNode"), MYSQL_LOOKUP(
+                                                                        "MysqlLookupNode");
 
         private final String typeName;
 
@@ -210,12 +224,49 @@ public class FlowLoader {
                 case DEBUG -> new DebugNode();
                 case INFLUX -> new InfluxNode(properties.get("url").asText(),
                         properties.get("token").asText(), properties.get("org").asText(),
-                        properties.get("bucket").asText());
+                        properties.get("bucket").asText(),
+                        properties.path("batchSize").asInt(5000),
+                        properties.path("flushInterval").asLong(1000),
+                        properties.path("maxPendingBytes").asLong(16L * 1024 * 1024),
+                        properties.path("flushConcurrency").asInt(2),
+                        properties.path("gzip").asBoolean(false),
+                        properties.path("spillDir").asText(null),
+                        properties.path("spillMaxBytes").asLong(1024L * 1024 * 1024),
+                        properties.path("retryInterval").asLong(5000),
+                        properties.path("integerFields").asBoolean(false));
                 case MQTT_OUT -> new MqttOutNode(properties.get("broker").asText(),
-                        properties.get("clientId").asText());
+                        properties.get("clientId").asText(), properties.path("qos").asInt(0),
+                        properties.path("retained").asBoolean(false),
+                        properties.path("maxInflight").asInt(100),
+                        properties.path("username").asText(null),
+                        properties.path("password").asText(null),
+                        properties.path("payloadOverrides").asBoolean(false));
                 case MYSQL -> new MySqlNode(properties.get("driver").asText(),
                         properties.get("url").asText(), properties.get("userId").asText(),
-                        properties.get("password").asText(), properties.get("sql").asText());
+                        properties.get("password").asText(), properties.get("sql").asText(),
+                        properties.path("batchSize").asInt(1000),
+                        properties.path("lingerMillis").asLong(200),
+                        properties.path("multiRowValues").asBoolean(false),
+                        properties.path("upsert").asBoolean(false),
+                        properties.path("bulk").asBoolean(false),
+                        properties.path("parallelism").asInt(1));
+                case MYSQL_QUERY -> new MySqlQueryNode(properties.get("driver").asText(),
+                        properties.get("url").asText(), properties.get("userId").asText(),
+                        properties.get("password").asText(), properties.get("sql").asText(),
+                        properties.path("fetchSize").asInt(1000),
+                        properties.path("batchSize").asInt(1),
+                        properties.path("cursorFetch").asBoolean(false),
+                        properties.path("parallelism").asInt(1));
+                case MYSQL_LOOKUP -> new MySqlLookupNode(properties.get("driver").asText(),
+                        properties.get("url").asText(), properties.get("userId").asText(),
+                        properties.get("password").asText(), properties.get("sql").asText(),
+                        properties.get("keyField").asText(),
+                        properties.path("target").asText(null),
+                        properties.path("cacheSize").asInt(10000),
+                        properties.path("ttlMillis").asLong(300000),
+                        properties.path("preloadSql").asText(null),
+                        properties.path("keyColumn").asText(null),
+                        properties.path("parallelism").asInt(1));
                 case DELAY -> new DelayNode(properties.get("delay").asInt());
                 case FUNCTION -> new FunctionNode(properties.get("className").asText(),
                         properties.get("code").asText());
@@ -225,19 +276,64 @@ public class FlowLoader {
                         properties.get("outputMax").asDouble(),
                         properties.get("constrainToTarget").asBoolean());
                 case READ_FILE -> new ReadFileNode(properties.get("path").asText(),
-                        properties.get("readAllLine").asBoolean());
+                        properties.path("readAllLine").asBoolean(),
+                        ReadFileNode.Mode.valueOf(properties.path("mode")
+                                .asText(properties.path("readAllLine").asBoolean() ? "ALL_LINES"
+                                        : "FIRST_LINE")),
+                        properties.path("batchSize").asInt(1),
+                        properties.path("offsetPath").asText(null),
+                        properties.hasNonNull("framing")
+                                ? MappedRecordReader.Framing
+                                        .valueOf(properties.get("framing").asText())
+                                : null,
+                        properties.path("recordSize").asInt(64 * 1024),
+                        properties.path("delimiter").asInt('\n'),
+                        properties.path("lengthFieldSize").asInt(4),
+                        properties.path("littleEndian").asBoolean(false));
                 case WRITE_FILE -> new WriteFileNode(properties.get("path").asText(),
-                        properties.get("append").asBoolean());
+                        properties.get("append").asBoolean(),
+                        properties.path("flushCount").asInt(1000),
+                        properties.path("flushMillis").asLong(1000),
+                        properties.path("fsync").asBoolean(false),
+                        properties.path("maxBytes").asLong(0),
+                        properties.path("rotateMillis").asLong(0),
+                        properties.path("maxOpenFiles").asInt(256),
+                        properties.path("writers").asInt(1));
+                case SWITCH -> new SwitchNode(properties.path("stopOnFirstMatch").asBoolean(),
+                        Arrays.asList(mapper.convertValue(properties.get("rules"),
+                                SwitchNode.Rule[].class)));
+                case CHANGE -> new ChangeNode(Arrays.asList(
+                        mapper.convertValue(properties.get("rules"), ChangeNode.Rule[].class)));
+                case JSON_PARSER -> new JsonParserNode(
+                        properties.path("targetClass").asText(null),
+                        properties.path("streamArray").asBoolean());
                 case INJECT -> new InjectNode(properties.get("payload").asText());
                 case MODBUS -> new ModbusNode(properties.get("host").asText(),
                         properties.get("port").asInt(), properties.get("slaveId").asInt(),
                         properties.get("startOffset").asInt(),
                         properties.get("offsetInterval").asInt(),
                         properties.get("maxOffset").asInt(),
-                        properties.get("numOfRegisters").asInt());
+                        properties.get("numOfRegisters").asInt(),
+                        properties.path("pollInterval").asLong(5000),
+                        properties.path("jitter").asLong(-1),
+                        properties.path("timeout").asInt(1000),
+                        properties.path("retries").asInt(1),
+                        mapper.convertValue(properties.get("registers"),
+                                new TypeReference<List<ModbusRegister>>() {}),
+                        properties.path("maxGap").asInt(0),
+                        properties.path("changeOnly").asBoolean(false),
+                        properties.path("heartbeatInterval").asLong(60000));
                 case MQTT_IN -> new MqttInNode(properties.get("broker").asText(),
                         properties.get("clientId").asText(),
-                        mapper.convertValue(properties.get("topics"), String[].class));
+                        mapper.convertValue(properties.get("topics"), String[].class),
+                        properties.path("qos").asInt(1),
+                        properties.path("bufferCapacity").asInt(1024),
+                        MqttInNode.OverflowPolicy.valueOf(
+                                properties.path("overflowPolicy").asText("DROP_NEWEST")),
+                        properties.path("username").asText(null),
+                        properties.path("password").asText(null),
+                        properties.path("clients").asInt(1),
+                        properties.path("shareGroup").asText(null));
             };
         } catch (NullPointerException e) {
             log.error("노드 생성 중 필수 속성 누락: {}", e.getMessage(), e);
@@ -249,7 +345,8 @@ public class FlowLoader {
     }
 
     /**
-     * 노드들 간의 연결을 생성합니다.
+     * 노드들 간의 연결을 생성합니다. 연결에 {@code port}가 지정된 경우 출발 노드의 해당 규칙 출력 포트를, {@code "otherwise"}이면
+     * 어떤 규칙과도 일치하지 않은 메시지의 출력 포트를 사용합니다.
      *
      * @param connections 연결 설정
      * @param nodeMap 노드 맵
@@ -259,7 +356,8 @@ public class FlowLoader {
             try {
                 String from = connection.get("from").asText();
                 String to = connection.get("to").asText();
-                connectNodes(nodeMap.get(from), nodeMap.get(to));
+                JsonNode port = connection.path("port");
+                connectNodes(nodeMap.get(from), nodeMap.get(to), port);
             } catch (NullPointerException e) {
                 log.error("연결 생성 중 노드 정보 누락: {}", e.getMessage(), e);
                 throw new IllegalArgumentException("연결 생성 중 필요한 노드 정보가 누락되었습니다", e);
@@ -275,11 +373,12 @@ public class FlowLoader {
      *
      * @param fromNode 출발 노드
      * @param toNode 도착 노드
+     * @param port 출발 노드의 출력 포트 번호 또는 {@code "otherwise"}, 기본 출력 포트를 사용하려면 누락
      * @throws IllegalStateException 포트 연결 오류가 발생한 경우
      */
-    private static void connectNodes(Node fromNode, Node toNode) {
+    private static void connectNodes(Node fromNode, Node toNode, JsonNode port) {
         try {
-            OutPort outPort = getOutPort(fromNode);
+            OutPort outPort = getOutPort(fromNode, port);
             InPort inPort = getInPort(toNode);
 
             if (outPort != null && inPort != null) {
@@ -299,10 +398,23 @@ public class FlowLoader {
      * 노드의 출력 포트를 가져옵니다.
      *
      * @param node 노드 객체
+     * @param port 출력 포트 번호 또는 {@code "otherwise"}, 기본 출력 포트를 사용하려면 누락
      * @return 출력 포트
      * @throws IllegalStateException 출력 포트가 없으면 발생
      */
-    private static OutPort getOutPort(Node node) {
+    private static OutPort getOutPort(Node node, JsonNode port) {
+        if (!port.isMissingNode() && !port.isNull()) {
+            if (!(node instanceof SwitchNode switchNode)) {
+                throw new IllegalStateException("다중 출력 포트를 지원하지 않는 노드입니다");
+            }
+            if ("otherwise".equals(port.asText())) {
+                return switchNode.getOtherwisePort();
+            }
+            if (!port.isIntegralNumber() && !port.asText().matches("\\d+")) {
+                throw new IllegalStateException("잘못된 출력 포트입니다: " + port.asText());
+            }
+            return switchNode.getOutPort(port.asInt());
+        }
         if (node instanceof OutNode) {
             return ((OutNode) node).getPort();
         } else if (node instanceof InOutNode) {
@@ -2,6 +2,7 @@ package com.samsa;
 
 import java.nio.file.Paths;
 
+import com.samsa.admin.AdminServer;
 import com.samsa.core.Flow;
 import com.samsa.core.FlowPool;
 
@@ -46,6 +47,13 @@ public class FlowTest {
             // 흐름을 실행합니다.
             flowPool.run();
 
+            // 실행 중 FunctionNode 코드 교체 등을 위한 관리 서버는 명시적으로 켠 경우에만 시작합니다.
+            // 예: -Dnodeblue.admin.enabled=true -Dnodeblue.admin.token=... [-Dnodeblue.admin.port=8880]
+            if (Boolean.getBoolean("nodeblue.admin.enabled")) {
+                new AdminServer(flowPool, Integer.getInteger("nodeblue.admin.port", 8880),
+                        System.getProperty("nodeblue.admin.token")).start();
+            }
+
             // 실행 완료 메시지를 로그에 기록합니다.
             log.info("Flow execution completed!");
         } catch (Exception e) {
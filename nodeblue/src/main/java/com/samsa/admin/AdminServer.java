@@ -0,0 +1,242 @@
+package com.samsa.admin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsa.annotation.NodeType;
+import com.samsa.core.Flow;
+import com.samsa.core.FlowPool;
+import com.samsa.core.node.Node;
+import com.samsa.node.inout.FunctionNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 실행 중인 {@link FlowPool}을 관리하기 위한 HTTP 관리 서버입니다.
+ *
+ * <p>
+ * 제공하는 엔드포인트:
+ * </p>
+ * <ul>
+ * <li>{@code GET /nodes}: 실행 중인 모든 노드의 ID와 타입 목록</li>
+ * <li>{@code PUT /nodes/{nodeId}/code}: FunctionNode의 사용자 코드를 재컴파일하여 교체
+ * ({@code {"className": "...", "code": "..."}})</li>
+ * </ul>
+ *
+ * <p>
+ * 코드 교체는 임의의 Java 코드를 실행할 수 있으므로 서버는 기본적으로 루프백 주소에만 바인딩하며, 모든 요청에
+ * {@code Authorization: Bearer <token>} 헤더로 생성 시 지정한 토큰을 요구합니다. 토큰이 없거나 다르면 401을 응답합니다.
+ * </p>
+ *
+ * <p>
+ * 사용 예시:
+ * </p>
+ *
+ * <pre>
+ * AdminServer adminServer = new AdminServer(flowPool, 8880, token);
+ * adminServer.start();
+ * </pre>
+ */
+@Slf4j
+public class AdminServer {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String NODES_PATH = "/nodes";
+    private static final String CODE_SUFFIX = "/code";
+    private static final String BEARER = "Bearer ";
+
+    private final FlowPool flowPool;
+    private final byte[] token;
+    private final HttpServer server;
+
+    /**
+     * 루프백 주소에 바인딩하는 관리 서버를 생성합니다. 서버는 {@link #start()}를 호출해야 요청을 받기 시작합니다.
+     *
+     * @param flowPool 관리할 FlowPool
+     * @param port 바인딩할 포트 번호
+     * @param token 요청에 요구할 Bearer 토큰
+     * @throws IllegalArgumentException flowPool이 null이거나 토큰이 비어 있는 경우
+     * @throws IllegalStateException 포트 바인딩에 실패한 경우
+     */
+    public AdminServer(FlowPool flowPool, int port, String token) {
+        this(flowPool, InetAddress.getLoopbackAddress(), port, token);
+    }
+
+    /**
+     * 바인딩할 주소를 지정하여 관리 서버를 생성합니다. 서버는 {@link #start()}를 호출해야 요청을 받기 시작합니다.
+     *
+     * @param flowPool 관리할 FlowPool
+     * @param address 바인딩할 주소 (외부에 노출할 때만 루프백이 아닌 주소를 지정)
+     * @param port 바인딩할 포트 번호
+     * @param token 요청에 요구할 Bearer 토큰
+     * @throws IllegalArgumentException flowPool이나 주소가 null이거나 토큰이 비어 있는 경우
+     * @throws IllegalStateException 포트 바인딩에 실패한 경우
+     */
+    public AdminServer(FlowPool flowPool, InetAddress address, int port, String token) {
+        if (flowPool == null || address == null) {
+            throw new IllegalArgumentException("FlowPool과 바인딩 주소는 null일 수 없습니다.");
+        }
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("관리 서버 토큰이 설정되지 않았습니다.");
+        }
+        this.flowPool = flowPool;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        } catch (IOException e) {
+            log.error("관리 서버 생성 실패. Port: {}", port, e);
+            throw new IllegalStateException("관리 서버를 생성할 수 없습니다.", e);
+        }
+        server.createContext(NODES_PATH, this::handle);
+    }
+
+    /**
+     * 관리 서버를 시작합니다.
+     */
+    public void start() {
+        server.start();
+        log.info("관리 서버가 시작되었습니다. Address: {}", server.getAddress());
+    }
+
+    /**
+     * 관리 서버를 중지합니다.
+     */
+    public void stop() {
+        server.stop(0);
+        log.info("관리 서버가 중지되었습니다.");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!authorized(exchange)) {
+                log.warn("인증되지 않은 관리 요청입니다. Remote: {}, Path: {}",
+                        exchange.getRemoteAddress(), exchange.getRequestURI().getPath());
+                respond(exchange, 401, Map.of("error", "인증이 필요합니다."));
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            String nodeId = codeNodeId(path);
+
+            if (path.equals(NODES_PATH) && method.equals("GET")) {
+                listNodes(exchange);
+            } else if (nodeId != null && method.equals("PUT")) {
+                reloadFunction(exchange, nodeId);
+            } else {
+                respond(exchange, 404, Map.of("error", "지원되지 않는 요청입니다."));
+            }
+        } catch (Exception e) {
+            log.error("관리 요청 처리 중 오류 발생", e);
+            respond(exchange, 500, Map.of("error", String.valueOf(e.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean authorized(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith(BEARER)) {
+            return false;
+        }
+        byte[] presented = header.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(token, presented);
+    }
+
+    /**
+     * {@code /nodes/{nodeId}/code} 경로에서 노드 ID를 꺼냅니다.
+     *
+     * @return 노드 ID, 경로 형식이 맞지 않으면 null
+     */
+    private static String codeNodeId(String path) {
+        String prefix = NODES_PATH + "/";
+        if (!path.startsWith(prefix) || !path.endsWith(CODE_SUFFIX)
+                || path.length() <= prefix.length() + CODE_SUFFIX.length()) {
+            return null;
+        }
+        String nodeId = path.substring(prefix.length(), path.length() - CODE_SUFFIX.length());
+        return nodeId.indexOf('/') < 0 ? nodeId : null;
+    }
+
+    private void listNodes(HttpExchange exchange) throws IOException {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Flow flow : flowPool.getFlows()) {
+            for (Node node : flow.getNodes()) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("id", node.getId().toString());
+                entry.put("type", typeOf(node));
+                entry.put("status", node.getStatus().name());
+                result.add(entry);
+            }
+        }
+        respond(exchange, 200, result);
+    }
+
+    private void reloadFunction(HttpExchange exchange, String nodeId) throws IOException {
+        UUID id;
+        try {
+            id = UUID.fromString(nodeId);
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, Map.of("error", "잘못된 노드 ID입니다: " + nodeId));
+            return;
+        }
+
+        Optional<Node> node = flowPool.findNode(id);
+        if (node.isEmpty()) {
+            respond(exchange, 404, Map.of("error", "노드를 찾을 수 없습니다: " + nodeId));
+            return;
+        }
+        if (!(node.get() instanceof FunctionNode functionNode)) {
+            respond(exchange, 400, Map.of("error", "FunctionNode가 아닙니다: " + nodeId));
+            return;
+        }
+
+        JsonNode body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = MAPPER.readTree(in);
+        }
+        if (body == null || !body.hasNonNull("code")) {
+            respond(exchange, 400, Map.of("error", "'code' 필드가 필요합니다."));
+            return;
+        }
+        String className = body.hasNonNull("className") ? body.get("className").asText()
+                : functionNode.getClassName();
+
+        try {
+            functionNode.reload(className, body.get("code").asText());
+            respond(exchange, 200, Map.of("id", nodeId, "className", className));
+        } catch (IllegalStateException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            respond(exchange, 422, Map.of("error", String.valueOf(cause.getMessage())));
+        }
+    }
+
+    private static String typeOf(Node node) {
+        NodeType nodeType = node.getClass().getAnnotation(NodeType.class);
+        return nodeType != null ? nodeType.value() : node.getClass().getSimpleName();
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body)
+            throws IOException {
+        byte[] bytes = MAPPER.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
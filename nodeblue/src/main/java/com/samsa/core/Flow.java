@@ -2,6 +2,8 @@ package com.samsa.core;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import com.samsa.core.node.Node;
 
 /**
@@ -25,6 +27,16 @@ public class Flow implements Runnable {
         return List.copyOf(nodes);
     }
 
+    /**
+     * 주어진 ID를 가진 노드를 찾습니다.
+     *
+     * @param nodeId 찾을 노드의 ID
+     * @return 노드가 존재하면 해당 노드, 없으면 빈 {@code Optional}
+     */
+    public Optional<Node> findNode(UUID nodeId) {
+        return nodes.stream().filter(node -> node.getId().equals(nodeId)).findFirst();
+    }
+
     /**
      * Flow에 새로운 노드를 추가합니다.
      *
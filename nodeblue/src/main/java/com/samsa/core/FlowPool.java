@@ -5,6 +5,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.samsa.core.node.Node;
 
 /**
  * FlowPool 클래스는 여러 Flow 객체들을 관리하고 병렬로 실행하는 컨테이너입니다. 각 Flow는 독립적인 스레드에서 실행되며, FlowPool은 이들의 생명주기를
@@ -39,6 +43,31 @@ public class FlowPool implements Runnable {
         logger.info("Flow가 추가되었습니다. 현재 등록된 Flow 개수: {}", flows.size());
     }
 
+    /**
+     * 현재 등록된 모든 Flow를 반환합니다.
+     * 
+     * @return Flow 목록
+     */
+    public List<Flow> getFlows() {
+        return List.copyOf(flows);
+    }
+
+    /**
+     * 등록된 모든 Flow에서 주어진 ID를 가진 노드를 찾습니다.
+     * 
+     * @param nodeId 찾을 노드의 ID
+     * @return 노드가 존재하면 해당 노드, 없으면 빈 {@code Optional}
+     */
+    public Optional<Node> findNode(UUID nodeId) {
+        for (Flow flow : flows) {
+            Optional<Node> node = flow.findNode(nodeId);
+            if (node.isPresent()) {
+                return node;
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * FlowPool에 포함된 모든 Flow를 병렬로 실행합니다. 각 Flow는 독립적인 스레드에서 실행됩니다.
      * 
@@ -0,0 +1,237 @@
+package com.samsa.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * {@code LazyJson} 클래스는 원본 JSON 바이트를 그대로 보관하고, 필요한 필드만 요청 시점에 파싱하는 페이로드 타입입니다.
+ *
+ * <p>
+ * {@link #get(String)}은 스트리밍 파서로 요청된 경로까지만 스캔하고, 나머지 형제 값은 건너뜁니다. 한 번 읽은 경로의 값은 캐시되어 같은 경로를 다시
+ * 요청하면 파싱하지 않습니다. 바이트를 그대로 전달하는 노드(예: MQTT 발행, 파일 쓰기)는 {@link #getBytes()}를 사용하여 파싱 비용을 전혀 지불하지
+ * 않습니다.
+ * </p>
+ *
+ * <p>
+ * 하나의 메시지가 여러 파이프로 동시에 전달될 수 있으므로 캐시는 스레드 안전하게 관리됩니다.
+ * </p>
+ *
+ * <p>
+ * 사용 예시:
+ * </p>
+ *
+ * <pre>
+ * LazyJson json = LazyJson.of(mqttMessage.getPayload());
+ * Object temperature = json.get("sensor.temperature");
+ * Object first = json.get("values.0");
+ * </pre>
+ */
+public final class LazyJson implements JsonSerializable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** 경로가 존재하지 않음을 캐시에 기록하기 위한 표식 */
+    private static final Object MISSING = new Object();
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    private final Map<String, Object> cache = new ConcurrentHashMap<>();
+
+    private LazyJson(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * 바이트 배열을 감싸는 {@code LazyJson}을 생성합니다. 배열은 복사되지 않으므로 이후에 수정해서는 안 됩니다.
+     *
+     * @param bytes UTF-8 JSON 바이트
+     * @return 생성된 {@code LazyJson}
+     * @throws IllegalArgumentException bytes가 null인 경우
+     */
+    public static LazyJson of(byte[] bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("JSON 바이트는 null일 수 없습니다.");
+        }
+        return new LazyJson(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 바이트 배열의 일부 구간을 감싸는 {@code LazyJson}을 생성합니다. 배열은 복사되지 않습니다.
+     *
+     * @param bytes UTF-8 JSON 바이트
+     * @param offset 시작 위치
+     * @param length 길이
+     * @return 생성된 {@code LazyJson}
+     * @throws IllegalArgumentException bytes가 null이거나 구간이 배열 범위를 벗어난 경우
+     */
+    public static LazyJson of(byte[] bytes, int offset, int length) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("JSON 바이트는 null일 수 없습니다.");
+        }
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return new LazyJson(bytes, offset, length);
+    }
+
+    /**
+     * JSON 문자열을 감싸는 {@code LazyJson}을 생성합니다.
+     *
+     * @param json JSON 문자열
+     * @return 생성된 {@code LazyJson}
+     * @throws IllegalArgumentException json이 null인 경우
+     */
+    public static LazyJson of(String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("JSON 문자열은 null일 수 없습니다.");
+        }
+        return of(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 점(.)으로 구분된 경로의 값을 읽습니다. 숫자 세그먼트는 배열 인덱스로 해석됩니다. 빈 경로는 문서 전체를 의미합니다.
+     *
+     * <p>
+     * 객체는 {@code Map}, 배열은 {@code List}, 나머지는 {@code String}/{@code Number}/{@code Boolean}으로 반환됩니다.
+     * </p>
+     *
+     * @param path 읽을 경로 (예: {@code "sensor.temperature"}, {@code "values.0"})
+     * @return 경로의 값, 존재하지 않거나 JSON {@code null}이면 {@code null}
+     * @throws IllegalStateException JSON 형식이 잘못된 경우
+     */
+    public Object get(String path) {
+        String key = path == null ? "" : path;
+        Object value = cache.get(key);
+        if (value == null) {
+            value = scan(key);
+            cache.put(key, value == null ? MISSING : value);
+        }
+        return value == MISSING ? null : value;
+    }
+
+    /**
+     * 경로가 존재하는지 확인합니다.
+     *
+     * @param path 확인할 경로
+     * @return 경로에 JSON {@code null}이 아닌 값이 있으면 true
+     */
+    public boolean has(String path) {
+        return get(path) != null;
+    }
+
+    private Object scan(String path) {
+        String[] segments = path.isEmpty() ? new String[0] : path.split("\\.");
+        try (JsonParser parser = MAPPER.getFactory().createParser(bytes, offset, length)) {
+            JsonToken token = parser.nextToken();
+            for (String segment : segments) {
+                if (token == JsonToken.START_OBJECT) {
+                    token = seekField(parser, segment);
+                } else if (token == JsonToken.START_ARRAY && isIndex(segment)) {
+                    token = seekElement(parser, Integer.parseInt(segment));
+                } else {
+                    return null;
+                }
+                if (token == null) {
+                    return null;
+                }
+            }
+            return token == JsonToken.VALUE_NULL ? null : MAPPER.readValue(parser, Object.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("JSON 파싱 중 오류가 발생했습니다: " + path, e);
+        }
+    }
+
+    private static JsonToken seekField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (field.equals(name)) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private static JsonToken seekElement(JsonParser parser, int index) throws IOException {
+        JsonToken token = parser.nextToken();
+        for (int i = 0; token != JsonToken.END_ARRAY && token != null; i++) {
+            if (i == index) {
+                return token;
+            }
+            parser.skipChildren();
+            token = parser.nextToken();
+        }
+        return null;
+    }
+
+    private static boolean isIndex(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 원본 JSON 바이트를 반환합니다. 감싼 구간이 배열 전체인 경우 복사하지 않고 그대로 반환합니다.
+     *
+     * @return UTF-8 JSON 바이트
+     */
+    public byte[] getBytes() {
+        if (offset == 0 && length == bytes.length) {
+            return bytes;
+        }
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    /**
+     * 원본 JSON 바이트의 길이를 반환합니다.
+     *
+     * @return 바이트 길이
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * 원본 JSON 문자열을 반환합니다. 파싱하지 않고 UTF-8 디코딩만 수행합니다.
+     *
+     * @return JSON 문자열
+     */
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Jackson 직렬화 시 원본 JSON을 그대로 출력합니다.
+     */
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(toString());
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers,
+            TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+}
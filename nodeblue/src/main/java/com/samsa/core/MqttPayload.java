@@ -0,0 +1,137 @@
+package com.samsa.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.Set;
+
+/**
+ * {@code MqttPayload} 클래스는 MQTT로 수신한 메시지를 나타내는 구조화된 페이로드입니다.
+ *
+ * <p>
+ * 토픽, QoS, retained 플래그와 원본 {@code byte[]} 본문을 복사 없이 보관하며, 본문은 요청 시점에만 디코딩합니다. 읽기 전용 {@code Map}으로도
+ * 동작하므로 {@code topic}, {@code qos}, {@code retained}, {@code payload} 키로 접근할 수 있습니다. {@code payload} 키는 본문을
+ * {@link LazyJson}으로 반환하여, 하위 노드가 필요한 필드만 파싱하도록 합니다. 같은 형식을 사용하므로 {@code MqttOutNode}로 그대로 전달할 수
+ * 있으며, 이때 {@code qos}와 {@code retained} 키는 {@code MqttOutNode}의 {@code payloadOverrides}를 켠 경우에만 발행 설정으로
+ * 사용됩니다.
+ * </p>
+ */
+public final class MqttPayload extends AbstractMap<String, Object> {
+
+    public static final String TOPIC = "topic";
+    public static final String QOS = "qos";
+    public static final String RETAINED = "retained";
+    public static final String PAYLOAD = "payload";
+
+    private final String topic;
+    private final byte[] body;
+    private final int qos;
+    private final boolean retained;
+
+    private volatile LazyJson json;
+    private volatile String text;
+
+    /**
+     * 구조화된 MQTT 페이로드를 생성합니다. 본문 배열은 복사되지 않습니다.
+     *
+     * @param topic 수신 토픽
+     * @param body 원본 본문 바이트
+     * @param qos QoS 레벨
+     * @param retained retained 메시지 여부
+     * @throws IllegalArgumentException topic 또는 body가 null인 경우
+     */
+    public MqttPayload(String topic, byte[] body, int qos, boolean retained) {
+        if (topic == null || body == null) {
+            throw new IllegalArgumentException("토픽과 본문은 null일 수 없습니다.");
+        }
+        this.topic = topic;
+        this.body = body;
+        this.qos = qos;
+        this.retained = retained;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public int getQos() {
+        return qos;
+    }
+
+    public boolean isRetained() {
+        return retained;
+    }
+
+    /**
+     * 원본 본문 바이트를 반환합니다. 복사본이 아니므로 수정해서는 안 됩니다.
+     *
+     * @return 본문 바이트
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * 본문을 {@link LazyJson}으로 반환합니다. 최초 호출 시 한 번만 생성되며 파싱은 필드 접근 시점에 이루어집니다.
+     *
+     * @return 본문 JSON
+     */
+    public LazyJson getJson() {
+        LazyJson result = json;
+        if (result == null) {
+            result = LazyJson.of(body);
+            json = result;
+        }
+        return result;
+    }
+
+    /**
+     * 본문을 UTF-8 문자열로 반환합니다. 최초 호출 시 한 번만 디코딩합니다.
+     *
+     * @return 본문 문자열
+     */
+    public String getBodyAsString() {
+        String result = text;
+        if (result == null) {
+            result = new String(body, StandardCharsets.UTF_8);
+            text = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (TOPIC.equals(key)) {
+            return topic;
+        }
+        if (QOS.equals(key)) {
+            return qos;
+        }
+        if (RETAINED.equals(key)) {
+            return retained;
+        }
+        if (PAYLOAD.equals(key)) {
+            return getJson();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return TOPIC.equals(key) || QOS.equals(key) || RETAINED.equals(key)
+                || PAYLOAD.equals(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return Set.of(new SimpleImmutableEntry<>(TOPIC, topic),
+                new SimpleImmutableEntry<>(QOS, qos),
+                new SimpleImmutableEntry<>(RETAINED, retained),
+                new SimpleImmutableEntry<>(PAYLOAD, getJson()));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MqttPayload[topic=%s, qos=%d, retained=%s, payload=%s]", topic, qos,
+                retained, getBodyAsString());
+    }
+}
@@ -0,0 +1,73 @@
+package com.samsa.expression;
+
+import com.samsa.core.Message;
+
+/**
+ * 메시지에 대해 평가되는 컴파일된 표현식입니다.
+ *
+ * <p>
+ * 표현식은 Flow 로딩 시점에 {@link #compile(String)}으로 한 번 컴파일되어 클로저 트리로 변환되며, 이후 메시지마다 파싱이나 리플렉션 없이
+ * 평가됩니다. 시스템 Java 컴파일러를 사용하지 않습니다.
+ * </p>
+ *
+ * <p>
+ * 지원 문법:
+ * </p>
+ * <ul>
+ * <li>리터럴: {@code 12}, {@code 1.5}, {@code 'text'}, {@code "text"}, {@code true}, {@code false},
+ * {@code null}</li>
+ * <li>속성 접근: {@code payload}, {@code payload.topic}, {@code payload.values[0]},
+ * {@code payload['key']}</li>
+ * <li>산술: {@code + - * / %} (문자열 {@code +}는 연결)</li>
+ * <li>비교/논리: {@code == != < <= > >= && || !}, 삼항 연산자 {@code a ? b : c}</li>
+ * <li>문자열 메서드: {@code startsWith, endsWith, contains, length, toUpperCase, toLowerCase, trim,
+ * substring}</li>
+ * <li>함수: {@code number(x)}, {@code string(x)}, {@code abs(x)}, {@code min(a, b)}, {@code max(a, b)},
+ * {@code round(x)}</li>
+ * </ul>
+ *
+ * <p>
+ * 사용 예시:
+ * </p>
+ *
+ * <pre>
+ * Expression expression = Expression.compile("payload.temperature * 1.8 + 32");
+ * Object fahrenheit = expression.evaluate(message);
+ * </pre>
+ */
+@FunctionalInterface
+public interface Expression {
+
+    /**
+     * 메시지에 대해 표현식을 평가합니다.
+     *
+     * @param message 평가할 메시지
+     * @return 평가 결과
+     * @throws ExpressionException 평가 중 타입 오류 등이 발생한 경우
+     */
+    Object evaluate(Message message);
+
+    /**
+     * 표현식을 평가하여 참/거짓으로 해석합니다.
+     *
+     * @param message 평가할 메시지
+     * @return 평가 결과의 참/거짓 값
+     */
+    default boolean test(Message message) {
+        return Operators.truthy(evaluate(message));
+    }
+
+    /**
+     * 표현식 문자열을 컴파일합니다.
+     *
+     * @param source 표현식 문자열
+     * @return 컴파일된 표현식
+     * @throws ExpressionException 문법 오류가 있는 경우
+     */
+    static Expression compile(String source) {
+        if (source == null || source.isBlank()) {
+            throw new ExpressionException("표현식은 비어 있을 수 없습니다.");
+        }
+        return new ExpressionParser(source).parse();
+    }
+}
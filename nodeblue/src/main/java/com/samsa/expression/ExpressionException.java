@@ -0,0 +1,14 @@
+package com.samsa.expression;
+
+/**
+ * 표현식 컴파일 또는 평가 중 발생하는 예외입니다.
+ */
+public class ExpressionException extends RuntimeException {
+    public ExpressionException(String message) {
+        super(message);
+    }
+
+    public ExpressionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
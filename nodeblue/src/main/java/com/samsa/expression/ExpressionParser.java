@@ -0,0 +1,485 @@
+package com.samsa.expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import com.samsa.core.Message;
+
+/**
+ * 표현식 문자열을 클로저 트리({@link Expression})로 컴파일하는 재귀 하강 파서입니다.
+ *
+ * <p>
+ * 모든 피연산자가 상수인 연산은 컴파일 시점에 미리 계산됩니다(상수 폴딩).
+ * </p>
+ */
+final class ExpressionParser {
+
+    private enum TokenType {
+        NUMBER, STRING, IDENT, SYMBOL, EOF
+    }
+
+    private record Token(TokenType type, String text, int position) {
+    }
+
+    /**
+     * 컴파일 시점에 값이 결정된 상수 표현식입니다.
+     */
+    private record Constant(Object value) implements Expression {
+        @Override
+        public Object evaluate(Message message) {
+            return value;
+        }
+    }
+
+    /**
+     * {@code payload}에서 시작하는 연속된 속성 접근입니다. {@code payload.a.b}를 한 번의 경로 조회로 평가합니다.
+     */
+    private record PathAccess(String[] segments) implements Expression {
+        @Override
+        public Object evaluate(Message message) {
+            return Operators.path(message.getPayload(), segments);
+        }
+
+        PathAccess append(String name) {
+            String[] next = Arrays.copyOf(segments, segments.length + 1);
+            next[segments.length] = name;
+            return new PathAccess(next);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BinaryOperator {
+        Object apply(Object left, Object right);
+    }
+
+    private final String source;
+    private final List<Token> tokens;
+    private int current;
+
+    ExpressionParser(String source) {
+        this.source = source;
+        this.tokens = tokenize(source);
+    }
+
+    /**
+     * 전체 표현식을 컴파일합니다.
+     *
+     * @return 컴파일된 표현식
+     * @throws ExpressionException 문법 오류가 있는 경우
+     */
+    Expression parse() {
+        Expression expression = ternary();
+        if (peek().type() != TokenType.EOF) {
+            throw error("예상하지 못한 토큰 '" + peek().text() + "'");
+        }
+        return expression;
+    }
+
+    private Expression ternary() {
+        Expression condition = or();
+        if (!match("?")) {
+            return condition;
+        }
+        Expression whenTrue = ternary();
+        expect(":");
+        Expression whenFalse = ternary();
+        if (condition instanceof Constant c) {
+            return Operators.truthy(c.value()) ? whenTrue : whenFalse;
+        }
+        return message -> Operators.truthy(condition.evaluate(message))
+                ? whenTrue.evaluate(message)
+                : whenFalse.evaluate(message);
+    }
+
+    private Expression or() {
+        Expression left = and();
+        while (match("||")) {
+            Expression l = left;
+            Expression r = and();
+            left = fold(message -> Operators.truthy(l.evaluate(message))
+                    || Operators.truthy(r.evaluate(message)), l, r);
+        }
+        return left;
+    }
+
+    private Expression and() {
+        Expression left = equality();
+        while (match("&&")) {
+            Expression l = left;
+            Expression r = equality();
+            left = fold(message -> Operators.truthy(l.evaluate(message))
+                    && Operators.truthy(r.evaluate(message)), l, r);
+        }
+        return left;
+    }
+
+    private Expression equality() {
+        Expression left = comparison();
+        while (true) {
+            if (match("==")) {
+                left = binary(left, comparison(), Operators::equal);
+            } else if (match("!=")) {
+                left = binary(left, comparison(), (l, r) -> !Operators.equal(l, r));
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression comparison() {
+        Expression left = additive();
+        while (true) {
+            if (match("<=")) {
+                left = binary(left, additive(), (l, r) -> Operators.compare(l, r) <= 0);
+            } else if (match(">=")) {
+                left = binary(left, additive(), (l, r) -> Operators.compare(l, r) >= 0);
+            } else if (match("<")) {
+                left = binary(left, additive(), (l, r) -> Operators.compare(l, r) < 0);
+            } else if (match(">")) {
+                left = binary(left, additive(), (l, r) -> Operators.compare(l, r) > 0);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression additive() {
+        Expression left = multiplicative();
+        while (true) {
+            if (match("+")) {
+                left = binary(left, multiplicative(), Operators::add);
+            } else if (match("-")) {
+                left = binary(left, multiplicative(), Operators::subtract);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression multiplicative() {
+        Expression left = unary();
+        while (true) {
+            if (match("*")) {
+                left = binary(left, unary(), Operators::multiply);
+            } else if (match("/")) {
+                left = binary(left, unary(), Operators::divide);
+            } else if (match("%")) {
+                left = binary(left, unary(), Operators::modulo);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression unary() {
+        if (match("!")) {
+            Expression operand = unary();
+            return fold(message -> !Operators.truthy(operand.evaluate(message)), operand);
+        }
+        if (match("-")) {
+            Expression operand = unary();
+            return fold(message -> Operators.negate(operand.evaluate(message)), operand);
+        }
+        return postfix(primary());
+    }
+
+    private Expression postfix(Expression target) {
+        while (true) {
+            if (match(".")) {
+                String name = expectIdentifier();
+                if (match("(")) {
+                    target = method(target, name, arguments());
+                } else if (target instanceof PathAccess path) {
+                    target = path.append(name);
+                } else {
+                    Expression t = target;
+                    target = fold(message -> Operators.property(t.evaluate(message), name), t);
+                }
+            } else if (match("[")) {
+                Expression t = target;
+                Expression key = ternary();
+                expect("]");
+                target = binary(t, key, Operators::index);
+            } else {
+                return target;
+            }
+        }
+    }
+
+    private Expression primary() {
+        Token token = advance();
+        switch (token.type()) {
+            case NUMBER:
+                try {
+                    return new Constant(parseNumber(token.text()));
+                } catch (NumberFormatException e) {
+                    throw error("잘못된 숫자입니다: " + token.text(), token.position());
+                }
+            case STRING:
+                return new Constant(token.text());
+            case IDENT:
+                return identifier(token.text());
+            case SYMBOL:
+                if (token.text().equals("(")) {
+                    Expression inner = ternary();
+                    expect(")");
+                    return inner;
+                }
+                break;
+            default:
+                break;
+        }
+        throw error("예상하지 못한 토큰 '" + token.text() + "'", token.position());
+    }
+
+    private Expression identifier(String name) {
+        switch (name) {
+            case "true":
+                return new Constant(Boolean.TRUE);
+            case "false":
+                return new Constant(Boolean.FALSE);
+            case "null":
+                return new Constant(null);
+            case "payload":
+                return new PathAccess(new String[0]);
+            default:
+                break;
+        }
+        if (match("(")) {
+            return function(name, arguments());
+        }
+        throw error("알 수 없는 식별자 '" + name + "'");
+    }
+
+    private List<Expression> arguments() {
+        List<Expression> args = new ArrayList<>();
+        if (match(")")) {
+            return args;
+        }
+        do {
+            args.add(ternary());
+        } while (match(","));
+        expect(")");
+        return args;
+    }
+
+    private Expression function(String name, List<Expression> args) {
+        switch (name) {
+            case "number":
+                checkArity(name, args, 1);
+                return unaryCall(args, Operators::toNumber);
+            case "string":
+                checkArity(name, args, 1);
+                return unaryCall(args, String::valueOf);
+            case "abs":
+                checkArity(name, args, 1);
+                return unaryCall(args, v -> Math.abs(Operators.toNumber(v).doubleValue()));
+            case "round":
+                checkArity(name, args, 1);
+                return unaryCall(args, v -> Math.round(Operators.toNumber(v).doubleValue()));
+            case "min":
+                checkArity(name, args, 2);
+                return binary(args.get(0), args.get(1),
+                        (l, r) -> Operators.compare(l, r) <= 0 ? l : r);
+            case "max":
+                checkArity(name, args, 2);
+                return binary(args.get(0), args.get(1),
+                        (l, r) -> Operators.compare(l, r) >= 0 ? l : r);
+            default:
+                throw error("알 수 없는 함수 '" + name + "'");
+        }
+    }
+
+    private Expression method(Expression target, String name, List<Expression> args) {
+        List<Expression> self = List.of(target);
+        switch (name) {
+            case "startsWith":
+                checkArity(name, args, 1);
+                return binary(target, args.get(0), (s, p) -> text(s).startsWith(text(p)));
+            case "endsWith":
+                checkArity(name, args, 1);
+                return binary(target, args.get(0), (s, p) -> text(s).endsWith(text(p)));
+            case "contains":
+                checkArity(name, args, 1);
+                return binary(target, args.get(0), (s, p) -> text(s).contains(text(p)));
+            case "length":
+                checkArity(name, args, 0);
+                return unaryCall(self, s -> (long) text(s).length());
+            case "toUpperCase":
+                checkArity(name, args, 0);
+                return unaryCall(self, s -> text(s).toUpperCase());
+            case "toLowerCase":
+                checkArity(name, args, 0);
+                return unaryCall(self, s -> text(s).toLowerCase());
+            case "trim":
+                checkArity(name, args, 0);
+                return unaryCall(self, s -> text(s).trim());
+            case "substring":
+                if (args.size() == 1) {
+                    return binary(target, args.get(0),
+                            (s, b) -> text(s).substring(Operators.toNumber(b).intValue()));
+                }
+                checkArity(name, args, 2);
+                Expression begin = args.get(0);
+                Expression end = args.get(1);
+                return fold(message -> text(target.evaluate(message)).substring(
+                        Operators.toNumber(begin.evaluate(message)).intValue(),
+                        Operators.toNumber(end.evaluate(message)).intValue()), target, begin, end);
+            default:
+                throw error("알 수 없는 메서드 '" + name + "'");
+        }
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            throw new ExpressionException("null 값에 문자열 메서드를 호출할 수 없습니다.");
+        }
+        return value.toString();
+    }
+
+    private Expression unaryCall(List<Expression> args, Function<Object, Object> function) {
+        Expression operand = args.get(0);
+        return fold(message -> function.apply(operand.evaluate(message)), operand);
+    }
+
+    private Expression binary(Expression left, Expression right, BinaryOperator operator) {
+        return fold(message -> operator.apply(left.evaluate(message), right.evaluate(message)),
+                left, right);
+    }
+
+    /**
+     * 모든 피연산자가 상수이면 표현식을 미리 평가하여 상수로 대체합니다.
+     */
+    private Expression fold(Expression expression, Expression... operands) {
+        for (Expression operand : operands) {
+            if (!(operand instanceof Constant)) {
+                return expression;
+            }
+        }
+        try {
+            return new Constant(expression.evaluate(null));
+        } catch (ExpressionException e) {
+            throw error(e.getMessage());
+        }
+    }
+
+    private void checkArity(String name, List<Expression> args, int expected) {
+        if (args.size() != expected) {
+            throw error(String.format("'%s'는 %d개의 인자가 필요합니다", name, expected));
+        }
+    }
+
+    private static Object parseNumber(String text) {
+        if (text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+            return Double.parseDouble(text);
+        }
+        return Long.parseLong(text);
+    }
+
+    private boolean match(String symbol) {
+        Token token = peek();
+        if (token.type() == TokenType.SYMBOL && token.text().equals(symbol)) {
+            current++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if (!match(symbol)) {
+            throw error("'" + symbol + "'가 필요합니다");
+        }
+    }
+
+    private String expectIdentifier() {
+        Token token = advance();
+        if (token.type() != TokenType.IDENT) {
+            throw error("속성 이름이 필요합니다", token.position());
+        }
+        return token.text();
+    }
+
+    private Token peek() {
+        return tokens.get(current);
+    }
+
+    private Token advance() {
+        Token token = tokens.get(current);
+        if (token.type() != TokenType.EOF) {
+            current++;
+        }
+        return token;
+    }
+
+    private ExpressionException error(String reason) {
+        return error(reason, peek().position());
+    }
+
+    private ExpressionException error(String reason, int position) {
+        return new ExpressionException(
+                String.format("표현식 오류: %s (위치 %d): %s", reason, position, source));
+    }
+
+    private List<Token> tokenize(String text) {
+        List<Token> result = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < text.length() && (Character.isDigit(text.charAt(i))
+                        || text.charAt(i) == '.' || text.charAt(i) == 'e'
+                        || text.charAt(i) == 'E')) {
+                    i++;
+                    // 지수의 부호 (예: 1e-5)
+                    char previous = text.charAt(i - 1);
+                    if ((previous == 'e' || previous == 'E') && i < text.length()
+                            && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                        i++;
+                    }
+                }
+                result.add(new Token(TokenType.NUMBER, text.substring(start, i), start));
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+                while (i < text.length() && Character.isJavaIdentifierPart(text.charAt(i))) {
+                    i++;
+                }
+                result.add(new Token(TokenType.IDENT, text.substring(start, i), start));
+            } else if (c == '\'' || c == '"') {
+                int start = i++;
+                StringBuilder value = new StringBuilder();
+                while (i < text.length() && text.charAt(i) != c) {
+                    if (text.charAt(i) == '\\' && i + 1 < text.length()) {
+                        i++;
+                    }
+                    value.append(text.charAt(i++));
+                }
+                if (i >= text.length()) {
+                    throw new ExpressionException(
+                            String.format("표현식 오류: 닫히지 않은 문자열 (위치 %d): %s", start, text));
+                }
+                i++;
+                result.add(new Token(TokenType.STRING, value.toString(), start));
+            } else {
+                String two = i + 1 < text.length() ? text.substring(i, i + 2) : "";
+                if (two.equals("==") || two.equals("!=") || two.equals("<=") || two.equals(">=")
+                        || two.equals("&&") || two.equals("||")) {
+                    result.add(new Token(TokenType.SYMBOL, two, i));
+                    i += 2;
+                } else if ("+-*/%<>!?:.,()[]".indexOf(c) >= 0) {
+                    result.add(new Token(TokenType.SYMBOL, String.valueOf(c), i));
+                    i++;
+                } else {
+                    throw new ExpressionException(
+                            String.format("표현식 오류: 알 수 없는 문자 '%c' (위치 %d): %s", c, i, text));
+                }
+            }
+        }
+        result.add(new Token(TokenType.EOF, "<끝>", text.length()));
+        return result;
+    }
+}
@@ -0,0 +1,183 @@
+package com.samsa.expression;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.samsa.core.LazyJson;
+
+/**
+ * 표현식 평가에 사용되는 연산자 구현입니다. 정수끼리의 연산은 {@code long}으로, 그 외 숫자 연산은 {@code double}로 계산합니다.
+ */
+final class Operators {
+
+    private Operators() {
+        throw new UnsupportedOperationException("Operators는 인스턴스를 생성할 수 없습니다.");
+    }
+
+    static boolean truthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        if (value instanceof Number n) {
+            return n.doubleValue() != 0;
+        }
+        if (value instanceof CharSequence s) {
+            return s.length() > 0;
+        }
+        return true;
+    }
+
+    static Object add(Object left, Object right) {
+        if (left instanceof CharSequence || right instanceof CharSequence) {
+            return String.valueOf(left) + right;
+        }
+        if (isIntegral(left) && isIntegral(right)) {
+            return toNumber(left).longValue() + toNumber(right).longValue();
+        }
+        return toNumber(left).doubleValue() + toNumber(right).doubleValue();
+    }
+
+    static Object subtract(Object left, Object right) {
+        if (isIntegral(left) && isIntegral(right)) {
+            return toNumber(left).longValue() - toNumber(right).longValue();
+        }
+        return toNumber(left).doubleValue() - toNumber(right).doubleValue();
+    }
+
+    static Object multiply(Object left, Object right) {
+        if (isIntegral(left) && isIntegral(right)) {
+            return toNumber(left).longValue() * toNumber(right).longValue();
+        }
+        return toNumber(left).doubleValue() * toNumber(right).doubleValue();
+    }
+
+    static Object divide(Object left, Object right) {
+        return toNumber(left).doubleValue() / divisor(right);
+    }
+
+    static Object modulo(Object left, Object right) {
+        if (isIntegral(left) && isIntegral(right)) {
+            long divisor = toNumber(right).longValue();
+            if (divisor == 0) {
+                throw new ExpressionException("0으로 나눌 수 없습니다.");
+            }
+            return toNumber(left).longValue() % divisor;
+        }
+        return toNumber(left).doubleValue() % divisor(right);
+    }
+
+    private static double divisor(Object value) {
+        double divisor = toNumber(value).doubleValue();
+        if (divisor == 0) {
+            throw new ExpressionException("0으로 나눌 수 없습니다.");
+        }
+        return divisor;
+    }
+
+    static Object negate(Object value) {
+        if (isIntegral(value)) {
+            return -toNumber(value).longValue();
+        }
+        return -toNumber(value).doubleValue();
+    }
+
+    static boolean equal(Object left, Object right) {
+        if (left instanceof Number l && right instanceof Number r) {
+            return l.doubleValue() == r.doubleValue();
+        }
+        if (left instanceof CharSequence && right instanceof CharSequence) {
+            return left.toString().equals(right.toString());
+        }
+        return Objects.equals(left, right);
+    }
+
+    static int compare(Object left, Object right) {
+        if (left instanceof Number l && right instanceof Number r) {
+            return Double.compare(l.doubleValue(), r.doubleValue());
+        }
+        if (left instanceof CharSequence && right instanceof CharSequence) {
+            return left.toString().compareTo(right.toString());
+        }
+        if (left == null || right == null) {
+            throw new ExpressionException("null 값은 비교할 수 없습니다.");
+        }
+        return Double.compare(toNumber(left).doubleValue(), toNumber(right).doubleValue());
+    }
+
+    /**
+     * 객체의 속성 값을 읽습니다. {@code Map}은 키로, {@code List}와 문자열은 {@code length}/{@code size}로 접근합니다.
+     */
+    static Object property(Object target, String name) {
+        if (target instanceof LazyJson json) {
+            return json.get(name);
+        }
+        if (target instanceof Map<?, ?> map) {
+            return map.get(name);
+        }
+        if (target instanceof List<?> list && (name.equals("length") || name.equals("size"))) {
+            return (long) list.size();
+        }
+        if (target instanceof CharSequence s && name.equals("length")) {
+            return (long) s.length();
+        }
+        return null;
+    }
+
+    /**
+     * 속성 경로를 따라 값을 읽습니다. 중간에 {@link LazyJson}을 만나면 남은 경로를 한 번의 스캔으로 읽어 불필요한 파싱을 피합니다.
+     */
+    static Object path(Object target, String[] segments) {
+        Object current = target;
+        for (int i = 0; i < segments.length; i++) {
+            if (current instanceof LazyJson json) {
+                return json.get(String.join(".", Arrays.copyOfRange(segments, i,
+                        segments.length)));
+            }
+            current = property(current, segments[i]);
+        }
+        return current;
+    }
+
+    static Object index(Object target, Object key) {
+        if (target instanceof List<?> list && key instanceof Number n) {
+            int i = n.intValue();
+            return i >= 0 && i < list.size() ? list.get(i) : null;
+        }
+        if (target instanceof Object[] array && key instanceof Number n) {
+            int i = n.intValue();
+            return i >= 0 && i < array.length ? array[i] : null;
+        }
+        return property(target, String.valueOf(key));
+    }
+
+    static Number toNumber(Object value) {
+        if (value instanceof Number n) {
+            return n;
+        }
+        if (value instanceof Boolean b) {
+            return b ? 1L : 0L;
+        }
+        if (value instanceof CharSequence s) {
+            String text = s.toString().trim();
+            try {
+                if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+                    return Long.parseLong(text);
+                }
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                throw new ExpressionException("숫자로 변환할 수 없습니다: " + text, e);
+            }
+        }
+        throw new ExpressionException("숫자로 변환할 수 없습니다: " + value);
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte;
+    }
+}
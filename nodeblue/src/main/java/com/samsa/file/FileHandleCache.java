@@ -0,0 +1,189 @@
+package com.samsa.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 파일별 {@link GroupCommitWriter}를 최대 {@code maxOpenFiles}개까지 열어 두는 LRU 캐시입니다.
+ *
+ * <p>
+ * 가장 오래 사용하지 않은 파일부터 모인 라인을 기록한 뒤 닫습니다. 닫힌 파일에 다시 기록하면 새로 열어 뒤에 이어 씁니다. 같은 파일은 하나의 캐시에서만
+ * 열어야 합니다. 메서드는 동기화되어 있어 기록 스레드와 타이머 스레드가 함께 사용할 수 있습니다.
+ * </p>
+ */
+@Slf4j
+public class FileHandleCache implements AutoCloseable {
+
+    private final int maxOpenFiles;
+    private final boolean append;
+    private final int flushCount;
+    private final long flushMillis;
+    private final boolean fsync;
+    private final long maxBytes;
+    private final long rotateMillis;
+    private final Map<Path, GroupCommitWriter> writers;
+
+    private long evictionCount;
+    private long retiredFlushCount;
+    private long retiredRotationCount;
+
+    /**
+     * 캐시를 생성합니다. 나머지 인자는 {@link GroupCommitWriter}에 그대로 전달됩니다.
+     *
+     * @param maxOpenFiles 동시에 열어 둘 최대 파일 수
+     * @param append false이면 파일을 새로 열 때마다 기존 내용을 지우므로, 닫혔다 다시 열릴 수 있는 여러 파일에는 true를 사용해야 함
+     * @param flushCount 파일에 기록하기 전에 모을 최대 라인 수
+     * @param flushMillis 모인 라인을 기록하기까지의 최대 대기 시간 (ms)
+     * @param fsync 기록할 때마다 디스크 동기화를 수행할지 여부
+     * @param maxBytes 파일 교체 크기 (바이트), 0 이하이면 교체 안 함
+     * @param rotateMillis 파일 교체 주기 (ms), 0 이하이면 교체 안 함
+     * @throws IllegalArgumentException maxOpenFiles가 0 이하인 경우
+     */
+    public FileHandleCache(int maxOpenFiles, boolean append, int flushCount, long flushMillis,
+            boolean fsync, long maxBytes, long rotateMillis) {
+        if (maxOpenFiles <= 0) {
+            throw new IllegalArgumentException("maxOpenFiles는 0보다 커야 합니다: " + maxOpenFiles);
+        }
+        this.maxOpenFiles = maxOpenFiles;
+        this.append = append;
+        this.flushCount = flushCount;
+        this.flushMillis = flushMillis;
+        this.fsync = fsync;
+        this.maxBytes = maxBytes;
+        this.rotateMillis = rotateMillis;
+        this.writers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, GroupCommitWriter> eldest) {
+                if (size() <= FileHandleCache.this.maxOpenFiles) {
+                    return false;
+                }
+                retire(eldest.getValue());
+                evictionCount++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 파일에 라인 하나를 추가합니다. 파일이 열려 있지 않으면 열고, 열린 파일이 maxOpenFiles를 넘으면 가장 오래 사용하지 않은 파일을 닫습니다.
+     *
+     * @param path 기록할 파일
+     * @param line 기록할 라인 (줄바꿈 제외)
+     * @throws IOException 파일 열기, 기록 또는 교체에 실패한 경우
+     */
+    public synchronized void write(Path path, CharSequence line) throws IOException {
+        writer(path).write(line);
+    }
+
+    /**
+     * 파일에 바이트 레코드 하나를 인코딩 없이 추가합니다. 파일을 열고 닫는 방식은 {@link #write(Path, CharSequence)}와 같습니다.
+     *
+     * @param path 기록할 파일
+     * @param record 기록할 바이트 (줄바꿈 제외)
+     * @throws IOException 파일 열기, 기록 또는 교체에 실패한 경우
+     */
+    public synchronized void write(Path path, ByteBuffer record) throws IOException {
+        writer(path).write(record);
+    }
+
+    private GroupCommitWriter writer(Path path) {
+        GroupCommitWriter writer = writers.get(path);
+        if (writer == null) {
+            writer = new GroupCommitWriter(path, append, flushCount, flushMillis, fsync, maxBytes,
+                    rotateMillis);
+            writers.put(path, writer);
+        }
+        return writer;
+    }
+
+    /**
+     * 열린 모든 파일에 대해 {@link GroupCommitWriter#flushIfDue(long)}를 호출합니다. 한 파일의 실패가 다른 파일의 기록을 막지 않습니다.
+     *
+     * @param now 현재 시각 (epoch ms)
+     */
+    public void flushIfDue(long now) {
+        for (GroupCommitWriter writer : snapshot()) {
+            try {
+                writer.flushIfDue(now);
+            } catch (IOException e) {
+                log.error("주기적 파일 쓰기 실패: {}, 오류: {}", writer.getPath(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private synchronized List<GroupCommitWriter> snapshot() {
+        return new ArrayList<>(writers.values());
+    }
+
+    private void retire(GroupCommitWriter writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.error("파일 닫기 실패: {}, 오류: {}", writer.getPath(), e.getMessage(), e);
+        }
+        retiredFlushCount += writer.getFlushCount();
+        retiredRotationCount += writer.getRotationCount();
+    }
+
+    /**
+     * 모든 파일의 모인 라인을 기록하고 닫습니다.
+     */
+    @Override
+    public synchronized void close() {
+        for (GroupCommitWriter writer : writers.values()) {
+            retire(writer);
+        }
+        writers.clear();
+    }
+
+    /**
+     * 현재 열린 파일 수를 반환합니다.
+     *
+     * @return 열린 파일 수
+     */
+    public synchronized int size() {
+        return writers.size();
+    }
+
+    /**
+     * 캐시가 가득 차 닫은 파일 수를 반환합니다.
+     *
+     * @return 닫은 파일 수
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 닫은 파일을 포함해 파일에 묶음 기록한 횟수를 반환합니다.
+     *
+     * @return 묶음 기록 횟수
+     */
+    public synchronized long getFlushCount() {
+        long total = retiredFlushCount;
+        for (GroupCommitWriter writer : writers.values()) {
+            total += writer.getFlushCount();
+        }
+        return total;
+    }
+
+    /**
+     * 닫은 파일을 포함해 파일을 교체한 횟수를 반환합니다.
+     *
+     * @return 교체 횟수
+     */
+    public synchronized long getRotationCount() {
+        long total = retiredRotationCount;
+        for (GroupCommitWriter writer : writers.values()) {
+            total += writer.getRotationCount();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,324 @@
+package com.samsa.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 계속 커지는 텍스트 파일의 끝을 따라가며 새로 추가된 줄을 전달합니다 ({@code tail -F}).
+ *
+ * <p>
+ * 파일 끝에 도달하면 상위 디렉터리의 {@link WatchService} 이벤트를 기다렸다가 다시 읽습니다. 일부 파일 시스템에서는 이벤트가 누락되거나
+ * 늦게 오므로 {@value #WATCH_TIMEOUT_MILLIS}ms마다 이벤트가 없어도 확인합니다. 파일이 이름 변경 후 새로 생성되는 방식으로 교체되면 이전
+ * 파일의 남은 줄을 모두 읽은 뒤 새 파일의 처음부터 읽고, 파일이 잘리면(copytruncate) 처음부터 다시 읽습니다. 파일 교체는 파일 키(inode)로
+ * 판단합니다.
+ * </p>
+ *
+ * <p>
+ * 전달을 마친 줄의 끝 위치는 파일 키와 함께 {@code offsetPath}에 저장되어, 재시작하면 같은 파일의 그 위치부터 이어서 읽습니다. 줄바꿈으로 끝나지
+ * 않은 마지막 줄은 완성될 때까지 전달하지 않으며, 저장 위치에도 포함하지 않습니다. 위치는 최대 {@value #SAVE_INTERVAL_MILLIS}ms마다, 그리고
+ * 파일 끝에 도달할 때마다 저장합니다.
+ * </p>
+ */
+@Slf4j
+public class FileTailer {
+
+    private static final long WATCH_TIMEOUT_MILLIS = 1000;
+    private static final long SAVE_INTERVAL_MILLIS = 1000;
+
+    private final Path path;
+    private final Path offsetPath;
+    private final ByteBuffer readBuffer;
+
+    private FileChannel channel;
+    private String fileKey;
+    /**
+     * 처음으로 파일 열기를 시도했는지 여부입니다. 이후에 여는 파일(나중에 생성되었거나 교체된 파일)은 처음부터 읽습니다.
+     */
+    private boolean started;
+    private byte[] line = new byte[256];
+    private int lineLength;
+    /**
+     * 전달을 마친 마지막 줄의 다음 위치입니다.
+     */
+    private volatile long committed;
+    private long savedOffset = -1;
+    private long savedAt;
+
+    private volatile long lineCount;
+    private volatile long rotationCount;
+
+    /**
+     * 파일 추적기를 생성합니다.
+     *
+     * @param path 따라갈 파일
+     * @param offsetPath 읽은 위치를 저장할 파일, null이면 저장하지 않고 시작 시 이미 있던 파일은 끝에서부터 읽음
+     * @param bufferSize 한 번에 읽을 바이트 수
+     * @throws IllegalArgumentException 경로가 null이거나 bufferSize가 0 이하인 경우
+     */
+    public FileTailer(Path path, Path offsetPath, int bufferSize) {
+        if (path == null) {
+            throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize는 0보다 커야 합니다: " + bufferSize);
+        }
+        this.path = path.toAbsolutePath();
+        this.offsetPath = offsetPath;
+        this.readBuffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * 스레드가 인터럽트될 때까지 파일을 따라가며 줄을 전달합니다. 종료 시 읽은 위치를 저장합니다.
+     *
+     * @param handler 줄을 받을 함수, 하위 파이프가 가득 차면 대기할 수 있음
+     * @throws IOException 디렉터리 감시 또는 파일 읽기에 실패한 경우
+     */
+    public void run(Consumer<String> handler) throws IOException {
+        Path directory = path.getParent();
+        try (WatchService watcher = directory.getFileSystem().newWatchService()) {
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            while (!Thread.currentThread().isInterrupted()) {
+                if (channel == null && !open()) {
+                    await(watcher);
+                    continue;
+                }
+                if (drain(handler)) {
+                    saveOffset(false);
+                    continue;
+                }
+                saveOffset(true);
+                if (!checkRotation(handler)) {
+                    await(watcher);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            saveOffset(true);
+            closeChannel();
+        }
+    }
+
+    /**
+     * 파일을 열고 저장된 위치로 이동합니다. 저장된 위치가 없거나 다른 파일의 것이면 처음부터 읽습니다. {@code offsetPath}를 지정하지
+     * 않았으면 시작 시 이미 있던 파일만 끝부터 읽고, 나중에 생성되었거나 교체 후 다시 연 파일은 처음부터 읽어 그사이 기록된 줄을 놓치지 않습니다.
+     *
+     * @return 파일을 열었으면 true, 파일이 아직 없으면 false
+     */
+    private boolean open() throws IOException {
+        boolean existedAtStart = !started;
+        started = true;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        fileKey = fileKey(path);
+        long size = channel.size();
+        long start;
+        if (offsetPath != null) {
+            start = restoreOffset(size);
+        } else {
+            start = existedAtStart ? size : 0;
+        }
+        channel.position(start);
+        committed = start;
+        lineLength = 0;
+        log.info("파일 추적 시작: {}, 위치: {}/{}", path, start, size);
+        return true;
+    }
+
+    private long restoreOffset(long size) throws IOException {
+        if (!Files.exists(offsetPath)) {
+            return 0;
+        }
+        String[] saved = Files.readString(offsetPath, StandardCharsets.UTF_8).trim().split("\t");
+        if (saved.length != 2 || !saved[0].equals(fileKey)) {
+            log.info("저장된 위치가 다른 파일의 것이므로 처음부터 읽습니다: {}", path);
+            return 0;
+        }
+        long offset = Long.parseLong(saved[1]);
+        return offset <= size ? offset : 0;
+    }
+
+    /**
+     * 현재 파일에서 읽을 수 있는 내용을 모두 읽어 완성된 줄을 전달합니다.
+     *
+     * @return 새로 읽은 내용이 있으면 true
+     */
+    private boolean drain(Consumer<String> handler) throws IOException {
+        boolean read = false;
+        while (channel.read(readBuffer) > 0) {
+            read = true;
+            readBuffer.flip();
+            long bufferStart = channel.position() - readBuffer.remaining();
+            while (readBuffer.hasRemaining()) {
+                byte b = readBuffer.get();
+                if (b != '\n') {
+                    append(b);
+                    continue;
+                }
+                int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1
+                        : lineLength;
+                lineLength = 0;
+                committed = bufferStart + readBuffer.position();
+                lineCount++;
+                handler.accept(new String(line, 0, length, StandardCharsets.UTF_8));
+            }
+            readBuffer.clear();
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+        return read;
+    }
+
+    private void append(byte b) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = b;
+    }
+
+    /**
+     * 파일이 교체되었거나 잘렸는지 확인하고, 그렇다면 새 파일의 처음부터 읽도록 준비합니다.
+     *
+     * @return 교체 또는 잘림을 처리했으면 true
+     */
+    private boolean checkRotation(Consumer<String> handler) throws IOException {
+        String currentKey;
+        try {
+            currentKey = fileKey(path);
+        } catch (NoSuchFileException e) {
+            // 이름이 바뀐 뒤 새 파일이 아직 생성되지 않았습니다.
+            return false;
+        }
+        if (!Objects.equals(currentKey, fileKey)) {
+            // 마지막으로 읽은 뒤 교체 직전까지 이전 파일에 추가된 줄을 마저 읽습니다.
+            drain(handler);
+            if (lineLength > 0) {
+                // 교체된 파일의 마지막 줄은 줄바꿈이 없어도 더 이상 이어지지 않습니다.
+                lineCount++;
+                handler.accept(new String(line, 0, lineLength, StandardCharsets.UTF_8));
+                lineLength = 0;
+            }
+            closeChannel();
+            try {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                return false;
+            }
+            fileKey = currentKey;
+            committed = 0;
+            rotationCount++;
+            log.info("파일이 교체되어 새 파일을 처음부터 읽습니다: {}", path);
+            return true;
+        }
+        if (channel.size() < channel.position()) {
+            channel.position(0);
+            committed = 0;
+            lineLength = 0;
+            rotationCount++;
+            log.info("파일이 잘려 처음부터 다시 읽습니다: {}", path);
+            return true;
+        }
+        return false;
+    }
+
+    private void await(WatchService watcher) {
+        try {
+            WatchKey key = watcher.poll(WATCH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (key != null) {
+                key.pollEvents();
+                key.reset();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 전달을 마친 위치를 저장합니다. 임시 파일에 쓴 뒤 교체하므로 저장 중 종료되어도 이전 위치가 남습니다.
+     *
+     * @param force 저장 주기와 관계없이 저장할지 여부
+     */
+    private void saveOffset(boolean force) {
+        if (offsetPath == null || channel == null || committed == savedOffset) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!force && now - savedAt < SAVE_INTERVAL_MILLIS) {
+            return;
+        }
+        Path temp = offsetPath.resolveSibling(offsetPath.getFileName() + ".tmp");
+        try {
+            Files.writeString(temp, fileKey + "\t" + committed, StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, offsetPath, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, offsetPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            savedOffset = committed;
+            savedAt = now;
+        } catch (IOException e) {
+            log.error("읽은 위치 저장 실패: {}, 오류: {}", offsetPath, e.getMessage(), e);
+        }
+    }
+
+    private static String fileKey(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        // 파일 키를 지원하지 않는 파일 시스템에서는 생성 시각으로 파일을 구분합니다.
+        return attributes.fileKey() != null ? attributes.fileKey().toString()
+                : attributes.creationTime().toString();
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.error("파일 닫기 실패: {}, 오류: {}", path, e.getMessage(), e);
+        }
+        channel = null;
+    }
+
+    /**
+     * 전달을 마친 마지막 줄의 다음 위치를 반환합니다.
+     *
+     * @return 파일 안의 바이트 위치
+     */
+    public long getOffset() {
+        return committed;
+    }
+
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    public long getRotationCount() {
+        return rotationCount;
+    }
+}
@@ -0,0 +1,340 @@
+package com.samsa.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 하나의 파일에 라인을 모아서 기록하는 쓰기 도구입니다.
+ *
+ * <p>
+ * 파일 채널은 처음 기록할 때 열어 계속 사용하며, 라인은 재사용하는 버퍼에 UTF-8로 인코딩해 모아 둡니다. 이미 바이트로 된 레코드는
+ * {@link #write(ByteBuffer)}로 인코딩 없이 그대로 모읍니다. 모인 라인은 {@code flushCount}개가
+ * 되거나 첫 라인이 모인 뒤 {@code flushMillis}가 지나면 한 번의 쓰기로 파일에 기록되고(group commit), {@code fsync}를 켜면 그때마다
+ * 디스크 동기화까지 수행합니다. 시간 기준 기록은 {@link #flushIfDue(long)}를 주기적으로 호출하는 쪽이 담당합니다.
+ * </p>
+ *
+ * <p>
+ * 파일 크기가 {@code maxBytes}를 넘거나 파일을 연 지 {@code rotateMillis}가 지나면 파일을 닫고 {@code 이름.yyyyMMdd-HHmmss}로
+ * 이름을 바꾼 뒤 새 파일을 엽니다. 크기 기준 교체는 라인을 기록한 뒤 판단하므로 파일은 최대 한 라인만큼 {@code maxBytes}를 넘을 수 있습니다.
+ * </p>
+ *
+ * <p>
+ * 파일 기록에 실패하면 채널의 상태를 알 수 없으므로 채널을 닫고 버퍼에 모인 라인을 버린 뒤 예외를 던집니다. 버린 라인은
+ * {@link #getFailedLines()}로 집계되며, 다음 기록 때 파일을 다시 열어 이어 씁니다.
+ * </p>
+ */
+@Slf4j
+public class GroupCommitWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final DateTimeFormatter ROTATED_SUFFIX =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path path;
+    private final boolean append;
+    private final int flushCount;
+    private final long flushMillis;
+    private final boolean fsync;
+    private final long maxBytes;
+    private final long rotateMillis;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private FileChannel channel;
+    private boolean opened;
+    private long size;
+    private long openedAt;
+    private int pendingLines;
+    private long firstPendingAt;
+
+    private long lineCount;
+    private long flushCountTotal;
+    private long rotationCount;
+    private long failedLines;
+
+    /**
+     * 쓰기 도구를 생성합니다. 파일은 처음 기록할 때 엽니다.
+     *
+     * @param path 기록할 파일
+     * @param append true이면 기존 파일 뒤에 추가하고, false이면 처음 열 때 기존 내용을 지움
+     * @param flushCount 파일에 기록하기 전에 모을 최대 라인 수
+     * @param flushMillis 모인 라인을 기록하기까지의 최대 대기 시간 (ms)
+     * @param fsync 기록할 때마다 디스크 동기화를 수행할지 여부
+     * @param maxBytes 파일 교체 크기 (바이트), 0 이하이면 크기로 교체하지 않음
+     * @param rotateMillis 파일 교체 주기 (ms), 0 이하이면 시간으로 교체하지 않음
+     * @throws IllegalArgumentException 경로가 null이거나 flushCount가 0 이하인 경우
+     */
+    public GroupCommitWriter(Path path, boolean append, int flushCount, long flushMillis,
+            boolean fsync, long maxBytes, long rotateMillis) {
+        if (path == null) {
+            throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
+        }
+        if (flushCount <= 0) {
+            throw new IllegalArgumentException("flushCount는 0보다 커야 합니다: " + flushCount);
+        }
+        this.path = path;
+        this.append = append;
+        this.flushCount = flushCount;
+        this.flushMillis = flushMillis;
+        this.fsync = fsync;
+        this.maxBytes = maxBytes;
+        this.rotateMillis = rotateMillis;
+    }
+
+    /**
+     * 라인 하나를 버퍼에 추가합니다. flushCount에 도달하면 파일에 기록합니다.
+     *
+     * @param line 기록할 라인 (줄바꿈 제외)
+     * @throws IOException 파일 열기, 기록 또는 교체에 실패한 경우
+     */
+    public synchronized void write(CharSequence line) throws IOException {
+        long now = begin();
+        encoder.reset();
+        CharBuffer chars = CharBuffer.wrap(line);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isUnderflow()) {
+                result = encoder.flush(buffer);
+            }
+            if (result.isUnderflow()) {
+                break;
+            }
+            drain();
+        }
+        end(now);
+    }
+
+    /**
+     * 이미 인코딩된 바이트 레코드 하나를 그대로 버퍼에 추가하고 줄바꿈으로 끝맺습니다. flushCount에 도달하면 파일에 기록합니다. 버퍼보다 큰
+     * 레코드는 모인 라인을 먼저 기록한 뒤 파일에 바로 기록합니다.
+     *
+     * @param record 기록할 바이트 (position부터 limit까지), 인자의 position은 바뀌지 않음
+     * @throws IOException 파일 열기, 기록 또는 교체에 실패한 경우
+     */
+    public synchronized void write(ByteBuffer record) throws IOException {
+        long now = begin();
+        ByteBuffer bytes = record.duplicate();
+        if (bytes.remaining() > buffer.remaining()) {
+            drain();
+        }
+        if (bytes.remaining() > buffer.remaining()) {
+            try {
+                while (bytes.hasRemaining()) {
+                    size += channel.write(bytes);
+                }
+            } catch (IOException e) {
+                fail();
+                throw e;
+            }
+        } else {
+            buffer.put(bytes);
+        }
+        end(now);
+    }
+
+    /**
+     * 레코드를 추가하기 전에 파일을 열거나 교체 주기가 지났으면 교체합니다.
+     *
+     * @return 현재 시각 (epoch ms)
+     */
+    private long begin() throws IOException {
+        long now = System.currentTimeMillis();
+        if (channel == null) {
+            open(now);
+        } else if (rotateMillis > 0 && now - openedAt >= rotateMillis) {
+            rotate(now);
+        }
+        return now;
+    }
+
+    /**
+     * 레코드를 줄바꿈으로 끝맺고, flushCount나 교체 크기에 도달했으면 기록하거나 교체합니다.
+     */
+    private void end(long now) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) '\n');
+
+        if (pendingLines++ == 0) {
+            firstPendingAt = now;
+        }
+        lineCount++;
+        if (pendingLines >= flushCount) {
+            flush();
+        }
+        if (maxBytes > 0 && size + buffer.position() >= maxBytes) {
+            rotate(now);
+        }
+    }
+
+    /**
+     * 모인 라인이 flushMillis보다 오래 기다렸거나 교체 주기가 지났으면 처리합니다. 타이머 스레드에서 주기적으로 호출됩니다.
+     *
+     * @param now 현재 시각 (epoch ms)
+     * @throws IOException 기록 또는 교체에 실패한 경우
+     */
+    public synchronized void flushIfDue(long now) throws IOException {
+        if (channel == null) {
+            return;
+        }
+        if (rotateMillis > 0 && now - openedAt >= rotateMillis) {
+            rotate(now);
+        } else if (pendingLines > 0 && now - firstPendingAt >= flushMillis) {
+            flush();
+        }
+    }
+
+    /**
+     * 모인 라인을 파일에 기록하고, fsync가 켜져 있으면 디스크에 동기화합니다.
+     *
+     * @throws IOException 기록에 실패한 경우
+     */
+    public synchronized void flush() throws IOException {
+        if (channel == null || pendingLines == 0 && buffer.position() == 0) {
+            return;
+        }
+        drain();
+        if (fsync) {
+            channel.force(false);
+        }
+        pendingLines = 0;
+        flushCountTotal++;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                size += channel.write(buffer);
+            }
+        } catch (IOException e) {
+            fail();
+            throw e;
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 기록에 실패한 채널을 닫고 모인 라인을 버립니다. 다음 기록 때 파일을 다시 엽니다.
+     */
+    private void fail() {
+        int dropped = pendingLines;
+        failedLines += dropped;
+        pendingLines = 0;
+        log.error("파일 기록에 실패하여 모인 라인 {}개를 버렸습니다. 다음 기록 때 파일을 다시 엽니다: {}", dropped, path);
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("파일 닫기 실패: {}, 오류: {}", path, e.getMessage());
+        }
+        channel = null;
+    }
+
+    private void open(long now) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // append가 false이면 노드가 처음 여는 파일만 비우고, 교체 후 새 파일은 항상 새로 만듭니다.
+        boolean truncate = !append && !opened;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                truncate ? StandardOpenOption.TRUNCATE_EXISTING : StandardOpenOption.APPEND);
+        opened = true;
+        size = channel.size();
+        openedAt = now;
+    }
+
+    private void rotate(long now) throws IOException {
+        flush();
+        closeChannel();
+        if (Files.exists(path) && Files.size(path) > 0) {
+            Path rotated = rotatedPath();
+            Files.move(path, rotated);
+            rotationCount++;
+            log.info("파일을 교체했습니다: {} -> {}", path, rotated.getFileName());
+        }
+        open(now);
+    }
+
+    private Path rotatedPath() {
+        String base = path.getFileName() + "." + LocalDateTime.now().format(ROTATED_SUFFIX);
+        Path rotated = path.resolveSibling(base);
+        for (int i = 1; Files.exists(rotated); i++) {
+            rotated = path.resolveSibling(base + "-" + i);
+        }
+        return rotated;
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * 모인 라인을 기록하고 파일을 닫습니다. 이후 다시 기록하면 파일을 다시 엽니다.
+     *
+     * @throws IOException 기록 또는 닫기에 실패한 경우
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public synchronized long getLineCount() {
+        return lineCount;
+    }
+
+    public synchronized long getFlushCount() {
+        return flushCountTotal;
+    }
+
+    public synchronized long getRotationCount() {
+        return rotationCount;
+    }
+
+    /**
+     * 기록에 실패하여 버린 라인 수를 반환합니다.
+     *
+     * @return 버린 라인 수
+     */
+    public synchronized long getFailedLines() {
+        return failedLines;
+    }
+
+    /**
+     * 버퍼에 모여 아직 파일에 기록되지 않은 라인 수를 반환합니다.
+     *
+     * @return 대기 중인 라인 수
+     */
+    public synchronized int getPendingLines() {
+        return pendingLines;
+    }
+}
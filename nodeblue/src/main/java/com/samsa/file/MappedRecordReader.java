@@ -0,0 +1,189 @@
+package com.samsa.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 바이너리 파일을 메모리 매핑하여 레코드 단위로 나누어 전달합니다.
+ *
+ * <p>
+ * 파일은 최대 {@code window} 바이트씩 읽기 전용으로 매핑되며, 각 레코드는 매핑된 영역을 복사하지 않는 읽기 전용 {@link ByteBuffer} 슬라이스로
+ * 전달됩니다. 매핑은 파일 채널을 닫은 뒤에도 유효하므로 하위 노드가 슬라이스를 나중에 읽어도 됩니다. 대신 슬라이스가 참조되는 동안 해당 매핑 영역은 해제되지
+ * 않습니다. 영역 끝에 걸친 레코드는 다음 영역을 그 레코드의 시작 위치부터 매핑하여 온전한 슬라이스로 전달합니다.
+ * </p>
+ */
+@Slf4j
+public class MappedRecordReader {
+
+    private static final long DEFAULT_WINDOW = 1L << 30;
+
+    /**
+     * 레코드를 나누는 방식입니다.
+     */
+    public enum Framing {
+        /** {@code recordSize} 바이트씩 나눕니다. 마지막 레코드는 더 짧을 수 있습니다. */
+        FIXED,
+        /** 구분 바이트로 나눕니다. 구분 바이트는 레코드에 포함하지 않습니다. */
+        DELIMITER,
+        /** 각 레코드 앞의 {@code lengthFieldSize} 바이트 길이 필드로 나눕니다. 길이 필드는 레코드에 포함하지 않습니다. */
+        LENGTH_PREFIXED
+    }
+
+    private final Path path;
+    private final Framing framing;
+    private final int recordSize;
+    private final byte delimiter;
+    private final int lengthFieldSize;
+    private final ByteOrder order;
+    private final long window;
+
+    /**
+     * 레코드 읽기 도구를 생성합니다.
+     *
+     * @param path 읽을 파일
+     * @param framing 레코드를 나누는 방식
+     * @param recordSize {@link Framing#FIXED}의 레코드 크기 (바이트)
+     * @param delimiter {@link Framing#DELIMITER}의 구분 바이트
+     * @param lengthFieldSize {@link Framing#LENGTH_PREFIXED}의 길이 필드 크기 (1, 2, 4 바이트)
+     * @param order 길이 필드의 바이트 순서
+     * @throws IllegalArgumentException 경로나 framing이 null이거나 크기 설정이 잘못된 경우
+     */
+    public MappedRecordReader(Path path, Framing framing, int recordSize, byte delimiter,
+            int lengthFieldSize, ByteOrder order) {
+        this(path, framing, recordSize, delimiter, lengthFieldSize, order, DEFAULT_WINDOW);
+    }
+
+    MappedRecordReader(Path path, Framing framing, int recordSize, byte delimiter,
+            int lengthFieldSize, ByteOrder order, long window) {
+        if (path == null || framing == null) {
+            throw new IllegalArgumentException("파일 경로와 framing은 null일 수 없습니다");
+        }
+        if (framing == Framing.FIXED && (recordSize <= 0 || recordSize > window)) {
+            throw new IllegalArgumentException("recordSize가 범위를 벗어났습니다: " + recordSize);
+        }
+        if (framing == Framing.LENGTH_PREFIXED
+                && lengthFieldSize != 1 && lengthFieldSize != 2 && lengthFieldSize != 4) {
+            throw new IllegalArgumentException("lengthFieldSize는 1, 2, 4 중 하나여야 합니다: "
+                    + lengthFieldSize);
+        }
+        this.path = path;
+        this.framing = framing;
+        this.recordSize = recordSize;
+        this.delimiter = delimiter;
+        this.lengthFieldSize = lengthFieldSize;
+        this.order = order != null ? order : ByteOrder.BIG_ENDIAN;
+        this.window = window;
+    }
+
+    /**
+     * 파일을 처음부터 끝까지 읽어 레코드마다 handler를 호출합니다. 스레드가 인터럽트되면 중단합니다.
+     *
+     * @param handler 레코드 슬라이스를 받을 함수
+     * @return 전달한 레코드 수
+     * @throws IOException 파일을 읽을 수 없거나, 레코드가 매핑 영역보다 크거나, 길이 필드가 잘못된 경우
+     */
+    public long read(Consumer<ByteBuffer> handler) throws IOException {
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size && !Thread.currentThread().isInterrupted()) {
+                long length = Math.min(window, size - position);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                region.order(order);
+                boolean last = position + length == size;
+                Frames frames = split(region, last, handler);
+                if (frames.consumed == 0 && Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                if (frames.consumed == 0) {
+                    if (last) {
+                        // 잘린 마지막 레코드는 전달하지 않습니다.
+                        log.warn("파일 끝의 불완전한 레코드 {} 바이트를 건너뜁니다: {}", length, path);
+                        break;
+                    }
+                    throw new IOException("레코드가 매핑 영역(" + window + " 바이트)보다 큽니다. 위치: "
+                            + position + ", 파일: " + path);
+                }
+                records += frames.records;
+                position += frames.consumed;
+            }
+        }
+        return records;
+    }
+
+    private static final class Frames {
+        private int consumed;
+        private long records;
+    }
+
+    /**
+     * 매핑 영역 안의 완전한 레코드를 전달합니다.
+     *
+     * @param region 매핑 영역
+     * @param last 파일의 마지막 영역인지 여부
+     * @param handler 레코드 슬라이스를 받을 함수
+     * @return 전달한 바이트 수와 레코드 수
+     */
+    private Frames split(MappedByteBuffer region, boolean last, Consumer<ByteBuffer> handler) {
+        Frames frames = new Frames();
+        int limit = region.limit();
+        int start = 0;
+        while (start < limit && !Thread.currentThread().isInterrupted()) {
+            int recordStart;
+            int recordLength;
+            int next;
+            switch (framing) {
+                case FIXED -> {
+                    if (limit - start < recordSize && !last) {
+                        return frames;
+                    }
+                    recordStart = start;
+                    recordLength = Math.min(recordSize, limit - start);
+                    next = start + recordLength;
+                }
+                case DELIMITER -> {
+                    int end = start;
+                    while (end < limit && region.get(end) != delimiter) {
+                        end++;
+                    }
+                    if (end == limit && !last) {
+                        return frames;
+                    }
+                    recordStart = start;
+                    recordLength = end - start;
+                    next = Math.min(end + 1, limit);
+                }
+                default -> {
+                    if (limit - start < lengthFieldSize) {
+                        return frames;
+                    }
+                    long length = switch (lengthFieldSize) {
+                        case 1 -> region.get(start) & 0xFFL;
+                        case 2 -> region.getShort(start) & 0xFFFFL;
+                        default -> region.getInt(start) & 0xFFFFFFFFL;
+                    };
+                    if (length > limit - start - lengthFieldSize) {
+                        return frames;
+                    }
+                    recordStart = start + lengthFieldSize;
+                    recordLength = (int) length;
+                    next = recordStart + recordLength;
+                }
+            }
+            handler.accept(region.slice(recordStart, recordLength).order(order));
+            frames.records++;
+            start = next;
+            frames.consumed = start;
+        }
+        return frames;
+    }
+}
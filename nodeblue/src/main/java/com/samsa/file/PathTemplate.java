@@ -0,0 +1,184 @@
+package com.samsa.file;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.samsa.core.LazyJson;
+
+/**
+ * 메시지마다 기록할 파일 경로를 만드는 경로 템플릿입니다.
+ *
+ * <p>
+ * {@code /data/{topic}/{yyyyMMddHH}.log}처럼 중괄호 안에 값을 넣을 자리를 지정합니다. 날짜 패턴 문자({@code y M d H m s})와
+ * {@code - _ .}로만 이루어진 자리는 현재 시각으로, 그 외의 자리는 Map 또는 {@link LazyJson} 페이로드의 같은 이름의 필드 값으로 채웁니다. 필드가 없으면
+ * {@value #MISSING}으로 채웁니다. 필드 값의 경로 구분자와 {@code ..}는 {@code _}로 바꾸어 템플릿 디렉터리 밖에 파일이 만들어지지 않게 합니다.
+ * </p>
+ *
+ * <p>
+ * 시각은 초 단위로 한 번만 포맷하여 재사용하므로 메시지마다 날짜를 포맷하지 않습니다. 여러 스레드에서 함께 사용할 수 있습니다.
+ * </p>
+ */
+public final class PathTemplate {
+
+    private static final String MISSING = "unknown";
+
+    private interface Segment {
+        void append(StringBuilder path, Object payload, long epochSecond);
+    }
+
+    private record Literal(String text) implements Segment {
+        @Override
+        public void append(StringBuilder path, Object payload, long epochSecond) {
+            path.append(text);
+        }
+    }
+
+    private record Field(String name) implements Segment {
+        @Override
+        public void append(StringBuilder path, Object payload, long epochSecond) {
+            Object value = payload instanceof Map<?, ?> map ? map.get(name)
+                    : payload instanceof LazyJson json ? field(json) : null;
+            if (value == null) {
+                path.append(MISSING);
+                return;
+            }
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                boolean dots = c == '.' && i + 1 < text.length() && text.charAt(i + 1) == '.';
+                path.append(c == '/' || c == '\\' || c == '\0' || dots ? '_' : c);
+            }
+        }
+
+        private Object field(LazyJson json) {
+            try {
+                return json.get(name);
+            } catch (IllegalStateException e) {
+                // JSON 형식이 잘못된 페이로드도 기록할 수 있도록 필드가 없는 것으로 처리합니다.
+                return null;
+            }
+        }
+    }
+
+    private static final class Time implements Segment {
+        private record Rendered(long epochSecond, String text) {
+        }
+
+        private final DateTimeFormatter formatter;
+        private volatile Rendered last = new Rendered(Long.MIN_VALUE, "");
+
+        private Time(String pattern) {
+            this.formatter = DateTimeFormatter.ofPattern(pattern).withZone(ZoneId.systemDefault());
+        }
+
+        @Override
+        public void append(StringBuilder path, Object payload, long epochSecond) {
+            Rendered rendered = last;
+            if (rendered.epochSecond() != epochSecond) {
+                rendered = new Rendered(epochSecond,
+                        formatter.format(Instant.ofEpochSecond(epochSecond)));
+                last = rendered;
+            }
+            path.append(rendered.text());
+        }
+    }
+
+    private final String template;
+    private final List<Segment> segments;
+    private final Path fixed;
+
+    private PathTemplate(String template, List<Segment> segments) {
+        this.template = template;
+        this.segments = segments;
+        this.fixed = segments.stream().allMatch(Literal.class::isInstance) ? Path.of(template)
+                : null;
+    }
+
+    /**
+     * 경로 템플릿을 해석합니다.
+     *
+     * @param template 경로 템플릿
+     * @return 해석된 템플릿
+     * @throws IllegalArgumentException 템플릿이 null이거나 중괄호가 닫히지 않았거나 빈 자리가 있는 경우
+     */
+    public static PathTemplate parse(String template) {
+        if (template == null) {
+            throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
+        }
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        while (position < template.length()) {
+            int open = template.indexOf('{', position);
+            if (open < 0) {
+                segments.add(new Literal(template.substring(position)));
+                break;
+            }
+            if (open > position) {
+                segments.add(new Literal(template.substring(position, open)));
+            }
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("경로 템플릿의 중괄호가 닫히지 않았습니다: " + template);
+            }
+            String name = template.substring(open + 1, close);
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("경로 템플릿에 빈 자리가 있습니다: " + template);
+            }
+            segments.add(name.matches("[yMdHms_.\\-]+") ? new Time(name) : new Field(name));
+            position = close + 1;
+        }
+        return new PathTemplate(template, List.copyOf(segments));
+    }
+
+    /**
+     * 중괄호를 해석하지 않고 항상 주어진 경로를 만드는 템플릿을 생성합니다.
+     *
+     * @param path 파일 경로
+     * @return 고정 경로 템플릿
+     * @throws IllegalArgumentException 경로가 null인 경우
+     */
+    public static PathTemplate fixed(Path path) {
+        if (path == null) {
+            throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
+        }
+        return new PathTemplate(path.toString(), List.of(new Literal(path.toString())));
+    }
+
+    /**
+     * 페이로드와 현재 시각으로 파일 경로를 만듭니다.
+     *
+     * @param payload 메시지 페이로드
+     * @param epochMillis 현재 시각 (epoch ms)
+     * @return 파일 경로
+     */
+    public Path resolve(Object payload, long epochMillis) {
+        if (fixed != null) {
+            return fixed;
+        }
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        StringBuilder path = new StringBuilder(template.length() + 32);
+        for (Segment segment : segments) {
+            segment.append(path, payload, epochSecond);
+        }
+        return Path.of(path.toString());
+    }
+
+    /**
+     * 채울 자리가 없어 항상 같은 경로를 만드는지 확인합니다.
+     *
+     * @return 고정 경로이면 true
+     */
+    public boolean isFixed() {
+        return fixed != null;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
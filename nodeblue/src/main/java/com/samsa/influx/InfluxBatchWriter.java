@@ -0,0 +1,464 @@
+package com.samsa.influx;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.influxdb.client.WriteApiBlocking;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.exceptions.InfluxException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * InfluxDB에 line protocol 레코드를 배치로 모아 비동기로 기록하는 writer입니다.
+ *
+ * <p>
+ * 레코드는 현재 배치의 바이트 버퍼에 추가되며, 레코드 수가 {@code batchSize}에 도달하거나 배치가 {@code flushInterval} 이상 머무르면
+ * flush 스레드 풀로 넘겨집니다. 여러 배치가 동시에 기록될 수 있으므로 HTTP 왕복 시간이 처리량을 제한하지 않습니다.
+ * </p>
+ *
+ * <p>
+ * 기록되지 않은 바이트(현재 배치와 기록 중인 배치의 합)가 {@code maxPendingBytes}를 넘으면 {@link #write(String)}를 호출한 스레드가 공간이 생길
+ * 때까지 대기합니다. 기록 실패는 로그와 함께 실패 카운터에 집계됩니다.
+ * </p>
+ *
+ * <p>
+ * 서버가 요청 자체를 거부한 경우(408, 429를 제외한 4xx 응답)는 다시 보내도 성공하지 않으므로, 디스크에 보관하거나 재전송하지 않고 버린 뒤 거부
+ * 카운터와 실패 카운터에 집계합니다. 5xx 응답, 타임아웃, I/O 오류처럼 일시적인 실패만 서버 장애로 판단합니다.
+ * </p>
+ *
+ * <p>
+ * {@link SpillLog}가 지정되면 기록에 실패한 배치를 버리지 않고 디스크에 보관합니다. 실패 이후에는 서버가 복구될 때까지 새 배치도 HTTP 요청 없이
+ * 바로 디스크에 기록되므로, 장애가 길어져도 메모리 사용량과 노드 스레드의 대기 시간이 늘어나지 않습니다. 재전송 스레드는 {@code retryInterval}마다
+ * 가장 오래된 배치부터 재전송을 시도하며, 성공하면 서버를 정상으로 보고 남은 배치를 이어서 재전송합니다.
+ * </p>
+ */
+@Slf4j
+public class InfluxBatchWriter implements AutoCloseable {
+
+    private static final int INITIAL_BATCH_BYTES = 8192;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+    private static final int MAX_REPLAY_PER_TICK = 1000;
+
+    private final WriteApiBlocking writeApi;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long maxPendingBytes;
+
+    private final ExecutorService flushExecutor;
+    private final ScheduledExecutorService timer;
+    private final SpillLog spill;
+    private final ScheduledExecutorService replayer;
+    private volatile boolean healthy = true;
+
+    private final Object lock = new Object();
+    private Batch current = new Batch(INITIAL_BATCH_BYTES);
+    private long pendingBytes;
+    private boolean closed;
+
+    private final AtomicLong writtenPoints = new AtomicLong();
+    private final AtomicLong writtenBatches = new AtomicLong();
+    private final AtomicLong failedPoints = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong spilledPoints = new AtomicLong();
+    private final AtomicLong replayedPoints = new AtomicLong();
+    private final AtomicLong rejectedPoints = new AtomicLong();
+
+    /**
+     * 줄바꿈으로 구분된 line protocol 레코드를 모으는 배치입니다.
+     */
+    private static final class Batch {
+        private byte[] bytes;
+        private int size;
+        private int points;
+        private long createdAt;
+
+        private Batch(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        private void append(byte[] record, int offset, int length) {
+            int required = size + length + 1;
+            if (required > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+            }
+            if (points == 0) {
+                createdAt = System.currentTimeMillis();
+            }
+            System.arraycopy(record, offset, bytes, size, length);
+            size += length;
+            bytes[size++] = '\n';
+            points++;
+        }
+
+        private String toRecords() {
+            return new String(bytes, 0, size, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 디스크 보관 없이 배치 writer를 생성하고 flush 타이머를 시작합니다.
+     *
+     * @param writeApi 배치를 기록할 InfluxDB write API
+     * @param batchSize 배치 하나에 담을 최대 포인트 수
+     * @param flushIntervalMillis 배치가 가득 차지 않아도 기록하는 최대 대기 시간 (ms)
+     * @param maxPendingBytes 기록되지 않은 채로 보관할 수 있는 최대 바이트 수
+     * @param flushConcurrency 동시에 기록할 수 있는 배치 수
+     * @throws IllegalArgumentException 설정 값이 0 이하인 경우
+     */
+    public InfluxBatchWriter(WriteApiBlocking writeApi, int batchSize, long flushIntervalMillis,
+            long maxPendingBytes, int flushConcurrency) {
+        this(writeApi, batchSize, flushIntervalMillis, maxPendingBytes, flushConcurrency, null, 0);
+    }
+
+    /**
+     * 배치 writer를 생성하고 flush 타이머를 시작합니다.
+     *
+     * @param writeApi 배치를 기록할 InfluxDB write API
+     * @param batchSize 배치 하나에 담을 최대 포인트 수
+     * @param flushIntervalMillis 배치가 가득 차지 않아도 기록하는 최대 대기 시간 (ms)
+     * @param maxPendingBytes 기록되지 않은 채로 보관할 수 있는 최대 바이트 수
+     * @param flushConcurrency 동시에 기록할 수 있는 배치 수
+     * @param spill 기록하지 못한 배치를 보관할 스필 로그, 없으면 null
+     * @param retryIntervalMillis 스필 로그 재전송 시도 간격 (ms)
+     * @throws IllegalArgumentException 설정 값이 0 이하인 경우
+     */
+    public InfluxBatchWriter(WriteApiBlocking writeApi, int batchSize, long flushIntervalMillis,
+            long maxPendingBytes, int flushConcurrency, SpillLog spill, long retryIntervalMillis) {
+        if (writeApi == null) {
+            throw new IllegalArgumentException("WriteApi는 null일 수 없습니다.");
+        }
+        if (batchSize <= 0 || flushIntervalMillis <= 0 || maxPendingBytes <= 0
+                || flushConcurrency <= 0) {
+            throw new IllegalArgumentException("배치 설정 값은 0보다 커야 합니다.");
+        }
+        if (spill != null && retryIntervalMillis <= 0) {
+            throw new IllegalArgumentException("재전송 간격은 0보다 커야 합니다: " + retryIntervalMillis);
+        }
+        this.writeApi = writeApi;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPendingBytes = maxPendingBytes;
+        this.flushExecutor = Executors.newFixedThreadPool(flushConcurrency, r -> {
+            Thread thread = new Thread(r, "influx-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "influx-flush-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = Math.max(1, flushIntervalMillis / 2);
+        timer.scheduleAtFixedRate(this::flushIfExpired, tick, tick, TimeUnit.MILLISECONDS);
+
+        this.spill = spill;
+        if (spill != null) {
+            this.replayer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "influx-replay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // 재시작 전에 남은 배치가 있으면 곧바로 재전송을 시도합니다.
+            replayer.scheduleWithFixedDelay(this::replay, 0, retryIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.replayer = null;
+        }
+    }
+
+    /**
+     * line protocol 레코드 하나를 현재 배치에 추가합니다. 기록 대기 중인 바이트가 한도를 넘으면 공간이 생길 때까지 대기합니다.
+     *
+     * @param record 줄바꿈을 포함하지 않는 line protocol 레코드
+     * @throws InterruptedException 대기 중 인터럽트된 경우
+     * @throws IllegalStateException writer가 이미 닫힌 경우
+     */
+    public void write(String record) throws InterruptedException {
+        byte[] bytes = record.getBytes(StandardCharsets.UTF_8);
+        write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * UTF-8로 인코딩된 line protocol 레코드 하나를 현재 배치에 복사합니다. 인코더의 재사용 버퍼를 그대로 넘길 수 있습니다.
+     *
+     * @param record 레코드가 담긴 버퍼
+     * @param offset 레코드 시작 위치
+     * @param length 레코드 길이 (줄바꿈 제외)
+     * @throws InterruptedException 대기 중 인터럽트된 경우
+     * @throws IllegalStateException writer가 이미 닫힌 경우
+     */
+    public void write(byte[] record, int offset, int length) throws InterruptedException {
+        synchronized (lock) {
+            while (!closed && pendingBytes > 0 && pendingBytes + length > maxPendingBytes) {
+                lock.wait();
+            }
+            if (closed) {
+                throw new IllegalStateException("InfluxBatchWriter가 이미 닫혔습니다.");
+            }
+            current.append(record, offset, length);
+            pendingBytes += length + 1;
+            if (current.points >= batchSize) {
+                submitCurrent();
+            }
+        }
+    }
+
+    /**
+     * 현재 배치를 즉시 기록 대기열로 넘깁니다.
+     */
+    public void flush() {
+        synchronized (lock) {
+            if (current.points > 0) {
+                submitCurrent();
+            }
+        }
+    }
+
+    private void flushIfExpired() {
+        synchronized (lock) {
+            if (current.points > 0
+                    && System.currentTimeMillis() - current.createdAt >= flushIntervalMillis) {
+                submitCurrent();
+            }
+        }
+    }
+
+    /**
+     * 현재 배치를 flush 스레드 풀에 넘기고 새 배치를 시작합니다. {@code lock}을 보유한 상태에서 호출해야 합니다.
+     */
+    private void submitCurrent() {
+        Batch batch = current;
+        current = new Batch(Math.max(INITIAL_BATCH_BYTES, batch.size));
+        flushExecutor.execute(() -> send(batch));
+    }
+
+    private void send(Batch batch) {
+        try {
+            if (spill != null && !healthy) {
+                // 서버 장애 중에는 요청을 보내지 않고 바로 디스크에 보관합니다.
+                spill(batch);
+                return;
+            }
+            writeApi.writeRecord(WritePrecision.MS, batch.toRecords());
+            writtenPoints.addAndGet(batch.points);
+            writtenBatches.incrementAndGet();
+            log.debug("InfluxDB 배치 기록 완료. 포인트: {}, 크기: {} bytes", batch.points, batch.size);
+        } catch (Exception e) {
+            failedBatches.incrementAndGet();
+            if (isRejected(e)) {
+                reject(batch.points, e);
+            } else if (spill != null) {
+                if (healthy) {
+                    healthy = false;
+                    log.error("InfluxDB 배치 기록 실패. 복구될 때까지 디스크에 보관합니다. 오류: {}",
+                            e.getMessage(), e);
+                }
+                spill(batch);
+            } else {
+                failedPoints.addAndGet(batch.points);
+                log.error("InfluxDB 배치 기록 실패. 포인트: {}, 오류: {}", batch.points, e.getMessage(),
+                        e);
+            }
+        } finally {
+            synchronized (lock) {
+                pendingBytes -= batch.size;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 서버가 요청을 거부하여 다시 보내도 성공하지 않는 실패인지 확인합니다. 요청 시간 초과(408)와 요청 한도 초과(429)는 일시적인 실패로 봅니다.
+     */
+    private static boolean isRejected(Exception e) {
+        if (!(e instanceof InfluxException influx)) {
+            return false;
+        }
+        int status = influx.status();
+        return status >= 400 && status < 500 && status != 408 && status != 429;
+    }
+
+    private void reject(int points, Exception e) {
+        rejectedPoints.addAndGet(points);
+        failedPoints.addAndGet(points);
+        log.error("InfluxDB가 배치를 거부하여 버립니다. 포인트: {}, 오류: {}", points, e.getMessage(), e);
+    }
+
+    private void spill(Batch batch) {
+        try {
+            // 줄바꿈으로 끝나는 배치를 그대로 보관합니다.
+            spill.append(batch.bytes, 0, batch.size, batch.points);
+            spilledPoints.addAndGet(batch.points);
+        } catch (RuntimeException e) {
+            failedPoints.addAndGet(batch.points);
+            log.error("배치를 디스크에 보관하지 못했습니다. 포인트: {}, 오류: {}", batch.points, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 스필 로그의 배치를 오래된 순서대로 재전송합니다. 실패하면 다음 주기에 다시 시도합니다.
+     */
+    private void replay() {
+        for (int i = 0; i < MAX_REPLAY_PER_TICK && !replayer.isShutdown(); i++) {
+            SpillLog.Entry entry;
+            try {
+                entry = spill.peek();
+            } catch (RuntimeException e) {
+                log.error("스필 로그를 읽을 수 없습니다. 오류: {}", e.getMessage(), e);
+                return;
+            }
+            if (entry == null) {
+                if (!healthy) {
+                    // 보관된 배치가 없으면 다음 배치를 직접 보내 상태를 확인합니다.
+                    healthy = true;
+                }
+                return;
+            }
+            try {
+                writeApi.writeRecord(WritePrecision.MS,
+                        new String(entry.bytes(), StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                if (isRejected(e)) {
+                    // 거부된 배치는 다시 보내도 실패하므로 건너뛰고 다음 배치를 재전송합니다.
+                    failedBatches.incrementAndGet();
+                    reject(entry.points(), e);
+                    commit(entry);
+                    continue;
+                }
+                healthy = false;
+                log.debug("InfluxDB 재전송 실패. 남은 포인트: {}, 오류: {}", spill.getPendingPoints(),
+                        e.getMessage());
+                return;
+            }
+            if (!commit(entry)) {
+                return;
+            }
+            replayedPoints.addAndGet(entry.points());
+            writtenPoints.addAndGet(entry.points());
+            writtenBatches.incrementAndGet();
+            if (!healthy) {
+                healthy = true;
+                log.info("InfluxDB가 복구되었습니다. 보관된 포인트 {}개를 재전송합니다.", spill.getPendingPoints());
+            }
+        }
+    }
+
+    private boolean commit(SpillLog.Entry entry) {
+        try {
+            spill.commit(entry);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("스필 로그에 전송 완료를 기록할 수 없습니다. 오류: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 남은 배치를 기록하고 flush 스레드와 재전송 스레드를 종료합니다. 최대 30초간 기록과 진행 중인 재전송이 끝나기를 기다린 뒤 스필 로그를 닫습니다.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            if (current.points > 0) {
+                submitCurrent();
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        timer.shutdownNow();
+        if (replayer != null) {
+            // 스필 로그의 채널은 인터럽트되면 닫히므로, 재전송 스레드는 인터럽트하지 않고 진행 중인 재전송이 끝나기를 기다립니다.
+            replayer.shutdown();
+        }
+        flushExecutor.shutdown();
+        try {
+            if (!flushExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("InfluxDB 배치 기록이 제한 시간 안에 끝나지 않았습니다. 남은 바이트: {}", getPendingBytes());
+                flushExecutor.shutdownNow();
+            }
+            if (replayer != null
+                    && !replayer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("InfluxDB 재전송이 제한 시간 안에 끝나지 않았습니다. 남은 포인트: {}",
+                        spill.getPendingPoints());
+            }
+        } catch (InterruptedException e) {
+            flushExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (spill != null) {
+            spill.close();
+        }
+    }
+
+    public long getWrittenPoints() {
+        return writtenPoints.get();
+    }
+
+    public long getWrittenBatches() {
+        return writtenBatches.get();
+    }
+
+    public long getFailedPoints() {
+        return failedPoints.get();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    /**
+     * 디스크에 보관된 포인트 수를 누적으로 반환합니다.
+     *
+     * @return 보관된 포인트 수
+     */
+    public long getSpilledPoints() {
+        return spilledPoints.get();
+    }
+
+    /**
+     * 디스크에서 재전송에 성공한 포인트 수를 반환합니다.
+     *
+     * @return 재전송된 포인트 수
+     */
+    public long getReplayedPoints() {
+        return replayedPoints.get();
+    }
+
+    /**
+     * 서버가 거부하여 버린 포인트 수를 반환합니다. 이 포인트는 {@link #getFailedPoints()}에도 포함됩니다.
+     *
+     * @return 거부된 포인트 수
+     */
+    public long getRejectedPoints() {
+        return rejectedPoints.get();
+    }
+
+    /**
+     * 서버가 정상으로 판단되는지 반환합니다.
+     *
+     * @return 마지막 기록 또는 재전송이 성공했으면 true
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * 아직 기록되지 않은 바이트 수를 반환합니다.
+     *
+     * @return 기록 대기 중인 바이트 수
+     */
+    public long getPendingBytes() {
+        synchronized (lock) {
+            return pendingBytes;
+        }
+    }
+}
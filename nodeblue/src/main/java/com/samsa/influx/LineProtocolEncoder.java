@@ -0,0 +1,398 @@
+package com.samsa.influx;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Map 형태의 포인트를 InfluxDB line protocol로 직접 인코딩하는 인코더입니다.
+ *
+ * <p>
+ * {@code Point} 객체나 중간 문자열을 만들지 않고, 재사용하는 바이트 버퍼에 measurement, 태그, 필드, 타임스탬프를 바로 씁니다. 측정값과 태그
+ * 조합(시리즈)마다 키 순으로 정렬하고 이스케이프한 {@code measurement,tag=value} 접두사를 캐시하므로, 같은 시리즈의 포인트는 필드와 타임스탬프만
+ * 인코딩합니다. 캐시 조회는 재사용하는 조회 키로 수행되어 할당이 없습니다.
+ * </p>
+ *
+ * <p>
+ * 숫자 필드는 기본적으로 모두 float 타입으로 기록합니다. InfluxDB는 한 필드의 타입이 바뀌면 기록을 거부하므로, 같은 필드가 메시지에 따라
+ * {@code 1}과 {@code 1.5}로 들어와도 충돌하지 않게 하기 위함입니다. {@code integerFields}를 켜면 정수 타입(Long, Integer, Short,
+ * Byte, BigInteger)은 {@code i} 접미사를 붙인 integer 타입으로 기록합니다. Boolean은 boolean 타입으로, 문자열은 따옴표로 감싼 string
+ * 타입으로 기록합니다. null, NaN, 무한대 필드는 건너뜁니다.
+ * </p>
+ *
+ * <p>
+ * 내부 버퍼를 재사용하므로 스레드 안전하지 않습니다. 노드 스레드 하나에서만 사용해야 합니다.
+ * </p>
+ */
+public final class LineProtocolEncoder {
+
+    private static final int DEFAULT_SERIES_CACHE_SIZE = 10_000;
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    /** measurement에서 이스케이프할 문자 */
+    private static final String MEASUREMENT_SPECIAL = ", ";
+    /** 태그 키/값과 필드 키에서 이스케이프할 문자 */
+    private static final String KEY_SPECIAL = ",= ";
+    /** 문자열 필드 값에서 이스케이프할 문자 */
+    private static final String STRING_SPECIAL = "\"\\";
+
+    /**
+     * 캐시된 시리즈 키입니다. 태그는 키 순으로 정렬되어 있습니다.
+     */
+    private static final class SeriesKey {
+        private final String measurement;
+        private final String[] tagKeys;
+        private final String[] tagValues;
+        private final int hash;
+
+        private SeriesKey(String measurement, String[] tagKeys, String[] tagValues, int hash) {
+            this.measurement = measurement;
+            this.tagKeys = tagKeys;
+            this.tagValues = tagValues;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Probe probe) {
+                return probe.equals(this);
+            }
+            if (!(obj instanceof SeriesKey other)) {
+                return false;
+            }
+            return hash == other.hash && measurement.equals(other.measurement)
+                    && Arrays.equals(tagKeys, other.tagKeys)
+                    && Arrays.equals(tagValues, other.tagValues);
+        }
+    }
+
+    /**
+     * 캐시 조회용 키입니다. 페이로드의 measurement와 태그 Map을 그대로 참조하여 조회 시 할당이 없습니다. 해시는 {@link SeriesKey}와 같은
+     * 방식({@code 31 * measurement.hashCode() + tags.hashCode()})으로 계산합니다.
+     */
+    private static final class Probe {
+        private String measurement;
+        private Map<?, ?> tags;
+        private int hash;
+
+        private void set(String measurement, Map<?, ?> tags) {
+            this.measurement = measurement;
+            this.tags = tags;
+            this.hash = 31 * measurement.hashCode() + (tags == null ? 0 : tags.hashCode());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof SeriesKey key)) {
+                return false;
+            }
+            int size = tags == null ? 0 : tags.size();
+            if (hash != key.hash || size != key.tagKeys.length
+                    || !measurement.equals(key.measurement)) {
+                return false;
+            }
+            for (int i = 0; i < key.tagKeys.length; i++) {
+                Object value = tags.get(key.tagKeys[i]);
+                if (!(value instanceof String text ? key.tagValues[i].equals(text)
+                        : key.tagValues[i].equals(String.valueOf(value)))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final Probe probe = new Probe();
+    private final Map<Object, byte[]> seriesCache;
+    private final boolean integerFields;
+
+    private byte[] buffer = new byte[256];
+    private int size;
+
+    /**
+     * 기본 시리즈 캐시 크기(10,000)로 숫자 필드를 float로 기록하는 인코더를 생성합니다.
+     */
+    public LineProtocolEncoder() {
+        this(DEFAULT_SERIES_CACHE_SIZE, false);
+    }
+
+    /**
+     * 기본 시리즈 캐시 크기(10,000)로 인코더를 생성합니다.
+     *
+     * @param integerFields true이면 정수 타입 필드를 integer 타입으로, false이면 float로 기록
+     */
+    public LineProtocolEncoder(boolean integerFields) {
+        this(DEFAULT_SERIES_CACHE_SIZE, integerFields);
+    }
+
+    /**
+     * 인코더를 생성합니다.
+     *
+     * @param seriesCacheSize 캐시할 최대 시리즈 수, 초과하면 가장 오래 사용되지 않은 시리즈를 제거합니다
+     * @param integerFields true이면 정수 타입 필드를 integer 타입으로, false이면 float로 기록
+     * @throws IllegalArgumentException 캐시 크기가 0 이하인 경우
+     */
+    public LineProtocolEncoder(int seriesCacheSize, boolean integerFields) {
+        if (seriesCacheSize <= 0) {
+            throw new IllegalArgumentException("시리즈 캐시 크기는 0보다 커야 합니다: " + seriesCacheSize);
+        }
+        this.integerFields = integerFields;
+        this.seriesCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, byte[]> eldest) {
+                return size() > seriesCacheSize;
+            }
+        };
+    }
+
+    /**
+     * 포인트 하나를 내부 버퍼에 line protocol로 인코딩합니다. 결과는 다음 호출 전까지 {@link #buffer()}의 {@code 0}부터 반환된 길이만큼
+     * 유효합니다.
+     *
+     * @param measurement measurement 이름
+     * @param tags 태그 Map, 없으면 null
+     * @param fields 필드 Map
+     * @param timestampMillis 밀리초 단위 타임스탬프
+     * @return 인코딩된 바이트 수, 기록할 필드가 없으면 0
+     * @throws IllegalArgumentException measurement가 비어 있는 경우
+     */
+    public int encode(String measurement, Map<?, ?> tags, Map<?, ?> fields, long timestampMillis) {
+        if (measurement == null || measurement.isEmpty()) {
+            throw new IllegalArgumentException("measurement는 비어 있을 수 없습니다.");
+        }
+        size = 0;
+        byte[] prefix = seriesPrefix(measurement, tags);
+        ensure(prefix.length + 1);
+        System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+        size = prefix.length;
+
+        int fieldCount = 0;
+        if (fields != null) {
+            for (Map.Entry<?, ?> field : fields.entrySet()) {
+                if (writeField(field.getKey(), field.getValue(), fieldCount == 0 ? ' ' : ',')) {
+                    fieldCount++;
+                }
+            }
+        }
+        if (fieldCount == 0) {
+            size = 0;
+            return 0;
+        }
+
+        writeByte(' ');
+        writeLong(timestampMillis);
+        return size;
+    }
+
+    /**
+     * 인코딩 결과가 담긴 내부 버퍼를 반환합니다. 버퍼는 재사용되므로 다음 {@link #encode} 호출 전에 사용해야 합니다.
+     *
+     * @return 내부 버퍼
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * 캐시된 시리즈 수를 반환합니다.
+     *
+     * @return 시리즈 수
+     */
+    public int getSeriesCount() {
+        return seriesCache.size();
+    }
+
+    private byte[] seriesPrefix(String measurement, Map<?, ?> tags) {
+        probe.set(measurement, tags);
+        byte[] prefix = seriesCache.get(probe);
+        if (prefix != null) {
+            return prefix;
+        }
+
+        int count = tags == null ? 0 : tags.size();
+        String[] keys = new String[count];
+        String[] values = new String[count];
+        if (count > 0) {
+            int i = 0;
+            for (Map.Entry<?, ?> tag : tags.entrySet()) {
+                keys[i] = String.valueOf(tag.getKey());
+                values[i] = String.valueOf(tag.getValue());
+                i++;
+            }
+            sortByKey(keys, values);
+        }
+
+        // 접두사는 캐시에 보관되므로 내부 버퍼를 빌려 인코딩한 뒤 복사합니다.
+        size = 0;
+        writeEscaped(measurement, MEASUREMENT_SPECIAL);
+        for (int i = 0; i < count; i++) {
+            if (keys[i].isEmpty() || values[i].isEmpty()) {
+                // InfluxDB는 빈 태그 키/값을 허용하지 않으므로 생략합니다.
+                continue;
+            }
+            writeByte(',');
+            writeEscaped(keys[i], KEY_SPECIAL);
+            writeByte('=');
+            writeEscaped(values[i], KEY_SPECIAL);
+        }
+        prefix = Arrays.copyOf(buffer, size);
+        size = 0;
+
+        // 조회 키와 같은 해시가 되도록 원본 태그 Map의 해시를 사용합니다.
+        seriesCache.put(new SeriesKey(measurement, keys, values, probe.hash), prefix);
+        return prefix;
+    }
+
+    private static void sortByKey(String[] keys, String[] values) {
+        // 태그 수는 적으므로 삽입 정렬로 충분합니다.
+        for (int i = 1; i < keys.length; i++) {
+            String key = keys[i];
+            String value = values[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j].compareTo(key) > 0) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    private boolean writeField(Object key, Object value, char separator) {
+        if (key == null || value == null) {
+            return false;
+        }
+        int mark = size;
+        writeByte(separator);
+        writeEscaped(key.toString(), KEY_SPECIAL);
+        writeByte('=');
+
+        boolean integral = value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte;
+        if (integral && integerFields) {
+            writeLong(((Number) value).longValue());
+            writeByte('i');
+        } else if (integral) {
+            // 소수점이 없는 정수 표기도 line protocol에서는 float로 해석됩니다.
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof BigInteger big) {
+            writeAscii(big.toString());
+            if (integerFields) {
+                writeByte('i');
+            }
+        } else if (value instanceof Boolean b) {
+            writeBytes(b ? TRUE : FALSE);
+        } else if (value instanceof BigDecimal decimal) {
+            writeAscii(decimal.toString());
+        } else if (value instanceof Number n) {
+            double d = n.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                size = mark;
+                return false;
+            }
+            writeAscii(Double.toString(d));
+        } else {
+            writeByte('"');
+            writeEscaped(value.toString(), STRING_SPECIAL);
+            writeByte('"');
+        }
+        return true;
+    }
+
+    private void writeEscaped(String s, String special) {
+        ensure(s.length() + 8);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (special.indexOf(c) >= 0) {
+                    writeByte('\\');
+                } else if (c == '\n' && special != STRING_SPECIAL) {
+                    // 키와 태그 값에서는 줄바꿈이 레코드 구분자로 해석되므로 이스케이프합니다.
+                    writeByte('\\');
+                    writeByte('n');
+                    continue;
+                }
+                writeByte(c);
+            } else if (c < 0x800) {
+                writeByte(0xC0 | (c >> 6));
+                writeByte(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                writeByte(0xF0 | (cp >> 18));
+                writeByte(0x80 | ((cp >> 12) & 0x3F));
+                writeByte(0x80 | ((cp >> 6) & 0x3F));
+                writeByte(0x80 | (cp & 0x3F));
+            } else {
+                writeByte(0xE0 | (c >> 12));
+                writeByte(0x80 | ((c >> 6) & 0x3F));
+                writeByte(0x80 | (c & 0x3F));
+            }
+        }
+        if (special != STRING_SPECIAL && !s.isEmpty() && s.charAt(s.length() - 1) == '\\') {
+            // 끝의 백슬래시는 뒤따르는 구분자(',', '=', ' ')를 이스케이프하므로 한 번 더 이스케이프합니다.
+            writeByte('\\');
+        }
+    }
+
+    private void writeAscii(String s) {
+        ensure(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            buffer[size++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        int start = size;
+        do {
+            buffer[size++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        // 역순으로 쓴 자릿수를 뒤집습니다.
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void writeByte(int b) {
+        ensure(1);
+        buffer[size++] = (byte) b;
+    }
+
+    private void ensure(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(size + additional, buffer.length * 2));
+        }
+    }
+}
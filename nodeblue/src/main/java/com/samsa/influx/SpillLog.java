@@ -0,0 +1,412 @@
+package com.samsa.influx;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * InfluxDB 장애 동안 기록하지 못한 배치를 보관하는 디스크 기반 추가 전용 로그입니다.
+ *
+ * <p>
+ * 로그는 {@code spill-<번호>.log} 세그먼트 파일들로 구성되며, 배치는 {@link FileChannel}의 위치 지정 쓰기로 파일에 바로 기록되므로 장애가
+ * 길어져도 힙 사용량은 늘어나지 않습니다. 레코드는 {@code [길이 int][포인트 수 int][line protocol 바이트]} 형식이며, 길이 0 또는 파일의
+ * 끝은 세그먼트의 끝을 뜻합니다. 재전송에 성공한 레코드는 길이를 음수로 바꾸어 표시하므로, 프로세스가 재시작되어도 이미 전송한 레코드는 다시 보내지
+ * 않습니다.
+ * </p>
+ *
+ * <p>
+ * 세그먼트 전체 크기가 {@code maxBytes}를 넘으면 가장 오래된 세그먼트를 삭제하고 삭제된 포인트 수를 집계합니다. 세그먼트는 채널을 닫은 뒤 삭제하므로
+ * 삭제 즉시 디스크 공간이 반환됩니다. 재전송은 가장 오래된 레코드부터 {@link #peek()}과 {@link #commit(Entry)}로 한 건씩 진행하며, 재전송을
+ * 수행하는 스레드는 하나여야 합니다. 디렉터리는 노드마다 따로 사용해야 합니다.
+ * </p>
+ *
+ * <p>
+ * 채널을 사용하는 스레드가 인터럽트되면 채널이 닫히므로, 이 로그를 사용하는 스레드는 인터럽트로 종료하지 않아야 합니다.
+ * </p>
+ */
+@Slf4j
+public class SpillLog implements AutoCloseable {
+
+    private static final String PREFIX = "spill-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+
+    /**
+     * 재전송할 레코드 하나입니다.
+     *
+     * @param segment 레코드가 위치한 세그먼트 번호
+     * @param position 세그먼트 안의 레코드 시작 위치
+     * @param points 레코드에 담긴 포인트 수
+     * @param bytes line protocol 바이트
+     */
+    public record Entry(long segment, int position, int points, byte[] bytes) {
+    }
+
+    private static final class Segment {
+        private final long seq;
+        private final Path path;
+        private final FileChannel channel;
+        private final int capacity;
+        private final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        private int readPos;
+        private int writePos;
+
+        private Segment(long seq, Path path, FileChannel channel, int capacity) {
+            this.seq = seq;
+            this.path = path;
+            this.channel = channel;
+            this.capacity = capacity;
+        }
+
+        private int capacity() {
+            return capacity;
+        }
+
+        /**
+         * 레코드 헤더를 읽습니다. 파일 끝을 넘으면 길이 0(세그먼트의 끝)으로 채웁니다.
+         */
+        private ByteBuffer readHeader(int pos) throws IOException {
+            header.clear();
+            while (header.hasRemaining()) {
+                if (channel.read(header, pos + header.position()) < 0) {
+                    header.clear();
+                    header.putLong(0, 0L);
+                    break;
+                }
+            }
+            return header;
+        }
+
+        private void read(int pos, byte[] bytes) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, pos + buffer.position()) < 0) {
+                    throw new EOFException("스필 세그먼트가 잘렸습니다: " + path);
+                }
+            }
+        }
+
+        private void write(int pos, ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, pos + buffer.position());
+            }
+        }
+
+        private boolean fits(int length) {
+            // 끝 표시(길이 0)를 쓸 공간을 남겨둡니다.
+            return writePos + HEADER_BYTES + length + 4 <= capacity();
+        }
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+    private final int segmentBytes;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSeq;
+    private long totalBytes;
+    private long pendingPoints;
+    private long droppedPoints;
+
+    /**
+     * 디렉터리의 기존 세그먼트를 열거나 새 로그를 생성합니다. 기존 세그먼트에 남아 있는 레코드는 재전송 대상이 됩니다.
+     *
+     * @param directory 세그먼트를 저장할 디렉터리
+     * @param maxBytes 세그먼트 파일 전체의 최대 크기
+     * @param segmentBytes 세그먼트 파일 하나의 크기
+     * @throws IllegalArgumentException 크기 설정이 잘못된 경우
+     * @throws UncheckedIOException 디렉터리나 세그먼트를 열 수 없는 경우
+     */
+    public SpillLog(Path directory, long maxBytes, int segmentBytes) {
+        if (directory == null) {
+            throw new IllegalArgumentException("스필 디렉터리는 null일 수 없습니다.");
+        }
+        if (segmentBytes <= HEADER_BYTES + 4 || maxBytes < segmentBytes) {
+            throw new IllegalArgumentException(
+                    "스필 크기 설정이 잘못되었습니다. maxBytes: " + maxBytes + ", segmentBytes: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.segmentBytes = segmentBytes;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스필 로그를 열 수 없습니다: " + directory, e);
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Long> seqs = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    seqs.add(Long.parseLong(
+                            name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    log.warn("스필 디렉터리의 알 수 없는 파일을 무시합니다: {}", path);
+                }
+            }
+        }
+        seqs.sort(null);
+
+        for (long seq : seqs) {
+            Path path = segmentPath(seq);
+            long size = Files.size(path);
+            if (size > Integer.MAX_VALUE) {
+                log.warn("스필 세그먼트가 너무 커서 무시합니다: {}", path);
+                continue;
+            }
+            Segment segment = open(seq, path, Math.max(segmentBytes, (int) size));
+            scan(segment, (int) size);
+            if (segment.readPos == segment.writePos && seq != seqs.get(seqs.size() - 1)) {
+                // 모두 전송된 세그먼트는 삭제합니다.
+                delete(segment);
+                continue;
+            }
+            segments.addLast(segment);
+            totalBytes += segment.capacity();
+            nextSeq = seq + 1;
+        }
+        if (pendingPoints > 0) {
+            log.info("스필 로그에서 재전송할 포인트 {}개를 발견했습니다: {}", pendingPoints, directory);
+        }
+    }
+
+    /**
+     * 세그먼트를 처음부터 읽어 첫 미전송 레코드 위치와 쓰기 위치를 찾습니다.
+     */
+    private void scan(Segment segment, int fileSize) throws IOException {
+        int pos = 0;
+        int firstPending = -1;
+        while (pos + HEADER_BYTES <= fileSize) {
+            ByteBuffer header = segment.readHeader(pos);
+            int length = header.getInt(0);
+            if (length == 0) {
+                break;
+            }
+            int size = Math.abs(length);
+            if ((long) pos + HEADER_BYTES + size > fileSize) {
+                log.warn("스필 세그먼트 끝의 손상된 레코드를 무시합니다: {}", segment.path);
+                break;
+            }
+            if (length > 0) {
+                pendingPoints += header.getInt(4);
+                if (firstPending < 0) {
+                    firstPending = pos;
+                }
+            }
+            pos += HEADER_BYTES + size;
+        }
+        segment.writePos = pos;
+        segment.readPos = firstPending < 0 ? pos : firstPending;
+        if (pos < fileSize) {
+            // 쓰다 만 레코드를 잘라내어 다음 레코드가 그 뒤에 읽히지 않도록 합니다.
+            segment.channel.truncate(pos);
+        }
+    }
+
+    /**
+     * 배치 하나를 로그 끝에 추가합니다. 디스크 한도를 넘으면 가장 오래된 세그먼트를 삭제합니다.
+     *
+     * @param bytes line protocol 바이트가 담긴 버퍼
+     * @param offset 시작 위치
+     * @param length 길이
+     * @param points 배치의 포인트 수
+     * @throws UncheckedIOException 세그먼트를 만들 수 없는 경우
+     */
+    public synchronized void append(byte[] bytes, int offset, int length, int points) {
+        Segment tail = segments.peekLast();
+        if (tail == null || !tail.fits(length)) {
+            tail = newSegment(length);
+        }
+        int pos = tail.writePos;
+        try {
+            ByteBuffer record = ByteBuffer.allocate(4 + length);
+            record.putInt(points).put(bytes, offset, length).flip();
+            tail.write(pos + 4, record);
+            // 길이는 마지막에 기록하여, 쓰다 만 레코드가 유효한 레코드로 읽히지 않도록 합니다.
+            tail.write(pos, ByteBuffer.allocate(4).putInt(0, length));
+        } catch (IOException e) {
+            throw new UncheckedIOException("스필 세그먼트에 기록할 수 없습니다: " + tail.path, e);
+        }
+        tail.writePos = pos + HEADER_BYTES + length;
+        pendingPoints += points;
+    }
+
+    private Segment newSegment(int length) {
+        int capacity = Math.max(segmentBytes, HEADER_BYTES + length + 4);
+        while (!segments.isEmpty() && totalBytes + capacity > maxBytes) {
+            evictOldest();
+        }
+        long seq = nextSeq++;
+        Path path = segmentPath(seq);
+        try {
+            Segment segment = open(seq, path, capacity);
+            segments.addLast(segment);
+            totalBytes += capacity;
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("스필 세그먼트를 만들 수 없습니다: " + path, e);
+        }
+    }
+
+    private void evictOldest() {
+        Segment oldest = segments.pollFirst();
+        long lost = 0;
+        int pos = oldest.readPos;
+        try {
+            while (pos < oldest.writePos) {
+                ByteBuffer header = oldest.readHeader(pos);
+                int length = header.getInt(0);
+                if (length == 0) {
+                    break;
+                }
+                if (length > 0) {
+                    lost += header.getInt(4);
+                }
+                pos += HEADER_BYTES + Math.abs(length);
+            }
+        } catch (IOException e) {
+            log.error("삭제할 스필 세그먼트를 읽을 수 없습니다: {}", oldest.path, e);
+        }
+        pendingPoints -= lost;
+        droppedPoints += lost;
+        totalBytes -= oldest.capacity();
+        delete(oldest);
+        log.warn("스필 디스크 한도({} bytes)를 넘어 가장 오래된 세그먼트를 삭제했습니다. 유실 포인트: {}", maxBytes, lost);
+    }
+
+    /**
+     * 가장 오래된 미전송 레코드를 반환합니다. 레코드는 {@link #commit(Entry)}를 호출할 때까지 로그에 남아 있습니다.
+     *
+     * @return 미전송 레코드, 없으면 null
+     * @throws UncheckedIOException 세그먼트를 읽을 수 없는 경우
+     */
+    public synchronized Entry peek() {
+        while (!segments.isEmpty()) {
+            Segment head = segments.peekFirst();
+            try {
+                while (head.readPos < head.writePos) {
+                    ByteBuffer header = head.readHeader(head.readPos);
+                    int length = header.getInt(0);
+                    if (length > 0) {
+                        int points = header.getInt(4);
+                        byte[] bytes = new byte[length];
+                        head.read(head.readPos + HEADER_BYTES, bytes);
+                        return new Entry(head.seq, head.readPos, points, bytes);
+                    }
+                    if (length == 0) {
+                        head.readPos = head.writePos;
+                        break;
+                    }
+                    head.readPos += HEADER_BYTES - length;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("스필 세그먼트를 읽을 수 없습니다: " + head.path, e);
+            }
+            if (segments.size() == 1) {
+                return null;
+            }
+            // 다 읽은 세그먼트는 더 이상 쓰이지 않으므로 삭제합니다.
+            segments.pollFirst();
+            totalBytes -= head.capacity();
+            delete(head);
+        }
+        return null;
+    }
+
+    /**
+     * 재전송에 성공한 레코드를 전송 완료로 표시합니다. 그 사이에 세그먼트가 삭제된 경우에는 아무것도 하지 않습니다.
+     *
+     * @param entry {@link #peek()}으로 얻은 레코드
+     * @throws UncheckedIOException 전송 완료 표시를 기록할 수 없는 경우
+     */
+    public synchronized void commit(Entry entry) {
+        Segment head = segments.peekFirst();
+        if (head == null || head.seq != entry.segment() || head.readPos != entry.position()) {
+            return;
+        }
+        try {
+            head.write(entry.position(), ByteBuffer.allocate(4).putInt(0, -entry.bytes().length));
+        } catch (IOException e) {
+            throw new UncheckedIOException("스필 세그먼트에 기록할 수 없습니다: " + head.path, e);
+        }
+        head.readPos += HEADER_BYTES + entry.bytes().length;
+        pendingPoints -= entry.points();
+    }
+
+    /**
+     * 재전송할 레코드가 없는지 확인합니다.
+     *
+     * @return 미전송 포인트가 없으면 true
+     */
+    public synchronized boolean isEmpty() {
+        return pendingPoints == 0;
+    }
+
+    public synchronized long getPendingPoints() {
+        return pendingPoints;
+    }
+
+    public synchronized long getDroppedPoints() {
+        return droppedPoints;
+    }
+
+    /**
+     * 세그먼트 파일이 차지하는 디스크 크기를 반환합니다.
+     *
+     * @return 바이트 수
+     */
+    public synchronized long getDiskBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * 세그먼트의 변경 내용을 디스크에 반영하고 채널을 닫습니다. 남은 레코드는 다음에 같은 디렉터리로 로그를 열 때 재전송 대상이 됩니다.
+     */
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            try {
+                segment.channel.force(false);
+                segment.channel.close();
+            } catch (IOException e) {
+                log.error("스필 세그먼트 닫기 실패: {}", segment.path, e);
+            }
+        }
+        segments.clear();
+    }
+
+    private Path segmentPath(long seq) {
+        return directory.resolve(String.format("%s%016d%s", PREFIX, seq, SUFFIX));
+    }
+
+    private static Segment open(long seq, Path path, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(seq, path, channel, capacity);
+    }
+
+    private static void delete(Segment segment) {
+        try {
+            // 열린 채널이 남아 있으면 파일을 삭제해도 디스크 공간이 반환되지 않으므로 먼저 닫습니다.
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            log.error("스필 세그먼트 삭제 실패: {}", segment.path, e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.samsa.modbus;
+
+import com.serotonin.modbus4j.ModbusFactory;
+import com.serotonin.modbus4j.ModbusMaster;
+import com.serotonin.modbus4j.exception.ModbusInitException;
+import com.serotonin.modbus4j.exception.ModbusTransportException;
+import com.serotonin.modbus4j.ip.IpParameters;
+import com.serotonin.modbus4j.msg.ModbusRequest;
+import com.serotonin.modbus4j.msg.ModbusResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 하나의 Modbus TCP 장치(또는 게이트웨이)에 대한 지속 연결입니다. {@link ModbusConnectionRegistry}를 통해서만 생성됩니다.
+ *
+ * <p>
+ * 마스터는 처음 요청할 때 초기화되어 이후 요청에 계속 재사용됩니다. 요청은 연결마다 한 번에 하나씩 보내며, 같은 게이트웨이 뒤의 여러 슬레이브를 읽는
+ * 노드들은 이 연결을 공유합니다.
+ * </p>
+ *
+ * <p>
+ * 연속으로 {@value #FAILURES_BEFORE_RECONNECT}번 실패하거나 초기화에 실패하면 마스터를 종료하고, 1초부터 최대 60초까지 두 배씩 늘어나는
+ * 대기 시간(backoff)이 지난 뒤 다시 연결합니다. 대기 중인 요청은 장치에 보내지 않고 곧바로 실패합니다.
+ * </p>
+ *
+ * <p>
+ * 마지막 사용자가 반환하여 닫힌 연결은 다시 열리지 않습니다. 닫힌 뒤에 도착한 요청은 마스터를 새로 만들지 않고 곧바로 실패하므로, 진행 중이던 폴링이
+ * 연결을 다시 열어 마스터가 남는 일이 없습니다.
+ * </p>
+ */
+@Slf4j
+public final class ModbusConnection {
+
+    private static final int FAILURES_BEFORE_RECONNECT = 3;
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 60000;
+
+    private final String host;
+    private final int port;
+    private final boolean keepAlive;
+    private final int timeout;
+    private final int retries;
+
+    private ModbusMaster master;
+    private int consecutiveFailures;
+    private long backoffMillis = INITIAL_BACKOFF_MILLIS;
+    private long nextAttemptAt;
+    private boolean closed;
+
+    ModbusConnection(String host, int port, boolean keepAlive, int timeout, int retries) {
+        this.host = host;
+        this.port = port;
+        this.keepAlive = keepAlive;
+        this.timeout = timeout;
+        this.retries = retries;
+    }
+
+    public String getAddress() {
+        return host + ":" + port;
+    }
+
+    /**
+     * 마스터가 초기화되어 있는지 확인합니다.
+     *
+     * @return 연결되어 있으면 true
+     */
+    public synchronized boolean isConnected() {
+        return master != null;
+    }
+
+    /**
+     * 요청을 보내고 응답을 기다립니다. 연결되어 있지 않으면 먼저 연결합니다.
+     *
+     * @param request Modbus 요청
+     * @return 장치의 응답
+     * @throws ModbusTransportException 연결이 종료되었거나 연결 대기 중이거나 연결 또는 전송에 실패한 경우
+     */
+    public synchronized ModbusResponse send(ModbusRequest request)
+            throws ModbusTransportException {
+        connect();
+        try {
+            ModbusResponse response = master.send(request);
+            consecutiveFailures = 0;
+            return response;
+        } catch (ModbusTransportException e) {
+            if (++consecutiveFailures >= FAILURES_BEFORE_RECONNECT) {
+                log.warn("Modbus 요청이 {}번 연속 실패하여 다시 연결합니다: {}", consecutiveFailures,
+                        getAddress());
+                disconnect();
+                delayReconnect();
+            }
+            throw e;
+        }
+    }
+
+    private void connect() throws ModbusTransportException {
+        if (closed) {
+            throw new ModbusTransportException("Modbus 연결이 종료되었습니다: " + getAddress());
+        }
+        if (master != null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now < nextAttemptAt) {
+            throw new ModbusTransportException("Modbus 재연결 대기 중입니다: " + getAddress()
+                    + " (" + (nextAttemptAt - now) + "ms 남음)");
+        }
+
+        IpParameters params = new IpParameters();
+        params.setHost(host);
+        params.setPort(port);
+        ModbusMaster created = new ModbusFactory().createTcpMaster(params, keepAlive);
+        created.setTimeout(timeout);
+        created.setRetries(retries);
+        try {
+            created.init();
+        } catch (ModbusInitException e) {
+            log.error("Modbus 연결 실패: {}, {}ms 후 다시 시도합니다. 오류: {}", getAddress(), backoffMillis,
+                    e.getMessage());
+            delayReconnect();
+            throw new ModbusTransportException(e);
+        }
+        master = created;
+        consecutiveFailures = 0;
+        backoffMillis = INITIAL_BACKOFF_MILLIS;
+        log.info("Modbus 마스터가 연결되었습니다: {}, keepAlive={}", getAddress(), keepAlive);
+    }
+
+    private void delayReconnect() {
+        nextAttemptAt = System.currentTimeMillis() + backoffMillis;
+        backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+    }
+
+    private void disconnect() {
+        if (master == null) {
+            return;
+        }
+        try {
+            master.destroy();
+        } catch (Exception e) {
+            log.error("Modbus 마스터 종료 중 오류 발생: {}", e.getMessage(), e);
+        }
+        master = null;
+    }
+
+    synchronized void close() {
+        closed = true;
+        disconnect();
+        log.info("Modbus 마스터가 종료되었습니다: {}", getAddress());
+    }
+}
@@ -0,0 +1,95 @@
+package com.samsa.modbus;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 프로세스 전체에서 Modbus TCP 연결을 공유하기 위한 레지스트리입니다.
+ *
+ * <p>
+ * 연결은 호스트와 포트로 구분되며, 같은 장치나 게이트웨이를 읽는 노드들은 하나의 TCP 연결을 공유합니다. 타임아웃과 재시도 설정은 처음 연결을 요청한 노드의
+ * 것을 사용합니다. 참조 수를 관리하여 마지막 노드가 {@link #release(ModbusConnection)}를 호출하면 연결을 종료합니다.
+ * </p>
+ */
+@Slf4j
+public final class ModbusConnectionRegistry {
+
+    private record Key(String host, int port) {
+        @Override
+        public String toString() {
+            return host + ":" + port;
+        }
+    }
+
+    private static final class Entry {
+        private final ModbusConnection connection;
+        private int references;
+
+        private Entry(ModbusConnection connection) {
+            this.connection = connection;
+        }
+    }
+
+    private static final Map<Key, Entry> CONNECTIONS = new HashMap<>();
+
+    private ModbusConnectionRegistry() {
+        throw new UnsupportedOperationException("ModbusConnectionRegistry는 인스턴스를 생성할 수 없습니다.");
+    }
+
+    /**
+     * 장치 연결을 얻습니다. 연결은 첫 요청 시에 맺어집니다.
+     *
+     * @param host 장치 호스트
+     * @param port 장치 포트
+     * @param keepAlive TCP 연결 유지 여부
+     * @param timeout 응답 타임아웃 (ms)
+     * @param retries 요청 재시도 횟수
+     * @return 공유 연결
+     * @throws IllegalArgumentException 호스트가 null인 경우
+     */
+    public static synchronized ModbusConnection acquire(String host, int port, boolean keepAlive,
+            int timeout, int retries) {
+        if (Objects.isNull(host)) {
+            throw new IllegalArgumentException("Modbus 호스트는 null일 수 없습니다.");
+        }
+        Key key = new Key(host, port);
+        Entry entry = CONNECTIONS.computeIfAbsent(key,
+                k -> new Entry(new ModbusConnection(host, port, keepAlive, timeout, retries)));
+        entry.references++;
+        log.debug("Modbus 공유 연결 획득: {}, 참조 수: {}", key, entry.references);
+        return entry.connection;
+    }
+
+    /**
+     * 연결 사용을 끝냅니다. 마지막 사용자가 반환하면 연결을 종료합니다.
+     *
+     * @param connection 반환할 연결
+     */
+    public static synchronized void release(ModbusConnection connection) {
+        for (Map.Entry<Key, Entry> e : CONNECTIONS.entrySet()) {
+            Entry entry = e.getValue();
+            if (entry.connection != connection) {
+                continue;
+            }
+            entry.references--;
+            log.debug("Modbus 공유 연결 반환: {}, 참조 수: {}", e.getKey(), entry.references);
+            if (entry.references == 0) {
+                CONNECTIONS.remove(e.getKey());
+                connection.close();
+            }
+            return;
+        }
+    }
+
+    /**
+     * 현재 등록된 연결 수를 반환합니다.
+     *
+     * @return 연결 수
+     */
+    public static synchronized int size() {
+        return CONNECTIONS.size();
+    }
+}
@@ -0,0 +1,79 @@
+package com.samsa.modbus;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 장치 하나의 읽기 지연 시간과 실패 횟수를 집계합니다.
+ */
+public class ModbusDeviceStats {
+
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong totalLatencyMicros = new AtomicLong();
+    private final AtomicLong maxLatencyMicros = new AtomicLong();
+    private volatile long lastLatencyMicros;
+    private volatile int consecutiveFailures;
+    private volatile long lastSuccessAt;
+
+    /**
+     * 성공한 읽기를 기록합니다.
+     *
+     * @param latencyNanos 요청부터 응답까지 걸린 시간 (ns)
+     */
+    public void recordSuccess(long latencyNanos) {
+        long micros = latencyNanos / 1000;
+        reads.incrementAndGet();
+        totalLatencyMicros.addAndGet(micros);
+        maxLatencyMicros.accumulateAndGet(micros, Math::max);
+        lastLatencyMicros = micros;
+        consecutiveFailures = 0;
+        lastSuccessAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 실패한 읽기를 기록합니다.
+     */
+    public void recordFailure() {
+        failures.incrementAndGet();
+        consecutiveFailures++;
+    }
+
+    public long getReadCount() {
+        return reads.get();
+    }
+
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public long getLastLatencyMicros() {
+        return lastLatencyMicros;
+    }
+
+    public long getMaxLatencyMicros() {
+        return maxLatencyMicros.get();
+    }
+
+    /**
+     * 성공한 읽기의 평균 지연 시간을 반환합니다.
+     *
+     * @return 평균 지연 시간 (μs), 성공한 읽기가 없으면 0
+     */
+    public long getAverageLatencyMicros() {
+        long count = reads.get();
+        return count == 0 ? 0 : totalLatencyMicros.get() / count;
+    }
+
+    /**
+     * 마지막으로 읽기에 성공한 시각을 반환합니다.
+     *
+     * @return epoch 밀리초, 성공한 적이 없으면 0
+     */
+    public long getLastSuccessAt() {
+        return lastSuccessAt;
+    }
+}
@@ -0,0 +1,139 @@
+package com.samsa.modbus;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 Modbus 장치의 주기적 읽기를 하나의 스레드 풀에서 실행하는 스케줄러입니다.
+ *
+ * <p>
+ * 장치마다 스레드를 두지 않고 공유 스케줄러가 폴링 작업을 실행합니다. 작업의 첫 실행은 주기 안의 임의 시점으로 흩어지고, 이후에는 이전 실행이 끝난 뒤 남은
+ * 주기와 {@code 0 ~ jitterMillis} 사이의 임의 지연을 더해 다시 예약됩니다. 따라서 수백 개 장치가 같은 주기를 가져도 요청이 한 순간에 몰리지
+ * 않으며, 응답이 느린 장치의 작업이 겹쳐 실행되지 않습니다.
+ * </p>
+ *
+ * <p>
+ * 스레드 수는 {@code nodeblue.modbus.pollerThreads} 시스템 속성으로 지정하며, 지정하지 않으면 {@code max(4, CPU 수 × 2)}입니다. 폴링은
+ * 대부분 장치의 응답을 기다리는 시간이므로, 장치 수와 응답 시간에 맞게 늘릴 수 있습니다. 한 장치가 스레드를 오래 점유하지 않도록 폴링 작업은 한 번에
+ * 폴링 주기 이상 장치를 읽지 않아야 합니다.
+ * </p>
+ */
+@Slf4j
+public final class ModbusPoller {
+
+    private static final String THREADS_PROPERTY = "nodeblue.modbus.pollerThreads";
+    private static final int THREADS = threads();
+    private static final AtomicInteger THREAD_SEQUENCE = new AtomicInteger();
+    private static final ScheduledExecutorService EXECUTOR =
+            Executors.newScheduledThreadPool(THREADS, r -> {
+                Thread thread = new Thread(r, "modbus-poller-" + THREAD_SEQUENCE.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private ModbusPoller() {
+        throw new UnsupportedOperationException("ModbusPoller는 인스턴스를 생성할 수 없습니다.");
+    }
+
+    private static int threads() {
+        int defaultThreads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        Integer configured = Integer.getInteger(THREADS_PROPERTY);
+        if (configured == null) {
+            return defaultThreads;
+        }
+        if (configured <= 0) {
+            log.warn("{}는 0보다 커야 합니다: {}. 기본값 {}를 사용합니다.", THREADS_PROPERTY, configured,
+                    defaultThreads);
+            return defaultThreads;
+        }
+        return configured;
+    }
+
+    /**
+     * 폴링 스레드 수를 반환합니다.
+     *
+     * @return 스레드 수
+     */
+    public static int getThreadCount() {
+        return THREADS;
+    }
+
+    /**
+     * 예약된 폴링 작업입니다.
+     */
+    public static final class Task implements Runnable {
+        private final Runnable poll;
+        private final long intervalMillis;
+        private final long jitterMillis;
+        private volatile boolean cancelled;
+        private volatile ScheduledFuture<?> future;
+
+        private Task(Runnable poll, long intervalMillis, long jitterMillis) {
+            this.poll = poll;
+            this.intervalMillis = intervalMillis;
+            this.jitterMillis = jitterMillis;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            long started = System.currentTimeMillis();
+            try {
+                poll.run();
+            } catch (RuntimeException e) {
+                log.error("Modbus 폴링 작업 중 오류 발생: {}", e.getMessage(), e);
+            } finally {
+                if (!cancelled) {
+                    long elapsed = System.currentTimeMillis() - started;
+                    schedule(Math.max(0, intervalMillis - elapsed) + jitter());
+                }
+            }
+        }
+
+        private long jitter() {
+            return jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0;
+        }
+
+        private void schedule(long delayMillis) {
+            future = EXECUTOR.schedule(this, delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * 이후의 폴링을 취소합니다. 실행 중인 폴링은 끝까지 실행됩니다.
+         */
+        public void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> current = future;
+            if (current != null) {
+                current.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * 폴링 작업을 예약합니다.
+     *
+     * @param poll 한 번의 폴링을 수행하는 작업
+     * @param intervalMillis 폴링 주기 (ms)
+     * @param jitterMillis 주기마다 더하는 최대 임의 지연 (ms)
+     * @return 예약된 작업
+     * @throws IllegalArgumentException 주기가 0 이하이거나 지연이 음수인 경우
+     */
+    public static Task schedule(Runnable poll, long intervalMillis, long jitterMillis) {
+        if (intervalMillis <= 0 || jitterMillis < 0) {
+            throw new IllegalArgumentException(
+                    "폴링 주기는 0보다 크고 지연은 0 이상이어야 합니다: " + intervalMillis + ", " + jitterMillis);
+        }
+        Task task = new Task(poll, intervalMillis, jitterMillis);
+        task.schedule(ThreadLocalRandom.current().nextLong(intervalMillis));
+        return task;
+    }
+}
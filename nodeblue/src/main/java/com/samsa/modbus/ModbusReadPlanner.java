@@ -0,0 +1,107 @@
+package com.samsa.modbus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 레지스터 맵을 가능한 적은 수의 읽기 요청으로 묶습니다.
+ *
+ * <p>
+ * 항목을 주소 순으로 정렬한 뒤, 다음 항목과 현재 요청 사이의 빈 레지스터 수가 {@code maxGap} 이하이고 합친 길이가 요청 하나의 최대 길이
+ * ({@value #MAX_REGISTERS_PER_REQUEST}개)를 넘지 않으면 같은 요청에 넣습니다. 빈 레지스터도 함께 읽게 되므로, 읽을 수 없는 주소가
+ * 섞인 장치에서는 {@code maxGap}을 0으로 두어야 합니다.
+ * </p>
+ */
+public final class ModbusReadPlanner {
+
+    /**
+     * Modbus 프로토콜에서 Read Holding Registers 요청 하나로 읽을 수 있는 최대 레지스터 수입니다.
+     */
+    public static final int MAX_REGISTERS_PER_REQUEST = 125;
+
+    private ModbusReadPlanner() {
+        throw new UnsupportedOperationException("ModbusReadPlanner는 인스턴스를 생성할 수 없습니다.");
+    }
+
+    /**
+     * 한 번의 요청으로 읽을 연속된 레지스터 구간과, 그 안에 포함된 항목들입니다.
+     *
+     * @param start 시작 주소
+     * @param count 읽을 레지스터 수
+     * @param registers 구간에 포함된 항목 (주소 순)
+     */
+    public record Block(int start, int count, List<ModbusRegister> registers) {
+
+        /**
+         * 응답 레지스터를 항목별 값으로 나누어 담습니다. 응답이 요청보다 짧으면 응답에 모두 들어 있는 항목만 담습니다.
+         *
+         * @param data 이 구간의 응답 레지스터 배열
+         * @param values 값을 담을 Map (이름 → 값)
+         * @return 응답에 들어 있지 않아 건너뛴 항목 수
+         */
+        public int decode(short[] data, Map<String, Object> values) {
+            int skipped = 0;
+            for (ModbusRegister register : registers) {
+                int index = register.getAddress() - start;
+                if (!register.fits(data, index)) {
+                    skipped++;
+                    continue;
+                }
+                values.put(register.getName(), register.decode(data, index));
+            }
+            return skipped;
+        }
+    }
+
+    /**
+     * 레지스터 맵의 읽기 계획을 만듭니다.
+     *
+     * @param registers 레지스터 맵
+     * @param maxGap 한 요청에 함께 읽을 수 있는 최대 빈 레지스터 수
+     * @return 주소 순의 읽기 구간 목록
+     * @throws IllegalArgumentException 레지스터 맵이 비었거나, 이름이 중복되거나, maxGap이 음수인 경우
+     */
+    public static List<Block> plan(List<ModbusRegister> registers, int maxGap) {
+        if (registers == null || registers.isEmpty()) {
+            throw new IllegalArgumentException("레지스터 맵은 비어 있을 수 없습니다.");
+        }
+        if (maxGap < 0) {
+            throw new IllegalArgumentException("maxGap은 0 이상이어야 합니다: " + maxGap);
+        }
+        Set<String> names = new HashSet<>();
+        for (ModbusRegister register : registers) {
+            if (!names.add(register.getName())) {
+                throw new IllegalArgumentException("레지스터 이름이 중복되었습니다: " + register.getName());
+            }
+        }
+
+        List<ModbusRegister> sorted = new ArrayList<>(registers);
+        sorted.sort(Comparator.comparingInt(ModbusRegister::getAddress));
+
+        List<Block> blocks = new ArrayList<>();
+        List<ModbusRegister> current = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        for (ModbusRegister register : sorted) {
+            boolean fits = !current.isEmpty() && register.getAddress() - end <= maxGap
+                    && Math.max(end, register.getEnd()) - start <= MAX_REGISTERS_PER_REQUEST;
+            if (!fits) {
+                if (!current.isEmpty()) {
+                    blocks.add(new Block(start, end - start, Collections.unmodifiableList(current)));
+                }
+                current = new ArrayList<>();
+                start = register.getAddress();
+                end = start;
+            }
+            current.add(register);
+            end = Math.max(end, register.getEnd());
+        }
+        blocks.add(new Block(start, end - start, Collections.unmodifiableList(current)));
+        return blocks;
+    }
+}
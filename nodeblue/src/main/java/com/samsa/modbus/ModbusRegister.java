@@ -0,0 +1,115 @@
+package com.samsa.modbus;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 레지스터 맵의 항목 하나입니다. 이름, 시작 주소, 데이터 타입과 배율, 그리고 변경 여부를 판단할 deadband를 가집니다.
+ */
+public class ModbusRegister {
+
+    private static final int MAX_ADDRESS = 0xFFFF;
+
+    private final String name;
+    private final int address;
+    private final ModbusRegisterType type;
+    private final double scale;
+    private final double deadband;
+
+    /**
+     * 레지스터 항목을 생성합니다.
+     *
+     * @param name 페이로드에서 사용할 값 이름
+     * @param address 시작 레지스터 주소
+     * @param type 데이터 타입 (기본값 {@link ModbusRegisterType#INT16})
+     * @param scale 읽은 값에 곱할 배율 (기본값 1)
+     * @param deadband 변경으로 보지 않을 배율 적용 후 변화량 (기본값 0)
+     * @throws IllegalArgumentException 이름이 없거나, 주소가 범위를 벗어나거나, deadband가 음수인 경우
+     */
+    @JsonCreator
+    public ModbusRegister(@JsonProperty("name") String name,
+            @JsonProperty("address") Integer address,
+            @JsonProperty("type") ModbusRegisterType type,
+            @JsonProperty("scale") Double scale,
+            @JsonProperty("deadband") Double deadband) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("레지스터 이름은 비어 있을 수 없습니다.");
+        }
+        this.name = name;
+        this.type = type != null ? type : ModbusRegisterType.INT16;
+        if (address == null || address < 0 || address + this.type.getWords() - 1 > MAX_ADDRESS) {
+            throw new IllegalArgumentException("레지스터 주소가 범위를 벗어났습니다: " + name + "=" + address);
+        }
+        this.address = address;
+        this.scale = scale != null ? scale : 1.0;
+        this.deadband = deadband != null ? deadband : 0.0;
+        if (this.deadband < 0) {
+            throw new IllegalArgumentException("deadband는 0 이상이어야 합니다: " + name + "=" + deadband);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAddress() {
+        return address;
+    }
+
+    public ModbusRegisterType getType() {
+        return type;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public double getDeadband() {
+        return deadband;
+    }
+
+    /**
+     * 이 항목이 끝나는 다음 주소를 반환합니다.
+     *
+     * @return 마지막 레지스터 주소 + 1
+     */
+    public int getEnd() {
+        return address + type.getWords();
+    }
+
+    /**
+     * 응답 레지스터 배열에 이 항목의 레지스터가 모두 들어 있는지 확인합니다. 장치가 요청보다 짧게 응답한 경우를 걸러냅니다.
+     *
+     * @param data 응답 레지스터 배열
+     * @param index 이 항목이 시작하는 배열 위치
+     * @return 읽을 수 있으면 true
+     */
+    public boolean fits(short[] data, int index) {
+        return index >= 0 && index + type.getWords() <= data.length;
+    }
+
+    /**
+     * 응답 레지스터에서 값을 읽습니다. 배율이 1인 정수 타입은 Long으로, 그 외에는 배율을 곱한 Double로 반환합니다.
+     *
+     * @param data 응답 레지스터 배열
+     * @param index 이 항목이 시작하는 배열 위치
+     * @return 읽은 값
+     */
+    public Number decode(short[] data, int index) {
+        if (scale == 1.0 && type.isInteger()) {
+            return type.toLong(data, index);
+        }
+        return toDouble(data, index);
+    }
+
+    /**
+     * 응답 레지스터에서 배율을 적용한 값을 박싱 없이 읽습니다.
+     *
+     * @param data 응답 레지스터 배열
+     * @param index 이 항목이 시작하는 배열 위치
+     * @return 배율을 곱한 값
+     */
+    public double toDouble(short[] data, int index) {
+        return type.toDouble(data, index) * scale;
+    }
+}
@@ -0,0 +1,84 @@
+package com.samsa.modbus;
+
+/**
+ * 레지스터 값의 데이터 타입입니다. 여러 워드를 차지하는 타입은 상위 워드가 먼저 오는 순서(big-endian)로 해석합니다.
+ */
+public enum ModbusRegisterType {
+    INT16(1),
+    UINT16(1),
+    INT32(2),
+    UINT32(2),
+    FLOAT32(2),
+    INT64(4),
+    FLOAT64(4);
+
+    private final int words;
+
+    ModbusRegisterType(int words) {
+        this.words = words;
+    }
+
+    /**
+     * 타입이 차지하는 레지스터 수를 반환합니다.
+     *
+     * @return 레지스터(16비트 워드) 수
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * 레지스터 값을 원시 정수 비트로 읽습니다.
+     *
+     * @param data 응답 레지스터 배열
+     * @param index 값이 시작하는 배열 위치
+     * @return 상위 워드부터 합친 비트
+     */
+    private long bits(short[] data, int index) {
+        long bits = 0;
+        for (int i = 0; i < words; i++) {
+            bits = (bits << 16) | (data[index + i] & 0xFFFF);
+        }
+        return bits;
+    }
+
+    /**
+     * 정수 타입의 레지스터 값을 부호를 고려하여 long으로 반환합니다.
+     *
+     * @param data 응답 레지스터 배열
+     * @param index 값이 시작하는 배열 위치
+     * @return 해석된 값
+     */
+    long toLong(short[] data, int index) {
+        long bits = bits(data, index);
+        return switch (this) {
+            case INT16 -> (short) bits;
+            case INT32 -> (int) bits;
+            default -> bits;
+        };
+    }
+
+    /**
+     * 레지스터 값을 해석하여 double로 반환합니다.
+     *
+     * @param data 응답 레지스터 배열
+     * @param index 값이 시작하는 배열 위치
+     * @return 해석된 값
+     */
+    double toDouble(short[] data, int index) {
+        return switch (this) {
+            case FLOAT32 -> Float.intBitsToFloat((int) bits(data, index));
+            case FLOAT64 -> Double.longBitsToDouble(bits(data, index));
+            default -> toLong(data, index);
+        };
+    }
+
+    /**
+     * 정수 타입인지 확인합니다.
+     *
+     * @return 정수 타입이면 true
+     */
+    boolean isInteger() {
+        return this != FLOAT32 && this != FLOAT64;
+    }
+}
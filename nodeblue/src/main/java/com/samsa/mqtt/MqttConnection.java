@@ -0,0 +1,433 @@
+package com.samsa.mqtt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.IMqttToken;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.MqttCallbackExtended;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+
+import com.samsa.core.MqttPayload;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 MQTT 노드가 공유하는 브로커 연결입니다. {@link MqttConnectionRegistry}를 통해서만 생성됩니다.
+ *
+ * <p>
+ * 노드들의 구독은 {@link TopicTrie}에 등록되며, 브로커에는 토픽 필터마다 한 번만 구독합니다. 같은 필터를 여러 노드가 구독하면 구독자 중 가장 높은
+ * QoS로 구독합니다. 수신 메시지는 트라이에서 일치하는 노드들에게 프로세스 안에서 분배됩니다.
+ * </p>
+ *
+ * <p>
+ * 브로커는 겹치는 구독마다 메시지를 한 번씩 보낼 수 있으므로, 토픽이 겹치는 필터(예: {@code a/#}와 {@code a/b})는 브로커에 하나의 넓은 필터로
+ * 합쳐 구독합니다({@link TopicFilters#union}). 따라서 하나의 발행은 연결에 한 번만 도착하고, 각 노드는 트라이를 통해 한 번씩 전달받습니다. 구독
+ * 구성이 바뀌는 동안에는 새 필터를 먼저 구독한 뒤 이전 필터를 해제하므로, 그 사이에 도착한 메시지는 중복될 수 있습니다.
+ * </p>
+ *
+ * <p>
+ * 구독 변경은 브로커의 SUBACK을 기다리는 동안에도 연결의 다른 작업(수신 분배, 재구독)을 막지 않도록 별도의 잠금으로 직렬화합니다. 노드는 SUBACK을
+ * 받은 뒤에 트라이에 등록되며, 구독에 실패하면 변경 전 상태로 되돌립니다.
+ * </p>
+ *
+ * <p>
+ * 수신은 수동 ACK 모드로 동작하며, 일치하는 모든 구독자가 메시지를 넘겨받은 뒤에 ACK를 보냅니다. 일치하는 구독자가 없는 메시지는 즉시 ACK합니다.
+ * 자동 재연결 후에는 모든 필터를 다시 구독합니다.
+ * </p>
+ *
+ * <p>
+ * {@code $share/그룹/필터} 형태의 공유 구독도 지원합니다. 브로커에는 그대로 구독하고, 수신 메시지에는 실제 토픽이 담겨 오므로 트라이에는 접두사를
+ * 제외한 필터를 등록합니다. MQTT 3.1.1의 수신 메시지에는 어느 구독으로 전달되었는지가 없어 같은 토픽의 공유 구독과 일반 구독(또는 다른 그룹의 공유
+ * 구독)을 구분할 수 없으므로, 한 연결에서 공유 구독 필터와 토픽이 겹치는 다른 필터의 구독은 거부합니다.
+ * </p>
+ */
+@Slf4j
+public final class MqttConnection {
+
+    /**
+     * Paho의 in-flight 제한. 전송 창은 각 MqttOutNode가 관리하므로 패킷 ID 공간 전체를 허용합니다.
+     */
+    private static final int MAX_INFLIGHT = 65535;
+    private static final int CONNECTION_TIMEOUT_SECONDS = 10;
+    private static final String SHARED_PREFIX = "$share/";
+
+    private final String broker;
+    private final String username;
+    private final String password;
+    private final MqttAsyncClient client;
+    private final TopicTrie<MqttSubscriber> trie = new TopicTrie<>();
+
+    /** 토픽 필터별 구독자와 각 구독자가 요청한 QoS */
+    private final Map<String, Map<MqttSubscriber, Integer>> subscriptions = new HashMap<>();
+
+    /** 토픽 필터별 브로커에 구독한 QoS */
+    private final Map<String, Integer> brokerQos = new HashMap<>();
+
+    /** 구독 변경을 직렬화하는 잠금. 브로커 응답을 기다리는 동안 보유합니다. */
+    private final Object changeLock = new Object();
+
+    MqttConnection(String broker, String clientId, String username, String password)
+            throws MqttException {
+        this.broker = broker;
+        this.username = username;
+        this.password = password;
+        this.client = new MqttAsyncClient(broker, clientId, new MemoryPersistence());
+        this.client.setManualAcks(true);
+        this.client.setCallback(new MqttCallbackExtended() {
+            @Override
+            public void connectComplete(boolean reconnect, String serverURI) {
+                if (reconnect) {
+                    resubscribe();
+                }
+            }
+
+            @Override
+            public void connectionLost(Throwable cause) {
+                log.error("MQTT 연결이 끊어졌습니다. 자동 재연결을 기다립니다. Broker: {}", broker, cause);
+            }
+
+            @Override
+            public void messageArrived(String topic, MqttMessage message) {
+                dispatch(topic, message);
+            }
+
+            @Override
+            public void deliveryComplete(IMqttDeliveryToken token) {
+                // 발행 완료는 발행 시 등록한 콜백에서 처리합니다.
+            }
+        });
+    }
+
+    void connect() throws MqttException {
+        MqttConnectOptions options = new MqttConnectOptions();
+        options.setAutomaticReconnect(true);
+        options.setCleanSession(true);
+        options.setConnectionTimeout(CONNECTION_TIMEOUT_SECONDS);
+        options.setMaxInflight(MAX_INFLIGHT);
+        if (username != null) {
+            options.setUserName(username);
+        }
+        if (password != null) {
+            options.setPassword(password.toCharArray());
+        }
+        client.connect(options).waitForCompletion();
+        log.info("MQTT 공유 연결이 브로커에 연결되었습니다: {}", broker);
+    }
+
+    void close() {
+        try {
+            if (client.isConnected()) {
+                client.disconnect().waitForCompletion();
+            }
+            client.close();
+            log.info("MQTT 공유 연결 종료: {}", broker);
+        } catch (MqttException e) {
+            log.error("MQTT 공유 연결 종료 중 오류 발생: {}", broker, e);
+        }
+    }
+
+    public String getBroker() {
+        return broker;
+    }
+
+    public boolean isConnected() {
+        return client.isConnected();
+    }
+
+    /**
+     * 토픽 필터를 구독합니다. 필요한 경우에만 브로커에 구독 요청을 보내고 SUBACK을 기다린 뒤 구독자를 등록합니다.
+     *
+     * @param filter 토픽 필터
+     * @param qos 요청 QoS 레벨
+     * @param subscriber 메시지를 전달받을 구독자
+     * @throws MqttException 브로커 구독에 실패한 경우 (구독자는 등록되지 않음)
+     * @throws IllegalArgumentException 토픽 필터가 잘못된 경우
+     * @throws IllegalStateException 공유 구독 필터와 토픽이 겹치는 다른 필터가 이 연결에 이미 구독되어 있는 경우
+     */
+    public void subscribe(String filter, int qos, MqttSubscriber subscriber) throws MqttException {
+        String matchFilter = matchFilter(filter);
+        TopicFilters.validate(matchFilter);
+        synchronized (changeLock) {
+            Map<String, Integer> current;
+            Map<String, Integer> desired;
+            synchronized (this) {
+                checkSharedConflict(filter, matchFilter);
+                Map<String, Map<MqttSubscriber, Integer>> next = new HashMap<>(subscriptions);
+                Map<MqttSubscriber, Integer> subscribers =
+                        new HashMap<>(next.getOrDefault(filter, Map.of()));
+                subscribers.merge(subscriber, qos, Math::max);
+                next.put(filter, subscribers);
+                current = new HashMap<>(brokerQos);
+                desired = plan(next);
+                desired.replaceAll((f, q) -> Math.max(q, current.getOrDefault(f, q)));
+            }
+
+            List<String> subscribed = new ArrayList<>();
+            try {
+                for (Map.Entry<String, Integer> e : desired.entrySet()) {
+                    Integer granted = current.get(e.getKey());
+                    if (granted == null || granted < e.getValue()) {
+                        subscribeBroker(e.getKey(), e.getValue());
+                        subscribed.add(e.getKey());
+                    }
+                }
+            } catch (MqttException | RuntimeException e) {
+                // 이번 변경으로 새로 구독한 필터만 해제하고, QoS를 올린 필터는 그대로 기록합니다.
+                for (String added : subscribed) {
+                    if (current.containsKey(added)) {
+                        current.put(added, desired.get(added));
+                    } else {
+                        unsubscribeBroker(added);
+                    }
+                }
+                synchronized (this) {
+                    brokerQos.clear();
+                    brokerQos.putAll(current);
+                }
+                log.error("토픽 '{}' 구독 실패. Broker: {}", filter, broker, e);
+                throw e;
+            }
+
+            synchronized (this) {
+                subscriptions.computeIfAbsent(filter, k -> new HashMap<>()).merge(subscriber, qos,
+                        Math::max);
+                trie.add(matchFilter, subscriber);
+                brokerQos.clear();
+                brokerQos.putAll(desired);
+            }
+            for (String obsolete : current.keySet()) {
+                if (!desired.containsKey(obsolete)) {
+                    unsubscribeBroker(obsolete);
+                }
+            }
+        }
+    }
+
+    /**
+     * 토픽 필터 구독을 해제합니다. 마지막 구독자가 해제하면 브로커에서도 구독을 해제하고, 합쳐져 있던 다른 필터는 다시 나누어 구독합니다.
+     *
+     * @param filter 토픽 필터
+     * @param subscriber 구독자
+     */
+    public void unsubscribe(String filter, MqttSubscriber subscriber) {
+        synchronized (changeLock) {
+            Map<String, Integer> current;
+            Map<String, Integer> desired;
+            synchronized (this) {
+                Map<MqttSubscriber, Integer> subscribers = subscriptions.get(filter);
+                if (subscribers == null || subscribers.remove(subscriber) == null) {
+                    return;
+                }
+                trie.remove(matchFilter(filter), subscriber);
+                if (subscribers.isEmpty()) {
+                    subscriptions.remove(filter);
+                }
+                current = new HashMap<>(brokerQos);
+                desired = plan(subscriptions);
+                // 구독자가 남아 있는 필터의 QoS는 낮추지 않습니다.
+                desired.replaceAll((f, q) -> Math.max(q, current.getOrDefault(f, q)));
+                brokerQos.clear();
+                brokerQos.putAll(desired);
+            }
+            if (!client.isConnected()) {
+                // 재연결 후 brokerQos 기준으로 다시 구독합니다.
+                return;
+            }
+            for (Map.Entry<String, Integer> e : desired.entrySet()) {
+                if (!current.containsKey(e.getKey())) {
+                    try {
+                        subscribeBroker(e.getKey(), e.getValue());
+                    } catch (MqttException | RuntimeException ex) {
+                        synchronized (this) {
+                            brokerQos.remove(e.getKey());
+                        }
+                        log.error("토픽 '{}' 구독 실패. Broker: {}", e.getKey(), broker, ex);
+                    }
+                }
+            }
+            for (String obsolete : current.keySet()) {
+                if (!desired.containsKey(obsolete)) {
+                    unsubscribeBroker(obsolete);
+                }
+            }
+        }
+    }
+
+    /**
+     * 공유 구독 필터가 토픽이 겹치는 다른 필터와 같은 연결에 섞이지 않는지 검사합니다. 같은 공유 구독 필터는 여러 노드가 함께 구독할 수 있습니다.
+     */
+    private void checkSharedConflict(String filter, String matchFilter) {
+        boolean shared = filter.startsWith(SHARED_PREFIX);
+        for (String existing : subscriptions.keySet()) {
+            if (existing.equals(filter) || !shared && !existing.startsWith(SHARED_PREFIX)) {
+                continue;
+            }
+            if (TopicFilters.intersects(matchFilter(existing), matchFilter)) {
+                throw new IllegalStateException(String.format(
+                        "공유 구독은 토픽이 겹치는 다른 구독과 같은 연결에서 사용할 수 없습니다: '%s', '%s'. Broker: %s",
+                        filter, existing, broker));
+            }
+        }
+    }
+
+    /**
+     * 노드들의 구독으로부터 브로커에 구독할 필터와 QoS를 계산합니다. 토픽이 겹치는 일반 필터는 하나로 합치고, 공유 구독 필터는 그대로 사용합니다.
+     *
+     * @param subscriptions 토픽 필터별 구독자와 요청 QoS
+     * @return 브로커에 구독할 필터별 QoS
+     */
+    private static Map<String, Integer> plan(
+            Map<String, Map<MqttSubscriber, Integer>> subscriptions) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        List<String> groups = new ArrayList<>();
+        List<Integer> groupQos = new ArrayList<>();
+        for (Map.Entry<String, Map<MqttSubscriber, Integer>> e : subscriptions.entrySet()) {
+            int qos = e.getValue().values().stream().mapToInt(Integer::intValue).max().orElse(0);
+            if (e.getKey().startsWith(SHARED_PREFIX)) {
+                result.merge(e.getKey(), qos, Math::max);
+                continue;
+            }
+            String merged = e.getKey();
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int i = 0; i < groups.size(); i++) {
+                    if (TopicFilters.intersects(merged, groups.get(i))) {
+                        merged = TopicFilters.union(merged, groups.remove(i));
+                        qos = Math.max(qos, groupQos.remove(i));
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+            groups.add(merged);
+            groupQos.add(qos);
+        }
+        for (int i = 0; i < groups.size(); i++) {
+            result.put(groups.get(i), groupQos.get(i));
+        }
+        return result;
+    }
+
+    private void subscribeBroker(String filter, int qos) throws MqttException {
+        IMqttToken token = client.subscribe(filter, qos);
+        token.waitForCompletion();
+        int[] granted = token.getGrantedQos();
+        if (granted != null && granted.length > 0 && granted[0] == 0x80) {
+            throw new MqttException(MqttException.REASON_CODE_SUBSCRIBE_FAILED);
+        }
+        log.info("토픽 '{}' 구독 (QoS {}). Broker: {}", filter, qos, broker);
+    }
+
+    private void unsubscribeBroker(String filter) {
+        try {
+            if (client.isConnected()) {
+                client.unsubscribe(filter);
+            }
+            log.info("토픽 '{}' 구독 해제. Broker: {}", filter, broker);
+        } catch (MqttException e) {
+            log.error("토픽 '{}' 구독 해제 실패. Broker: {}", filter, broker, e);
+        }
+    }
+
+    /**
+     * 메시지를 비동기로 발행합니다.
+     *
+     * @param topic 발행 토픽
+     * @param payload 본문
+     * @param qos QoS 레벨
+     * @param retained retained 여부
+     * @param context 완료 콜백에 전달할 사용자 컨텍스트
+     * @param listener 발행 완료 콜백
+     * @return 발행 토큰
+     * @throws MqttException 발행 요청이 거부된 경우 (연결 끊김 등)
+     */
+    public IMqttDeliveryToken publish(String topic, byte[] payload, int qos, boolean retained,
+            Object context, IMqttActionListener listener) throws MqttException {
+        return client.publish(topic, payload, qos, retained, context, listener);
+    }
+
+    /**
+     * 수신 토픽과 비교할 필터를 반환합니다. 공유 구독 필터에서는 {@code $share/그룹/} 접두사를 제거합니다.
+     *
+     * @param filter 구독 필터
+     * @return 트라이에 등록할 필터
+     * @throws IllegalArgumentException 공유 구독 필터 형식이 잘못된 경우
+     */
+    static String matchFilter(String filter) {
+        if (filter == null || !filter.startsWith(SHARED_PREFIX)) {
+            return filter;
+        }
+        int groupEnd = filter.indexOf('/', SHARED_PREFIX.length());
+        if (groupEnd < 0 || groupEnd == SHARED_PREFIX.length() || groupEnd == filter.length() - 1) {
+            throw new IllegalArgumentException("공유 구독 필터 형식이 잘못되었습니다: " + filter);
+        }
+        return filter.substring(groupEnd + 1);
+    }
+
+    private void dispatch(String topic, MqttMessage message) {
+        Set<MqttSubscriber> subscribers = trie.match(topic);
+        if (subscribers.isEmpty()) {
+            acknowledge(message.getId(), message.getQos());
+            return;
+        }
+
+        MqttDelivery delivery = new MqttDelivery(this, new MqttPayload(topic,
+                message.getPayload(), message.getQos(), message.isRetained()), message.getId(),
+                subscribers.size());
+        for (MqttSubscriber subscriber : subscribers) {
+            try {
+                subscriber.deliver(delivery);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                delivery.complete();
+            } catch (Exception e) {
+                log.error("구독자에게 메시지 전달 중 오류 발생. Topic: {}", topic, e);
+                delivery.complete();
+            }
+        }
+    }
+
+    void acknowledge(int messageId, int qos) {
+        if (qos == 0) {
+            return;
+        }
+        try {
+            client.messageArrivedComplete(messageId, qos);
+        } catch (MqttException e) {
+            log.error("MQTT ACK 전송 실패. Broker: {}, MessageId: {}", broker, messageId, e);
+        }
+    }
+
+    private void resubscribe() {
+        String[] filters;
+        int[] qos;
+        synchronized (this) {
+            if (brokerQos.isEmpty()) {
+                return;
+            }
+            filters = brokerQos.keySet().toArray(new String[0]);
+            qos = new int[filters.length];
+            for (int i = 0; i < filters.length; i++) {
+                qos[i] = brokerQos.get(filters[i]);
+            }
+        }
+        try {
+            // 콜백 스레드에서 호출되므로 완료를 기다리지 않습니다.
+            client.subscribe(filters, qos);
+            log.info("재연결 후 토픽 {}개 재구독. Broker: {}", filters.length, broker);
+        } catch (MqttException e) {
+            log.error("토픽 재구독 실패. Broker: {}", broker, e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.samsa.mqtt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.paho.client.mqttv3.MqttException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 프로세스 전체에서 MQTT 브로커 연결을 공유하기 위한 레지스트리입니다.
+ *
+ * <p>
+ * 연결은 브로커 URI와 인증 정보(사용자 이름, 비밀번호)로 구분되며, 같은 키를 요청하는 노드들은 하나의 TCP 연결을 공유합니다. 참조 수를 관리하여
+ * 마지막 노드가 {@link #release(MqttConnection)}를 호출하면 연결을 종료합니다. 연결의 클라이언트 ID는 처음 연결을 요청한 노드의 것을
+ * 사용합니다.
+ * </p>
+ *
+ * <p>
+ * 브로커 연결과 종료는 레지스트리 잠금 밖에서 수행하므로, 응답하지 않는 브로커가 다른 브로커를 사용하는 노드의 연결을 막지 않습니다. 같은 키의 연결을
+ * 동시에 요청한 노드들은 첫 연결이 끝날 때까지 기다립니다.
+ * </p>
+ *
+ * <p>
+ * 하나의 노드가 여러 연결로 병렬 수신해야 하는 경우 레인(lane) 번호로 별도의 연결을 요청할 수 있습니다. 레인 0은 기본 공유 연결이며, 같은 레인
+ * 번호를 요청한 노드끼리 그 연결을 공유합니다.
+ * </p>
+ */
+@Slf4j
+public final class MqttConnectionRegistry {
+
+    private record Key(String broker, String username, String password, int lane) {
+        @Override
+        public String toString() {
+            String target = username == null ? broker : username + "@" + broker;
+            return lane == 0 ? target : target + "#" + lane;
+        }
+    }
+
+    private static final class Entry {
+        private final MqttConnection connection;
+        private int references;
+        private boolean connected;
+
+        private Entry(MqttConnection connection) {
+            this.connection = connection;
+        }
+    }
+
+    private static final Map<Key, Entry> CONNECTIONS = new HashMap<>();
+
+    private MqttConnectionRegistry() {
+        throw new UnsupportedOperationException("MqttConnectionRegistry는 인스턴스를 생성할 수 없습니다.");
+    }
+
+    /**
+     * 브로커 연결을 얻습니다. 같은 브로커와 인증 정보의 연결이 없으면 새로 연결합니다.
+     *
+     * @param broker 브로커 URI
+     * @param clientId 새 연결을 만들 때 사용할 클라이언트 ID
+     * @param username 사용자 이름, 인증이 없으면 null
+     * @param password 비밀번호, 인증이 없으면 null
+     * @return 공유 연결
+     * @throws MqttException 브로커 연결에 실패한 경우
+     * @throws IllegalArgumentException 브로커 또는 클라이언트 ID가 null인 경우
+     */
+    public static MqttConnection acquire(String broker, String clientId, String username,
+            String password) throws MqttException {
+        return acquire(broker, clientId, username, password, 0);
+    }
+
+    /**
+     * 지정한 레인의 브로커 연결을 얻습니다. 레인 0이 아닌 연결의 클라이언트 ID에는 {@code -레인} 접미사가 붙습니다.
+     *
+     * @param broker 브로커 URI
+     * @param clientId 새 연결을 만들 때 사용할 클라이언트 ID
+     * @param username 사용자 이름, 인증이 없으면 null
+     * @param password 비밀번호, 인증이 없으면 null
+     * @param lane 레인 번호 (0 이상)
+     * @return 공유 연결
+     * @throws MqttException 브로커 연결에 실패한 경우
+     * @throws IllegalArgumentException 브로커 또는 클라이언트 ID가 null이거나 레인 번호가 음수인 경우
+     */
+    public static MqttConnection acquire(String broker, String clientId,
+            String username, String password, int lane) throws MqttException {
+        if (Objects.isNull(broker) || Objects.isNull(clientId)) {
+            throw new IllegalArgumentException("브로커와 클라이언트 ID는 null일 수 없습니다.");
+        }
+        if (lane < 0) {
+            throw new IllegalArgumentException("레인 번호는 0 이상이어야 합니다: " + lane);
+        }
+        Key key = new Key(broker, username, password, lane);
+        Entry entry;
+        synchronized (MqttConnectionRegistry.class) {
+            entry = CONNECTIONS.get(key);
+            if (entry == null) {
+                String laneClientId = lane == 0 ? clientId : clientId + "-" + lane;
+                entry = new Entry(new MqttConnection(broker, laneClientId, username, password));
+                CONNECTIONS.put(key, entry);
+            }
+            entry.references++;
+            log.debug("MQTT 공유 연결 획득: {}, 참조 수: {}", key, entry.references);
+        }
+
+        // 연결은 키별로만 직렬화하여, 다른 브로커의 연결 요청이 기다리지 않도록 합니다.
+        synchronized (entry) {
+            if (!entry.connected) {
+                try {
+                    entry.connection.connect();
+                    entry.connected = true;
+                } catch (MqttException | RuntimeException e) {
+                    release(entry.connection);
+                    throw e;
+                }
+            }
+        }
+        return entry.connection;
+    }
+
+    /**
+     * 연결 사용을 끝냅니다. 마지막 사용자가 반환하면 연결을 종료합니다.
+     *
+     * @param connection 반환할 연결
+     */
+    public static void release(MqttConnection connection) {
+        synchronized (MqttConnectionRegistry.class) {
+            Map.Entry<Key, Entry> found = null;
+            for (Map.Entry<Key, Entry> e : CONNECTIONS.entrySet()) {
+                if (e.getValue().connection == connection) {
+                    found = e;
+                    break;
+                }
+            }
+            if (found == null) {
+                return;
+            }
+            Entry entry = found.getValue();
+            entry.references--;
+            log.debug("MQTT 공유 연결 반환: {}, 참조 수: {}", found.getKey(), entry.references);
+            if (entry.references > 0) {
+                return;
+            }
+            CONNECTIONS.remove(found.getKey());
+        }
+        connection.close();
+    }
+
+    /**
+     * 현재 열려 있는 공유 연결 수를 반환합니다.
+     *
+     * @return 연결 수
+     */
+    public static synchronized int size() {
+        return CONNECTIONS.size();
+    }
+}
@@ -0,0 +1,45 @@
+package com.samsa.mqtt;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.samsa.core.MqttPayload;
+
+/**
+ * 공유 연결로 수신한 메시지 하나를 여러 구독자에게 전달하기 위한 객체입니다.
+ *
+ * <p>
+ * 모든 구독자가 {@link #complete()}를 호출하면 QoS 1/2 메시지의 ACK를 브로커에 보냅니다. 따라서 가장 느린 구독 노드가 메시지를 넘겨받을
+ * 때까지 브로커의 in-flight 창이 유지됩니다. {@link MqttPayload}는 한 번만 만들어 구독자 간에 공유됩니다.
+ * </p>
+ */
+public final class MqttDelivery {
+
+    private final MqttConnection connection;
+    private final MqttPayload payload;
+    private final int messageId;
+    private final AtomicInteger pending;
+
+    MqttDelivery(MqttConnection connection, MqttPayload payload, int messageId, int subscribers) {
+        this.connection = connection;
+        this.payload = payload;
+        this.messageId = messageId;
+        this.pending = new AtomicInteger(subscribers);
+    }
+
+    public MqttPayload getPayload() {
+        return payload;
+    }
+
+    public String getTopic() {
+        return payload.getTopic();
+    }
+
+    /**
+     * 구독자의 처리 완료를 알립니다. 마지막 구독자가 호출하면 브로커에 ACK를 보냅니다. 구독자마다 한 번만 호출해야 합니다.
+     */
+    public void complete() {
+        if (pending.decrementAndGet() == 0) {
+            connection.acknowledge(messageId, payload.getQos());
+        }
+    }
+}
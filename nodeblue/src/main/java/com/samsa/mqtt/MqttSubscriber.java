@@ -0,0 +1,17 @@
+package com.samsa.mqtt;
+
+/**
+ * 공유 MQTT 연결에서 토픽 필터와 일치하는 메시지를 전달받는 구독자입니다.
+ */
+@FunctionalInterface
+public interface MqttSubscriber {
+
+    /**
+     * 구독한 필터와 일치하는 메시지를 전달받습니다. Paho 콜백 스레드에서 호출되며, 이 스레드는 같은 연결의 발행 완료 콜백도 처리하므로 대기하거나
+     * 오래 걸리는 작업을 해서는 안 됩니다. 메시지 처리가 끝나면 반드시 {@link MqttDelivery#complete()}를 호출해야 합니다.
+     *
+     * @param delivery 수신 메시지
+     * @throws Exception 메시지 전달 중 오류가 발생한 경우
+     */
+    void deliver(MqttDelivery delivery) throws Exception;
+}
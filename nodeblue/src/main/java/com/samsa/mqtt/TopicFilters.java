@@ -0,0 +1,103 @@
+package com.samsa.mqtt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MQTT 토픽 필터를 비교하고 합치는 유틸리티입니다.
+ *
+ * <p>
+ * 한 연결에 토픽이 겹치는 필터를 여러 개 구독하면 브로커에 따라 메시지를 구독마다 한 번씩 보내므로, {@link MqttConnection}은 겹치는 필터를 하나의
+ * 넓은 필터로 합쳐 브로커에 구독합니다. {@code $}로 시작하는 토픽은 첫 레벨의 와일드카드와 일치하지 않는다는 MQTT 규칙을 따릅니다.
+ * </p>
+ */
+final class TopicFilters {
+
+    static final String SINGLE_LEVEL = "+";
+    static final String MULTI_LEVEL = "#";
+
+    private TopicFilters() {
+        throw new UnsupportedOperationException("TopicFilters는 인스턴스를 생성할 수 없습니다.");
+    }
+
+    /**
+     * 토픽 필터를 검사하고 레벨로 나눕니다.
+     *
+     * @param filter 토픽 필터
+     * @return 필터의 레벨 배열
+     * @throws IllegalArgumentException 토픽 필터가 잘못된 경우
+     */
+    static String[] validate(String filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("토픽 필터는 비어 있을 수 없습니다.");
+        }
+        String[] levels = filter.split("/", -1);
+        for (int i = 0; i < levels.length; i++) {
+            String level = levels[i];
+            if (level.equals(MULTI_LEVEL) && i != levels.length - 1) {
+                throw new IllegalArgumentException("'#'은 토픽 필터의 마지막 레벨에만 올 수 있습니다: " + filter);
+            }
+            if (level.length() > 1 && (level.contains(MULTI_LEVEL) || level.contains(SINGLE_LEVEL))) {
+                throw new IllegalArgumentException("와일드카드는 레벨 전체를 차지해야 합니다: " + filter);
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * 두 필터 모두와 일치하는 토픽이 존재하는지 확인합니다.
+     *
+     * @param a 토픽 필터
+     * @param b 토픽 필터
+     * @return 겹치는 토픽이 있으면 true
+     */
+    static boolean intersects(String a, String b) {
+        String[] left = a.split("/", -1);
+        String[] right = b.split("/", -1);
+        for (int i = 0;; i++) {
+            String l = i < left.length ? left[i] : null;
+            String r = i < right.length ? right[i] : null;
+            if (MULTI_LEVEL.equals(l) || MULTI_LEVEL.equals(r)) {
+                return i > 0 || !(isSystem(l) || isSystem(r));
+            }
+            if (l == null || r == null) {
+                return l == null && r == null;
+            }
+            if (SINGLE_LEVEL.equals(l) || SINGLE_LEVEL.equals(r)) {
+                if (i == 0 && (isSystem(l) || isSystem(r))) {
+                    return false;
+                }
+            } else if (!l.equals(r)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 겹치는 두 필터와 일치하는 모든 토픽에 일치하는 가장 좁은 필터를 만듭니다. 레벨이 다르면 {@code +}로, 한쪽에 {@code #}이 있으면 그
+     * 레벨부터 {@code #}으로 합칩니다.
+     *
+     * @param a 토픽 필터
+     * @param b {@code a}와 겹치는 토픽 필터
+     * @return 두 필터를 포함하는 필터
+     */
+    static String union(String a, String b) {
+        String[] left = a.split("/", -1);
+        String[] right = b.split("/", -1);
+        List<String> levels = new ArrayList<>();
+        for (int i = 0; i < Math.max(left.length, right.length); i++) {
+            String l = i < left.length ? left[i] : null;
+            String r = i < right.length ? right[i] : null;
+            if (l == null || r == null || MULTI_LEVEL.equals(l) || MULTI_LEVEL.equals(r)) {
+                levels.add(MULTI_LEVEL);
+                break;
+            }
+            levels.add(l.equals(r) ? l : SINGLE_LEVEL);
+        }
+        return String.join("/", levels);
+    }
+
+    private static boolean isSystem(String level) {
+        return level != null && level.startsWith("$");
+    }
+}
@@ -0,0 +1,124 @@
+package com.samsa.mqtt;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * MQTT 토픽 필터를 레벨 단위 트라이로 보관하고, 수신 토픽과 일치하는 구독자를 찾습니다.
+ *
+ * <p>
+ * 단일 레벨 와일드카드 {@code +}와 다중 레벨 와일드카드 {@code #}를 지원합니다. MQTT 규격에 따라 {@code $}로 시작하는 토픽은 첫 레벨의
+ * 와일드카드와 일치하지 않습니다. 조회는 잠금 없이 수행되며, 구독 추가/제거만 동기화됩니다.
+ * </p>
+ *
+ * @param <T> 구독자 타입
+ */
+public final class TopicTrie<T> {
+
+    private static final String SINGLE_LEVEL = TopicFilters.SINGLE_LEVEL;
+    private static final String MULTI_LEVEL = TopicFilters.MULTI_LEVEL;
+
+    private static final class TrieNode<T> {
+        private final Map<String, TrieNode<T>> children = new ConcurrentHashMap<>();
+        private final Set<T> subscribers = new CopyOnWriteArraySet<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && subscribers.isEmpty();
+        }
+    }
+
+    private final TrieNode<T> root = new TrieNode<>();
+
+    /**
+     * 토픽 필터에 구독자를 등록합니다.
+     *
+     * @param filter 토픽 필터 (예: {@code sensors/+/temperature}, {@code sensors/#})
+     * @param subscriber 구독자
+     * @return 새로 등록된 경우 true, 이미 등록되어 있던 경우 false
+     * @throws IllegalArgumentException 토픽 필터가 잘못된 경우
+     */
+    public synchronized boolean add(String filter, T subscriber) {
+        String[] levels = TopicFilters.validate(filter);
+        TrieNode<T> node = root;
+        for (String level : levels) {
+            node = node.children.computeIfAbsent(level, k -> new TrieNode<>());
+        }
+        return node.subscribers.add(subscriber);
+    }
+
+    /**
+     * 토픽 필터에서 구독자를 제거합니다. 비게 된 트라이 노드는 정리됩니다.
+     *
+     * @param filter 토픽 필터
+     * @param subscriber 구독자
+     * @return 제거된 경우 true
+     */
+    public synchronized boolean remove(String filter, T subscriber) {
+        return remove(root, filter.split("/", -1), 0, subscriber);
+    }
+
+    private boolean remove(TrieNode<T> node, String[] levels, int depth, T subscriber) {
+        if (depth == levels.length) {
+            return node.subscribers.remove(subscriber);
+        }
+        TrieNode<T> child = node.children.get(levels[depth]);
+        if (child == null) {
+            return false;
+        }
+        boolean removed = remove(child, levels, depth + 1, subscriber);
+        if (removed && child.isEmpty()) {
+            node.children.remove(levels[depth]);
+        }
+        return removed;
+    }
+
+    /**
+     * 수신 토픽과 일치하는 모든 구독자를 반환합니다. 여러 필터에 일치하는 구독자도 한 번만 포함됩니다.
+     *
+     * @param topic 수신 토픽 (와일드카드를 포함하지 않음)
+     * @return 일치하는 구독자 집합
+     */
+    public Set<T> match(String topic) {
+        Set<T> result = new HashSet<>();
+        String[] levels = topic.split("/", -1);
+        collect(root, levels, 0, !topic.startsWith("$"), result);
+        return result;
+    }
+
+    private void collect(TrieNode<T> node, String[] levels, int depth, boolean wildcardAllowed,
+            Set<T> result) {
+        if (wildcardAllowed || depth > 0) {
+            // '#'은 부모 레벨 자체와도 일치합니다 (예: sensors/# 는 sensors 와 일치).
+            TrieNode<T> multi = node.children.get(MULTI_LEVEL);
+            if (multi != null) {
+                result.addAll(multi.subscribers);
+            }
+        }
+        if (depth == levels.length) {
+            result.addAll(node.subscribers);
+            return;
+        }
+        TrieNode<T> exact = node.children.get(levels[depth]);
+        if (exact != null) {
+            collect(exact, levels, depth + 1, true, result);
+        }
+        if (wildcardAllowed || depth > 0) {
+            TrieNode<T> single = node.children.get(SINGLE_LEVEL);
+            if (single != null) {
+                collect(single, levels, depth + 1, true, result);
+            }
+        }
+    }
+
+    /**
+     * 등록된 구독자가 없는지 확인합니다.
+     *
+     * @return 비어 있으면 true
+     */
+    public boolean isEmpty() {
+        return root.isEmpty();
+    }
+}
@@ -0,0 +1,204 @@
+package com.samsa.mysql;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조회 결과를 보관하는 크기 제한 및 만료 시간(TTL)이 있는 캐시입니다.
+ *
+ * <p>
+ * 항목 수가 {@code maxSize}를 넘으면 가장 오래 사용되지 않은 항목(LRU)부터 제거하며, 저장된 지 {@code ttlMillis}가 지난 항목은 다음 조회
+ * 때 다시 읽어옵니다. 캐시에 없는 키를 여러 스레드가 동시에 조회하면 한 스레드만 {@link Loader}를 호출하고 나머지는 그 결과를 기다립니다.
+ * </p>
+ *
+ * @param <K> 키 타입
+ * @param <V> 값 타입
+ */
+public class LookupCache<K, V> {
+
+    /**
+     * 캐시에 없는 값을 읽어오는 함수입니다.
+     *
+     * @param <K> 키 타입
+     * @param <V> 값 타입
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        /**
+         * 키에 대한 값을 읽어옵니다.
+         *
+         * @param key 키
+         * @return 값
+         * @throws Exception 읽기에 실패한 경우
+         */
+        V load(K key) throws Exception;
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final long ttlMillis;
+    private final Object lock = new Object();
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final Map<K, CompletableFuture<V>> loading = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loadFailures = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 캐시를 생성합니다.
+     *
+     * @param maxSize 최대 항목 수
+     * @param ttlMillis 항목 만료 시간 (ms)
+     * @throws IllegalArgumentException 설정 값이 0 이하인 경우
+     */
+    public LookupCache(int maxSize, long ttlMillis) {
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("캐시 크기와 만료 시간은 0보다 커야 합니다.");
+        }
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 값을 조회합니다. 캐시에 없거나 만료된 경우 {@code loader}로 읽어와 저장합니다.
+     *
+     * @param key 키
+     * @param loader 값을 읽어올 함수
+     * @return 값
+     * @throws Exception {@code loader}가 실패한 경우 그 예외
+     */
+    public V get(K key, Loader<K, V> loader) throws Exception {
+        CompletableFuture<V> future;
+        boolean owner = false;
+        synchronized (lock) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > System.currentTimeMillis()) {
+                    hits.incrementAndGet();
+                    return entry.value();
+                }
+                entries.remove(key);
+            }
+            misses.incrementAndGet();
+            future = loading.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                loading.put(key, future);
+                owner = true;
+            }
+        }
+
+        if (owner) {
+            try {
+                V value = loader.load(key);
+                synchronized (lock) {
+                    entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+                    loading.remove(key);
+                }
+                future.complete(value);
+                return value;
+            } catch (Exception e) {
+                loadFailures.incrementAndGet();
+                synchronized (lock) {
+                    loading.remove(key);
+                }
+                future.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ex ? ex : new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * 캐시에 있는 만료되지 않은 값을 반환합니다. 값이 있을 때만 적중으로 집계하며, 없으면 읽어오지 않습니다.
+     *
+     * @param key 키
+     * @return 값, 캐시에 없거나 만료되었으면 null
+     */
+    public V getIfPresent(K key) {
+        synchronized (lock) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null || entry.expiresAt() <= System.currentTimeMillis()) {
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.value();
+        }
+    }
+
+    /**
+     * 값을 직접 저장합니다. 미리 읽어두기에 사용합니다.
+     *
+     * @param key 키
+     * @param value 값
+     */
+    public void put(K key, V value) {
+        synchronized (lock) {
+            entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    /**
+     * 모든 항목을 제거합니다.
+     */
+    public void clear() {
+        synchronized (lock) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getLoadFailures() {
+        return loadFailures.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * 캐시 적중률을 반환합니다.
+     *
+     * @return 0과 1 사이의 적중률, 조회가 없었으면 0
+     */
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+}
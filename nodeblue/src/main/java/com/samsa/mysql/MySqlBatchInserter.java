@@ -0,0 +1,132 @@
+package com.samsa.mysql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+/**
+ * 행을 모아 JDBC 배치 INSERT로 기록하는 writer입니다.
+ *
+ * <p>
+ * 컬럼 구성별 INSERT 문을 캐시된 {@link PreparedStatement}로 준비해 두고, 배치마다 {@code addBatch}/{@code executeBatch}로
+ * 기록합니다. 메시지마다 SQL을 만들고 준비하는 비용이 없습니다.
+ * </p>
+ *
+ * <p>
+ * {@code multiRowValues}를 사용하면 {@code VALUES (?, ?), (?, ?), ...} 형태의 다중 행 INSERT를 직접 만들어 드라이버 설정과 관계없이
+ * 문장 하나로 여러 행을 기록합니다. 사용하지 않는 경우 MySQL Connector/J의 {@code rewriteBatchedStatements} 설정이 같은 역할을
+ * 합니다. {@code upsert}를 사용하면 모든 컬럼에 대해 {@code ON DUPLICATE KEY UPDATE}를 붙여, 키가 중복된 행은 새 값으로 갱신합니다.
+ * </p>
+ */
+public class MySqlBatchInserter extends MySqlRowWriter<MySqlBatchInserter.Sql> {
+
+    /** MySQL 프로토콜의 문장당 최대 바인딩 파라미터 수 */
+    private static final int MAX_PARAMETERS = 65535;
+
+    private final String insertPrefix;
+    private final boolean multiRowValues;
+    private final boolean upsert;
+
+    /**
+     * 컬럼 구성 하나에 대한 INSERT 문입니다.
+     *
+     * @param singleRow 한 행짜리 INSERT 문
+     * @param multiRow {@code rowsPerStatement}행짜리 INSERT 문, 다중 행을 쓰지 않으면 null
+     * @param rowsPerStatement 다중 행 INSERT 문 하나에 담기는 행 수
+     */
+    record Sql(String singleRow, String multiRow, int rowsPerStatement) {
+    }
+
+    /**
+     * 배치 inserter를 생성하고 linger 타이머를 시작합니다.
+     *
+     * @param dataSource 연결을 빌릴 데이터 소스
+     * @param insertPrefix 컬럼 목록 앞부분까지의 INSERT 문 (예: {@code INSERT INTO sensor (})
+     * @param batchSize 한 번에 기록할 최대 행 수
+     * @param lingerMillis 배치가 가득 차지 않아도 기록하는 최대 대기 시간 (ms)
+     * @param multiRowValues 다중 행 VALUES 문장을 직접 만들지 여부
+     * @param upsert 키가 중복된 행을 갱신할지 여부
+     * @throws IllegalArgumentException 설정 값이 잘못된 경우
+     */
+    public MySqlBatchInserter(DataSource dataSource, String insertPrefix, int batchSize,
+            long lingerMillis, boolean multiRowValues, boolean upsert) {
+        super(dataSource, batchSize, lingerMillis, "mysql-batch-timer");
+        if (insertPrefix == null) {
+            throw new IllegalArgumentException("INSERT 문은 null일 수 없습니다.");
+        }
+        this.insertPrefix = insertPrefix.trim().endsWith("(") ? insertPrefix : insertPrefix + " (";
+        this.multiRowValues = multiRowValues;
+        this.upsert = upsert;
+    }
+
+    @Override
+    protected Sql prepare(List<String> columns) {
+        StringBuilder columnList = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder("(");
+        StringBuilder updates = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i);
+            if (i > 0) {
+                columnList.append(", ");
+                placeholders.append(", ");
+                updates.append(", ");
+            }
+            columnList.append(column);
+            placeholders.append('?');
+            updates.append(column).append(" = VALUES(").append(column).append(')');
+        }
+        placeholders.append(')');
+
+        String head = insertPrefix + columnList + ") VALUES ";
+        String tail = upsert ? " ON DUPLICATE KEY UPDATE " + updates : "";
+        int rowsPerStatement = multiRowValues
+                ? Math.min(batchSize, MAX_PARAMETERS / columns.size())
+                : 1;
+        String multiRow = null;
+        if (rowsPerStatement > 1) {
+            StringBuilder sql = new StringBuilder(
+                    head.length() + (placeholders.length() + 2) * rowsPerStatement + tail.length());
+            sql.append(head).append(placeholders);
+            for (int i = 1; i < rowsPerStatement; i++) {
+                sql.append(", ").append(placeholders);
+            }
+            multiRow = sql.append(tail).toString();
+        }
+        return new Sql(head + placeholders + tail, multiRow, rowsPerStatement);
+    }
+
+    @Override
+    protected int write(Connection connection, Sql sql, List<Object[]> rows)
+            throws SQLException {
+        int count = rows.size();
+        int offset = 0;
+        if (sql.multiRow() != null && count >= sql.rowsPerStatement()) {
+            PreparedStatement statement = statement(sql.multiRow());
+            while (count - offset >= sql.rowsPerStatement()) {
+                int parameter = 1;
+                for (int i = 0; i < sql.rowsPerStatement(); i++) {
+                    for (Object value : rows.get(offset++)) {
+                        MySqlValues.bind(statement, parameter++, value);
+                    }
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        if (offset < count) {
+            PreparedStatement statement = statement(sql.singleRow());
+            while (offset < count) {
+                int parameter = 1;
+                for (Object value : rows.get(offset++)) {
+                    MySqlValues.bind(statement, parameter++, value);
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,176 @@
+package com.samsa.mysql;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+
+/**
+ * 행을 CSV로 변환하여 {@code LOAD DATA LOCAL INFILE}로 적재하는 대량 기록용 writer입니다.
+ *
+ * <p>
+ * 배치의 행들은 MySQL Connector/J의 {@link JdbcStatement#setLocalInfileInputStream(InputStream)}으로 넘긴 스트림을 통해
+ * 전송됩니다. 스트림은 드라이버가 읽어 가는 만큼만 행을 CSV로 변환하므로, 배치 전체를 CSV 문자열이나 임시 파일로 만들지 않습니다. 배치는
+ * {@code batchSize}행 또는 {@code lingerMillis} 단위로 커밋됩니다.
+ * </p>
+ *
+ * <p>
+ * 연결에 {@code allowLoadLocalInfile=true} 설정이 필요합니다. {@code LOCAL}로 적재하면 MySQL은 {@code IGNORE}를 지정한 것처럼
+ * 동작하여, 키가 중복된 행은 오류 없이 건너뛰고 변환할 수 없는 값은 경고와 함께 조정해 적재합니다. 적재된 행 수가 배치의 행 수보다 적으면 그 차이를
+ * 실패 행으로 집계합니다. 중복 행을 갱신해야 하는 경우에는 {@link MySqlBatchInserter}의 upsert를 사용해야 합니다.
+ * </p>
+ */
+public class MySqlBulkLoader extends MySqlRowWriter<String> {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z0-9_$.`]+");
+
+    /** CSV 형식: 쉼표 구분, 문자열은 큰따옴표로 감싸고 백슬래시로 이스케이프하며 NULL은 \N으로 표기 */
+    private static final String FORMAT = " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ','"
+            + " OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (";
+
+    private final String table;
+
+    /**
+     * 대량 적재 writer를 생성하고 linger 타이머를 시작합니다.
+     *
+     * @param dataSource 연결을 빌릴 데이터 소스 ({@code allowLoadLocalInfile=true} 필요)
+     * @param table 적재할 테이블 이름
+     * @param batchSize {@code LOAD DATA} 한 번에 적재할 최대 행 수
+     * @param lingerMillis 배치가 가득 차지 않아도 적재하는 최대 대기 시간 (ms)
+     * @throws IllegalArgumentException 설정 값이 잘못된 경우
+     */
+    public MySqlBulkLoader(DataSource dataSource, String table, int batchSize, long lingerMillis) {
+        super(dataSource, batchSize, lingerMillis, "mysql-bulk-timer");
+        if (table == null || !TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("잘못된 테이블 이름입니다: " + table);
+        }
+        this.table = table;
+    }
+
+    @Override
+    protected String prepare(List<String> columns) {
+        return "LOAD DATA LOCAL INFILE 'nodeblue.csv' INTO TABLE " + table + FORMAT
+                + String.join(", ", columns) + ")";
+    }
+
+    @Override
+    protected int write(Connection connection, String sql, List<Object[]> rows)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(new CsvStream(rows));
+            statement.execute(sql);
+            // 중복 키로 건너뛴 행은 적재된 행 수에서 빠집니다.
+            int loaded = statement.getUpdateCount();
+            return loaded < 0 ? 0 : Math.max(0, rows.size() - loaded);
+        }
+    }
+
+    /**
+     * 행 목록을 읽히는 만큼 CSV로 변환하는 스트림입니다.
+     */
+    static final class CsvStream extends InputStream {
+
+        private final List<Object[]> rows;
+        private final StringBuilder line = new StringBuilder(256);
+        private int next;
+        private byte[] buffer = new byte[0];
+        private int position;
+
+        CsvStream(List<Object[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int copied = 0;
+            while (copied < length && fill()) {
+                int n = Math.min(length - copied, buffer.length - position);
+                System.arraycopy(buffer, position, target, offset + copied, n);
+                position += n;
+                copied += n;
+            }
+            return copied == 0 ? -1 : copied;
+        }
+
+        /**
+         * 현재 줄을 다 읽었으면 다음 행을 변환합니다.
+         *
+         * @return 읽을 바이트가 남아 있으면 true
+         */
+        private boolean fill() {
+            if (position < buffer.length) {
+                return true;
+            }
+            if (next >= rows.size()) {
+                return false;
+            }
+            line.setLength(0);
+            Object[] values = rows.get(next++);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                appendValue(line, values[i]);
+            }
+            line.append('\n');
+            buffer = line.toString().getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+    }
+
+    private static void appendValue(StringBuilder line, Object value) {
+        if (value == null) {
+            line.append("\\N");
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                line.append("\\N");
+            } else {
+                line.append(value);
+            }
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger) {
+            line.append(value);
+        } else if (value instanceof BigDecimal decimal) {
+            line.append(decimal.toPlainString());
+        } else if (value instanceof Boolean b) {
+            line.append(b ? '1' : '0');
+        } else {
+            String s = value.toString();
+            line.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"' -> line.append("\\\"");
+                    case '\\' -> line.append("\\\\");
+                    case '\n' -> line.append("\\n");
+                    case '\r' -> line.append("\\r");
+                    case '\0' -> line.append("\\0");
+                    default -> line.append(c);
+                }
+            }
+            line.append('"');
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.samsa.mysql;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 프로세스 전체에서 MySQL 연결 풀을 공유하기 위한 레지스트리입니다.
+ *
+ * <p>
+ * 풀은 JDBC URL과 사용자 이름으로 구분되며, 같은 데이터베이스를 사용하는 노드들은 하나의 HikariCP 풀을 공유합니다. 서로 다른 데이터베이스는
+ * 각자의 풀을 사용하므로 하나의 풀을 두고 경쟁하지 않습니다. 풀의 비밀번호와 드라이버는 처음 풀을 요청한 노드의 것을 사용합니다.
+ * </p>
+ *
+ * <p>
+ * 노드는 풀을 요청할 때 동시에 사용할 연결 수(병렬도)를 함께 알리며, 풀의 최대 크기는 풀을 사용하는 노드들의 병렬도 합계로 조정됩니다. 참조 수를
+ * 관리하여 마지막 노드가 {@link #release(HikariDataSource, int)}를 호출하면 풀을 종료합니다.
+ * </p>
+ *
+ * <p>
+ * 노드가 추가 연결 속성(예: {@code allowLoadLocalInfile}, {@code useCursorFetch})을 요구하면 같은 속성을 요구한 노드끼리만 풀을
+ * 공유합니다. 따라서 대량 적재를 사용하지 않는 노드의 연결에는 {@code LOAD DATA LOCAL INFILE}이 허용되지 않습니다.
+ * </p>
+ */
+@Slf4j
+public final class MySqlDataSourceRegistry {
+
+    private static final int MIN_IDLE = 2;
+
+    private record Key(String url, String username, Map<String, String> properties) {
+        @Override
+        public String toString() {
+            String target = username == null ? url : username + "@" + url;
+            return properties.isEmpty() ? target : target + " " + properties;
+        }
+    }
+
+    private static final class Entry {
+        private final HikariDataSource dataSource;
+        private int references;
+        private int connections;
+
+        private Entry(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    private static final Map<Key, Entry> POOLS = new HashMap<>();
+    private static int poolSequence;
+
+    private MySqlDataSourceRegistry() {
+        throw new UnsupportedOperationException("MySqlDataSourceRegistry는 인스턴스를 생성할 수 없습니다.");
+    }
+
+    /**
+     * 연결 풀을 얻습니다. 같은 URL과 사용자의 풀이 없으면 새로 만들고, 있으면 병렬도만큼 풀의 최대 크기를 늘립니다.
+     *
+     * @param driver JDBC 드라이버 클래스 이름, 없으면 null
+     * @param url JDBC URL
+     * @param username 사용자 이름
+     * @param password 비밀번호
+     * @param parallelism 노드가 동시에 사용할 연결 수 (1 이상)
+     * @param properties 추가 연결 속성, 없으면 빈 맵
+     * @return 공유 연결 풀
+     * @throws IllegalArgumentException URL이 null이거나 병렬도가 1보다 작은 경우
+     */
+    public static synchronized HikariDataSource acquire(String driver, String url,
+            String username, String password, int parallelism, Map<String, String> properties) {
+        if (Objects.isNull(url)) {
+            throw new IllegalArgumentException("JDBC URL은 null일 수 없습니다.");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("병렬도는 1 이상이어야 합니다: " + parallelism);
+        }
+        Key key = new Key(url, username, Map.copyOf(properties));
+        Entry entry = POOLS.get(key);
+        if (entry == null) {
+            entry = new Entry(create(driver, url, username, password, parallelism, key.properties()));
+            POOLS.put(key, entry);
+            log.info("HikariCP DataSource가 초기화되었습니다: {}", key);
+        }
+        entry.references++;
+        entry.connections += parallelism;
+        resize(entry);
+        log.debug("MySQL 연결 풀 획득: {}, 참조 수: {}, 최대 연결 수: {}", key, entry.references,
+                entry.connections);
+        return entry.dataSource;
+    }
+
+    /**
+     * 연결 풀 사용을 끝냅니다. 병렬도만큼 풀의 최대 크기를 줄이며, 마지막 사용자가 반환하면 풀을 종료합니다.
+     *
+     * @param dataSource 반환할 풀
+     * @param parallelism 획득할 때 알린 병렬도
+     */
+    public static synchronized void release(HikariDataSource dataSource, int parallelism) {
+        for (Map.Entry<Key, Entry> e : POOLS.entrySet()) {
+            Entry entry = e.getValue();
+            if (entry.dataSource != dataSource) {
+                continue;
+            }
+            entry.references--;
+            entry.connections -= parallelism;
+            log.debug("MySQL 연결 풀 반환: {}, 참조 수: {}", e.getKey(), entry.references);
+            if (entry.references == 0) {
+                POOLS.remove(e.getKey());
+                dataSource.close();
+                log.info("HikariCP DataSource가 종료되었습니다: {}", e.getKey());
+            } else {
+                resize(entry);
+            }
+            return;
+        }
+    }
+
+    /**
+     * 모든 연결 풀을 종료합니다. 애플리케이션 종료 시 사용합니다.
+     */
+    public static synchronized void closeAll() {
+        List<Key> keys = new ArrayList<>(POOLS.keySet());
+        for (Key key : keys) {
+            POOLS.remove(key).dataSource.close();
+            log.info("HikariCP DataSource가 종료되었습니다: {}", key);
+        }
+    }
+
+    /**
+     * 현재 열려 있는 연결 풀 수를 반환합니다.
+     *
+     * @return 풀 수
+     */
+    public static synchronized int size() {
+        return POOLS.size();
+    }
+
+    private static HikariDataSource create(String driver, String url, String username,
+            String password, int parallelism, Map<String, String> properties) {
+        HikariConfig config = new HikariConfig();
+        if (driver != null) {
+            config.setDriverClassName(driver);
+        }
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setPoolName("nodeblue-mysql-" + (++poolSequence));
+
+        config.setMaximumPoolSize(parallelism);
+        config.setMinimumIdle(Math.min(MIN_IDLE, parallelism));
+        config.setIdleTimeout(30000);
+        config.setConnectionTimeout(30000);
+        config.setMaxLifetime(1800000);
+
+        // 배치 INSERT를 다중 행 문장으로 재작성하고, 서버 측 문장 준비 결과를 캐시합니다.
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "250");
+        properties.forEach(config::addDataSourceProperty);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * 풀의 최대 크기를 병렬도 합계로 맞춥니다. 시작된 풀의 설정은 HikariConfigMXBean을 통해서만 바꿀 수 있습니다.
+     */
+    private static void resize(Entry entry) {
+        int size = Math.max(1, entry.connections);
+        HikariConfigMXBean mxBean = entry.dataSource.getHikariConfigMXBean();
+        if (mxBean.getMaximumPoolSize() == size) {
+            return;
+        }
+        // 최소 유휴 수가 최대 크기를 넘지 않도록 줄일 때는 최소 유휴 수를 먼저 조정합니다.
+        mxBean.setMinimumIdle(Math.min(MIN_IDLE, size));
+        mxBean.setMaximumPoolSize(size);
+    }
+}
@@ -0,0 +1,354 @@
+package com.samsa.mysql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 컬럼-값 맵으로 전달되는 행을 모아 MySQL에 배치로 기록하는 writer의 공통 구현입니다.
+ *
+ * <p>
+ * 행은 컬럼 구성(컬럼 이름과 순서)별로 그룹에 모이며, 그룹의 행 수가 {@code batchSize}에 도달하거나 첫 행이 {@code lingerMillis} 이상
+ * 머무르면 {@link #write(Connection, Object, List)}로 기록됩니다. 배치 하나는 하나의 트랜잭션으로 커밋됩니다.
+ * </p>
+ *
+ * <p>
+ * 배치마다 풀에서 연결을 빌려 커밋한 뒤 바로 반환하므로, 풀의 {@code maxLifetime}과 연결 검사가 그대로 적용됩니다. 하위 클래스는
+ * {@link #statement(String)}로 배치 안에서 {@link PreparedStatement}를 재사용할 수 있으며, 배치 사이의 문장 준비 비용은 드라이버의
+ * {@code cachePrepStmts} 설정이 줄여 줍니다. 커밋 전에 연결 오류(통신 오류 또는 SQLState {@code 08})로 실패한 배치는 새 연결에서 한 번
+ * 다시 기록하고, 그 밖의 SQL 오류는 해당 배치를 실패로 집계합니다.
+ * </p>
+ *
+ * @param <S> 컬럼 구성마다 한 번 만들어 재사용하는 문장 정보의 타입
+ */
+@Slf4j
+public abstract class MySqlRowWriter<S> implements AutoCloseable {
+
+    private static final Pattern COLUMN_NAME = Pattern.compile("[A-Za-z0-9_$]+");
+
+    private final DataSource dataSource;
+    protected final int batchSize;
+    private final long lingerMillis;
+    private final ScheduledExecutorService timer;
+
+    private final Object lock = new Object();
+    private final Map<List<String>, Group<S>> groups = new LinkedHashMap<>();
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private Connection connection;
+    private boolean closed;
+
+    private final AtomicLong writtenRows = new AtomicLong();
+    private final AtomicLong writtenBatches = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    /**
+     * 같은 컬럼 구성을 가진 행들입니다.
+     */
+    private static final class Group<S> {
+        private final List<String> columns;
+        private final S statement;
+        private final List<Object[]> rows = new ArrayList<>();
+        private long createdAt;
+
+        private Group(List<String> columns, S statement) {
+            this.columns = columns;
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * writer를 생성하고 linger 타이머를 시작합니다.
+     *
+     * @param dataSource 연결을 빌릴 데이터 소스
+     * @param batchSize 한 번에 기록할 최대 행 수
+     * @param lingerMillis 배치가 가득 차지 않아도 기록하는 최대 대기 시간 (ms)
+     * @param timerName linger 타이머 스레드 이름
+     * @throws IllegalArgumentException 설정 값이 잘못된 경우
+     */
+    protected MySqlRowWriter(DataSource dataSource, int batchSize, long lingerMillis,
+            String timerName) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("데이터 소스는 null일 수 없습니다.");
+        }
+        if (batchSize <= 0 || lingerMillis <= 0) {
+            throw new IllegalArgumentException("배치 설정 값은 0보다 커야 합니다.");
+        }
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, timerName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = Math.max(1, lingerMillis / 2);
+        timer.scheduleAtFixedRate(this::flushExpired, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 컬럼 구성에 대한 문장 정보를 만듭니다. 컬럼 구성마다 한 번 호출됩니다.
+     *
+     * @param columns 검증된 컬럼 이름 목록
+     * @return 문장 정보
+     */
+    protected abstract S prepare(List<String> columns);
+
+    /**
+     * 같은 컬럼 구성의 행들을 기록합니다. 커밋은 호출한 쪽에서 수행합니다.
+     *
+     * @param connection 자동 커밋이 꺼진 연결
+     * @param statement {@link #prepare(List)}로 만든 문장 정보
+     * @param rows 기록할 행의 값 배열들 (컬럼 순서)
+     * @return 오류 없이 건너뛰어 기록되지 않은 행 수, 실패 행으로 집계됩니다
+     * @throws SQLException 기록에 실패한 경우
+     */
+    protected abstract int write(Connection connection, S statement, List<Object[]> rows)
+            throws SQLException;
+
+    /**
+     * 행 하나를 배치에 추가합니다. 그룹이 가득 차면 호출한 스레드에서 바로 기록합니다.
+     *
+     * @param row 컬럼-값 맵
+     * @throws IllegalArgumentException 행이 비어 있거나 컬럼 이름이 잘못된 경우
+     * @throws IllegalStateException writer가 이미 닫힌 경우
+     */
+    public void add(Map<String, Object> row) {
+        if (row == null || row.isEmpty()) {
+            throw new IllegalArgumentException("기록할 컬럼이 없습니다.");
+        }
+        List<String> columns = new ArrayList<>(row.size());
+        Object[] values = new Object[row.size()];
+        int index = 0;
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            columns.add(entry.getKey());
+            values[index++] = entry.getValue();
+        }
+
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException(getClass().getSimpleName() + "가 이미 닫혔습니다.");
+            }
+            Group<S> group = groups.get(columns);
+            if (group == null) {
+                for (String column : columns) {
+                    if (column == null || !COLUMN_NAME.matcher(column).matches()) {
+                        throw new IllegalArgumentException("잘못된 컬럼 이름입니다: " + column);
+                    }
+                }
+                List<String> key = List.copyOf(columns);
+                group = new Group<>(key, prepare(key));
+                groups.put(key, group);
+            }
+            if (group.rows.isEmpty()) {
+                group.createdAt = System.currentTimeMillis();
+            }
+            group.rows.add(values);
+            if (group.rows.size() >= batchSize) {
+                execute(group);
+            }
+        }
+    }
+
+    /**
+     * 모든 그룹의 대기 중인 행을 즉시 기록합니다.
+     */
+    public void flush() {
+        synchronized (lock) {
+            for (Group<S> group : groups.values()) {
+                if (!group.rows.isEmpty()) {
+                    execute(group);
+                }
+            }
+        }
+    }
+
+    private void flushExpired() {
+        synchronized (lock) {
+            long now = System.currentTimeMillis();
+            for (Group<S> group : groups.values()) {
+                if (!group.rows.isEmpty() && now - group.createdAt >= lingerMillis) {
+                    try {
+                        execute(group);
+                    } catch (RuntimeException e) {
+                        // 타이머 스레드가 종료되지 않도록 예외를 기록만 합니다.
+                        log.error("MySQL 배치 기록 중 예기치 않은 오류 발생: {}", e.getMessage(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 그룹의 행을 하나의 트랜잭션으로 기록합니다. {@code lock}을 보유한 상태에서 호출해야 합니다.
+     */
+    private void execute(Group<S> group) {
+        int count = group.rows.size();
+        try {
+            int skipped;
+            for (int attempt = 1;; attempt++) {
+                boolean committing = false;
+                try {
+                    connection = dataSource.getConnection();
+                    connection.setAutoCommit(false);
+                    skipped = write(connection, group.statement, group.rows);
+                    committing = true;
+                    connection.commit();
+                    releaseConnection(false);
+                    break;
+                } catch (SQLException e) {
+                    // 커밋 중 실패는 반영 여부를 알 수 없으므로 중복 기록을 피하기 위해 다시 시도하지 않습니다.
+                    boolean retry = attempt == 1 && connection != null && !committing
+                            && isConnectionError(e);
+                    releaseConnection(true);
+                    if (!retry) {
+                        throw e;
+                    }
+                    log.warn("MySQL 연결 오류로 새 연결에서 배치를 다시 기록합니다. 컬럼: {}, 오류: {}", group.columns,
+                            e.getMessage());
+                }
+            }
+            writtenRows.addAndGet(count - skipped);
+            writtenBatches.incrementAndGet();
+            if (skipped > 0) {
+                failedRows.addAndGet(skipped);
+                log.warn("MySQL 배치에서 기록되지 않은 행이 있습니다. 컬럼: {}, 행 수: {}, 건너뛴 행 수: {}",
+                        group.columns, count, skipped);
+            }
+            log.debug("MySQL 배치 기록 완료. 컬럼: {}, 행 수: {}", group.columns, count - skipped);
+        } catch (SQLException e) {
+            failedRows.addAndGet(count);
+            failedBatches.incrementAndGet();
+            log.error("MySQL 배치 기록 실패. 컬럼: {}, 행 수: {}, 오류: {}", group.columns, count,
+                    e.getMessage(), e);
+        } finally {
+            group.rows.clear();
+        }
+    }
+
+    /**
+     * 끊어진 연결 때문에 실패했는지 확인합니다. 드라이버가 감싼 원인 예외도 함께 확인합니다.
+     */
+    private static boolean isConnectionError(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException sql && sql.getSQLState() != null
+                    && sql.getSQLState().startsWith("08")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 현재 배치의 연결에서 SQL에 대한 캐시된 {@link PreparedStatement}를 반환합니다. 캐시는 배치가 끝나면 비워집니다.
+     * {@link #write}에서만 호출해야 합니다.
+     *
+     * @param sql SQL 문
+     * @return 캐시된 PreparedStatement
+     * @throws SQLException 문장 준비에 실패한 경우
+     */
+    protected PreparedStatement statement(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * 캐시된 문장을 닫고 연결을 풀로 반환합니다. 오류가 난 연결은 먼저 롤백합니다.
+     */
+    private void releaseConnection(boolean rollback) {
+        if (connection == null) {
+            return;
+        }
+        for (PreparedStatement statement : statements.values()) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                log.debug("PreparedStatement 종료 실패: {}", e.getMessage());
+            }
+        }
+        statements.clear();
+        if (rollback) {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                log.debug("롤백 실패: {}", e.getMessage());
+            }
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.error("데이터베이스 연결 반환 실패: {}", e.getMessage(), e);
+        }
+        connection = null;
+    }
+
+    /**
+     * 대기 중인 행을 기록하고 linger 타이머를 종료합니다.
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            flush();
+            closed = true;
+        }
+    }
+
+    public long getWrittenRows() {
+        return writtenRows.get();
+    }
+
+    public long getWrittenBatches() {
+        return writtenBatches.get();
+    }
+
+    public long getFailedRows() {
+        return failedRows.get();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    /**
+     * 아직 기록되지 않은 행 수를 반환합니다.
+     *
+     * @return 대기 중인 행 수
+     */
+    public int getPendingRows() {
+        synchronized (lock) {
+            int pending = 0;
+            for (Group<S> group : groups.values()) {
+                pending += group.rows.size();
+            }
+            return pending;
+        }
+    }
+}
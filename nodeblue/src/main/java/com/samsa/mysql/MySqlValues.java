@@ -0,0 +1,37 @@
+package com.samsa.mysql;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * JDBC 문장에 메시지 값을 바인딩하는 유틸리티 클래스입니다.
+ */
+public final class MySqlValues {
+
+    private MySqlValues() {
+        throw new UnsupportedOperationException("MySqlValues는 인스턴스를 생성할 수 없습니다.");
+    }
+
+    /**
+     * PreparedStatement에 값을 바인딩합니다.
+     *
+     * @param statement PreparedStatement 객체
+     * @param index 값이 바인딩될 인덱스
+     * @param value 바인딩할 값
+     * @throws SQLException 바인딩에 실패한 경우
+     */
+    public static void bind(PreparedStatement statement, int index, Object value)
+            throws SQLException {
+        if (value instanceof String s) {
+            statement.setString(index, s);
+        } else if (value instanceof Double d) {
+            statement.setDouble(index, d);
+        } else if (value instanceof Integer i) {
+            statement.setInt(index, i);
+        } else if (value instanceof Long l) {
+            statement.setLong(index, l);
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.samsa.mysql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code :이름} 형태의 이름 있는 파라미터를 JDBC의 {@code ?}로 바꾼 SQL입니다.
+ *
+ * <p>
+ * 작은따옴표, 큰따옴표, 백틱으로 감싼 부분과 {@code :=} 대입 연산자는 파라미터로 해석하지 않습니다. 같은 이름이 여러 번 나오면 위치마다 한 번씩
+ * 바인딩됩니다.
+ * </p>
+ *
+ * @param sql {@code ?}로 바뀐 SQL
+ * @param names 위치 순서대로의 파라미터 이름, {@code ?}만 사용했으면 빈 목록
+ * @param parameterCount 바인딩할 파라미터 수
+ */
+public record NamedParameterSql(String sql, List<String> names, int parameterCount) {
+
+    /**
+     * SQL을 해석합니다.
+     *
+     * @param sql 이름 있는 파라미터 또는 {@code ?}를 포함한 SQL
+     * @return 해석된 SQL
+     * @throws IllegalArgumentException SQL이 null이거나 이름 있는 파라미터와 {@code ?}를 함께 사용한 경우
+     */
+    public static NamedParameterSql parse(String sql) {
+        if (sql == null) {
+            throw new IllegalArgumentException("SQL은 null일 수 없습니다.");
+        }
+        StringBuilder out = new StringBuilder(sql.length());
+        List<String> names = new ArrayList<>();
+        int positional = 0;
+        char quote = 0;
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                out.append(c);
+                if (c == '\\' && quote != '`' && i + 1 < sql.length()) {
+                    out.append(sql.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                i++;
+                continue;
+            }
+            if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                positional++;
+            } else if (c == ':' && i + 1 < sql.length()
+                    && Character.isJavaIdentifierStart(sql.charAt(i + 1))) {
+                int end = i + 1;
+                while (end < sql.length() && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                names.add(sql.substring(i + 1, end));
+                out.append('?');
+                i = end;
+                continue;
+            }
+            out.append(c);
+            i++;
+        }
+        if (positional > 0 && !names.isEmpty()) {
+            throw new IllegalArgumentException("이름 있는 파라미터와 ?를 함께 사용할 수 없습니다: " + sql);
+        }
+        return new NamedParameterSql(out.toString(), List.copyOf(names),
+                names.isEmpty() ? positional : names.size());
+    }
+
+    /**
+     * 이름 있는 파라미터를 사용하는지 확인합니다.
+     *
+     * @return 이름 있는 파라미터가 하나 이상이면 true
+     */
+    public boolean isNamed() {
+        return !names.isEmpty();
+    }
+}
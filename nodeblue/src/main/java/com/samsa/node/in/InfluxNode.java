@@ -1,33 +1,61 @@
 package com.samsa.node.in;
 
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.UUID;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.influxdb.client.InfluxDBClient;
 import com.influxdb.client.InfluxDBClientFactory;
-import com.influxdb.client.WriteApiBlocking;
-import com.influxdb.client.domain.WritePrecision;
-import com.influxdb.client.write.Point;
 import com.samsa.annotation.NodeType;
 import com.samsa.core.Message;
 import com.samsa.core.node.InNode;
+import com.samsa.influx.InfluxBatchWriter;
+import com.samsa.influx.LineProtocolEncoder;
+import com.samsa.influx.SpillLog;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * InfluxDB에 데이터를 저장하는 노드 클래스입니다. 메시지를 수신하여 InfluxDB에 시계열 데이터로 저장합니다.
+ *
+ * <p>
+ * 포인트는 {@link InfluxBatchWriter}를 통해 배치로 모아 비동기로 기록되므로, 노드 스레드는 HTTP 요청을 기다리지 않습니다. 배치 크기, flush
+ * 간격, 기록 대기 바이트 한도, 동시 flush 수와 gzip 압축을 설정할 수 있습니다. 배치 기록이 지연되므로 시간이 없는 포인트에는 수신 시각을
+ * 기록합니다.
+ * </p>
+ *
+ * <p>
+ * 포인트는 {@link LineProtocolEncoder}로 재사용 버퍼에 바로 인코딩되어 배치에 복사되므로, 포인트마다 {@code Point} 객체나 문자열을 만들지
+ * 않습니다. 숫자 필드는 필드 타입 충돌을 피하도록 기본적으로 float로 기록하며, {@code integerFields}를 켜면 정수 값은 integer 타입으로
+ * 기록합니다. Boolean 필드는 타입이 그대로 유지됩니다.
+ * </p>
+ *
+ * <p>
+ * {@code spillDir}을 지정하면 InfluxDB가 느리거나 중단된 동안 배치를 디스크의 {@link SpillLog}에 보관하고, 서버가 복구되면 배치 단위로
+ * 재전송합니다. 디스크 사용량은 {@code spillMaxBytes}로 제한됩니다. 생성 시 InfluxDB에 연결할 수 없어도 Flow 로딩은 실패하지 않으며, 기록은
+ * 서버가 복구될 때까지 재시도됩니다.
+ * </p>
  * 
  * @version 1.0
  */
 @NodeType("InfluxNode")
 @Slf4j
 public class InfluxNode extends InNode {
+    private static final int DEFAULT_BATCH_SIZE = 5000;
+    private static final long DEFAULT_FLUSH_INTERVAL = 1000;
+    private static final long DEFAULT_MAX_PENDING_BYTES = 16L * 1024 * 1024;
+    private static final int DEFAULT_FLUSH_CONCURRENCY = 2;
+    private static final long DEFAULT_SPILL_MAX_BYTES = 1024L * 1024 * 1024;
+    private static final int SPILL_SEGMENT_BYTES = 16 * 1024 * 1024;
+    private static final long DEFAULT_RETRY_INTERVAL = 5000;
+
     private InfluxDBClient influxDBClient;
-    private WriteApiBlocking writeApi;
+    private InfluxBatchWriter writer;
+    private final LineProtocolEncoder encoder;
 
     /**
-     * InfluxDB 연결을 위한 기본 생성자입니다.
+     * 기본 배치 설정으로 InfluxDB 연결을 생성하는 생성자입니다.
      * 
      * @param url InfluxDB 서버 URL (예: "http://localhost:8086")
      * @param token InfluxDB 인증 토큰
@@ -35,11 +63,77 @@ public class InfluxNode extends InNode {
      * @param bucket 데이터를 저장할 버킷 이름
      * @throws IllegalStateException InfluxDB 연결 실패 시
      */
+    public InfluxNode(String url, String token, String org, String bucket) {
+        this(url, token, org, bucket, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL,
+                DEFAULT_MAX_PENDING_BYTES, DEFAULT_FLUSH_CONCURRENCY, false, null, null, null);
+    }
+
+    /**
+     * 숫자 필드를 float로 기록하는 InfluxDB 연결을 생성합니다. 생략된 배치 설정은 기본값을 사용합니다.
+     * 
+     * @param url InfluxDB 서버 URL (예: "http://localhost:8086")
+     * @param token InfluxDB 인증 토큰
+     * @param org InfluxDB 조직 이름
+     * @param bucket 데이터를 저장할 버킷 이름
+     * @param batchSize 배치 하나에 담을 최대 포인트 수, null이면 5000
+     * @param flushInterval 배치가 가득 차지 않아도 기록하는 최대 대기 시간 (ms), null이면 1000
+     * @param maxPendingBytes 기록되지 않은 채로 보관할 최대 바이트 수, null이면 16MB
+     * @param flushConcurrency 동시에 기록할 수 있는 배치 수, null이면 2
+     * @param gzip 요청 본문 gzip 압축 여부, null이면 false
+     * @param spillDir 기록하지 못한 배치를 보관할 디렉터리, null이면 디스크에 보관하지 않음
+     * @param spillMaxBytes 스필 디렉터리의 최대 사용량, null이면 1GB
+     * @param retryInterval 보관된 배치의 재전송 시도 간격 (ms), null이면 5000
+     * @throws IllegalStateException 클라이언트 또는 스필 로그 초기화 실패 시
+     */
+    public InfluxNode(String url, String token, String org, String bucket, Integer batchSize,
+            Long flushInterval, Long maxPendingBytes, Integer flushConcurrency, Boolean gzip,
+            String spillDir, Long spillMaxBytes, Long retryInterval) {
+        this(url, token, org, bucket, batchSize, flushInterval, maxPendingBytes, flushConcurrency,
+                gzip, spillDir, spillMaxBytes, retryInterval, false);
+    }
+
+    /**
+     * InfluxDB 연결을 위한 기본 생성자입니다. 생략된 배치 설정은 기본값을 사용합니다.
+     * 
+     * @param url InfluxDB 서버 URL (예: "http://localhost:8086")
+     * @param token InfluxDB 인증 토큰
+     * @param org InfluxDB 조직 이름
+     * @param bucket 데이터를 저장할 버킷 이름
+     * @param batchSize 배치 하나에 담을 최대 포인트 수, null이면 5000
+     * @param flushInterval 배치가 가득 차지 않아도 기록하는 최대 대기 시간 (ms), null이면 1000
+     * @param maxPendingBytes 기록되지 않은 채로 보관할 최대 바이트 수, null이면 16MB
+     * @param flushConcurrency 동시에 기록할 수 있는 배치 수, null이면 2
+     * @param gzip 요청 본문 gzip 압축 여부, null이면 false
+     * @param spillDir 기록하지 못한 배치를 보관할 디렉터리, null이면 디스크에 보관하지 않음
+     * @param spillMaxBytes 스필 디렉터리의 최대 사용량, null이면 1GB
+     * @param retryInterval 보관된 배치의 재전송 시도 간격 (ms), null이면 5000
+     * @param integerFields 정수 값을 integer 타입 필드로 기록할지 여부, null이면 false(float로 기록)
+     * @throws IllegalStateException 클라이언트 또는 스필 로그 초기화 실패 시
+     */
     @JsonCreator
     public InfluxNode(@JsonProperty("url") String url, @JsonProperty("token") String token,
-            @JsonProperty("org") String org, @JsonProperty("bucket") String bucket) {
+            @JsonProperty("org") String org, @JsonProperty("bucket") String bucket,
+            @JsonProperty("batchSize") Integer batchSize,
+            @JsonProperty("flushInterval") Long flushInterval,
+            @JsonProperty("maxPendingBytes") Long maxPendingBytes,
+            @JsonProperty("flushConcurrency") Integer flushConcurrency,
+            @JsonProperty("gzip") Boolean gzip, @JsonProperty("spillDir") String spillDir,
+            @JsonProperty("spillMaxBytes") Long spillMaxBytes,
+            @JsonProperty("retryInterval") Long retryInterval,
+            @JsonProperty("integerFields") Boolean integerFields) {
         super();
-        initialize(url, token, org, bucket);
+        this.encoder = new LineProtocolEncoder(integerFields != null && integerFields);
+        SpillLog spill = spillDir == null || spillDir.isBlank() ? null
+                : new SpillLog(Path.of(spillDir),
+                        spillMaxBytes != null ? spillMaxBytes : DEFAULT_SPILL_MAX_BYTES,
+                        SPILL_SEGMENT_BYTES);
+        initialize(url, token, org, bucket,
+                batchSize != null ? batchSize : DEFAULT_BATCH_SIZE,
+                flushInterval != null ? flushInterval : DEFAULT_FLUSH_INTERVAL,
+                maxPendingBytes != null ? maxPendingBytes : DEFAULT_MAX_PENDING_BYTES,
+                flushConcurrency != null ? flushConcurrency : DEFAULT_FLUSH_CONCURRENCY,
+                gzip != null && gzip, spill,
+                retryInterval != null ? retryInterval : DEFAULT_RETRY_INTERVAL);
     }
 
     /**
@@ -54,31 +148,51 @@ public class InfluxNode extends InNode {
      */
     public InfluxNode(UUID id, String url, String token, String org, String bucket) {
         super(id);
-        initialize(url, token, org, bucket);
+        this.encoder = new LineProtocolEncoder();
+        initialize(url, token, org, bucket, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL,
+                DEFAULT_MAX_PENDING_BYTES, DEFAULT_FLUSH_CONCURRENCY, false, null,
+                DEFAULT_RETRY_INTERVAL);
     }
 
     /**
-     * InfluxDB 클라이언트를 초기화하고 연결을 설정합니다. 초기화 성공 시 연결 테스트(ping)를 수행합니다.
+     * InfluxDB 클라이언트를 초기화하고 연결 테스트(ping)를 수행합니다. 연결 테스트 실패는 경고로만 기록하며, 기록은 서버가 복구될 때까지 재시도됩니다.
      * 
      * @param url InfluxDB 서버 URL
      * @param token InfluxDB 인증 토큰
      * @param org InfluxDB 조직 이름
      * @param bucket 데이터를 저장할 버킷 이름
-     * @throws IllegalStateException 클라이언트 초기화 또는 연결 실패 시
+     * @param batchSize 배치 하나에 담을 최대 포인트 수
+     * @param flushInterval 배치 최대 대기 시간 (ms)
+     * @param maxPendingBytes 기록 대기 바이트 한도
+     * @param flushConcurrency 동시 flush 수
+     * @param gzip 요청 본문 gzip 압축 여부
+     * @param spill 기록하지 못한 배치를 보관할 스필 로그, 없으면 null
+     * @param retryInterval 재전송 시도 간격 (ms)
+     * @throws IllegalStateException 클라이언트 초기화 실패 시
      */
-    private void initialize(String url, String token, String org, String bucket) {
+    private void initialize(String url, String token, String org, String bucket, int batchSize,
+            long flushInterval, long maxPendingBytes, int flushConcurrency, boolean gzip,
+            SpillLog spill, long retryInterval) {
         try {
             this.influxDBClient =
                     InfluxDBClientFactory.create(url, token.toCharArray(), org, bucket);
-            this.writeApi = influxDBClient.getWriteApiBlocking();
+            if (gzip) {
+                influxDBClient.enableGzip();
+            }
 
             try {
-                influxDBClient.ping();
-                log.info("InfluxDB에 성공적으로 연결되었습니다: {}", url);
+                if (Boolean.TRUE.equals(influxDBClient.ping())) {
+                    log.info("InfluxDB에 성공적으로 연결되었습니다: {}", url);
+                } else {
+                    log.warn("InfluxDB 연결 테스트 실패. 서버가 복구되면 기록을 재개합니다: {}", url);
+                }
             } catch (Exception e) {
-                log.error("InfluxDB 연결 실패: {}", e.getMessage());
-                throw new IllegalStateException("InfluxDB 연결 실패", e);
+                log.warn("InfluxDB 연결 테스트 실패. 서버가 복구되면 기록을 재개합니다: {}, 오류: {}", url,
+                        e.getMessage());
             }
+
+            this.writer = new InfluxBatchWriter(influxDBClient.getWriteApiBlocking(), batchSize,
+                    flushInterval, maxPendingBytes, flushConcurrency, spill, retryInterval);
         } catch (Exception e) {
             log.error("InfluxNode 초기화 오류: {}", e.getMessage());
             throw new IllegalStateException("InfluxNode 초기화 오류", e);
@@ -86,7 +200,8 @@ public class InfluxNode extends InNode {
     }
 
     /**
-     * 메시지를 수신하여 InfluxDB에 저장합니다. null 메시지는 무시되며, 저장 실패 시 오류가 기록됩니다.
+     * 메시지를 수신하여 기록 배치에 추가합니다. null 메시지는 무시되며, 변환 실패 시 오류가 기록됩니다. 기록 대기 바이트가 한도를 넘으면 공간이 생길 때까지
+     * 대기합니다.
      * 
      * @param message 처리할 메시지 객체
      */
@@ -98,19 +213,21 @@ public class InfluxNode extends InNode {
                 return;
             }
 
-            Point point = createPoint(message);
-            if (point != null) {
-                writeApi.writePoint(point);
-                log.debug("노드[{}] - InfluxDB에 포인트를 성공적으로 기록했습니다. 메시지 ID: {}", getId(),
+            int length = encode(message);
+            if (length > 0) {
+                writer.write(encoder.buffer(), 0, length);
+                log.debug("노드[{}] - 포인트를 기록 배치에 추가했습니다. 메시지 ID: {}", getId(),
                         message.getId());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.error("노드[{}] - InfluxDB 기록 중 오류 발생: {}", getId(), e.getMessage());
         }
     }
 
     /**
-     * 메시지를 InfluxDB Point 객체로 변환합니다.
+     * 메시지를 line protocol로 인코딩합니다. 결과는 {@link LineProtocolEncoder}의 재사용 버퍼에 기록됩니다.
      * 
      * <p>
      * 지원하는 페이로드 형식:
@@ -119,58 +236,57 @@ public class InfluxNode extends InNode {
      * {
      *   "measurement": String,          // 필수
      *   "tags": Map<String, String>,    // 선택
-     *   "fields": Map<String, Object>,  // 필수
-     *   "time": Long                    // 선택 (없으면 현재 시간 사용)
+     *   "fields": Map<String, Object>,  // 필수 (정수, 실수, Boolean, 문자열 타입 유지)
+     *   "time": Long                    // 선택 (없으면 수신 시각 사용)
      * }
      * </pre>
      * 
      * @param message 변환할 메시지
-     * @return 생성된 Point 객체, 변환 실패 시 null
+     * @return 인코딩된 바이트 수, 변환 실패 시 0
      */
-    private Point createPoint(Message message) {
+    private int encode(Message message) {
         try {
             Object payloadObj = message.getPayload();
             if (!(payloadObj instanceof Map)) {
                 log.warn("노드[{}] - 페이로드가 Map이 아닙니다. 메시지 ID: {}", getId(), message.getId());
-                return null;
+                return 0;
             }
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> payload = (Map<String, Object>) payloadObj;
-
-            String measurement = (String) payload.get("measurement");
-            Map<String, String> tags = (Map<String, String>) payload.get("tags");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> fields = (Map<String, Object>) payload.get("fields");
-            Long timestamp = (Long) payload.get("time");
+            Map<?, ?> payload = (Map<?, ?>) payloadObj;
 
-            Point point = Point.measurement(measurement).time(timestamp, WritePrecision.MS);
+            Object measurement = payload.get("measurement");
+            Object tags = payload.get("tags");
+            Object fields = payload.get("fields");
+            Object time = payload.get("time");
 
-            // 태그 추가
-            for (Map.Entry<String, String> tag : tags.entrySet()) {
-                point.addTag(tag.getKey(), tag.getValue());
+            if (!(measurement instanceof String) || !(fields instanceof Map)) {
+                log.warn("노드[{}] - measurement 또는 fields가 없습니다. 메시지 ID: {}", getId(),
+                        message.getId());
+                return 0;
             }
 
-            // 필드 추가 (double로 통일)
-            for (Map.Entry<String, Object> field : fields.entrySet()) {
-                point.addField(field.getKey(), ((Number) field.getValue()).doubleValue());
+            long timestamp = time instanceof Number n ? n.longValue() : System.currentTimeMillis();
+            int length = encoder.encode((String) measurement,
+                    tags instanceof Map ? (Map<?, ?>) tags : null, (Map<?, ?>) fields, timestamp);
+            if (length == 0) {
+                log.warn("노드[{}] - 기록할 필드가 없습니다. 메시지 ID: {}", getId(), message.getId());
             }
-
-            return point;
+            return length;
 
         } catch (Exception e) {
             log.error("노드[{}] - 포인트 생성 중 오류 발생: {}", getId(), e.getMessage());
-            return null;
+            return 0;
         }
     }
 
     /**
-     * InfluxDB 연결을 안전하게 종료합니다. WriteApi와 InfluxDBClient 리소스를 해제합니다. 이 메서드는 노드가 종료될 때 반드시 호출되어야 합니다.
+     * InfluxDB 연결을 안전하게 종료합니다. 남은 배치를 기록한 뒤 InfluxDBClient 리소스를 해제합니다. 이 메서드는 노드가 종료될 때 반드시 호출되어야
+     * 합니다.
      */
     public void close() {
         try {
-            if (writeApi != null) {
-                ((AutoCloseable) writeApi).close();
+            if (writer != null) {
+                writer.close();
             }
             if (influxDBClient != null) {
                 influxDBClient.close();
@@ -180,4 +296,67 @@ public class InfluxNode extends InNode {
             log.error("노드[{}] - InfluxDB 클라이언트 종료 중 오류 발생: {}", getId(), e.getMessage());
         }
     }
+
+    /**
+     * InfluxDB에 기록된 포인트 수를 반환합니다.
+     *
+     * @return 기록된 포인트 수
+     */
+    public long getWrittenCount() {
+        return writer.getWrittenPoints();
+    }
+
+    /**
+     * 배치 기록 실패로 유실된 포인트 수를 반환합니다.
+     *
+     * @return 기록 실패 포인트 수
+     */
+    public long getFailedCount() {
+        return writer.getFailedPoints();
+    }
+
+    /**
+     * 기록에 실패한 배치 수를 반환합니다.
+     *
+     * @return 기록 실패 배치 수
+     */
+    public long getFailedBatchCount() {
+        return writer.getFailedBatches();
+    }
+
+    /**
+     * InfluxDB가 거부(4xx)하여 재시도 없이 버린 포인트 수를 반환합니다. 이 포인트는 {@link #getFailedCount()}에도 포함됩니다.
+     *
+     * @return 거부된 포인트 수
+     */
+    public long getRejectedCount() {
+        return writer.getRejectedPoints();
+    }
+
+    /**
+     * 아직 기록되지 않은 바이트 수를 반환합니다.
+     *
+     * @return 기록 대기 중인 바이트 수
+     */
+    public long getPendingBytes() {
+        return writer.getPendingBytes();
+    }
+
+    /**
+     * 장애로 디스크에 보관된 포인트 수를 누적으로 반환합니다.
+     *
+     * @return 보관된 포인트 수
+     */
+    public long getSpilledCount() {
+        return writer.getSpilledPoints();
+    }
+
+    /**
+     * 디스크에서 재전송된 포인트 수를 반환합니다.
+     *
+     * @return 재전송된 포인트 수
+     */
+    public long getReplayedCount() {
+        return writer.getReplayedPoints();
+    }
 }
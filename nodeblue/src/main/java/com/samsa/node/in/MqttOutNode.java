@@ -3,49 +3,159 @@ package com.samsa.node.in;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.paho.client.mqttv3.IMqttActionListener;
+import org.eclipse.paho.client.mqttv3.IMqttToken;
+import org.eclipse.paho.client.mqttv3.MqttException;
 
-import org.eclipse.paho.client.mqttv3.MqttClient;
-import org.eclipse.paho.client.mqttv3.MqttMessage;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.samsa.annotation.NodeType;
+import com.samsa.core.LazyJson;
 import com.samsa.core.Message;
 import com.samsa.core.node.InNode;
+import com.samsa.mqtt.MqttConnection;
+import com.samsa.mqtt.MqttConnectionRegistry;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * MQTT 출력 노드 클래스. MQTT 브로커에 연결하고 메시지를 발행하는 기능을 수행합니다.
+ *
+ * <p>
+ * 발행은 Paho 비동기 클라이언트로 처리되며, 브로커의 응답을 기다리지 않고 최대 {@code maxInflight}개의 메시지를 동시에 전송합니다.
+ * 전송 중인 메시지 수가 한도에 도달하면 완료 콜백이 도착할 때까지 노드 스레드가 대기하므로, 입력 파이프를 통해 상위 노드에 배압이 전달됩니다. List
+ * 페이로드는 항목마다 응답을 기다리지 않고 연속으로 전송됩니다.
+ * </p>
+ *
+ * <p>
+ * 발행 QoS와 retained 플래그는 노드 설정을 사용합니다. {@code payloadOverrides}를 켜면 페이로드 Map의 {@code qos}와
+ * {@code retained} 값이 있을 때 노드 설정 대신 사용합니다. {@link com.samsa.core.MqttPayload}는 수신 시의 QoS와 retained 값을 같은
+ * 키로 노출하므로, 이 옵션을 켠 채 MqttInNode의 메시지를 그대로 전달하면 수신 설정으로 재발행된다는 점에 유의하십시오.
+ * </p>
+ *
+ * <p>
+ * 브로커 연결은 {@link MqttConnectionRegistry}를 통해 같은 브로커와 인증 정보를 사용하는 다른 MQTT 노드와 공유됩니다.
+ * </p>
  */
 @NodeType("MqttOutNode")
 @Slf4j
 public class MqttOutNode extends InNode {
 
-    private MqttClient mqttClient;
+    private static final int DEFAULT_QOS = 0;
+    private static final int DEFAULT_MAX_INFLIGHT = 100;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private MqttConnection connection;
     private String broker;
     private String clientId;
+    private String username;
+    private String password;
+    private final int qos;
+    private final boolean retained;
+    private final boolean payloadOverrides;
+    private final int maxInflight;
+    private final Semaphore inflight;
+
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * 발행 완료 시 전송 창을 반환하는 콜백입니다. 메시지마다 새로 만들지 않도록 하나를 공유합니다.
+     */
+    private final IMqttActionListener completion = new IMqttActionListener() {
+        @Override
+        public void onSuccess(IMqttToken token) {
+            inflight.release();
+            publishedCount.incrementAndGet();
+        }
+
+        @Override
+        public void onFailure(IMqttToken token, Throwable exception) {
+            inflight.release();
+            failedCount.incrementAndGet();
+            log.error("MQTT 메시지 발행 실패. NodeId: {}, Topic: {}", getId(),
+                    token.getUserContext(), exception);
+        }
+    };
 
     /**
-     * 주어진 브로커 URL과 클라이언트 ID로 MqttOutNode 객체를 생성합니다.
-     * 
+     * 주어진 브로커 URL과 클라이언트 ID로 MqttOutNode 객체를 생성합니다. QoS 0, retained 없음, 기본 전송 창 크기를 사용합니다.
+     *
      * @param broker MQTT 브로커의 URL
      * @param clientId 연결에 사용할 클라이언트 ID
      * @throws NullPointerException broker 또는 clientId가 null인 경우 예외 발생
      */
+    public MqttOutNode(String broker, String clientId) {
+        this(broker, clientId, DEFAULT_QOS, false, DEFAULT_MAX_INFLIGHT, null, null, false);
+    }
+
+    /**
+     * 페이로드의 QoS/retained 값을 사용하지 않는 MqttOutNode 객체를 생성합니다. 생략된 설정은 기본값을 사용합니다.
+     *
+     * @param broker MQTT 브로커의 URL
+     * @param clientId 연결에 사용할 클라이언트 ID
+     * @param qos 기본 발행 QoS 레벨 (0~2), null이면 0
+     * @param retained 기본 retained 플래그, null이면 false
+     * @param maxInflight 응답을 기다리지 않고 동시에 전송할 수 있는 최대 메시지 수, null이면 100
+     * @param username 브로커 사용자 이름, 인증이 없으면 null
+     * @param password 브로커 비밀번호, 인증이 없으면 null
+     * @throws NullPointerException broker 또는 clientId가 null인 경우 예외 발생
+     * @throws IllegalArgumentException QoS 또는 전송 창 크기가 잘못된 경우
+     */
+    public MqttOutNode(String broker, String clientId, Integer qos, Boolean retained,
+            Integer maxInflight, String username, String password) {
+        this(broker, clientId, qos, retained, maxInflight, username, password, false);
+    }
+
+    /**
+     * Jackson 역직렬화를 위한 생성자. 생략된 설정은 기본값을 사용합니다.
+     *
+     * @param broker MQTT 브로커의 URL
+     * @param clientId 연결에 사용할 클라이언트 ID
+     * @param qos 기본 발행 QoS 레벨 (0~2), null이면 0
+     * @param retained 기본 retained 플래그, null이면 false
+     * @param maxInflight 응답을 기다리지 않고 동시에 전송할 수 있는 최대 메시지 수, null이면 100
+     * @param username 브로커 사용자 이름, 인증이 없으면 null
+     * @param password 브로커 비밀번호, 인증이 없으면 null
+     * @param payloadOverrides 페이로드 Map의 {@code qos}/{@code retained} 값으로 설정을 대신할지 여부, null이면 false
+     * @throws NullPointerException broker 또는 clientId가 null인 경우 예외 발생
+     * @throws IllegalArgumentException QoS 또는 전송 창 크기가 잘못된 경우
+     */
     @JsonCreator
     public MqttOutNode(@JsonProperty("broker") String broker,
-            @JsonProperty("clientId") String clientId) {
+            @JsonProperty("clientId") String clientId, @JsonProperty("qos") Integer qos,
+            @JsonProperty("retained") Boolean retained,
+            @JsonProperty("maxInflight") Integer maxInflight,
+            @JsonProperty("username") String username, @JsonProperty("password") String password,
+            @JsonProperty("payloadOverrides") Boolean payloadOverrides) {
         super();
         if (Objects.isNull(broker) || Objects.isNull(clientId)) {
             throw new NullPointerException("브로커와 클라이언트 ID는 null일 수 없습니다.");
         }
         this.broker = broker;
         this.clientId = clientId;
+        this.username = username;
+        this.password = password;
+        this.qos = qos != null ? qos : DEFAULT_QOS;
+        this.retained = retained != null && retained;
+        this.payloadOverrides = Boolean.TRUE.equals(payloadOverrides);
+        this.maxInflight = maxInflight != null ? maxInflight : DEFAULT_MAX_INFLIGHT;
+        if (this.qos < 0 || this.qos > 2) {
+            throw new IllegalArgumentException("QoS는 0에서 2 사이여야 합니다: " + this.qos);
+        }
+        if (this.maxInflight <= 0) {
+            throw new IllegalArgumentException("전송 창 크기는 0보다 커야 합니다: " + this.maxInflight);
+        }
+        this.inflight = new Semaphore(this.maxInflight);
     }
 
     /**
      * 수신된 메시지를 MQTT 브로커로 발행합니다.
-     * 
+     *
      * @param message 처리할 메시지 객체
      */
     @Override
@@ -56,45 +166,150 @@ public class MqttOutNode extends InNode {
             return;
         }
 
-        log.info("수신된 메시지: {}", message.getPayload());
-
         try {
-            // MQTT 클라이언트가 없거나 연결되지 않은 경우 연결 처리
-            if (mqttClient == null || !mqttClient.isConnected()) {
-                mqttClient = new MqttClient(broker, clientId);
-                mqttClient.connect(); // 브로커에 연결
-                log.info("MQTT 클라이언트가 브로커에 연결되었습니다: {}", broker);
+            // 공유 연결이 없는 경우 레지스트리에서 획득
+            if (connection == null) {
+                connection = MqttConnectionRegistry.acquire(broker, clientId, username, password);
             }
 
             // 페이로드가 Map인 경우 처리
             if (message.getPayload() instanceof Map) {
-                Map<String, Object> payload = (Map<String, Object>) message.getPayload();
-                String topic = (String) payload.get("topic");
-                String payloadData = payload.get("payload").toString();
-                MqttMessage mqttMessage = new MqttMessage(payloadData.getBytes());
-                mqttClient.publish(topic, mqttMessage); // MQTT 토픽으로 메시지 발행
-                log.info("토픽 '{}'에 메시지가 발행되었습니다.", topic);
+                publish((Map<?, ?>) message.getPayload());
             }
-            // 페이로드가 List인 경우 처리
+            // 페이로드가 List인 경우 응답을 기다리지 않고 연속으로 발행
             else if (message.getPayload() instanceof List) {
-                List<Map<String, Object>> payloadList =
-                        (List<Map<String, Object>>) message.getPayload();
-                for (Map<String, Object> item : payloadList) {
-                    String topic = (String) item.get("topic");
-                    String payloadData = item.get("payload").toString();
-                    MqttMessage mqttMessage = new MqttMessage(payloadData.getBytes());
-                    mqttClient.publish(topic, mqttMessage); // MQTT 토픽으로 메시지 발행
-                    log.info("토픽 '{}'에 메시지가 발행되었습니다.", topic);
+                List<?> payloadList = (List<?>) message.getPayload();
+                for (Object item : payloadList) {
+                    if (item instanceof Map<?, ?> map) {
+                        publish(map);
+                    } else {
+                        log.warn("List 항목이 Map이 아닙니다: {}",
+                                item == null ? null : item.getClass());
+                    }
                 }
+                log.debug("{}개의 메시지를 발행 요청했습니다. NodeId: {}, MessageId: {}", payloadList.size(),
+                        getId(), message.getId());
             }
             // 예상하지 못한 페이로드 타입이 올 경우 처리
             else {
                 log.warn("예상하지 못한 페이로드 타입입니다: {}", message.getPayload().getClass());
             }
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             // 예외 발생 시 오류 로그
             log.error("MQTT로 메시지를 발행하는 중 오류 발생: {}", e.getMessage(), e);
         }
     }
+
+    /**
+     * Map 페이로드 하나를 비동기로 발행합니다. 전송 창이 가득 찬 경우 공간이 생길 때까지 대기합니다.
+     *
+     * @param payload {@code topic}, {@code payload}와, payloadOverrides가 켜진 경우 선택적으로 {@code qos}, {@code retained}를
+     *        담은 Map
+     * @throws InterruptedException 전송 창을 기다리는 중 인터럽트된 경우
+     * @throws MqttException 발행 요청이 거부된 경우
+     */
+    private void publish(Map<?, ?> payload) throws InterruptedException, MqttException {
+        Object topic = payload.get("topic");
+        Object data = payload.get("payload");
+        if (topic == null || data == null) {
+            log.warn("topic 또는 payload가 없어 발행하지 않습니다. NodeId: {}", getId());
+            return;
+        }
+
+        int messageQos = payloadOverrides ? toQos(payload.get("qos")) : qos;
+        boolean messageRetained = payloadOverrides ? toRetained(payload.get("retained")) : retained;
+
+        inflight.acquire();
+        try {
+            connection.publish(topic.toString(), toBytes(data), messageQos, messageRetained, topic,
+                    completion);
+        } catch (MqttException | RuntimeException e) {
+            inflight.release();
+            failedCount.incrementAndGet();
+            throw e;
+        }
+        log.debug("토픽 '{}'에 메시지 발행을 요청했습니다.", topic);
+    }
+
+    private int toQos(Object value) {
+        if (value instanceof Number n && n.intValue() >= 0 && n.intValue() <= 2) {
+            return n.intValue();
+        }
+        return qos;
+    }
+
+    private boolean toRetained(Object value) {
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        return retained;
+    }
+
+    /**
+     * 발행할 페이로드를 바이트 배열로 변환합니다. {@code byte[]}와 {@link LazyJson}은 파싱이나 문자열 변환 없이 원본 바이트를 그대로 사용합니다.
+     *
+     * @param data 발행할 데이터
+     * @return 발행할 바이트 배열
+     */
+    private static byte[] toBytes(Object data) {
+        if (data instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (data instanceof LazyJson json) {
+            return json.getBytes();
+        }
+        return data.toString().getBytes();
+    }
+
+    /**
+     * 전송 중인 메시지의 완료를 최대 5초간 기다린 뒤 공유 연결을 반환합니다.
+     */
+    public void close() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (!inflight.tryAcquire(maxInflight, CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                log.warn("전송 중인 메시지가 남아 있는 상태로 종료합니다. NodeId: {}, 남은 수: {}", getId(),
+                        maxInflight - inflight.availablePermits());
+            } else {
+                inflight.release(maxInflight);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        MqttConnectionRegistry.release(connection);
+        connection = null;
+        log.info("MQTT 연결 반환. NodeId: {}", getId());
+    }
+
+    /**
+     * 브로커가 수신을 확인한 메시지 수를 반환합니다.
+     *
+     * @return 발행 완료된 메시지 수
+     */
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * 발행에 실패한 메시지 수를 반환합니다.
+     *
+     * @return 발행 실패 메시지 수
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * 현재 브로커의 응답을 기다리는 메시지 수를 반환합니다.
+     *
+     * @return 전송 중인 메시지 수
+     */
+    public int getInflightCount() {
+        return maxInflight - inflight.availablePermits();
+    }
 }
@@ -1,25 +1,66 @@
 package com.samsa.node.in;
 
-import java.sql.*;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.samsa.annotation.NodeType;
 import com.samsa.core.Message;
 import com.samsa.core.node.InNode;
-import com.zaxxer.hikari.HikariConfig;
+import com.samsa.mysql.MySqlBatchInserter;
+import com.samsa.mysql.MySqlBulkLoader;
+import com.samsa.mysql.MySqlDataSourceRegistry;
+import com.samsa.mysql.MySqlRowWriter;
 import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * {@code MySqlNode} 클래스는 MySQL 데이터베이스와 상호작용하여 메시지를 처리하는 노드입니다.
+ *
+ * <p>
+ * INSERT 쿼리의 경우 메시지마다 쿼리를 실행하지 않고 {@link MySqlBatchInserter}로 행을 모아 배치로 기록합니다. 행은 컬럼 구성별로 묶이며,
+ * {@code batchSize}개가 모이거나 {@code lingerMillis}가 지나면 기록됩니다.
+ * </p>
+ *
+ * <p>
+ * {@code bulk} 모드에서는 INSERT 대신 {@link MySqlBulkLoader}가 행을 CSV 스트림으로 변환하여 {@code LOAD DATA LOCAL INFILE}로
+ * 적재합니다. 초당 수만 행을 기록하는 보관용 흐름에 사용합니다. {@code upsert}는 INSERT 경로에서만 사용할 수 있습니다.
+ * </p>
+ *
+ * <p>
+ * 연결 풀은 {@link MySqlDataSourceRegistry}에서 URL과 사용자별로 공유되며, 풀의 크기는 노드들이 설정한 {@code parallelism}의 합계로
+ * 정해집니다.
+ * </p>
  */
 @NodeType("MysqlNode")
 @Slf4j
 public class MySqlNode extends InNode {
 
-    private static HikariDataSource dataSource;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final long DEFAULT_LINGER_MILLIS = 200;
+    private static final int DEFAULT_PARALLELISM = 1;
+    private static final Pattern INSERT_TABLE =
+            Pattern.compile("(?i)^\\s*insert\\s+(?:ignore\\s+)?into\\s+([`\\w$.]+)");
+
+    private final HikariDataSource dataSource;
+    private final int parallelism;
     private final String query;
+    private final MySqlRowWriter<?> writer;
+
+    /**
+     * 기본 배치 설정으로 새로운 {@code MySqlNode} 인스턴스를 생성합니다.
+     *
+     * @param driver JDBC 드라이버 클래스 이름
+     * @param url 데이터베이스 URL
+     * @param userId 데이터베이스 사용자 ID
+     * @param userPw 데이터베이스 사용자 비밀번호
+     * @param query 실행할 SQL 쿼리
+     */
+    public MySqlNode(String driver, String url, String userId, String userPw, String query) {
+        this(driver, url, userId, userPw, query, null, null, null, null, null, null);
+    }
 
     /**
      * 새로운 {@code MySqlNode} 인스턴스를 생성합니다.
@@ -29,134 +70,122 @@ public class MySqlNode extends InNode {
      * @param userId 데이터베이스 사용자 ID
      * @param userPw 데이터베이스 사용자 비밀번호
      * @param query 실행할 SQL 쿼리
+     * @param batchSize 한 번에 INSERT할 최대 행 수 (기본값 1000)
+     * @param lingerMillis 배치가 가득 차지 않아도 기록하는 최대 대기 시간 (ms, 기본값 200)
+     * @param multiRowValues 다중 행 VALUES 문장을 직접 만들지 여부 (기본값 false)
+     * @param upsert 키가 중복된 행을 갱신할지 여부 (기본값 false)
+     * @param bulk {@code LOAD DATA LOCAL INFILE}로 대량 적재할지 여부 (기본값 false)
+     * @param parallelism 노드가 동시에 사용할 연결 수 (기본값 1)
+     * @throws IllegalArgumentException bulk와 upsert를 함께 사용하거나 bulk 모드에서 테이블 이름을 찾을 수 없는 경우
      */
     @JsonCreator
     public MySqlNode(@JsonProperty("driver") String driver, @JsonProperty("url") String url,
             @JsonProperty("userId") String userId, @JsonProperty("password") String userPw,
-            @JsonProperty("sql") String query) {
+            @JsonProperty("sql") String query, @JsonProperty("batchSize") Integer batchSize,
+            @JsonProperty("lingerMillis") Long lingerMillis,
+            @JsonProperty("multiRowValues") Boolean multiRowValues,
+            @JsonProperty("upsert") Boolean upsert, @JsonProperty("bulk") Boolean bulk,
+            @JsonProperty("parallelism") Integer parallelism) {
         super();
         this.query = query;
+        boolean bulkMode = bulk != null && bulk;
+        boolean upsertMode = upsert != null && upsert;
+        if (bulkMode && upsertMode) {
+            throw new IllegalArgumentException("bulk 모드에서는 upsert를 사용할 수 없습니다.");
+        }
 
-        // HikariCP 설정
-        if (dataSource == null) {
-            synchronized (MySqlNode.class) {
-                if (dataSource == null) {
-                    HikariConfig config = new HikariConfig();
-                    config.setDriverClassName(driver);
-                    config.setJdbcUrl(url);
-                    config.setUsername(userId);
-                    config.setPassword(userPw);
-
-                    // 최적화된 풀 설정
-                    config.setMaximumPoolSize(10);
-                    config.setMinimumIdle(2);
-                    config.setIdleTimeout(30000);
-                    config.setConnectionTimeout(30000);
-                    config.setMaxLifetime(1800000);
-
-                    dataSource = new HikariDataSource(config);
-                    log.info("HikariCP DataSource가 초기화되었습니다.");
-                }
+        boolean insert = query != null && query.trim().toLowerCase().startsWith("insert");
+        String table = null;
+        if (insert && bulkMode) {
+            Matcher matcher = INSERT_TABLE.matcher(query);
+            if (!matcher.find()) {
+                throw new IllegalArgumentException("INSERT 문에서 테이블 이름을 찾을 수 없습니다: " + query);
             }
+            table = matcher.group(1);
+        }
+
+        this.parallelism = parallelism != null ? parallelism : DEFAULT_PARALLELISM;
+        this.dataSource = MySqlDataSourceRegistry.acquire(driver, url, userId, userPw,
+                this.parallelism,
+                bulkMode ? Map.of("allowLoadLocalInfile", "true") : Map.of());
+
+        int rows = batchSize != null ? batchSize : DEFAULT_BATCH_SIZE;
+        long linger = lingerMillis != null ? lingerMillis : DEFAULT_LINGER_MILLIS;
+        if (!insert) {
+            this.writer = null;
+        } else if (bulkMode) {
+            this.writer = new MySqlBulkLoader(dataSource, table, rows, linger);
+        } else {
+            this.writer = new MySqlBatchInserter(dataSource, query, rows, linger,
+                    multiRowValues != null && multiRowValues, upsertMode);
         }
     }
 
     /**
-     * 수신된 메시지를 처리합니다.
+     * 수신된 메시지를 처리합니다. INSERT 쿼리의 경우 행을 배치에 추가합니다.
      *
      * @param message 처리할 수신 메시지
      */
     @Override
+    @SuppressWarnings("unchecked")
     protected void onMessage(Message message) {
-        if (message.getPayload() instanceof Map) {
-            try (Connection connection = dataSource.getConnection()) {
-                log.info("풀에서 데이터베이스 연결을 성공적으로 가져왔습니다.");
-
-                if (query.trim().toLowerCase().startsWith("insert")) {
-                    doInsert((Map<String, Object>) message.getPayload(), connection);
-                } else {
-                    log.warn("지원되지 않는 쿼리 유형입니다. 현재는 INSERT 쿼리만 지원됩니다.");
-                }
-            } catch (SQLException e) {
-                log.error("데이터베이스 작업 중 오류 발생: {}", e.getMessage(), e);
-            }
-        } else {
+        if (!(message.getPayload() instanceof Map)) {
             log.warn("Payload가 Map 타입이 아닙니다.");
+            return;
+        }
+        if (writer == null) {
+            log.warn("지원되지 않는 쿼리 유형입니다. 현재는 INSERT 쿼리만 지원됩니다.");
+            return;
+        }
+        try {
+            writer.add((Map<String, Object>) message.getPayload());
+        } catch (IllegalArgumentException e) {
+            log.warn("INSERT할 수 없는 메시지입니다. NodeId: {}, MessageId: {}, 오류: {}", getId(),
+                    message.getId(), e.getMessage());
         }
     }
 
     /**
-     * 동적 INSERT 쿼리를 실행합니다.
-     *
-     * @param columnMap 삽입 작업을 위한 컬럼-값 쌍을 포함한 맵
-     * @param connection 사용할 데이터베이스 연결
-     * @throws SQLException SQL 실행 중 오류가 발생한 경우
+     * 남은 행을 기록하고 연결 풀 사용을 끝냅니다. 노드가 종료될 때 호출되어야 합니다.
      */
-    private void doInsert(Map<String, Object> columnMap, Connection connection)
-            throws SQLException {
-        StringBuilder sql = new StringBuilder(query);
-        StringBuilder placeholders = new StringBuilder();
-
-        // 동적 SQL 쿼리 생성
-        int index = 1;
-        for (String column : columnMap.keySet()) {
-            sql.append(column);
-            placeholders.append("?");
-
-            if (index < columnMap.size()) {
-                sql.append(", ");
-                placeholders.append(", ");
-            }
-            index++;
+    public void close() {
+        if (writer != null) {
+            writer.close();
         }
+        MySqlDataSourceRegistry.release(dataSource, parallelism);
+    }
 
-        sql.append(") VALUES (").append(placeholders).append(")");
-
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql.toString())) {
-            index = 1;
-
-            // PreparedStatement에 값을 바인딩
-            for (Object value : columnMap.values()) {
-                setPreparedStatementValue(preparedStatement, index++, value);
-            }
+    /**
+     * 기록된 행 수를 반환합니다.
+     *
+     * @return 기록된 행 수
+     */
+    public long getWrittenCount() {
+        return writer == null ? 0 : writer.getWrittenRows();
+    }
 
-            // INSERT 쿼리 실행
-            int rowsAffected = preparedStatement.executeUpdate();
-            log.info("INSERT 쿼리가 성공적으로 실행되었습니다. 영향을 받은 행 수: {}", rowsAffected);
-        } catch (SQLException e) {
-            log.error("INSERT 쿼리 실행 중 오류 발생: {}", e.getMessage(), e);
-            throw e;
-        }
+    /**
+     * 배치 기록 실패로 유실된 행 수를 반환합니다.
+     *
+     * @return 기록 실패 행 수
+     */
+    public long getFailedCount() {
+        return writer == null ? 0 : writer.getFailedRows();
     }
 
     /**
-     * PreparedStatement에 값을 바인딩합니다.
+     * 아직 기록되지 않은 행 수를 반환합니다.
      *
-     * @param preparedStatement PreparedStatement 객체
-     * @param index 값이 바인딩될 인덱스
-     * @param value 바인딩할 값
-     * @throws SQLException SQL 실행 중 오류가 발생한 경우
+     * @return 대기 중인 행 수
      */
-    private void setPreparedStatementValue(PreparedStatement preparedStatement, int index,
-            Object value) throws SQLException {
-        if (value instanceof String) {
-            preparedStatement.setString(index, (String) value);
-        } else if (value instanceof Double) {
-            preparedStatement.setDouble(index, (Double) value);
-        } else if (value instanceof Integer) {
-            preparedStatement.setInt(index, (Integer) value);
-        } else {
-            preparedStatement.setObject(index, value);
-        }
+    public int getPendingCount() {
+        return writer == null ? 0 : writer.getPendingRows();
     }
 
     /**
-     * 애플리케이션 종료 시 데이터베이스 연결 풀을 종료합니다.
+     * 애플리케이션 종료 시 모든 데이터베이스 연결 풀을 종료합니다.
      */
     public static void shutdown() {
-        if (dataSource != null) {
-            dataSource.close();
-            log.info("HikariCP DataSource가 종료되었습니다.");
-        }
+        MySqlDataSourceRegistry.closeAll();
     }
 }
@@ -0,0 +1,188 @@
+package com.samsa.node.inout;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.samsa.annotation.NodeType;
+import com.samsa.core.LazyJson;
+import com.samsa.core.Message;
+import com.samsa.core.node.InOutNode;
+import com.samsa.expression.Expression;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code ChangeNode} 클래스는 표현식으로 계산한 값을 메시지 페이로드의 지정된 위치에 설정하는 노드입니다.
+ *
+ * <p>
+ * 각 규칙은 대상 경로와 {@link Expression} 표현식으로 구성되며, 표현식은 노드 생성 시 한 번만 컴파일됩니다. 규칙은 정의된 순서대로 적용되므로 앞선 규칙의
+ * 결과를 뒤의 규칙에서 참조할 수 있습니다. 대상 경로가 {@code payload}이면 페이로드 전체를 교체하고, {@code payload.a.b} 형식이면 중첩
+ * {@code Map}의 해당 키에 값을 설정합니다.
+ * </p>
+ *
+ * <p>
+ * 같은 메시지가 여러 하위 노드로 전달될 수 있으므로 입력 페이로드는 변경하지 않고, 경로상의 {@code Map}을 복사한 새 페이로드로 새 메시지를 만들어 전달합니다. 페이로드나
+ * 중간 경로의 값이 {@code Map}이 아니면 메시지를 전달하지 않고 오류로 기록합니다.
+ * </p>
+ *
+ * <p>
+ * Flow JSON 예시:
+ * </p>
+ *
+ * <pre>
+ * {"type": "ChangeNode", "properties": {"rules": [
+ *     {"set": "payload.fahrenheit", "to": "payload.celsius * 1.8 + 32"}
+ * ]}}
+ * </pre>
+ */
+@NodeType("ChangeNode")
+@Slf4j
+public class ChangeNode extends InOutNode {
+
+    private static final String PAYLOAD = "payload";
+
+    private final List<Rule> rules;
+
+    /**
+     * {@code ChangeNode} 객체를 생성합니다.
+     *
+     * @param rules 적용할 규칙 목록
+     * @throws IllegalArgumentException 규칙이 비어 있거나 잘못된 경우
+     * @throws com.samsa.expression.ExpressionException 표현식에 문법 오류가 있는 경우
+     */
+    @JsonCreator
+    public ChangeNode(@JsonProperty("rules") List<Rule> rules) {
+        this(UUID.randomUUID(), rules);
+    }
+
+    /**
+     * 지정된 UUID로 {@code ChangeNode} 객체를 생성합니다.
+     *
+     * @param id 노드의 고유 식별자
+     * @param rules 적용할 규칙 목록
+     * @throws IllegalArgumentException 규칙이 비어 있거나 잘못된 경우
+     */
+    public ChangeNode(UUID id, List<Rule> rules) {
+        super(id);
+        if (rules == null || rules.isEmpty()) {
+            log.error("규칙이 비어 있습니다. NodeId: {}", id);
+            throw new IllegalArgumentException("규칙은 하나 이상 필요합니다.");
+        }
+        this.rules = new ArrayList<>(rules);
+    }
+
+    /**
+     * 규칙을 순서대로 적용한 뒤 메시지를 전달합니다.
+     *
+     * @param message 처리할 메시지
+     */
+    @Override
+    protected void onMessage(Message message) {
+        if (message == null) {
+            log.error("메시지가 null입니다. NodeId: {}", getId());
+            return;
+        }
+
+        try {
+            // 같은 Message가 다른 파이프에도 전달되므로 새 Message에 결과를 설정합니다.
+            Message changed = new Message(message.getId(), message.getPayload());
+            for (Rule rule : rules) {
+                Object value = rule.getExpression().evaluate(changed);
+                apply(changed, rule.getPath(), value);
+            }
+            super.onMessage(changed);
+        } catch (Exception e) {
+            log.error("규칙 적용 중 오류 발생. NodeId: {}, MessageId: {}", getId(), message.getId(), e);
+        }
+    }
+
+    /**
+     * 값을 메시지의 대상 경로에 설정합니다. 경로상의 {@code Map}은 복사하여 교체하고, 없으면 새로 생성합니다.
+     *
+     * @param message 대상 메시지
+     * @param path 페이로드 기준 키 경로 (빈 배열이면 페이로드 전체)
+     * @param value 설정할 값
+     * @throws IllegalArgumentException 페이로드나 중간 경로의 값이 {@code Map}이 아닌 경우
+     */
+    private void apply(Message message, String[] path, Object value) {
+        if (path.length == 0) {
+            message.setPayload(value);
+            return;
+        }
+
+        Map<String, Object> root = copyOf(message.getPayload(), PAYLOAD);
+
+        Map<String, Object> current = root;
+        for (int i = 0; i < path.length - 1; i++) {
+            Map<String, Object> child = copyOf(current.get(path[i]), path[i]);
+            current.put(path[i], child);
+            current = child;
+        }
+        current.put(path[path.length - 1], value);
+        message.setPayload(root);
+    }
+
+    /**
+     * 경로상의 값을 변경 가능한 새 {@code Map}으로 복사합니다. {@link LazyJson}은 문서 전체를 파싱하여 복사하고, 값이 {@code null}이면 빈
+     * {@code Map}을 반환합니다.
+     */
+    private static Map<String, Object> copyOf(Object value, String key) {
+        if (value instanceof LazyJson json) {
+            value = json.get("");
+        }
+        Map<String, Object> copy = new LinkedHashMap<>();
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((k, v) -> copy.put(String.valueOf(k), v));
+        } else if (value != null) {
+            throw new IllegalArgumentException(
+                    "'" + key + "'의 값이 Map이 아닙니다: " + value.getClass().getSimpleName());
+        }
+        return copy;
+    }
+
+    /**
+     * 대상 경로와 표현식으로 구성된 변경 규칙입니다.
+     */
+    public static class Rule {
+        private final String target;
+        private final String[] path;
+        private final Expression expression;
+
+        /**
+         * 변경 규칙을 생성하고 표현식을 컴파일합니다.
+         *
+         * @param target 값을 설정할 경로 ({@code payload} 또는 {@code payload.}로 시작)
+         * @param expression 값을 계산할 표현식
+         * @throws IllegalArgumentException 대상 경로가 잘못된 경우
+         * @throws com.samsa.expression.ExpressionException 표현식에 문법 오류가 있는 경우
+         */
+        @JsonCreator
+        public Rule(@JsonProperty("set") String target, @JsonProperty("to") String expression) {
+            if (target == null
+                    || !(target.equals(PAYLOAD) || target.startsWith(PAYLOAD + "."))) {
+                throw new IllegalArgumentException("대상 경로는 'payload'로 시작해야 합니다: " + target);
+            }
+            this.target = target;
+            this.path = target.equals(PAYLOAD) ? new String[0]
+                    : target.substring(PAYLOAD.length() + 1).split("\\.");
+            this.expression = Expression.compile(expression);
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        String[] getPath() {
+            return path;
+        }
+
+        Expression getExpression() {
+            return expression;
+        }
+    }
+}
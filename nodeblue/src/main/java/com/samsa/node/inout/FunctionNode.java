@@ -2,14 +2,18 @@ package com.samsa.node.inout;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
-import java.util.Collections;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
@@ -28,6 +32,11 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * {@code FunctionNode} 클래스는 사용자 정의 로직을 처리할 수 있도록 함수형 인터페이스 기반 메시지 핸들러를 제공하는 노드입니다.
+ *
+ * <p>
+ * 실행 중에 {@link #reload(String, String)}를 호출하면 Flow를 다시 로드하지 않고 사용자 코드만 재컴파일하여 핸들러를 교체합니다. 교체는 메시지
+ * 단위로 원자적으로 이루어지므로, 처리 중인 메시지는 이전 핸들러로, 다음 메시지부터는 새 핸들러로 처리됩니다.
+ * </p>
  */
 @NodeType("FunctionNode")
 @Slf4j
@@ -41,7 +50,15 @@ public class FunctionNode extends InOutNode {
         void handle(Message message);
     }
 
-    private final MessageHandler messageHandler;
+    /**
+     * 생성 클래스 이름에 붙는 세대 번호. 매 컴파일마다 고유한 이름을 사용하므로 애플리케이션 클래스패스나 이전 세대의 클래스가 새 코드를
+     * 가리지 않습니다.
+     */
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    private volatile MessageHandler messageHandler;
+    private volatile String className;
+    private volatile String userCode;
 
     /**
      * {@code FunctionNode} 생성자.
@@ -53,9 +70,62 @@ public class FunctionNode extends InOutNode {
     public FunctionNode(@JsonProperty("ClassName") String className,
             @JsonProperty("code") String userCode) {
         super();
+        this.className = className;
+        this.userCode = userCode;
         this.messageHandler = createMessageHandler(className, userCode);
     }
 
+    /**
+     * 사용자 코드를 재컴파일하여 실행 중인 노드의 메시지 핸들러를 교체합니다.
+     * 
+     * <p>
+     * 입출력 파이프와 다른 노드는 그대로 유지됩니다. 같은 클래스 이름으로 다시 호출해도 매번 고유한 이름의 클래스를 임시 디렉토리에서 컴파일하여
+     * 새 클래스 로더로 로드하므로, 이전 코드가 그대로 실행되는 일이 없습니다. 컴파일에 실패하면 기존 핸들러를 유지한 채 예외를 던집니다.
+     * </p>
+     * 
+     * @param className 사용자 정의 클래스 이름
+     * @param userCode 새 사용자 정의 코드
+     * @throws IllegalArgumentException className 또는 userCode가 null인 경우
+     * @throws IllegalStateException 재컴파일에 실패한 경우
+     */
+    public void reload(String className, String userCode) {
+        if (className == null || userCode == null) {
+            log.error("클래스 이름 또는 사용자 코드가 null입니다. NodeId: {}", getId());
+            throw new IllegalArgumentException("클래스 이름과 사용자 코드는 null일 수 없습니다.");
+        }
+
+        MessageHandler newHandler;
+        try {
+            newHandler = compileMessageHandler(className, userCode);
+        } catch (Exception e) {
+            log.error("사용자 코드 재컴파일에 실패하여 기존 핸들러를 유지합니다. NodeId: {}", getId(), e);
+            throw new IllegalStateException("사용자 코드 재컴파일에 실패했습니다.", e);
+        }
+
+        this.messageHandler = newHandler;
+        this.className = className;
+        this.userCode = userCode;
+        log.info("메시지 핸들러가 교체되었습니다. NodeId: {}, ClassName: {}", getId(), className);
+    }
+
+    /**
+     * 현재 적용된 사용자 정의 클래스 이름을 반환합니다.
+     * 
+     * @return 클래스 이름
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * 현재 적용된 사용자 코드를 반환합니다.
+     * 
+     * @return 사용자 코드
+     */
+    public String getUserCode() {
+        return userCode;
+    }
+
     /**
      * 사용자 정의 메시지 핸들러를 생성합니다.
      * 
@@ -64,34 +134,49 @@ public class FunctionNode extends InOutNode {
      * @return 생성된 {@code MessageHandler}
      */
     private MessageHandler createMessageHandler(String className, String userCode) {
-        String sourceFilePath = null;
         try {
-            String importCode = loadImportJson();
-            String packageName = "com.samsa";
-            String javaCode = String.format("""
-                    package %s;
-
-                    %s
-
-                    @Slf4j
-                    public class %s {
-                        public void handle(Message message) {
-                            %s
-                        }
-                    }
-                    """, packageName, importCode, className, userCode);
-
-            sourceFilePath = writeJavaSourceToFile(javaCode, packageName, className);
-            compileJavaFile(sourceFilePath);
-            return loadClassAndCreateHandler(packageName, className);
-
+            return compileMessageHandler(className, userCode);
         } catch (Exception e) {
             log.error("사용자 정의 메시지 핸들러 생성 중 오류가 발생했습니다.", e);
             return message -> log.info("기본 메시지 핸들러 실행: {}", message.getPayload());
+        }
+    }
+
+    /**
+     * 사용자 코드를 컴파일하고 로드하여 {@code MessageHandler}를 생성합니다.
+     * 
+     * @param className 클래스 이름
+     * @param userCode 사용자 코드
+     * @return 생성된 {@code MessageHandler}
+     * @throws Exception 소스 작성, 컴파일 또는 클래스 로딩 중 오류가 발생한 경우
+     */
+    private MessageHandler compileMessageHandler(String className, String userCode)
+            throws Exception {
+        String importCode = loadImportJson();
+        String packageName = "com.samsa";
+        String generatedName = className + "_v" + GENERATION.incrementAndGet();
+        String javaCode = String.format("""
+                package %s;
+
+                %s
+
+                @Slf4j
+                public class %s {
+                    public void handle(Message message) {
+                        %s
+                    }
+                }
+                """, packageName, importCode, generatedName, userCode);
+
+        Path workDir = Files.createTempDirectory("nodeblue-function-");
+        try {
+            Path sourceFile = writeJavaSourceToFile(workDir.resolve("src"), javaCode,
+                    packageName, generatedName);
+            Path classesDir = Files.createDirectories(workDir.resolve("classes"));
+            compileJavaFile(sourceFile, classesDir);
+            return loadClassAndCreateHandler(classesDir, packageName, generatedName);
         } finally {
-            if (sourceFilePath != null) {
-                // deleteGeneratedFiles(sourceFilePath, className);
-            }
+            deleteGeneratedFiles(workDir);
         }
     }
 
@@ -129,48 +214,59 @@ public class FunctionNode extends InOutNode {
         }
     }
 
-    private static String writeJavaSourceToFile(String javaCode, String packageName,
+    private static Path writeJavaSourceToFile(Path workDir, String javaCode, String packageName,
             String className) throws IOException {
-        String dirPath =
-                packageName.isEmpty() ? "" : "src/main/java/" + packageName.replace('.', '/');
-        File dir = new File(dirPath);
-        if (!dir.exists() && !dir.mkdirs()) {
-            throw new IOException("디렉토리 생성 실패: " + dirPath);
-        }
+        Path dir = workDir.resolve(packageName.replace('.', File.separatorChar));
+        Files.createDirectories(dir);
 
-        String sourceFilePath = (dirPath.isEmpty() ? "" : dirPath + "/") + className + ".java";
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(sourceFilePath))) {
+        Path sourceFile = dir.resolve(className + ".java");
+        try (BufferedWriter writer = Files.newBufferedWriter(sourceFile)) {
             writer.write(javaCode);
         }
-        return sourceFilePath;
+        return sourceFile;
     }
 
-    private static void compileJavaFile(String sourceFilePath) throws IOException {
+    private static void compileJavaFile(Path sourceFile, Path outputDir) throws IOException {
         JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
         if (compiler == null) {
             throw new IllegalStateException("JavaCompiler를 사용할 수 없습니다.");
         }
 
-        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
-        Iterable<? extends JavaFileObject> compilationUnits = fileManager
-                .getJavaFileObjectsFromStrings(Collections.singletonList(sourceFilePath));
-        boolean success =
-                compiler.getTask(null, fileManager, null, null, null, compilationUnits).call();
-        fileManager.close();
-
-        if (!success) {
-            throw new RuntimeException("컴파일 실패");
+        try (StandardJavaFileManager fileManager =
+                compiler.getStandardFileManager(null, null, null)) {
+            Iterable<? extends JavaFileObject> compilationUnits =
+                    fileManager.getJavaFileObjects(sourceFile.toFile());
+            List<String> options = List.of("-d", outputDir.toString());
+            boolean success = compiler
+                    .getTask(null, fileManager, null, options, null, compilationUnits).call();
+            if (!success) {
+                throw new RuntimeException("컴파일 실패");
+            }
         }
     }
 
-    private static MessageHandler loadClassAndCreateHandler(String packageName, String className)
-            throws Exception {
-        File currentDir = new File(".");
-        URL[] urls = {currentDir.toURI().toURL()};
-        try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+    /**
+     * 컴파일 결과 디렉토리만을 바라보는 새 클래스 로더로 핸들러 클래스를 로드합니다.
+     * 
+     * <p>
+     * 디렉토리를 삭제한 뒤에도 핸들러가 동작하도록 생성된 모든 클래스(내부 클래스 포함)를 미리 로드해 둡니다. 클래스 로더는 핸들러가
+     * 참조하는 동안 유지되며, 핸들러가 교체되면 함께 수거됩니다.
+     * </p>
+     */
+    private static MessageHandler loadClassAndCreateHandler(Path classesDir, String packageName,
+            String className) throws Exception {
+        URL[] urls = {classesDir.toUri().toURL()};
+        URLClassLoader classLoader = new URLClassLoader(urls, FunctionNode.class.getClassLoader());
+        try {
+            preloadClasses(classLoader, classesDir);
+
             String qualifiedClassName =
                     packageName.isEmpty() ? className : packageName + "." + className;
             Class<?> clazz = classLoader.loadClass(qualifiedClassName);
+            if (clazz.getClassLoader() != classLoader) {
+                throw new IllegalStateException("애플리케이션 클래스패스의 동일한 클래스가 로드되었습니다: "
+                        + qualifiedClassName);
+            }
 
             Object instance = clazz.getDeclaredConstructor().newInstance();
             Method handleMethod = clazz.getMethod("handle", Message.class);
@@ -182,21 +278,36 @@ public class FunctionNode extends InOutNode {
                     log.error("동적 로딩된 핸들러 실행 중 오류가 발생했습니다.", e);
                 }
             };
+        } catch (Exception | LinkageError e) {
+            classLoader.close();
+            throw e;
         }
     }
 
-    private static void deleteGeneratedFiles(String sourceFilePath, String className) {
-        try {
-            File sourceFile = new File(sourceFilePath);
-            if (sourceFile.exists() && !sourceFile.delete()) {
-                log.warn("소스 파일 삭제 실패: {}", sourceFilePath);
-            }
+    private static void preloadClasses(ClassLoader classLoader, Path classesDir)
+            throws IOException, ClassNotFoundException {
+        List<Path> classFiles;
+        try (Stream<Path> files = Files.walk(classesDir)) {
+            classFiles = files.filter(file -> file.toString().endsWith(".class")).toList();
+        }
+        for (Path classFile : classFiles) {
+            String relative = classesDir.relativize(classFile).toString();
+            String binaryName = relative.substring(0, relative.length() - ".class".length())
+                    .replace(File.separatorChar, '.');
+            Class.forName(binaryName, false, classLoader);
+        }
+    }
 
-            File classFile = new File(sourceFile.getParent(), className + ".class");
-            if (classFile.exists() && !classFile.delete()) {
-                log.warn("클래스 파일 삭제 실패: {}", classFile.getAbsolutePath());
-            }
-        } catch (Exception e) {
+    private static void deleteGeneratedFiles(Path workDir) {
+        try (Stream<Path> files = Files.walk(workDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("생성 파일 삭제 실패: {}", file);
+                }
+            });
+        } catch (IOException e) {
             log.error("파일 삭제 중 오류가 발생했습니다.", e);
         }
     }
@@ -214,7 +325,9 @@ public class FunctionNode extends InOutNode {
         }
         try {
             log.info("메시지 ID: {} - 처리 시작", message.getId());
-            messageHandler.handle(message);
+            // 처리 도중 핸들러가 교체되어도 한 메시지는 하나의 핸들러로만 처리되도록 참조를 고정합니다.
+            MessageHandler handler = messageHandler;
+            handler.handle(message);
         } catch (Exception e) {
             log.error("FunctionNode에서 메시지 처리 중 오류가 발생했습니다. NodeId: {}, MessageId: {}", getId(),
                     message.getId(), e);
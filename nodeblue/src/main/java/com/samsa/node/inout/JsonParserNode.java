@@ -1,9 +1,21 @@
 package com.samsa.node.inout;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.samsa.annotation.NodeType;
+import com.samsa.core.LazyJson;
 import com.samsa.core.Message;
 import com.samsa.core.node.InOutNode;
 import lombok.extern.slf4j.Slf4j;
@@ -11,13 +23,27 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * JSON 파서 노드 클래스. 메시지의 페이로드를 JSON 문자열과 객체 간 변환합니다.
  * <p>
- * 이 클래스는 메시지의 페이로드가 JSON 문자열인 경우 이를 지정된 클래스의 객체로 변환하며, 객체인 경우 JSON 문자열로 직렬화하여 출력합니다.
+ * 이 클래스는 메시지의 페이로드가 JSON({@code String}, {@code byte[]} 또는 {@code InputStream})인 경우 이를 지정된 클래스의 객체로
+ * 변환하며, 객체인 경우 JSON 문자열로 직렬화하여 출력합니다. 대상 타입별 {@link ObjectReader}/{@link ObjectWriter}는 생성 시 한 번만
+ * 만들어 재사용하며, {@code byte[]} 페이로드는 문자열로 변환하지 않고 바로 파싱합니다.
+ * </p>
+ * <p>
+ * {@code streamArray}가 {@code true}이면 최상위 JSON 배열을 {@link JsonParser}로 스트리밍하여 원소마다 하나의 메시지를 방출합니다. 전체
+ * 트리를 만들지 않으므로 큰 배열도 원소 하나 크기의 메모리로 처리됩니다.
+ * </p>
+ * <p>
+ * 대상 클래스가 {@link LazyJson}이면 파싱하지 않고 원본 바이트를 감싸기만 하여, 이후 노드가 필요한 필드만 읽도록 합니다. 스트리밍 모드에서는
+ * 원소마다 해당 원소의 JSON 바이트를 감쌉니다.
  * </p>
  */
+@NodeType("JsonParserNode")
 @Slf4j
 public class JsonParserNode extends InOutNode {
 
     private final Class<?> targetClass;
+    private final boolean streamArray;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
     /**
@@ -28,12 +54,52 @@ public class JsonParserNode extends InOutNode {
      * @throws IllegalArgumentException 입력 또는 출력 포트가 null인 경우
      */
     public JsonParserNode(UUID id, Class<?> targetClass) {
+        this(id, targetClass, false);
+    }
+
+    /**
+     * JsonParserNode 객체를 생성합니다.
+     *
+     * @param id 노드의 고유 식별자
+     * @param targetClass JSON을 변환할 대상 클래스 (스트리밍 모드에서는 배열 원소의 타입)
+     * @param streamArray 최상위 JSON 배열을 원소별 메시지로 분할할지 여부
+     * @throws IllegalArgumentException 타겟 클래스가 null인 경우
+     */
+    public JsonParserNode(UUID id, Class<?> targetClass, boolean streamArray) {
         super(id);
         if (targetClass == null) {
             log.error("타겟 클래스가 null입니다. NodeId: {}", id);
             throw new IllegalArgumentException("타겟 클래스는 null일 수 없습니다.");
         }
         this.targetClass = targetClass;
+        this.streamArray = streamArray;
+        this.reader = MAPPER.readerFor(targetClass);
+        this.writer = MAPPER.writer();
+    }
+
+    /**
+     * Flow JSON 설정으로부터 JsonParserNode 객체를 생성합니다.
+     *
+     * @param targetClassName 변환할 대상 클래스의 전체 이름, {@code null}이면 {@code Object} (Map/List로 변환)
+     * @param streamArray 최상위 JSON 배열을 원소별 메시지로 분할할지 여부
+     * @throws IllegalArgumentException 대상 클래스를 찾을 수 없는 경우
+     */
+    @JsonCreator
+    public JsonParserNode(@JsonProperty("targetClass") String targetClassName,
+            @JsonProperty("streamArray") boolean streamArray) {
+        this(UUID.randomUUID(), loadClass(targetClassName), streamArray);
+    }
+
+    private static Class<?> loadClass(String className) {
+        if (className == null || className.isBlank()) {
+            return Object.class;
+        }
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            log.error("타겟 클래스를 찾을 수 없습니다: {}", className);
+            throw new IllegalArgumentException("타겟 클래스를 찾을 수 없습니다: " + className, e);
+        }
     }
 
     /**
@@ -50,18 +116,27 @@ public class JsonParserNode extends InOutNode {
         }
 
         try {
-            Object result;
+            Object payload = message.getPayload();
 
-            if (message.getPayload() instanceof String jsonString) {
+            if (streamArray && isJsonInput(payload)) {
                 /**
-                 * JSON 문자열을 객체로 변환
+                 * JSON 배열을 원소별 메시지로 분할
                  */
-                result = parseJsonToObject(jsonString);
+                streamElements(message, payload);
+                return;
+            }
+
+            Object result;
+            if (isJsonInput(payload)) {
+                /**
+                 * JSON을 객체로 변환
+                 */
+                result = parseJsonToObject(payload);
             } else {
                 /**
                  * 객체를 JSON 문자열로 변환
                  */
-                result = convertObjectToJson(message.getPayload());
+                result = convertObjectToJson(payload);
             }
 
             /**
@@ -79,16 +154,104 @@ public class JsonParserNode extends InOutNode {
         }
     }
 
+    private static boolean isJsonInput(Object payload) {
+        return payload instanceof String || payload instanceof byte[]
+                || payload instanceof InputStream || payload instanceof LazyJson;
+    }
+
     /**
-     * JSON 문자열을 지정된 객체로 변환합니다.
+     * JSON 입력을 지정된 객체로 변환합니다.
      *
-     * @param jsonString JSON 문자열
+     * @param payload JSON 문자열, 바이트 배열 또는 입력 스트림
      * @return 변환된 객체
-     * @throws JsonProcessingException JSON 파싱 중 오류가 발생한 경우
+     * @throws IOException JSON 파싱 중 오류가 발생한 경우
      */
-    private Object parseJsonToObject(String jsonString) throws JsonProcessingException {
-        log.debug("JSON 문자열을 객체로 변환 중. NodeId: {}, JSON: {}", getId(), jsonString);
-        return MAPPER.readValue(jsonString, targetClass);
+    private Object parseJsonToObject(Object payload) throws IOException {
+        log.debug("JSON을 객체로 변환 중. NodeId: {}, TargetClass: {}", getId(),
+                targetClass.getSimpleName());
+        if (targetClass == LazyJson.class) {
+            return toLazyJson(payload);
+        }
+        if (payload instanceof LazyJson json) {
+            return reader.readValue(json.getBytes());
+        }
+        if (payload instanceof byte[] bytes) {
+            return reader.readValue(bytes);
+        }
+        if (payload instanceof InputStream in) {
+            try (in) {
+                return reader.readValue(in);
+            }
+        }
+        return reader.readValue((String) payload);
+    }
+
+    private static LazyJson toLazyJson(Object payload) throws IOException {
+        if (payload instanceof LazyJson json) {
+            return json;
+        }
+        if (payload instanceof byte[] bytes) {
+            return LazyJson.of(bytes);
+        }
+        if (payload instanceof InputStream in) {
+            try (in) {
+                return LazyJson.of(in.readAllBytes());
+            }
+        }
+        return LazyJson.of((String) payload);
+    }
+
+    /**
+     * 최상위 JSON 배열의 원소를 하나씩 읽어 각각 메시지로 방출합니다.
+     *
+     * @param message 원본 메시지
+     * @param payload JSON 문자열, 바이트 배열 또는 입력 스트림
+     * @throws IOException JSON 파싱 중 오류가 발생한 경우
+     */
+    private void streamElements(Message message, Object payload) throws IOException {
+        try (JsonParser parser = createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                log.warn("스트리밍 모드에서는 JSON 배열이 필요합니다. NodeId: {}, MessageId: {}", getId(),
+                        message.getId());
+                return;
+            }
+
+            long count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                Object element = targetClass == LazyJson.class ? copyElement(parser)
+                        : reader.readValue(parser);
+                if (element != null) {
+                    emit(new Message(element));
+                    count++;
+                }
+            }
+            log.debug("JSON 배열 스트리밍 완료. NodeId: {}, MessageId: {}, 원소 수: {}", getId(),
+                    message.getId(), count);
+        }
+    }
+
+    /**
+     * 현재 원소를 객체로 만들지 않고 JSON 바이트로 복사하여 {@link LazyJson}으로 감쌉니다.
+     */
+    private static LazyJson copyElement(JsonParser parser) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(out)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return LazyJson.of(out.toByteArray());
+    }
+
+    private JsonParser createParser(Object payload) throws IOException {
+        if (payload instanceof LazyJson json) {
+            return MAPPER.getFactory().createParser(json.getBytes());
+        }
+        if (payload instanceof byte[] bytes) {
+            return MAPPER.getFactory().createParser(bytes);
+        }
+        if (payload instanceof InputStream in) {
+            return MAPPER.getFactory().createParser(in);
+        }
+        return MAPPER.getFactory().createParser((String) payload);
     }
 
     /**
@@ -99,7 +262,8 @@ public class JsonParserNode extends InOutNode {
      * @throws JsonProcessingException JSON 직렬화 중 오류가 발생한 경우
      */
     private String convertObjectToJson(Object payload) throws JsonProcessingException {
-        log.debug("객체를 JSON 문자열로 변환 중. NodeId: {}, Payload: {}", getId(), payload);
-        return MAPPER.writeValueAsString(payload);
+        log.debug("객체를 JSON 문자열로 변환 중. NodeId: {}, PayloadType: {}", getId(),
+                payload.getClass().getSimpleName());
+        return writer.writeValueAsString(payload);
     }
 }
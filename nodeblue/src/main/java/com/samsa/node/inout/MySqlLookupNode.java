@@ -0,0 +1,346 @@
+package com.samsa.node.inout;
+
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.samsa.annotation.NodeType;
+import com.samsa.core.Message;
+import com.samsa.core.node.InOutNode;
+import com.samsa.mysql.LookupCache;
+import com.samsa.mysql.MySqlDataSourceRegistry;
+import com.samsa.mysql.MySqlValues;
+import com.samsa.mysql.NamedParameterSql;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MySQL 테이블을 조회하여 메시지를 보강하는 노드입니다.
+ *
+ * <p>
+ * Map 페이로드의 {@code keyField} 값으로 조회 쿼리를 실행하고, 결과 첫 행의 컬럼들을 페이로드에 추가하여 내보냅니다. {@code target}을
+ * 지정하면 컬럼들을 그 키 아래의 Map으로 추가합니다. 조회 쿼리에는 키를 바인딩할 파라미터({@code ?} 또는 {@code :이름}) 하나가 있어야
+ * 합니다. 원본 페이로드는 다른 노드와 공유될 수 있으므로 복사본에 값을 추가합니다.
+ * </p>
+ *
+ * <p>
+ * 조회 결과는 {@link LookupCache}에 키별로 보관되어 대부분의 메시지는 데이터베이스에 접근하지 않습니다. 캐시는 {@code cacheSize}를 넘으면
+ * LRU로 제거되고 {@code ttlMillis}가 지나면 다시 조회합니다. 행이 없는 키도 캐시하여 같은 키로 반복 조회하지 않습니다. {@code preloadSql}을
+ * 지정하면 노드 생성 시 백그라운드에서 테이블을 읽어 캐시를 채웁니다.
+ * </p>
+ *
+ * <p>
+ * {@code parallelism}이 2 이상이면 캐시에 없는 키의 조회를 그 수만큼의 스레드에서 동시에 수행하고, 캐시에 있는 키는 노드 스레드에서 바로
+ * 내보냅니다. 따라서 조회가 필요한 메시지는 도착 순서와 다르게 내보내질 수 있습니다. 여러 스레드가 같은 키를 동시에 조회하면 데이터베이스에는 한 번만
+ * 조회합니다. 대기 중인 조회가 가득 차면 노드 스레드가 직접 조회하여 수신 속도를 데이터베이스에 맞춥니다.
+ * </p>
+ */
+@NodeType("MysqlLookupNode")
+@Slf4j
+public class MySqlLookupNode extends InOutNode {
+
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+    private static final long DEFAULT_TTL_MILLIS = 300000;
+    private static final int QUEUED_LOOKUPS_PER_THREAD = 100;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+    private static final Pattern INTEGER = Pattern.compile("-?(0|[1-9][0-9]{0,18})");
+
+    private final HikariDataSource dataSource;
+    private final int connections;
+    private final String lookupSql;
+    private final String keyField;
+    private final String target;
+    private final LookupCache<Object, Optional<Map<String, Object>>> cache;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong notFoundCount = new AtomicLong();
+    private final AtomicLong preloadedCount = new AtomicLong();
+
+    /**
+     * 새로운 {@code MySqlLookupNode} 인스턴스를 생성합니다.
+     *
+     * @param driver JDBC 드라이버 클래스 이름
+     * @param url 데이터베이스 URL
+     * @param userId 데이터베이스 사용자 ID
+     * @param userPw 데이터베이스 사용자 비밀번호
+     * @param query 키 파라미터 하나를 가진 조회 쿼리
+     * @param keyField 조회 키를 담은 페이로드 필드
+     * @param target 조회 결과를 담을 페이로드 필드, null이면 페이로드에 직접 추가
+     * @param cacheSize 최대 캐시 항목 수 (기본값 10000)
+     * @param ttlMillis 캐시 항목 만료 시간 (ms, 기본값 300000)
+     * @param preloadSql 시작 시 캐시를 채울 쿼리, 없으면 null
+     * @param keyColumn 미리 읽기 결과에서 키로 사용할 컬럼 (기본값 {@code keyField})
+     * @param parallelism 동시에 조회할 스레드와 연결 수 (기본값 1, 1이면 노드 스레드에서 조회)
+     * @throws IllegalArgumentException 쿼리의 파라미터가 하나가 아니거나 keyField가 없거나 parallelism이 1보다 작은 경우
+     */
+    @JsonCreator
+    public MySqlLookupNode(@JsonProperty("driver") String driver, @JsonProperty("url") String url,
+            @JsonProperty("userId") String userId, @JsonProperty("password") String userPw,
+            @JsonProperty("sql") String query, @JsonProperty("keyField") String keyField,
+            @JsonProperty("target") String target, @JsonProperty("cacheSize") Integer cacheSize,
+            @JsonProperty("ttlMillis") Long ttlMillis,
+            @JsonProperty("preloadSql") String preloadSql,
+            @JsonProperty("keyColumn") String keyColumn,
+            @JsonProperty("parallelism") Integer parallelism) {
+        super();
+        NamedParameterSql parsed = NamedParameterSql.parse(query);
+        if (parsed.parameterCount() != 1) {
+            throw new IllegalArgumentException("조회 쿼리에는 키 파라미터가 하나만 있어야 합니다: " + query);
+        }
+        if (keyField == null || keyField.isEmpty()) {
+            throw new IllegalArgumentException("keyField는 비어 있을 수 없습니다.");
+        }
+        int threads = parallelism != null ? parallelism : 1;
+        if (threads < 1) {
+            throw new IllegalArgumentException("parallelism은 1 이상이어야 합니다: " + threads);
+        }
+        this.lookupSql = parsed.sql();
+        this.keyField = keyField;
+        this.target = target;
+        this.cache = new LookupCache<>(cacheSize != null ? cacheSize : DEFAULT_CACHE_SIZE,
+                ttlMillis != null ? ttlMillis : DEFAULT_TTL_MILLIS);
+        boolean preloading = preloadSql != null && !preloadSql.isBlank();
+        // 미리 읽기가 연결 하나를 오래 사용하므로, 그동안 조회가 기다리지 않도록 연결을 하나 더 요청합니다.
+        this.connections = threads + (preloading ? 1 : 0);
+        this.dataSource = MySqlDataSourceRegistry.acquire(driver, url, userId, userPw,
+                connections, Map.of());
+        if (threads > 1) {
+            this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(threads * QUEUED_LOOKUPS_PER_THREAD), r -> {
+                        Thread thread = new Thread(r, "mysql-lookup");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.CallerRunsPolicy());
+        } else {
+            this.executor = null;
+        }
+
+        if (preloading) {
+            String column = keyColumn != null ? keyColumn : keyField;
+            Thread preloader = new Thread(() -> preload(preloadSql, column), "mysql-lookup-preload");
+            preloader.setDaemon(true);
+            preloader.start();
+        }
+    }
+
+    /**
+     * 메시지의 키로 조회한 값을 페이로드에 추가하여 내보냅니다. 조회에 실패하거나 행이 없으면 페이로드를 그대로 내보냅니다.
+     *
+     * @param message 보강할 메시지
+     */
+    @Override
+    protected void onMessage(Message message) {
+        if (!(message.getPayload() instanceof Map<?, ?> payload)) {
+            log.warn("Payload가 Map 타입이 아닙니다. NodeId: {}, MessageId: {}", getId(), message.getId());
+            return;
+        }
+        Object key = payload.get(keyField);
+        if (key == null) {
+            log.warn("조회 키 '{}'가 없습니다. NodeId: {}, MessageId: {}", keyField, getId(),
+                    message.getId());
+            emit(message);
+            return;
+        }
+
+        Object normalized = normalize(key);
+        if (executor != null) {
+            Optional<Map<String, Object>> cached = cache.getIfPresent(normalized);
+            if (cached != null) {
+                enrich(message, payload, cached);
+            } else {
+                executor.execute(() -> lookup(message, payload, key, normalized));
+            }
+            return;
+        }
+        lookup(message, payload, key, normalized);
+    }
+
+    /**
+     * 캐시 또는 데이터베이스에서 키를 조회하여 메시지를 보강합니다.
+     */
+    private void lookup(Message message, Map<?, ?> payload, Object key, Object normalized) {
+        Optional<Map<String, Object>> row;
+        try {
+            // 정규화는 캐시 키에만 사용하고, 쿼리에는 컬럼 타입에 맞게 비교되도록 원래 값을 바인딩합니다.
+            row = cache.get(normalized, ignored -> load(key));
+        } catch (Exception e) {
+            log.error("조회 중 오류 발생. NodeId: {}, MessageId: {}, Key: {}, 오류: {}", getId(),
+                    message.getId(), key, e.getMessage(), e);
+            emit(message);
+            return;
+        }
+        enrich(message, payload, row);
+    }
+
+    private void enrich(Message message, Map<?, ?> payload, Optional<Map<String, Object>> row) {
+        if (row.isEmpty()) {
+            notFoundCount.incrementAndGet();
+            emit(message);
+            return;
+        }
+
+        Map<Object, Object> enriched = new LinkedHashMap<>(payload);
+        if (target == null) {
+            enriched.putAll(row.get());
+        } else {
+            enriched.put(target, row.get());
+        }
+        emit(new Message(message.getId(), enriched));
+    }
+
+    private Optional<Map<String, Object>> load(Object key) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(lookupSql)) {
+            MySqlValues.bind(statement, 1, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                return Optional.of(toRow(resultSet, resultSet.getMetaData()));
+            }
+        }
+    }
+
+    private void preload(String sql, String column) {
+        long started = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // 테이블 전체를 메모리에 올리지 않도록 행 단위로 스트리밍합니다.
+            statement.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    Map<String, Object> row = toRow(resultSet, metaData);
+                    Object key = row.get(column);
+                    if (key != null) {
+                        cache.put(normalize(key), Optional.of(row));
+                        preloadedCount.incrementAndGet();
+                    }
+                }
+            }
+            log.info("조회 캐시 미리 읽기 완료. NodeId: {}, 행 수: {}, 소요 시간: {}ms", getId(),
+                    preloadedCount.get(), System.currentTimeMillis() - started);
+        } catch (SQLException e) {
+            log.error("조회 캐시 미리 읽기 실패. NodeId: {}, 오류: {}", getId(), e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> toRow(ResultSet resultSet, ResultSetMetaData metaData)
+            throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        Map<String, Object> row = new LinkedHashMap<>(columnCount * 2);
+        for (int i = 1; i <= columnCount; i++) {
+            row.put(metaData.getColumnLabel(i), resultSet.getObject(i));
+        }
+        return Collections.unmodifiableMap(row);
+    }
+
+    /**
+     * 페이로드와 데이터베이스의 숫자 타입이 달라도 같은 키가 되도록 Long 범위의 정수는 Long으로 맞춥니다. JSON에서 문자열로 전달된 정수도
+     * 앞에 0이 없는 표기이면 같은 키로 봅니다.
+     */
+    private static Object normalize(Object key) {
+        if (key instanceof Integer || key instanceof Short || key instanceof Byte) {
+            return ((Number) key).longValue();
+        }
+        if (key instanceof BigInteger big && big.bitLength() < Long.SIZE) {
+            return big.longValue();
+        }
+        if (key instanceof String text && INTEGER.matcher(text).matches()) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                return key;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * 진행 중인 조회가 끝나기를 기다린 뒤 연결 풀 사용을 끝냅니다. 노드가 종료될 때 호출되어야 합니다.
+     */
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("조회가 제한 시간 안에 끝나지 않았습니다. NodeId: {}", getId());
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        MySqlDataSourceRegistry.release(dataSource, connections);
+    }
+
+    public long getHitCount() {
+        return cache.getHits();
+    }
+
+    public long getMissCount() {
+        return cache.getMisses();
+    }
+
+    /**
+     * 캐시 적중률을 반환합니다.
+     *
+     * @return 0과 1 사이의 적중률
+     */
+    public double getHitRatio() {
+        return cache.getHitRatio();
+    }
+
+    /**
+     * 조회 결과 행이 없었던 메시지 수를 반환합니다.
+     *
+     * @return 행이 없었던 메시지 수
+     */
+    public long getNotFoundCount() {
+        return notFoundCount.get();
+    }
+
+    /**
+     * 캐시 용량 초과로 제거된 항목 수를 반환합니다.
+     *
+     * @return 제거된 항목 수
+     */
+    public long getEvictionCount() {
+        return cache.getEvictions();
+    }
+
+    /**
+     * 미리 읽어 캐시에 저장한 행 수를 반환합니다.
+     *
+     * @return 미리 읽은 행 수
+     */
+    public long getPreloadedCount() {
+        return preloadedCount.get();
+    }
+
+    /**
+     * 현재 캐시 항목 수를 반환합니다.
+     *
+     * @return 캐시 항목 수
+     */
+    public int getCacheSize() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,228 @@
+package com.samsa.node.inout;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.samsa.annotation.NodeType;
+import com.samsa.core.Message;
+import com.samsa.core.node.InOutNode;
+import com.samsa.mysql.MySqlDataSourceRegistry;
+import com.samsa.mysql.MySqlValues;
+import com.samsa.mysql.NamedParameterSql;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메시지를 받을 때마다 파라미터화된 SELECT를 실행하고 결과 행을 메시지로 내보내는 노드입니다.
+ *
+ * <p>
+ * SQL에는 {@code :이름} 형태의 파라미터 또는 {@code ?}를 사용할 수 있습니다. 이름 있는 파라미터는 Map 페이로드의 같은 키 값으로, {@code ?}는
+ * List 페이로드의 값으로 순서대로 바인딩됩니다. 파라미터가 없는 SQL은 페이로드와 관계없이 실행됩니다.
+ * </p>
+ *
+ * <p>
+ * 결과는 스트리밍 결과 집합으로 읽으므로 수백만 행의 결과도 메모리에 한꺼번에 올리지 않습니다. 기본적으로 MySQL Connector/J의 행 단위
+ * 스트리밍({@code fetchSize = Integer.MIN_VALUE})을 사용하며, {@code cursorFetch}를 켜면 서버 커서({@code useCursorFetch})로
+ * {@code fetchSize}행씩 가져옵니다. 행은 컬럼 이름-값 맵으로 내보내며, {@code batchSize}가 2 이상이면 그만큼의 행을 List로 묶어 내보냅니다.
+ * 다음 노드의 파이프가 가득 차면 내보내기가 대기하고 결과 집합 읽기도 함께 멈추므로, 하류 노드의 처리 속도에 맞춰 읽습니다.
+ * </p>
+ *
+ * <p>
+ * 노드 스레드가 인터럽트되면 남은 결과를 읽지 않도록 쿼리를 취소합니다. 행 단위 스트리밍에서는 결과를 끝까지 읽거나 취소하기 전까지 연결을 다른 용도로 쓸 수
+ * 없으므로, 쿼리마다 풀에서 연결을 빌려 사용합니다.
+ * </p>
+ */
+@NodeType("MysqlQueryNode")
+@Slf4j
+public class MySqlQueryNode extends InOutNode {
+
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private final HikariDataSource dataSource;
+    private final int parallelism;
+    private final NamedParameterSql sql;
+    private final int fetchSize;
+    private final int batchSize;
+    private final boolean cursorFetch;
+
+    private final AtomicLong queryCount = new AtomicLong();
+    private final AtomicLong rowCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * 새로운 {@code MySqlQueryNode} 인스턴스를 생성합니다.
+     *
+     * @param driver JDBC 드라이버 클래스 이름
+     * @param url 데이터베이스 URL
+     * @param userId 데이터베이스 사용자 ID
+     * @param userPw 데이터베이스 사용자 비밀번호
+     * @param query 실행할 SELECT 쿼리
+     * @param fetchSize 서버 커서 사용 시 한 번에 가져올 행 수 (기본값 1000)
+     * @param batchSize 메시지 하나에 담을 행 수, 1이면 행마다 메시지를 내보냄 (기본값 1)
+     * @param cursorFetch 서버 커서로 읽을지 여부 (기본값 false)
+     * @param parallelism 노드가 동시에 사용할 연결 수 (기본값 1)
+     * @throws IllegalArgumentException SELECT 쿼리가 아니거나 설정 값이 잘못된 경우
+     */
+    @JsonCreator
+    public MySqlQueryNode(@JsonProperty("driver") String driver, @JsonProperty("url") String url,
+            @JsonProperty("userId") String userId, @JsonProperty("password") String userPw,
+            @JsonProperty("sql") String query, @JsonProperty("fetchSize") Integer fetchSize,
+            @JsonProperty("batchSize") Integer batchSize,
+            @JsonProperty("cursorFetch") Boolean cursorFetch,
+            @JsonProperty("parallelism") Integer parallelism) {
+        super();
+        this.sql = NamedParameterSql.parse(query);
+        String head = query.trim().toLowerCase();
+        if (!head.startsWith("select") && !head.startsWith("with")) {
+            throw new IllegalArgumentException("SELECT 쿼리만 사용할 수 있습니다: " + query);
+        }
+        this.fetchSize = fetchSize != null ? fetchSize : DEFAULT_FETCH_SIZE;
+        this.batchSize = batchSize != null ? batchSize : 1;
+        if (this.fetchSize <= 0 || this.batchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize와 batchSize는 0보다 커야 합니다.");
+        }
+        this.cursorFetch = cursorFetch != null && cursorFetch;
+        this.parallelism = parallelism != null ? parallelism : 1;
+        this.dataSource = MySqlDataSourceRegistry.acquire(driver, url, userId, userPw,
+                this.parallelism,
+                this.cursorFetch ? Map.of("useCursorFetch", "true") : Map.of());
+    }
+
+    /**
+     * 메시지의 페이로드로 파라미터를 바인딩하여 쿼리를 실행하고 결과를 내보냅니다.
+     *
+     * @param message 파라미터를 담은 메시지
+     */
+    @Override
+    protected void onMessage(Message message) {
+        Object payload = message.getPayload();
+        if (sql.isNamed() && !(payload instanceof Map)) {
+            log.warn("이름 있는 파라미터에는 Map 페이로드가 필요합니다. NodeId: {}, MessageId: {}", getId(),
+                    message.getId());
+            return;
+        }
+
+        queryCount.incrementAndGet();
+        long rows = 0;
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql.sql(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(cursorFetch ? fetchSize : Integer.MIN_VALUE);
+            bind(statement, payload);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                rows = stream(resultSet, statement);
+            }
+            log.debug("쿼리 완료. NodeId: {}, MessageId: {}, 행 수: {}", getId(), message.getId(),
+                    rows);
+        } catch (SQLException e) {
+            failedCount.incrementAndGet();
+            log.error("쿼리 실행 중 오류 발생. NodeId: {}, MessageId: {}, 내보낸 행 수: {}, 오류: {}", getId(),
+                    message.getId(), rows, e.getMessage(), e);
+        }
+    }
+
+    private void bind(PreparedStatement statement, Object payload) throws SQLException {
+        if (sql.isNamed()) {
+            Map<?, ?> parameters = (Map<?, ?>) payload;
+            List<String> names = sql.names();
+            for (int i = 0; i < names.size(); i++) {
+                MySqlValues.bind(statement, i + 1, parameters.get(names.get(i)));
+            }
+        } else if (payload instanceof List<?> parameters) {
+            for (int i = 0; i < parameters.size(); i++) {
+                MySqlValues.bind(statement, i + 1, parameters.get(i));
+            }
+        }
+    }
+
+    /**
+     * 결과 집합을 끝까지 읽으며 행을 내보냅니다.
+     *
+     * @return 읽은 행 수
+     */
+    private long stream(ResultSet resultSet, PreparedStatement statement) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+
+        long rows = 0;
+        List<Map<String, Object>> batch = batchSize > 1 ? new ArrayList<>(batchSize) : null;
+        while (resultSet.next()) {
+            Map<String, Object> row = new LinkedHashMap<>(columnCount * 2);
+            for (int i = 0; i < columnCount; i++) {
+                row.put(labels[i], resultSet.getObject(i + 1));
+            }
+            rows++;
+            if (batch == null) {
+                emit(new Message(row));
+            } else {
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    emit(new Message(batch));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                // 남은 결과를 모두 읽지 않도록 서버에서 쿼리를 취소합니다.
+                statement.cancel();
+                log.warn("노드가 중지되어 쿼리를 취소합니다. NodeId: {}, 내보낸 행 수: {}", getId(), rows);
+                rowCount.addAndGet(rows);
+                return rows;
+            }
+        }
+        if (batch != null && !batch.isEmpty()) {
+            emit(new Message(batch));
+        }
+        rowCount.addAndGet(rows);
+        return rows;
+    }
+
+    /**
+     * 연결 풀 사용을 끝냅니다. 노드가 종료될 때 호출되어야 합니다.
+     */
+    public void close() {
+        MySqlDataSourceRegistry.release(dataSource, parallelism);
+    }
+
+    /**
+     * 실행한 쿼리 수를 반환합니다.
+     *
+     * @return 쿼리 수
+     */
+    public long getQueryCount() {
+        return queryCount.get();
+    }
+
+    /**
+     * 내보낸 행 수를 반환합니다.
+     *
+     * @return 행 수
+     */
+    public long getRowCount() {
+        return rowCount.get();
+    }
+
+    /**
+     * 실패한 쿼리 수를 반환합니다.
+     *
+     * @return 실패한 쿼리 수
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+}
@@ -3,15 +3,21 @@ package com.samsa.node.inout;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.UUID;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.samsa.annotation.NodeType;
 import com.samsa.core.Message;
 import com.samsa.core.node.InOutNode;
+import com.samsa.file.FileTailer;
+import com.samsa.file.MappedRecordReader;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,6 +27,18 @@ import lombok.extern.slf4j.Slf4j;
  * 지정된 파일 경로에서 데이터를 읽고 {@link Message} 객체의 페이로드에 저장합니다. 전체 라인을 읽거나 첫 번째 라인만 읽는 옵션을 제공하며, 파일이 비어있을 경우
  * 경고 로그를 출력하고 처리를 중단합니다.
  * </p>
+ *
+ * <p>
+ * 큰 파일은 {@link Mode#STREAM}으로 라인마다 메시지를 내보내 힙에 파일 전체를 올리지 않습니다. 계속 기록되는 로그 파일은 {@link Mode#TAIL}로
+ * 따라가며, 파일 교체(rotation)를 처리하고 {@code offsetPath}에 저장한 위치부터 재시작합니다. 자세한 동작은 {@link FileTailer}를
+ * 참고하십시오.
+ * </p>
+ *
+ * <p>
+ * {@link Mode#BINARY}는 파일을 메모리 매핑하여 {@code framing}에 따라 나눈 레코드를 복사 없이 읽기 전용 {@link java.nio.ByteBuffer}
+ * 슬라이스로 내보냅니다. 수 GB의 녹화 파일도 힙을 거치지 않고 디스크 속도로 재생할 수 있습니다. 자세한 동작은 {@link MappedRecordReader}를
+ * 참고하십시오.
+ * </p>
  * 
  * <p>
  * 이 클래스는 {@link InOutNode}를 상속받아 구현되었습니다.
@@ -32,8 +50,37 @@ import lombok.extern.slf4j.Slf4j;
 @NodeType("ReadFileNode")
 @Slf4j
 public class ReadFileNode extends InOutNode {
+
+    private static final int DEFAULT_BATCH_SIZE = 1;
+    private static final int TAIL_BUFFER_SIZE = 64 * 1024;
+    private static final long TAIL_RETRY_MILLIS = 1000;
+    private static final int DEFAULT_RECORD_SIZE = 64 * 1024;
+    private static final int DEFAULT_LENGTH_FIELD_SIZE = 4;
+
+    /**
+     * 파일을 읽는 방식입니다.
+     */
+    public enum Mode {
+        /** 메시지를 받을 때마다 첫 번째 라인을 페이로드로 내보냅니다. */
+        FIRST_LINE,
+        /** 메시지를 받을 때마다 모든 라인을 하나의 List 페이로드로 내보냅니다. */
+        ALL_LINES,
+        /** 메시지를 받을 때마다 파일을 처음부터 읽어 라인(또는 batchSize개의 라인 묶음)마다 메시지를 내보냅니다. */
+        STREAM,
+        /** 입력 메시지 없이 파일 끝을 따라가며 새로 추가된 라인마다 메시지를 내보냅니다. */
+        TAIL,
+        /** 메시지를 받을 때마다 파일을 메모리 매핑하여 레코드(또는 batchSize개의 레코드 묶음)마다 ByteBuffer 메시지를 내보냅니다. */
+        BINARY
+    }
+
     private final Path filePath;
-    private final boolean readAllLines;
+    private final Mode mode;
+    private final int batchSize;
+    private final FileTailer tailer;
+    private final MappedRecordReader records;
+
+    private final AtomicLong lineCount = new AtomicLong();
+    private final AtomicLong recordCount = new AtomicLong();
 
     /**
      * 파일 읽기 노드의 생성자입니다.
@@ -43,12 +90,7 @@ public class ReadFileNode extends InOutNode {
      * @throws IllegalArgumentException 파일 경로가 null일 경우 발생합니다.
      */
     public ReadFileNode(Path filePath, boolean readAllLines) {
-        if (filePath == null) {
-            log.error("파일 경로가 null입니다");
-            throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
-        }
-        this.filePath = filePath;
-        this.readAllLines = readAllLines;
+        this(UUID.randomUUID(), filePath, readAllLines);
     }
 
     /**
@@ -58,15 +100,50 @@ public class ReadFileNode extends InOutNode {
      * @param readAllLines true일 경우 파일의 모든 라인을 읽어 페이로드에 저장합니다. false일 경우 첫 번째 라인만 읽습니다.
      * @throws IllegalArgumentException 파일 경로가 null일 경우 발생합니다.
      */
+    public ReadFileNode(String filePath, boolean readAllLines) {
+        this(filePath, readAllLines, null, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * 파일 읽기 노드의 생성자입니다.
+     * 
+     * @param filePath 읽을 파일의 경로 문자열 (null 불가)
+     * @param readAllLines mode가 없을 때 true이면 {@link Mode#ALL_LINES}, false이면 {@link Mode#FIRST_LINE}
+     * @param mode 파일을 읽는 방식
+     * @param batchSize {@link Mode#STREAM}, {@link Mode#BINARY}에서 메시지 하나에 담을 라인(레코드) 수, 1이면 라인(레코드)마다
+     *        메시지를 내보냄 (기본값 1)
+     * @param offsetPath {@link Mode#TAIL}에서 읽은 위치를 저장할 파일, 없으면 재시작 시 파일 끝부터 읽음
+     * @param framing {@link Mode#BINARY}에서 레코드를 나누는 방식 (기본값 FIXED)
+     * @param recordSize FIXED 레코드 크기 (바이트, 기본값 65536)
+     * @param delimiter DELIMITER 구분 바이트 값 (기본값 10, 줄바꿈)
+     * @param lengthFieldSize LENGTH_PREFIXED 길이 필드 크기 (1, 2, 4 바이트, 기본값 4)
+     * @param littleEndian 길이 필드와 슬라이스의 바이트 순서가 little-endian인지 여부 (기본값 false)
+     * @throws IllegalArgumentException 파일 경로가 null이거나 batchSize 또는 레코드 설정이 잘못된 경우 발생합니다.
+     */
     @JsonCreator
     public ReadFileNode(@JsonProperty("path") String filePath,
-            @JsonProperty("readAllLines") boolean readAllLines) {
-        if (filePath == null) {
-            log.error("파일 경로가 null입니다");
-            throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
-        }
-        this.filePath = Path.of(filePath);
-        this.readAllLines = readAllLines;
+            @JsonProperty("readAllLines") boolean readAllLines, @JsonProperty("mode") Mode mode,
+            @JsonProperty("batchSize") Integer batchSize,
+            @JsonProperty("offsetPath") String offsetPath,
+            @JsonProperty("framing") MappedRecordReader.Framing framing,
+            @JsonProperty("recordSize") Integer recordSize,
+            @JsonProperty("delimiter") Integer delimiter,
+            @JsonProperty("lengthFieldSize") Integer lengthFieldSize,
+            @JsonProperty("littleEndian") Boolean littleEndian) {
+        this(UUID.randomUUID(), filePath != null ? Path.of(filePath) : null,
+                mode != null ? mode : readAllLines ? Mode.ALL_LINES : Mode.FIRST_LINE,
+                batchSize != null ? batchSize : DEFAULT_BATCH_SIZE,
+                offsetPath != null ? Path.of(offsetPath) : null,
+                mode == Mode.BINARY && filePath != null
+                        ? new MappedRecordReader(Path.of(filePath),
+                                framing != null ? framing : MappedRecordReader.Framing.FIXED,
+                                recordSize != null ? recordSize : DEFAULT_RECORD_SIZE,
+                                (byte) (delimiter != null ? delimiter : '\n'),
+                                lengthFieldSize != null ? lengthFieldSize
+                                        : DEFAULT_LENGTH_FIELD_SIZE,
+                                Boolean.TRUE.equals(littleEndian) ? ByteOrder.LITTLE_ENDIAN
+                                        : ByteOrder.BIG_ENDIAN)
+                        : null);
     }
 
     /**
@@ -78,13 +155,8 @@ public class ReadFileNode extends InOutNode {
      * @throws IllegalArgumentException 파일 경로가 null일 경우 발생합니다.
      */
     public ReadFileNode(UUID id, Path filePath, boolean readAllLines) {
-        super(id);
-        if (filePath == null) {
-            log.error("파일 경로가 null입니다. NodeId: {}", id);
-            throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
-        }
-        this.filePath = filePath;
-        this.readAllLines = readAllLines;
+        this(id, filePath, readAllLines ? Mode.ALL_LINES : Mode.FIRST_LINE, DEFAULT_BATCH_SIZE,
+                null, null);
     }
 
     /**
@@ -96,20 +168,49 @@ public class ReadFileNode extends InOutNode {
      * @throws IllegalArgumentException 파일 경로가 null일 경우 발생합니다.
      */
     public ReadFileNode(UUID id, String filePath, boolean readAllLines) {
+        this(id, filePath != null ? Path.of(filePath) : null, readAllLines);
+    }
+
+    /**
+     * 파일 읽기 노드의 생성자입니다.
+     * 
+     * @param id 노드의 고유 ID
+     * @param filePath 읽을 파일의 경로 (null 불가)
+     * @param mode 파일을 읽는 방식
+     * @param batchSize {@link Mode#STREAM}, {@link Mode#BINARY}에서 메시지 하나에 담을 라인(레코드) 수
+     * @param offsetPath {@link Mode#TAIL}에서 읽은 위치를 저장할 파일, null 가능
+     * @param records {@link Mode#BINARY}에서 사용할 레코드 읽기 도구, null이면 64KB 고정 크기로 나눔
+     * @throws IllegalArgumentException 파일 경로가 null이거나 batchSize가 0 이하인 경우 발생합니다.
+     */
+    public ReadFileNode(UUID id, Path filePath, Mode mode, int batchSize, Path offsetPath,
+            MappedRecordReader records) {
         super(id);
         if (filePath == null) {
             log.error("파일 경로가 null입니다. NodeId: {}", id);
             throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
         }
-        this.filePath = Path.of(filePath);
-        this.readAllLines = readAllLines;
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize는 0보다 커야 합니다: " + batchSize);
+        }
+        this.filePath = filePath;
+        this.mode = mode != null ? mode : Mode.FIRST_LINE;
+        this.batchSize = batchSize;
+        this.tailer = this.mode == Mode.TAIL
+                ? new FileTailer(filePath, offsetPath, TAIL_BUFFER_SIZE)
+                : null;
+        this.records = this.mode != Mode.BINARY ? null
+                : records != null ? records
+                        : new MappedRecordReader(filePath, MappedRecordReader.Framing.FIXED,
+                                DEFAULT_RECORD_SIZE, (byte) '\n', DEFAULT_LENGTH_FIELD_SIZE,
+                                ByteOrder.BIG_ENDIAN);
     }
 
     /**
      * 메시지를 수신하고 파일의 내용을 읽어 메시지 페이로드에 설정합니다.
      * <p>
-     * {@code readAllLines}가 true인 경우 파일의 모든 라인을 읽어 {@link List} 형태로 페이로드에 저장합니다. false인 경우 첫 번째 라인만
-     * 읽습니다. 파일이 비어있을 경우 경고 로그를 출력하고 처리를 중단합니다.
+     * {@link Mode#ALL_LINES}인 경우 파일의 모든 라인을 읽어 {@link List} 형태로 페이로드에 저장합니다. {@link Mode#FIRST_LINE}인
+     * 경우 첫 번째 라인만 읽습니다. 파일이 비어있을 경우 경고 로그를 출력하고 처리를 중단합니다. {@link Mode#STREAM}과
+     * {@link Mode#BINARY}인 경우 라인 또는 레코드마다 메시지를 내보냅니다.
      * </p>
      * 
      * @param message 수신된 메시지 객체
@@ -121,8 +222,21 @@ public class ReadFileNode extends InOutNode {
             message = new Message("");
         }
 
+        if (mode == Mode.STREAM || mode == Mode.BINARY) {
+            try {
+                long count = mode == Mode.STREAM ? stream() : binary();
+                log.debug("파일 스트리밍 완료. NodeId: {}, MessageId: {}, FilePath: {}, Count: {}",
+                        getId(), message.getId(), filePath, count);
+            } catch (IOException e) {
+                log.error("파일 읽기 실패. NodeId: {}, MessageId: {}, FilePath: {}", getId(),
+                        message.getId(), filePath, e);
+                throw new RuntimeException("파일 읽기 중 오류가 발생했습니다", e);
+            }
+            return;
+        }
+
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath.toFile()))) {
-            if (readAllLines) {
+            if (mode == Mode.ALL_LINES) {
                 List<String> lines = new ArrayList<>();
                 String line;
                 while ((line = reader.readLine()) != null) {
@@ -154,4 +268,127 @@ public class ReadFileNode extends InOutNode {
             throw new RuntimeException("파일 읽기 중 오류가 발생했습니다", e);
         }
     }
+
+    /**
+     * 파일을 처음부터 한 라인씩 읽어 라인마다(또는 batchSize개씩 묶어) 메시지를 내보냅니다. 파일 전체를 메모리에 올리지 않으며, 다음 노드의
+     * 파이프가 가득 차면 내보내기와 함께 읽기도 대기합니다.
+     *
+     * @return 읽은 라인 수
+     * @throws IOException 파일 읽기에 실패한 경우
+     */
+    private long stream() throws IOException {
+        long lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            Batch batch = new Batch();
+            String line;
+            while (!Thread.currentThread().isInterrupted()
+                    && (line = reader.readLine()) != null) {
+                lines++;
+                lineCount.incrementAndGet();
+                batch.add(line);
+            }
+            batch.flush();
+        }
+        return lines;
+    }
+
+    /**
+     * 파일을 메모리 매핑하여 레코드마다(또는 batchSize개씩 묶어) 읽기 전용 ByteBuffer 메시지를 내보냅니다.
+     *
+     * @return 내보낸 레코드 수
+     * @throws IOException 파일 읽기에 실패하거나 레코드 구성이 잘못된 경우
+     */
+    private long binary() throws IOException {
+        Batch batch = new Batch();
+        long count = records.read(record -> {
+            recordCount.incrementAndGet();
+            batch.add(record);
+        });
+        batch.flush();
+        return count;
+    }
+
+    /**
+     * 라인이나 레코드를 batchSize개씩 묶어 내보냅니다. batchSize가 1이면 묶지 않고 하나씩 내보냅니다.
+     */
+    private final class Batch {
+        private List<Object> items;
+
+        private void add(Object item) {
+            if (batchSize == 1) {
+                emit(new Message(item));
+                return;
+            }
+            if (items == null) {
+                items = new ArrayList<>(batchSize);
+            }
+            items.add(item);
+            if (items.size() == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (items != null && !items.isEmpty()) {
+                emit(new Message(items));
+                items = null;
+            }
+        }
+    }
+
+    /**
+     * {@link Mode#TAIL}이면 입력 메시지를 기다리지 않고 파일 끝을 따라가며 새 라인마다 메시지를 내보냅니다. 다른 모드는 입력 메시지마다 파일을
+     * 읽습니다.
+     */
+    @Override
+    public void run() {
+        if (mode != Mode.TAIL) {
+            super.run();
+            return;
+        }
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                tailer.run(line -> {
+                    lineCount.incrementAndGet();
+                    emit(new Message(line));
+                });
+            } catch (Exception e) {
+                log.error("파일 추적 중 오류 발생. NodeId: {}, FilePath: {}", getId(), filePath, e);
+                try {
+                    Thread.sleep(TAIL_RETRY_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        log.info("파일 추적 종료. NodeId: {}, FilePath: {}, Offset: {}", getId(), filePath,
+                tailer.getOffset());
+    }
+
+    /**
+     * {@link Mode#STREAM} 또는 {@link Mode#TAIL}에서 내보낸 라인 수를 반환합니다.
+     *
+     * @return 내보낸 라인 수
+     */
+    public long getLineCount() {
+        return lineCount.get();
+    }
+
+    /**
+     * {@link Mode#BINARY}에서 내보낸 레코드 수를 반환합니다.
+     *
+     * @return 내보낸 레코드 수
+     */
+    public long getRecordCount() {
+        return recordCount.get();
+    }
+
+    /**
+     * {@link Mode#TAIL}에서 내보낸 마지막 라인의 다음 바이트 위치를 반환합니다.
+     *
+     * @return 파일 안의 바이트 위치, TAIL 모드가 아니면 0
+     */
+    public long getTailOffset() {
+        return tailer != null ? tailer.getOffset() : 0;
+    }
 }
@@ -1,29 +1,61 @@
 package com.samsa.node.inout;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.samsa.annotation.NodeType;
+import com.samsa.core.LazyJson;
 import com.samsa.core.Message;
 import com.samsa.core.node.InOutNode;
+import com.samsa.core.port.OutPort;
+import com.samsa.expression.Expression;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * {@code SwitchNode} 클래스는 메시지에 대해 정의된 규칙들을 적용하여 해당 규칙에 맞는 처리를 하는 노드입니다.
- * 
+ * {@code SwitchNode} 클래스는 메시지에 대해 정의된 규칙들을 적용하여 해당 규칙에 맞는 출력 포트로 메시지를 라우팅하는 노드입니다.
+ *
  * <p>
- * 메시지가 주어진 조건에 맞는 규칙에 의해 처리되며, 규칙이 일치할 경우 메시지를 클론하여 처리합니다. {@code stopOnFirstMatch}가 {@code true}인
- * 경우, 첫 번째 규칙이 일치하면 이후 규칙을 평가하지 않습니다.
+ * 규칙이 일치할 경우 메시지를 클론하여 기본 출력 포트({@link #getOutPort()})로 전송합니다. 규칙마다 별도의 출력 포트도 생성되며
+ * ({@link #getOutPort(int)}), 일치한 메시지는 해당 규칙의 포트로도 전송됩니다. 어떤 규칙과도 일치하지 않는 메시지는
+ * {@link #getOtherwisePort()}로 전송됩니다. {@code stopOnFirstMatch}가 {@code true}인 경우, 첫 번째 규칙이 일치하면 이후 규칙을
+ * 평가하지 않습니다.
+ * </p>
+ *
+ * <p>
+ * 평가 중 예외를 던지는 규칙(예: 페이로드에 없는 필드를 비교하는 표현식)은 불일치로 처리되며 {@link #getRuleErrorCount()}로 집계됩니다.
+ * </p>
+ *
+ * <p>
+ * 페이로드 필드에 대한 동등({@link Rule#equalsTo}) 및 접두사({@link Rule#startsWith}) 규칙은 필드별 해시/트라이 인덱스로 컴파일되어, 규칙
+ * 수와 관계없이 O(1)/O(필드 길이)로 평가됩니다. 임의의 {@code Predicate} 규칙은 순서대로 평가됩니다. 규칙은 노드 실행 전에 추가해야 합니다.
  * </p>
  */
+@NodeType("SwitchNode")
 @Slf4j
 public class SwitchNode extends InOutNode {
 
     private final List<Rule> rules;
+    private final List<OutPort> rulePorts;
+    private final OutPort otherwisePort;
     private final boolean stopOnFirstMatch;
 
+    /** 인덱스로 평가할 수 없는 규칙의 인덱스 목록 */
+    private final List<Integer> predicateRules;
+
+    /** 페이로드 필드별 규칙 인덱스 */
+    private final Map<String, FieldIndex> fieldIndexes;
+
+    private final AtomicLong ruleErrorCount = new AtomicLong();
+
     /**
      * {@code SwitchNode} 객체를 생성합니다. 규칙은 빈 목록으로 초기화됩니다.
      *
@@ -33,6 +65,21 @@ public class SwitchNode extends InOutNode {
         this(UUID.randomUUID(), stopOnFirstMatch);
     }
 
+    /**
+     * {@code SwitchNode} 객체를 생성하고 주어진 규칙들을 순서대로 추가합니다.
+     *
+     * @param stopOnFirstMatch 첫 번째 규칙이 일치하면 이후 규칙을 평가하지 않을지 여부.
+     * @param rules 추가할 규칙 목록; {@code null}이면 빈 목록으로 초기화됩니다.
+     */
+    @JsonCreator
+    public SwitchNode(@JsonProperty("stopOnFirstMatch") boolean stopOnFirstMatch,
+            @JsonProperty("rules") List<Rule> rules) {
+        this(UUID.randomUUID(), stopOnFirstMatch);
+        if (rules != null) {
+            rules.forEach(this::addRule);
+        }
+    }
+
     /**
      * {@code SwitchNode} 객체를 생성합니다. 규칙은 빈 목록으로 초기화됩니다.
      *
@@ -42,12 +89,16 @@ public class SwitchNode extends InOutNode {
     public SwitchNode(UUID id, boolean stopOnFirstMatch) {
         super(id);
         this.rules = new ArrayList<>();
+        this.rulePorts = new ArrayList<>();
+        this.otherwisePort = new OutPort();
+        this.predicateRules = new ArrayList<>();
+        this.fieldIndexes = new HashMap<>();
         this.stopOnFirstMatch = stopOnFirstMatch;
     }
 
     /**
-     * 메시지를 처리하는 메서드로, 규칙을 순차적으로 평가하여 메시지를 처리합니다.
-     * 
+     * 메시지를 처리하는 메서드로, 일치한 규칙마다 기본 출력 포트와 규칙의 출력 포트로 메시지를 전송합니다.
+     *
      * @param message 처리할 메시지; {@code null}일 수 없습니다.
      */
     @Override
@@ -57,34 +108,96 @@ public class SwitchNode extends InOutNode {
             return;
         }
 
-        boolean matched = false;
         try {
-            for (Rule rule : rules) {
-                if (rule.evaluate(message)) {
-                    matched = true;
-                    Message clonedMessage = cloneMessage(message);
-                    log.debug("규칙 일치. NodeId: {}, MessageId: {}, RuleId: {}", getId(),
-                            message.getId(), rule.getId());
-
-                    super.onMessage(clonedMessage);
-
-                    if (stopOnFirstMatch) {
-                        break;
-                    }
-                }
-            }
-
-            if (!matched) {
+            int[] matches = match(message);
+            if (matches.length == 0) {
                 log.debug("일치하는 규칙 없음. NodeId: {}, MessageId: {}", getId(), message.getId());
+                otherwisePort.propagate(message);
+                return;
             }
 
+            for (int ruleIndex : matches) {
+                Message clonedMessage = cloneMessage(message);
+                log.debug("규칙 일치. NodeId: {}, MessageId: {}, RuleId: {}", getId(),
+                        message.getId(), rules.get(ruleIndex).getId());
+                super.onMessage(clonedMessage);
+                rulePorts.get(ruleIndex).propagate(clonedMessage);
+            }
         } catch (Exception e) {
             log.error("메시지 처리 중 오류 발생. NodeId: {}, MessageId: {}", getId(), message.getId(), e);
         }
     }
 
     /**
-     * 새로운 규칙을 추가합니다.
+     * 메시지와 일치하는 규칙의 인덱스를 규칙 추가 순서대로 반환합니다.
+     *
+     * @param message 평가할 메시지
+     * @return 일치한 규칙 인덱스 배열
+     */
+    private int[] match(Message message) {
+        int[] matches = new int[0];
+        int count = 0;
+
+        for (Map.Entry<String, FieldIndex> entry : fieldIndexes.entrySet()) {
+            String value = resolveProperty(message.getPayload(), entry.getKey());
+            if (value == null) {
+                continue;
+            }
+            int[] found = entry.getValue().lookup(value);
+            if (found.length > 0) {
+                matches = Arrays.copyOf(matches, count + found.length);
+                System.arraycopy(found, 0, matches, count, found.length);
+                count += found.length;
+            }
+        }
+
+        // stopOnFirstMatch인 경우, 인덱스로 찾은 가장 앞선 규칙보다 뒤의 Predicate 규칙은 평가할 필요가 없습니다.
+        int limit = Integer.MAX_VALUE;
+        if (stopOnFirstMatch && count > 0) {
+            limit = Arrays.stream(matches, 0, count).min().getAsInt();
+        }
+        for (int ruleIndex : predicateRules) {
+            if (ruleIndex > limit) {
+                break;
+            }
+            if (evaluate(ruleIndex, message)) {
+                matches = Arrays.copyOf(matches, count + 1);
+                matches[count++] = ruleIndex;
+                if (stopOnFirstMatch) {
+                    break;
+                }
+            }
+        }
+
+        Arrays.sort(matches, 0, count);
+        if (stopOnFirstMatch && count > 1) {
+            return new int[] {matches[0]};
+        }
+        return matches;
+    }
+
+    /**
+     * Predicate 규칙을 평가합니다. 평가 중 예외가 발생하면(예: 표현식이 참조하는 필드가 없는 경우) 해당 규칙만 불일치로 처리하여, 다른 규칙과
+     * 불일치 포트로의 라우팅은 그대로 진행되도록 합니다.
+     *
+     * @param ruleIndex 평가할 규칙 인덱스
+     * @param message 평가할 메시지
+     * @return 규칙이 일치하면 {@code true}, 일치하지 않거나 평가에 실패하면 {@code false}
+     */
+    private boolean evaluate(int ruleIndex, Message message) {
+        Rule rule = rules.get(ruleIndex);
+        try {
+            return rule.evaluate(message);
+        } catch (RuntimeException e) {
+            ruleErrorCount.incrementAndGet();
+            log.warn("규칙 평가 실패로 불일치 처리합니다. NodeId: {}, MessageId: {}, RuleId: {}, 원인: {}", getId(),
+                    message.getId(), rule.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 새로운 규칙을 추가하고, 규칙에 대응하는 출력 포트를 생성합니다.
      *
      * @param rule 추가할 규칙; {@code null}일 수 없습니다.
      * @throws IllegalArgumentException 규칙이 {@code null}일 경우 예외가 발생합니다.
@@ -93,12 +206,63 @@ public class SwitchNode extends InOutNode {
         if (rule == null) {
             throw new IllegalArgumentException("규칙은 null일 수 없습니다");
         }
+        int ruleIndex = rules.size();
         rules.add(rule);
+        rulePorts.add(new OutPort());
+
+        if (rule.getType() == Rule.Type.PREDICATE) {
+            predicateRules.add(ruleIndex);
+        } else {
+            fieldIndexes.computeIfAbsent(rule.getProperty(), key -> new FieldIndex())
+                    .add(rule, ruleIndex);
+        }
+    }
+
+    /**
+     * 지정된 규칙의 출력 포트를 반환합니다.
+     *
+     * @param ruleIndex 규칙 인덱스 (추가된 순서, 0부터 시작)
+     * @return 규칙에 대응하는 출력 포트
+     * @throws IllegalArgumentException 존재하지 않는 규칙 인덱스인 경우
+     */
+    public OutPort getOutPort(int ruleIndex) {
+        if (ruleIndex < 0 || ruleIndex >= rulePorts.size()) {
+            log.error("존재하지 않는 규칙 포트입니다. NodeId: {}, Index: {}", getId(), ruleIndex);
+            throw new IllegalArgumentException("존재하지 않는 규칙 포트입니다: " + ruleIndex);
+        }
+        return rulePorts.get(ruleIndex);
+    }
+
+    /**
+     * 어떤 규칙과도 일치하지 않은 메시지를 전송하는 출력 포트를 반환합니다.
+     *
+     * @return 불일치 메시지 출력 포트
+     */
+    public OutPort getOtherwisePort() {
+        return otherwisePort;
+    }
+
+    /**
+     * 평가 중 예외가 발생하여 불일치로 처리된 규칙 평가 횟수를 반환합니다.
+     *
+     * @return 규칙 평가 실패 횟수
+     */
+    public long getRuleErrorCount() {
+        return ruleErrorCount.get();
+    }
+
+    /**
+     * 등록된 규칙의 수를 반환합니다.
+     *
+     * @return 규칙 수
+     */
+    public int getRuleCount() {
+        return rules.size();
     }
 
     /**
      * 메시지를 복제하여 새로운 {@code Message} 객체를 반환합니다.
-     * 
+     *
      * @param original 원본 메시지.
      * @return 복제된 메시지 객체.
      */
@@ -106,29 +270,204 @@ public class SwitchNode extends InOutNode {
         return new Message(original.getPayload());
     }
 
+    /**
+     * 페이로드에서 점(.)으로 구분된 경로의 값을 문자열로 읽습니다. 경로가 {@code null}이거나 비어 있으면 페이로드 자체를 사용합니다.
+     * {@link LazyJson} 페이로드는 문서 전체를 파싱하지 않고 해당 경로만 읽습니다.
+     *
+     * @param payload 메시지 페이로드
+     * @param property 읽을 필드 경로 (예: {@code "topic"}, {@code "meta.device"})
+     * @return 필드 값의 문자열 표현, 존재하지 않으면 {@code null}
+     */
+    static String resolveProperty(Object payload, String property) {
+        Object current = payload;
+        if (property != null && !property.isEmpty()) {
+            String[] keys = property.split("\\.");
+            for (int i = 0; i < keys.length; i++) {
+                if (current instanceof LazyJson json) {
+                    current = json.get(String.join(".", Arrays.copyOfRange(keys, i, keys.length)));
+                    break;
+                }
+                if (!(current instanceof Map<?, ?> map)) {
+                    return null;
+                }
+                current = map.get(keys[i]);
+            }
+        }
+        return current == null ? null : current.toString();
+    }
+
+    /**
+     * 하나의 페이로드 필드에 대한 동등/접두사 규칙 인덱스입니다. 동등 규칙은 해시 맵으로, 접두사 규칙은 문자 단위 트라이로 관리합니다.
+     */
+    private static class FieldIndex {
+        private static final int[] EMPTY = new int[0];
+
+        private final Map<String, int[]> exact = new HashMap<>();
+        private final TrieNode prefixRoot = new TrieNode();
+
+        void add(Rule rule, int ruleIndex) {
+            if (rule.getType() == Rule.Type.EQUALS) {
+                exact.merge(rule.getValue(), new int[] {ruleIndex}, FieldIndex::concat);
+                return;
+            }
+            TrieNode node = prefixRoot;
+            String prefix = rule.getValue();
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new TrieNode());
+            }
+            node.rules = concat(node.rules, new int[] {ruleIndex});
+        }
+
+        int[] lookup(String value) {
+            int[] result = exact.getOrDefault(value, EMPTY);
+            TrieNode node = prefixRoot;
+            result = concat(result, node.rules);
+            for (int i = 0; i < value.length(); i++) {
+                node = node.children.get(value.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                result = concat(result, node.rules);
+            }
+            return result;
+        }
+
+        private static int[] concat(int[] a, int[] b) {
+            if (b.length == 0) {
+                return a;
+            }
+            if (a.length == 0) {
+                return b;
+            }
+            int[] result = Arrays.copyOf(a, a.length + b.length);
+            System.arraycopy(b, 0, result, a.length, b.length);
+            return result;
+        }
+
+        private static class TrieNode {
+            private final Map<Character, TrieNode> children = new HashMap<>();
+            private int[] rules = EMPTY;
+        }
+    }
+
     /**
      * 규칙을 나타내는 클래스입니다. 규칙의 조건을 테스트할 수 있는 {@code Predicate}를 가지고 있습니다.
+     *
+     * <p>
+     * Flow JSON에서는 {@code {"type": "eq" | "prefix", "property": "topic", "value": "..."}} 형식으로 정의합니다.
+     * </p>
      */
     public static class Rule {
+        /**
+         * 규칙의 종류입니다.
+         */
+        public enum Type {
+            /** 임의의 조건 */
+            PREDICATE,
+            /** 필드 값이 주어진 값과 같은지 검사 */
+            EQUALS,
+            /** 필드 값이 주어진 접두사로 시작하는지 검사 */
+            PREFIX
+        }
+
         private final UUID id;
         private final Predicate<Message> condition;
+        private final Type type;
+        private final String property;
+        private final String value;
 
         /**
          * 주어진 조건을 만족하는 {@code Rule} 객체를 생성합니다.
-         * 
+         *
          * @param condition 규칙에 해당하는 조건을 테스트하는 {@code Predicate} 객체.
          */
         public Rule(Predicate<Message> condition) {
+            this(Type.PREDICATE, null, null, condition);
+        }
+
+        private Rule(Type type, String property, String value, Predicate<Message> condition) {
             if (condition == null) {
                 throw new IllegalArgumentException("조건은 null일 수 없습니다");
             }
             this.id = UUID.randomUUID();
             this.condition = condition;
+            this.type = type;
+            this.property = property;
+            this.value = value;
+        }
+
+        /**
+         * 페이로드 필드 값이 주어진 값과 같은지 검사하는 규칙을 생성합니다.
+         *
+         * @param property 검사할 필드 경로
+         * @param value 비교할 값
+         * @return 생성된 규칙
+         * @throws IllegalArgumentException value가 {@code null}인 경우
+         */
+        public static Rule equalsTo(String property, String value) {
+            if (value == null) {
+                throw new IllegalArgumentException("비교할 값은 null일 수 없습니다");
+            }
+            return new Rule(Type.EQUALS, property, value,
+                    message -> value.equals(resolveProperty(message.getPayload(), property)));
+        }
+
+        /**
+         * 페이로드 필드 값이 주어진 접두사로 시작하는지 검사하는 규칙을 생성합니다.
+         *
+         * @param property 검사할 필드 경로
+         * @param prefix 접두사
+         * @return 생성된 규칙
+         * @throws IllegalArgumentException prefix가 {@code null}인 경우
+         */
+        public static Rule startsWith(String property, String prefix) {
+            if (prefix == null) {
+                throw new IllegalArgumentException("접두사는 null일 수 없습니다");
+            }
+            return new Rule(Type.PREFIX, property, prefix, message -> {
+                String actual = resolveProperty(message.getPayload(), property);
+                return actual != null && actual.startsWith(prefix);
+            });
+        }
+
+        /**
+         * 표현식이 참으로 평가되는지 검사하는 규칙을 생성합니다. 표현식은 규칙 생성 시 한 번만 컴파일됩니다.
+         *
+         * @param expression 조건 표현식
+         * @return 생성된 규칙
+         * @throws com.samsa.expression.ExpressionException 표현식에 문법 오류가 있는 경우
+         */
+        public static Rule expression(String expression) {
+            return new Rule(Expression.compile(expression)::test);
+        }
+
+        /**
+         * Flow JSON 설정으로부터 규칙을 생성합니다.
+         *
+         * @param type 규칙 종류 ({@code "eq"}, {@code "prefix"} 또는 {@code "expr"})
+         * @param property 검사할 필드 경로
+         * @param value 비교할 값, 접두사 또는 표현식
+         * @return 생성된 규칙
+         * @throws IllegalArgumentException 지원되지 않는 규칙 종류인 경우
+         */
+        @JsonCreator
+        public static Rule of(@JsonProperty("type") String type,
+                @JsonProperty("property") String property, @JsonProperty("value") String value) {
+            if ("eq".equals(type)) {
+                return equalsTo(property, value);
+            }
+            if ("prefix".equals(type)) {
+                return startsWith(property, value);
+            }
+            if ("expr".equals(type)) {
+                return expression(value);
+            }
+            throw new IllegalArgumentException("지원되지 않는 규칙 종류: " + type);
         }
 
         /**
          * 메시지가 규칙의 조건을 만족하는지 평가합니다.
-         * 
+         *
          * @param message 평가할 메시지.
          * @return 조건을 만족하면 {@code true}, 그렇지 않으면 {@code false}.
          */
@@ -138,11 +477,38 @@ public class SwitchNode extends InOutNode {
 
         /**
          * 규칙의 고유 식별자(UUID)를 반환합니다.
-         * 
+         *
          * @return 규칙의 UUID.
          */
         public UUID getId() {
             return id;
         }
+
+        /**
+         * 규칙의 종류를 반환합니다.
+         *
+         * @return 규칙 종류
+         */
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * 규칙이 검사하는 필드 경로를 반환합니다.
+         *
+         * @return 필드 경로, {@code PREDICATE} 규칙이면 {@code null}
+         */
+        public String getProperty() {
+            return property;
+        }
+
+        /**
+         * 규칙의 비교 값 또는 접두사를 반환합니다.
+         *
+         * @return 비교 값, {@code PREDICATE} 규칙이면 {@code null}
+         */
+        public String getValue() {
+            return value;
+        }
     }
 }
@@ -1,16 +1,25 @@
 package com.samsa.node.inout;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.samsa.annotation.NodeType;
+import com.samsa.core.LazyJson;
 import com.samsa.core.Message;
 import com.samsa.core.node.InOutNode;
+import com.samsa.file.FileHandleCache;
+import com.samsa.file.GroupCommitWriter;
+import com.samsa.file.PathTemplate;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,6 +31,27 @@ import lombok.extern.slf4j.Slf4j;
  * </p>
  *
  * <p>
+ * 파일은 한 번 열어 계속 사용하며, 라인을 모아 {@code flushCount}개마다 또는 {@code flushMillis}마다 한 번에 기록합니다. 따라서 메시지는
+ * 파일에 기록되기 전에 다음 노드로 전달될 수 있으며, 프로세스가 비정상 종료되면 마지막 묶음이 유실될 수 있습니다. {@code fsync}를 켜면 기록할
+ * 때마다 디스크 동기화까지 수행합니다. {@code maxBytes}와 {@code rotateMillis}로 파일 교체 조건을 지정합니다. 자세한 동작은
+ * {@link GroupCommitWriter}를 참고하십시오.
+ * </p>
+ *
+ * <p>
+ * 경로에는 {@code /data/{topic}/{yyyyMMddHH}.log}처럼 페이로드 필드와 현재 시각을 넣을 수 있습니다({@link PathTemplate}). 열린 파일은
+ * 최대 {@code maxOpenFiles}개까지 유지하며, 넘치면 가장 오래 사용하지 않은 파일을 기록 후 닫습니다. 템플릿 경로의 파일은 닫혔다 다시 열릴 수
+ * 있으므로 {@code append} 설정과 관계없이 항상 뒤에 이어 씁니다. {@code writers}를 2 이상으로 지정하면 파일 경로로 나눈 기록 스레드가 각자의
+ * 파일을 기록하므로, 같은 파일의 라인 순서는 유지되면서 여러 파일을 동시에 기록합니다. 이때 {@code maxOpenFiles}는 기록 스레드마다
+ * 균등하게 나누어지므로 노드 전체가 여는 파일 수는 {@code maxOpenFiles}를 넘지 않습니다(단, 스레드당 최소 1개). 이 경우 기록 실패는 예외 대신 로그와
+ * {@link #getWriteFailureCount()}로 확인합니다.
+ * </p>
+ *
+ * <p>
+ * {@code byte[]}, {@link ByteBuffer}, {@link LazyJson} 페이로드는 문자열로 바꾸지 않고 원래 바이트를 그대로 한 라인으로 기록합니다. 그 외의
+ * 페이로드는 {@code toString()} 결과를 UTF-8로 인코딩하여 기록합니다.
+ * </p>
+ *
+ * <p>
  * 이 클래스는 {@link InOutNode}를 상속받아 구현되었습니다.
  * </p>
  *
@@ -31,8 +61,60 @@ import lombok.extern.slf4j.Slf4j;
 @NodeType("WriteFileNode")
 @Slf4j
 public class WriteFileNode extends InOutNode {
-    private final Path filePath;
-    private final boolean append;
+
+    private static final int DEFAULT_FLUSH_COUNT = 1000;
+    private static final long DEFAULT_FLUSH_MILLIS = 1000;
+    private static final int DEFAULT_MAX_OPEN_FILES = 256;
+    private static final int SHARD_QUEUE_CAPACITY = 1024;
+
+    private final PathTemplate template;
+    private final FileHandleCache[] caches;
+    private final Shard[] shards;
+    private final ScheduledExecutorService timer;
+    private final AtomicLong lineCount = new AtomicLong();
+    private final AtomicLong writeFailureCount = new AtomicLong();
+
+    /**
+     * 기록 스레드에 넘기는 라인입니다. 내용은 {@link String} 또는 {@link ByteBuffer}입니다.
+     */
+    private record Line(Path path, Object content) {
+    }
+
+    private static final Line STOP = new Line(null, null);
+
+    /**
+     * 파일 경로로 나눈 라인을 받아 자신의 파일들에 기록하는 기록 스레드입니다.
+     */
+    private final class Shard implements Runnable {
+        private final BlockingQueue<Line> queue = new ArrayBlockingQueue<>(SHARD_QUEUE_CAPACITY);
+        private final FileHandleCache cache;
+        private final Thread thread;
+
+        private Shard(int index, FileHandleCache cache) {
+            this.cache = cache;
+            this.thread = new Thread(this, "file-writer-" + index);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Line line = queue.take();
+                    if (line == STOP) {
+                        return;
+                    }
+                    write(cache, line);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Line line;
+                while ((line = queue.poll()) != null && line != STOP) {
+                    write(cache, line);
+                }
+            }
+        }
+    }
 
     /**
      * 파일 쓰기 노드를 생성합니다.
@@ -42,12 +124,7 @@ public class WriteFileNode extends InOutNode {
      * @throws IllegalArgumentException 파일 경로가 {@code null}인 경우 발생합니다.
      */
     public WriteFileNode(Path filePath, boolean append) {
-        if (filePath == null) {
-            log.error("파일 경로가 null입니다");
-            throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
-        }
-        this.filePath = filePath;
-        this.append = append;
+        this(UUID.randomUUID(), filePath, append);
     }
 
     /**
@@ -57,15 +134,42 @@ public class WriteFileNode extends InOutNode {
      * @param append {@code true}일 경우 기존 파일에 데이터를 추가합니다. {@code false}일 경우 기존 파일을 덮어씁니다.
      * @throws IllegalArgumentException 파일 경로가 {@code null}인 경우 발생합니다.
      */
+    public WriteFileNode(String filePath, boolean append) {
+        this(UUID.randomUUID(), filePath, append);
+    }
+
+    /**
+     * 문자열 파일 경로를 사용하여 파일 쓰기 노드를 생성합니다.
+     *
+     * @param filePath 작성할 파일 경로 (문자열, null 불가)
+     * @param append {@code true}일 경우 기존 파일에 데이터를 추가합니다. {@code false}일 경우 노드가 처음 파일을 열 때 기존 내용을
+     *        지웁니다.
+     * @param flushCount 한 번에 기록할 최대 라인 수 (기본값 1000)
+     * @param flushMillis 라인을 모아 두는 최대 시간 (ms, 기본값 1000)
+     * @param fsync 기록할 때마다 디스크 동기화를 수행할지 여부 (기본값 false)
+     * @param maxBytes 파일 교체 크기 (바이트, 기본값 0 = 교체 안 함)
+     * @param rotateMillis 파일 교체 주기 (ms, 기본값 0 = 교체 안 함)
+     * @param maxOpenFiles 노드 전체에서 동시에 열어 둘 최대 파일 수 (기본값 256)
+     * @param writers 기록 스레드 수 (기본값 1 = 메시지를 받은 스레드에서 직접 기록)
+     * @throws IllegalArgumentException 파일 경로가 {@code null}이거나 템플릿이 잘못되었거나 flushCount, maxOpenFiles가 0
+     *         이하인 경우 발생합니다.
+     */
     @JsonCreator
     public WriteFileNode(@JsonProperty("path") String filePath,
-            @JsonProperty("append") boolean append) {
-        if (filePath == null) {
-            log.error("파일 경로가 null입니다");
-            throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
-        }
-        this.filePath = Paths.get(filePath);
-        this.append = append;
+            @JsonProperty("append") boolean append,
+            @JsonProperty("flushCount") Integer flushCount,
+            @JsonProperty("flushMillis") Long flushMillis, @JsonProperty("fsync") Boolean fsync,
+            @JsonProperty("maxBytes") Long maxBytes,
+            @JsonProperty("rotateMillis") Long rotateMillis,
+            @JsonProperty("maxOpenFiles") Integer maxOpenFiles,
+            @JsonProperty("writers") Integer writers) {
+        this(UUID.randomUUID(), filePath != null ? PathTemplate.parse(filePath) : null, append,
+                flushCount != null ? flushCount : DEFAULT_FLUSH_COUNT,
+                flushMillis != null ? flushMillis : DEFAULT_FLUSH_MILLIS,
+                Boolean.TRUE.equals(fsync), maxBytes != null ? maxBytes : 0,
+                rotateMillis != null ? rotateMillis : 0,
+                maxOpenFiles != null ? maxOpenFiles : DEFAULT_MAX_OPEN_FILES,
+                writers != null ? writers : 1);
     }
 
     /**
@@ -77,13 +181,7 @@ public class WriteFileNode extends InOutNode {
      * @throws IllegalArgumentException 파일 경로가 {@code null}인 경우 발생합니다.
      */
     public WriteFileNode(UUID id, Path filePath, boolean append) {
-        super(id);
-        if (filePath == null) {
-            log.error("파일 경로가 null입니다. NodeId: {}", id);
-            throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
-        }
-        this.filePath = filePath;
-        this.append = append;
+        this(id, filePath, append, DEFAULT_FLUSH_COUNT, DEFAULT_FLUSH_MILLIS, false, 0, 0);
     }
 
     /**
@@ -95,24 +193,96 @@ public class WriteFileNode extends InOutNode {
      * @throws IllegalArgumentException 파일 경로가 {@code null}인 경우 발생합니다.
      */
     public WriteFileNode(UUID id, String filePath, boolean append) {
+        this(id, filePath != null ? Paths.get(filePath) : null, append);
+    }
+
+    /**
+     * ID와 기록 설정을 지정하여 파일 쓰기 노드를 생성합니다.
+     *
+     * @param id 노드의 고유 식별자
+     * @param filePath 작성할 파일 경로 (null 불가)
+     * @param append {@code true}일 경우 기존 파일에 데이터를 추가합니다. {@code false}일 경우 노드가 처음 파일을 열 때 기존 내용을
+     *        지웁니다.
+     * @param flushCount 한 번에 기록할 최대 라인 수
+     * @param flushMillis 라인을 모아 두는 최대 시간 (ms)
+     * @param fsync 기록할 때마다 디스크 동기화를 수행할지 여부
+     * @param maxBytes 파일 교체 크기 (바이트), 0 이하이면 교체 안 함
+     * @param rotateMillis 파일 교체 주기 (ms), 0 이하이면 교체 안 함
+     * @throws IllegalArgumentException 파일 경로가 {@code null}이거나 flushCount가 0 이하인 경우 발생합니다.
+     */
+    public WriteFileNode(UUID id, Path filePath, boolean append, int flushCount,
+            long flushMillis, boolean fsync, long maxBytes, long rotateMillis) {
+        this(id, filePath != null ? PathTemplate.fixed(filePath) : null, append, flushCount,
+                flushMillis, fsync, maxBytes, rotateMillis, DEFAULT_MAX_OPEN_FILES, 1);
+    }
+
+    /**
+     * ID, 경로 템플릿, 기록 설정과 기록 스레드 수를 지정하여 파일 쓰기 노드를 생성합니다.
+     *
+     * @param id 노드의 고유 식별자
+     * @param template 작성할 파일 경로 템플릿 (null 불가)
+     * @param append {@code true}일 경우 기존 파일에 데이터를 추가합니다. {@code false}일 경우 노드가 처음 파일을 열 때 기존 내용을
+     *        지웁니다. 고정 경로가 아니면 무시되고 항상 추가합니다.
+     * @param flushCount 한 번에 기록할 최대 라인 수
+     * @param flushMillis 라인을 모아 두는 최대 시간 (ms)
+     * @param fsync 기록할 때마다 디스크 동기화를 수행할지 여부
+     * @param maxBytes 파일 교체 크기 (바이트), 0 이하이면 교체 안 함
+     * @param rotateMillis 파일 교체 주기 (ms), 0 이하이면 교체 안 함
+     * @param maxOpenFiles 노드 전체에서 동시에 열어 둘 최대 파일 수 (기록 스레드마다 균등하게 나누어 적용)
+     * @param writers 기록 스레드 수, 1 이하이면 메시지를 받은 스레드에서 직접 기록
+     * @throws IllegalArgumentException 템플릿이 {@code null}이거나 flushCount, maxOpenFiles가 0 이하인 경우 발생합니다.
+     */
+    public WriteFileNode(UUID id, PathTemplate template, boolean append, int flushCount,
+            long flushMillis, boolean fsync, long maxBytes, long rotateMillis, int maxOpenFiles,
+            int writers) {
         super(id);
-        if (filePath == null) {
+        if (template == null) {
             log.error("파일 경로가 null입니다. NodeId: {}", id);
             throw new IllegalArgumentException("파일 경로는 null일 수 없습니다");
         }
-        this.filePath = Paths.get(filePath);
-        this.append = append;
+        if (flushCount <= 0) {
+            throw new IllegalArgumentException("flushCount는 0보다 커야 합니다: " + flushCount);
+        }
+        this.template = template;
+        boolean appendFiles = append || !template.isFixed();
+        int shardCount = Math.max(1, writers);
+        // maxOpenFiles는 노드 전체의 상한이므로 기록 스레드별 캐시에 나누어 줍니다. 잘못된 값은 FileHandleCache가 검증합니다.
+        int openFilesPerShard =
+                maxOpenFiles > 0 ? Math.max(1, maxOpenFiles / shardCount) : maxOpenFiles;
+        this.caches = new FileHandleCache[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            caches[i] = new FileHandleCache(openFilesPerShard, appendFiles, flushCount, flushMillis,
+                    fsync, maxBytes, rotateMillis);
+        }
+        if (shardCount > 1) {
+            this.shards = new Shard[shardCount];
+            for (int i = 0; i < shardCount; i++) {
+                shards[i] = new Shard(i, caches[i]);
+                shards[i].thread.start();
+            }
+        } else {
+            this.shards = null;
+        }
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "file-flush-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = Math.max(10, Math.min(flushMillis, 1000));
+        timer.scheduleAtFixedRate(this::flushExpired, tick, tick, TimeUnit.MILLISECONDS);
     }
 
     /**
      * 메시지를 수신하고 페이로드를 파일에 작성합니다.
      * <p>
-     * 메시지의 페이로드가 {@code null}일 경우 처리를 중단하며 에러 로그를 출력합니다. 페이로드를 문자열 형태로 변환하여 파일에 작성하고, 파일 쓰기 완료 후 상위
-     * 클래스의 {@code onMessage()}를 호출하여 메시지를 다음 노드로 전달합니다.
+     * 메시지의 페이로드가 {@code null}일 경우 처리를 중단하며 에러 로그를 출력합니다. 바이트 페이로드는 그대로, 그 외 페이로드는 문자열 형태로 변환하여
+     * 쓰기 버퍼에 추가하고, 상위 클래스의
+     * {@code onMessage()}를 호출하여 메시지를 다음 노드로 전달합니다. 기록 스레드를 사용하면 해당 스레드의 큐에 넣은 뒤 바로 전달하며, 큐가 가득
+     * 차면 빌 때까지 기다립니다.
      * </p>
      *
      * @param message 수신된 메시지 객체
-     * @throws RuntimeException 파일 쓰기 중 {@link IOException}이 발생할 경우 예외를 던집니다.
+     * @throws RuntimeException 기록 스레드 없이 파일 쓰기 중 {@link IOException}이 발생할 경우 예외를 던집니다.
      */
     @Override
     public void onMessage(Message message) {
@@ -129,24 +299,173 @@ public class WriteFileNode extends InOutNode {
             return;
         }
 
-        try (BufferedWriter writer =
-                new BufferedWriter(new FileWriter(filePath.toFile(), append))) {
-            log.debug("파일 쓰기 시작. NodeId: {}, MessageId: {}, FilePath: {}", getId(), message.getId(),
-                    filePath);
+        Path filePath = template.resolve(payload, System.currentTimeMillis());
+        if (shards != null) {
+            Shard shard = shards[Math.floorMod(filePath.hashCode(), shards.length)];
+            try {
+                // 큐에서 기다리는 동안 하위 노드가 바이트 배열을 바꿀 수 있으므로 복사본을 넘깁니다.
+                shard.queue.put(new Line(filePath, content(payload, true)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("파일 쓰기 대기 중 인터럽트되었습니다. NodeId: {}, MessageId: {}", getId(),
+                        message.getId());
+                return;
+            }
+        } else {
+            try {
+                write(caches[0], filePath, content(payload, false));
+                lineCount.incrementAndGet();
+                log.debug("파일 쓰기 완료. NodeId: {}, MessageId: {}, FilePath: {}", getId(),
+                        message.getId(), filePath);
+            } catch (IOException e) {
+                log.error("파일 쓰기 실패. NodeId: {}, MessageId: {}, FilePath: {}", getId(),
+                        message.getId(), filePath, e);
+                throw new RuntimeException("파일 쓰기 중 오류가 발생했습니다", e);
+            }
+        }
+
+        // 상위 클래스의 onMessage 호출하여 다음 노드로 메시지 전달
+        super.onMessage(message);
+    }
+
+    /**
+     * 페이로드를 기록할 내용으로 바꿉니다. 바이트 페이로드는 {@link ByteBuffer}로, 그 외에는 문자열로 바꿉니다.
+     *
+     * @param payload 메시지 페이로드
+     * @param copy 가변 바이트 페이로드를 복사할지 여부
+     * @return {@link String} 또는 {@link ByteBuffer}
+     */
+    private static Object content(Object payload, boolean copy) {
+        if (payload instanceof byte[] bytes) {
+            return ByteBuffer.wrap(copy ? bytes.clone() : bytes);
+        }
+        if (payload instanceof ByteBuffer buffer) {
+            if (!copy) {
+                return buffer;
+            }
+            ByteBuffer copied = ByteBuffer.allocate(buffer.remaining());
+            copied.put(buffer.duplicate()).flip();
+            return copied;
+        }
+        if (payload instanceof LazyJson json) {
+            // LazyJson은 불변이므로 복사하지 않습니다.
+            return ByteBuffer.wrap(json.getBytes());
+        }
+        return payload.toString();
+    }
+
+    private static void write(FileHandleCache cache, Path path, Object content)
+            throws IOException {
+        if (content instanceof ByteBuffer bytes) {
+            cache.write(path, bytes);
+        } else {
+            cache.write(path, (String) content);
+        }
+    }
+
+    /**
+     * 기록 스레드에서 라인 하나를 기록합니다. 실패는 로그로 남기고 다음 라인을 계속 기록합니다.
+     */
+    private void write(FileHandleCache cache, Line line) {
+        try {
+            write(cache, line.path(), line.content());
+            lineCount.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            writeFailureCount.incrementAndGet();
+            log.error("파일 쓰기 실패. NodeId: {}, FilePath: {}", getId(), line.path(), e);
+        }
+    }
+
+    /**
+     * flushMillis가 지난 라인을 기록하고 교체 주기가 지난 파일을 교체합니다. 타이머 스레드에서 실행됩니다.
+     */
+    private void flushExpired() {
+        long now = System.currentTimeMillis();
+        for (FileHandleCache cache : caches) {
+            try {
+                cache.flushIfDue(now);
+            } catch (RuntimeException e) {
+                log.error("주기적 파일 쓰기 실패. NodeId: {}, FilePath: {}", getId(), template, e);
+            }
+        }
+    }
+
+    /**
+     * 기록 스레드의 큐에 남은 라인까지 기록하고 모든 파일을 닫습니다. 노드가 종료될 때 호출되어야 합니다.
+     */
+    public void close() {
+        timer.shutdownNow();
+        if (shards != null) {
+            for (Shard shard : shards) {
+                try {
+                    shard.queue.put(STOP);
+                    shard.thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    shard.thread.interrupt();
+                    log.warn("기록 스레드 종료 대기 중 인터럽트되었습니다. NodeId: {}", getId());
+                }
+            }
+        }
+        for (FileHandleCache cache : caches) {
+            cache.close();
+        }
+    }
+
+    /**
+     * 기록한 라인 수를 반환합니다.
+     *
+     * @return 기록한 라인 수 (버퍼에 대기 중인 라인 포함)
+     */
+    public long getLineCount() {
+        return lineCount.get();
+    }
 
-            writer.write(payload.toString());
-            writer.newLine();
-            writer.flush();
+    /**
+     * 파일에 실제로 기록한 횟수를 반환합니다.
+     *
+     * @return 묶음 기록 횟수
+     */
+    public long getFlushCount() {
+        long total = 0;
+        for (FileHandleCache cache : caches) {
+            total += cache.getFlushCount();
+        }
+        return total;
+    }
 
-            log.info("파일 쓰기 완료. NodeId: {}, MessageId: {}, FilePath: {}", getId(), message.getId(),
-                    filePath);
+    /**
+     * 파일을 교체한 횟수를 반환합니다.
+     *
+     * @return 교체 횟수
+     */
+    public long getRotationCount() {
+        long total = 0;
+        for (FileHandleCache cache : caches) {
+            total += cache.getRotationCount();
+        }
+        return total;
+    }
 
-            // 상위 클래스의 onMessage 호출하여 다음 노드로 메시지 전달
-            super.onMessage(message);
-        } catch (IOException e) {
-            log.error("파일 쓰기 실패. NodeId: {}, MessageId: {}, FilePath: {}", getId(), message.getId(),
-                    filePath, e);
-            throw new RuntimeException("파일 쓰기 중 오류가 발생했습니다", e);
+    /**
+     * 현재 열려 있는 파일 수를 반환합니다.
+     *
+     * @return 열린 파일 수
+     */
+    public int getOpenFileCount() {
+        int total = 0;
+        for (FileHandleCache cache : caches) {
+            total += cache.size();
         }
+        return total;
+    }
+
+    /**
+     * 기록 스레드에서 기록에 실패한 라인 수를 반환합니다.
+     *
+     * @return 실패한 라인 수
+     */
+    public long getWriteFailureCount() {
+        return writeFailureCount.get();
     }
 }
@@ -1,17 +1,26 @@
 package com.samsa.node.out;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.samsa.annotation.NodeType;
 import com.samsa.core.Message;
 import com.samsa.core.node.OutNode;
-import com.serotonin.modbus4j.ModbusFactory;
-import com.serotonin.modbus4j.ModbusMaster;
-import com.serotonin.modbus4j.exception.ModbusInitException;
+import com.samsa.modbus.ModbusConnection;
+import com.samsa.modbus.ModbusConnectionRegistry;
+import com.samsa.modbus.ModbusDeviceStats;
+import com.samsa.modbus.ModbusPoller;
+import com.samsa.modbus.ModbusReadPlanner;
+import com.samsa.modbus.ModbusRegister;
 import com.serotonin.modbus4j.exception.ModbusTransportException;
-import com.serotonin.modbus4j.ip.IpParameters;
 import com.serotonin.modbus4j.msg.ReadHoldingRegistersRequest;
 import com.serotonin.modbus4j.msg.ReadHoldingRegistersResponse;
 
@@ -19,12 +28,37 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * ModbusNode 클래스는 Modbus 장치로부터 데이터를 읽어와 메시지를 생성하는 노드입니다.
+ *
+ * <p>
+ * 장치 연결은 {@link ModbusConnectionRegistry}에서 얻은 지속 연결을 사용하며, 실패 시 연결이 스스로 backoff 후 재연결합니다. 읽기는
+ * 노드 스레드가 아니라 {@link ModbusPoller}의 공유 스레드에서 {@code pollInterval}마다 {@code jitter} 이내의 임의 지연을 더해
+ * 실행됩니다. 읽은 값은 버퍼에 쌓이고 노드 스레드가 이를 하위 파이프로 전달합니다. 하위 노드가 느려 버퍼가 가득 차면 가장 오래된 값을 버립니다.
+ * 공유 스레드를 한 장치가 오래 점유하지 않도록, 한 번의 폴링이 {@code pollInterval}을 넘기면 남은 요청은 다음 폴링으로 미룹니다.
+ * </p>
+ *
+ * <p>
+ * {@code registers}로 레지스터 맵을 지정하면 오프셋을 순회하는 대신, 매 폴링마다 맵 전체를 {@link ModbusReadPlanner}가 묶은 최소한의
+ * 요청으로 읽고 {@code {이름: 값}} 형태의 페이로드를 내보냅니다. 레지스터 맵이 없으면 기존처럼 오프셋마다 {@code {offset, data}}를
+ * 내보냅니다.
+ * </p>
+ *
+ * <p>
+ * {@code changeOnly}를 켜면 바뀐 값만 내보냅니다. 레지스터 맵에서는 마지막으로 내보낸 값과의 차이가 항목의 {@code deadband}를 넘는 값만
+ * 페이로드에 담고, 오프셋 방식에서는 레지스터 블록이 바뀐 경우에만 내보냅니다. 바뀐 값이 없으면 메시지를 내보내지 않습니다. 하위 노드가 최신 상태를
+ * 잃지 않도록 {@code heartbeatInterval}마다 전체 값을 한 번씩 다시 내보냅니다.
+ * </p>
  */
 @NodeType("ModbusNode")
 @Slf4j
 public class ModbusNode extends OutNode {
 
-    private static final boolean DEFAULT_KEEPALIVE = false;
+    private static final boolean DEFAULT_KEEPALIVE = true;
+    private static final long DEFAULT_POLL_INTERVAL = 5000;
+    private static final int DEFAULT_TIMEOUT = 1000;
+    private static final int DEFAULT_RETRIES = 1;
+    private static final int DEFAULT_MAX_GAP = 0;
+    private static final long DEFAULT_HEARTBEAT_INTERVAL = 60000;
+    private static final int BUFFER_CAPACITY = 1024;
 
     private final String host;
     private final int port;
@@ -34,8 +68,43 @@ public class ModbusNode extends OutNode {
     private final int offsetInterval;
     private final int maxOffset;
     private final int numOfRegisters;
+    private final long pollInterval;
+    private final long jitter;
+    private final int timeout;
+    private final int retries;
+    private final List<ModbusReadPlanner.Block> plan;
+    private final boolean changeOnly;
+    private final long heartbeatInterval;
+
+    private final BlockingQueue<Message> buffer = new ArrayBlockingQueue<>(BUFFER_CAPACITY);
+    private final ModbusDeviceStats stats = new ModbusDeviceStats();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong suppressedCount = new AtomicLong();
+    private final AtomicLong overrunCount = new AtomicLong();
+    private final AtomicLong truncatedCount = new AtomicLong();
+
+    /**
+     * 레지스터 맵 항목별로 마지막으로 내보낸 값입니다. 계획의 블록 순서대로 나열되며, 아직 내보낸 적이 없으면 NaN입니다.
+     */
+    private final double[] lastValues;
+    /** 블록별 첫 항목의 {@link #lastValues} 위치 */
+    private final int[] blockIndexes;
+    private final Map<Integer, OffsetState> lastBlocks = new HashMap<>();
+    private long nextFullRefreshAt;
 
+    /** 폴링 스레드가 읽으므로, 폴링 중에 {@link #close()}되어도 읽은 연결을 지역 변수로 사용합니다. */
+    private volatile ModbusConnection connection;
+    private ModbusPoller.Task task;
     private int currentOffset;
+    private int nextBlock;
+
+    /**
+     * 오프셋 방식에서 오프셋별로 마지막으로 내보낸 블록입니다.
+     */
+    private static final class OffsetState {
+        private short[] data;
+        private long emittedAt;
+    }
 
     /**
      * ModbusNode 생성자입니다.
@@ -44,20 +113,40 @@ public class ModbusNode extends OutNode {
      * @param port Modbus 장치의 포트 번호
      * @param slaveId Modbus 슬레이브 ID
      * @param startOffset 읽기 시작할 레지스터 오프셋
+     * @param offsetInterval 시작 오프셋부터 마지막 오프셋까지 간격
+     * @param maxOffset 마지막 레지스터 오프셋
      * @param numOfRegisters 읽을 레지스터 수
+     * @param pollInterval 폴링 주기 (ms, 기본값 5000)
+     * @param jitter 주기마다 더할 최대 임의 지연 (ms, 기본값 폴링 주기의 10%)
+     * @param timeout 응답 타임아웃 (ms, 기본값 1000)
+     * @param retries 요청 재시도 횟수 (기본값 1)
+     * @param registers 레지스터 맵, 없으면 오프셋 순회 방식으로 읽음
+     * @param maxGap 한 요청에 함께 읽을 수 있는 최대 빈 레지스터 수 (기본값 0)
+     * @param changeOnly 바뀐 값만 내보낼지 여부 (기본값 false)
+     * @param heartbeatInterval changeOnly일 때 전체 값을 다시 내보내는 주기 (ms, 기본값 60000, 0이면 사용 안 함)
      */
     @JsonCreator
     public ModbusNode(@JsonProperty("host") String host, @JsonProperty("port") int port,
             @JsonProperty("slaveId") int slaveId, @JsonProperty("startOffset") int startOffset,
             @JsonProperty("offsetInterval") int offsetInterval,
             @JsonProperty("maxOffset") int maxOffset,
-            @JsonProperty("numOfRegisters") int numOfRegisters) {
+            @JsonProperty("numOfRegisters") int numOfRegisters,
+            @JsonProperty("pollInterval") Long pollInterval, @JsonProperty("jitter") Long jitter,
+            @JsonProperty("timeout") Integer timeout, @JsonProperty("retries") Integer retries,
+            @JsonProperty("registers") List<ModbusRegister> registers,
+            @JsonProperty("maxGap") Integer maxGap,
+            @JsonProperty("changeOnly") Boolean changeOnly,
+            @JsonProperty("heartbeatInterval") Long heartbeatInterval) {
         this(host, port, slaveId, startOffset, offsetInterval, maxOffset, numOfRegisters,
-                DEFAULT_KEEPALIVE);
+                DEFAULT_KEEPALIVE, pollInterval != null ? pollInterval : DEFAULT_POLL_INTERVAL,
+                jitter != null ? jitter : -1, timeout != null ? timeout : DEFAULT_TIMEOUT,
+                retries != null ? retries : DEFAULT_RETRIES, registers,
+                maxGap != null ? maxGap : DEFAULT_MAX_GAP, Boolean.TRUE.equals(changeOnly),
+                heartbeatInterval != null ? heartbeatInterval : DEFAULT_HEARTBEAT_INTERVAL);
     }
 
     /**
-     * ModbusNode 생성자입니다.
+     * 기본 폴링 설정으로 ModbusNode를 생성합니다.
      *
      * @param host Modbus 장치의 호스트 주소
      * @param port Modbus 장치의 포트 번호
@@ -70,6 +159,39 @@ public class ModbusNode extends OutNode {
      */
     public ModbusNode(String host, int port, int slaveId, int startOffset, int offsetInterval,
             int maxOffset, int numOfRegisters, boolean keepAlive) {
+        this(host, port, slaveId, startOffset, offsetInterval, maxOffset, numOfRegisters,
+                keepAlive, DEFAULT_POLL_INTERVAL, -1, DEFAULT_TIMEOUT, DEFAULT_RETRIES, null,
+                DEFAULT_MAX_GAP, false, DEFAULT_HEARTBEAT_INTERVAL);
+    }
+
+    /**
+     * ModbusNode 생성자입니다.
+     *
+     * @param host Modbus 장치의 호스트 주소
+     * @param port Modbus 장치의 포트 번호
+     * @param slaveId Modbus 슬레이브 ID
+     * @param startOffset 읽기 시작할 레지스터 오프셋
+     * @param offsetInterval 시작 오프셋부터 마지막 오프셋까지 간격
+     * @param maxOffset 마지막 레지스터 오프셋
+     * @param numOfRegisters 읽을 레지스터 수
+     * @param keepAlive Modbus 연결의 keep-alive 설정
+     * @param pollInterval 폴링 주기 (ms)
+     * @param jitter 주기마다 더할 최대 임의 지연 (ms), 음수이면 폴링 주기의 10%
+     * @param timeout 응답 타임아웃 (ms)
+     * @param retries 요청 재시도 횟수
+     * @param registers 레지스터 맵, null이면 오프셋 순회 방식으로 읽음
+     * @param maxGap 한 요청에 함께 읽을 수 있는 최대 빈 레지스터 수
+     * @param changeOnly 바뀐 값만 내보낼지 여부
+     * @param heartbeatInterval changeOnly일 때 전체 값을 다시 내보내는 주기 (ms), 0 이하이면 사용 안 함
+     * @throws IllegalArgumentException 폴링 주기가 0 이하이거나 레지스터 맵이 잘못된 경우
+     */
+    public ModbusNode(String host, int port, int slaveId, int startOffset, int offsetInterval,
+            int maxOffset, int numOfRegisters, boolean keepAlive, long pollInterval, long jitter,
+            int timeout, int retries, List<ModbusRegister> registers, int maxGap,
+            boolean changeOnly, long heartbeatInterval) {
+        if (pollInterval <= 0) {
+            throw new IllegalArgumentException("폴링 주기는 0보다 커야 합니다: " + pollInterval);
+        }
         this.host = host;
         this.port = port;
         this.keepAlive = keepAlive;
@@ -78,74 +200,256 @@ public class ModbusNode extends OutNode {
         this.offsetInterval = offsetInterval;
         this.maxOffset = maxOffset;
         this.numOfRegisters = numOfRegisters;
+        this.pollInterval = pollInterval;
+        this.jitter = jitter >= 0 ? jitter : pollInterval / 10;
+        this.timeout = timeout;
+        this.retries = retries;
         this.currentOffset = startOffset;
+        this.plan = registers != null ? ModbusReadPlanner.plan(registers, maxGap) : null;
+        this.changeOnly = changeOnly;
+        this.heartbeatInterval = heartbeatInterval;
+        this.lastValues = new double[registers != null ? registers.size() : 0];
+        Arrays.fill(lastValues, Double.NaN);
+        this.blockIndexes = new int[plan != null ? plan.size() : 0];
+        for (int i = 1; i < blockIndexes.length; i++) {
+            blockIndexes[i] = blockIndexes[i - 1] + plan.get(i - 1).registers().size();
+        }
+        if (plan != null) {
+            log.info("레지스터 {}개를 {}번의 요청으로 읽습니다. NodeId: {}", registers.size(), plan.size(),
+                    getId());
+        }
     }
 
     /**
-     * Modbus 장치에서 데이터를 읽어 메시지를 생성합니다.
+     * 폴링으로 읽어 둔 다음 메시지를 기다려 반환합니다.
      *
-     * @return 생성된 메시지, 오류 발생 시 null 반환
+     * @return 생성된 메시지, 대기 중 인터럽트되면 null 반환
      */
     @Override
     protected Message createMessage() {
-        // Modbus 연결 매개변수 설정
-        IpParameters params = new IpParameters();
-        params.setHost(host);
-        params.setPort(port);
-
-        // Modbus 마스터 생성
-        ModbusMaster master = new ModbusFactory().createTcpMaster(params, keepAlive);
         try {
-            master.init();
-            log.info("Modbus 마스터가 성공적으로 초기화되었습니다: {}:{}, keepAlive={}", host, port, keepAlive);
-        } catch (ModbusInitException e) {
-            log.error("Modbus 마스터 초기화 중 오류 발생: {}", e.getMessage(), e);
+            return buffer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             return null;
         }
+    }
 
-        // 데이터 읽기 및 메시지 생성
-        // 데이터 읽기 및 메시지 생성
+    /**
+     * 장치 연결을 얻고 폴링을 예약한 뒤, 읽은 메시지를 하위 파이프로 전달합니다. 스레드가 인터럽트되면 폴링을 취소하고 연결을 반환합니다.
+     */
+    @Override
+    public void run() {
+        connection = ModbusConnectionRegistry.acquire(host, port, keepAlive, timeout, retries);
+        task = ModbusPoller.schedule(this::poll, pollInterval, jitter);
+        log.info("Modbus 폴링 시작: {}, slaveId={}, 주기={}ms, jitter={}ms. NodeId: {}",
+                connection.getAddress(), slaveId, pollInterval, jitter, getId());
         try {
-            // 요청을 보내기 전에 지연 시간 추가
-            Thread.sleep(5000); // 10초 대기
+            while (!Thread.currentThread().isInterrupted()) {
+                Message message = createMessage();
+                if (message == null) {
+                    continue;
+                }
+                try {
+                    emit(message);
+                } catch (Exception e) {
+                    log.error("run 실행 중 오류 발생. NodeId: {}", getId(), e);
+                }
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * 장치를 한 번 읽어 버퍼에 넣습니다. 폴링 스레드에서 실행됩니다.
+     */
+    private void poll() {
+        if (plan != null) {
+            pollRegisters();
+        } else {
+            pollOffset();
+        }
+    }
 
-            ReadHoldingRegistersRequest request = new ReadHoldingRegistersRequest(slaveId,
-                    currentOffset * offsetInterval, numOfRegisters);
+    /**
+     * 레지스터 맵 전체를 읽어 이름별 값으로 내보냅니다. 일부 요청이 실패하면 읽은 값만 내보냅니다. changeOnly이면 전체 갱신 시점이 아닌 한
+     * deadband를 넘게 바뀐 값만 담습니다. 폴링이 주기를 넘기면 남은 블록은 다음 폴링에서 먼저 읽습니다.
+     */
+    private void pollRegisters() {
+        ModbusConnection current = connection;
+        if (current == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        boolean fullRefresh = !changeOnly || now >= nextFullRefreshAt;
+        Map<String, Object> payload = new LinkedHashMap<>();
+        int first = nextBlock;
+        nextBlock = 0;
+        for (int i = 0; i < plan.size(); i++) {
+            int b = (first + i) % plan.size();
+            if (i > 0 && System.currentTimeMillis() - now >= pollInterval) {
+                // 응답이 느린 장치가 공유 폴링 스레드를 독점하지 않도록 남은 블록은 다음 폴링에서 읽습니다.
+                nextBlock = b;
+                long overruns = overrunCount.incrementAndGet();
+                log.warn("폴링이 주기({}ms)를 넘어 남은 블록을 다음 폴링으로 미룹니다. 읽은 블록: {}/{}, NodeId: {}, 누적: {}",
+                        pollInterval, i, plan.size(), getId(), overruns);
+                break;
+            }
+            ModbusReadPlanner.Block block = plan.get(b);
+            short[] data = read(current, block.start(), block.count());
+            if (data == null) {
+                continue;
+            }
+            if (data.length < block.count()) {
+                log.warn("Modbus 응답 레지스터 수가 요청보다 적어 응답에 없는 항목을 건너뜁니다. 주소: {}, 요청: {}, 응답: {}, NodeId: {}",
+                        block.start(), block.count(), data.length, getId());
+            }
+            if (!changeOnly) {
+                truncatedCount.addAndGet(block.decode(data, payload));
+                continue;
+            }
+            int index = blockIndexes[b];
+            for (ModbusRegister register : block.registers()) {
+                int position = register.getAddress() - block.start();
+                if (!register.fits(data, position)) {
+                    truncatedCount.incrementAndGet();
+                    index++;
+                    continue;
+                }
+                double value = register.toDouble(data, position);
+                if (fullRefresh || changed(lastValues[index], value, register.getDeadband())) {
+                    payload.put(register.getName(), register.decode(data, position));
+                    lastValues[index] = value;
+                } else {
+                    suppressedCount.incrementAndGet();
+                }
+                index++;
+            }
+        }
+        if (changeOnly && fullRefresh && nextBlock == 0) {
+            nextFullRefreshAt = heartbeatInterval > 0 ? now + heartbeatInterval : Long.MAX_VALUE;
+        }
+        if (!payload.isEmpty()) {
+            enqueue(new Message(payload));
+        }
+    }
+
+    /**
+     * 마지막으로 내보낸 값과 비교하여 내보낼 만큼 바뀌었는지 확인합니다.
+     *
+     * @param last 마지막으로 내보낸 값, 내보낸 적이 없으면 NaN
+     * @param value 읽은 값
+     * @param deadband 무시할 변화량
+     * @return 내보내야 하면 true
+     */
+    private static boolean changed(double last, double value, double deadband) {
+        if (Double.isNaN(last) || Double.isNaN(value)) {
+            return true;
+        }
+        return Math.abs(value - last) > deadband;
+    }
+
+    /**
+     * 현재 오프셋의 레지스터를 읽어 내보냅니다. changeOnly이면 블록이 바뀌었거나 heartbeatInterval이 지난 경우에만 내보냅니다.
+     */
+    private void pollOffset() {
+        ModbusConnection current = connection;
+        if (current == null) {
+            return;
+        }
+        int offset = currentOffset;
+        updateOffset();
+        short[] data = read(current, offset * offsetInterval, numOfRegisters);
+        if (data == null) {
+            return;
+        }
+        if (changeOnly && !offsetChanged(offset, data)) {
+            suppressedCount.addAndGet(data.length);
+            return;
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("offset", offset);
+        payload.put("data", data);
+        enqueue(new Message(payload));
+    }
+
+    /**
+     * 오프셋의 블록이 마지막으로 내보낸 블록과 다르거나 heartbeatInterval이 지났는지 확인하고, 내보낼 경우 마지막 블록을 갱신합니다. 하위
+     * 노드가 배열을 수정할 수 있으므로 내보낸 배열을 그대로 보관하지 않고 복사합니다.
+     *
+     * @param offset 오프셋
+     * @param data 읽은 레지스터
+     * @return 내보내야 하면 true
+     */
+    private boolean offsetChanged(int offset, short[] data) {
+        long now = System.currentTimeMillis();
+        OffsetState state = lastBlocks.computeIfAbsent(offset, k -> new OffsetState());
+        boolean heartbeat = heartbeatInterval > 0 && now - state.emittedAt >= heartbeatInterval;
+        if (!heartbeat && Arrays.equals(state.data, data)) {
+            return false;
+        }
+        if (state.data == null || state.data.length != data.length) {
+            state.data = new short[data.length];
+        }
+        System.arraycopy(data, 0, state.data, 0, data.length);
+        state.emittedAt = now;
+        return true;
+    }
+
+    /**
+     * Holding 레지스터를 읽고 장치 통계에 결과를 기록합니다.
+     *
+     * @param connection 폴링을 시작할 때 읽은 장치 연결
+     * @param address 시작 주소
+     * @param count 읽을 레지스터 수
+     * @return 읽은 레지스터, 실패 시 null
+     */
+    private short[] read(ModbusConnection connection, int address, int count) {
+        long started = System.nanoTime();
+        try {
+            ReadHoldingRegistersRequest request =
+                    new ReadHoldingRegistersRequest(slaveId, address, count);
             ReadHoldingRegistersResponse response =
-                    (ReadHoldingRegistersResponse) master.send(request);
+                    (ReadHoldingRegistersResponse) connection.send(request);
 
             if (response == null || response.isException()) {
-                log.error("Modbus 응답에 오류가 있습니다. 예외 코드: {}",
-                        response != null ? response.getExceptionCode() : "null");
+                stats.recordFailure();
+                log.error("Modbus 응답에 오류가 있습니다. 예외 코드: {}, 주소: {}, NodeId: {}",
+                        response != null ? response.getExceptionCode() : "null", address, getId());
                 return null;
             }
-
-            log.info("Modbus에서 {}개의 레지스터를 성공적으로 읽어왔습니다.", numOfRegisters);
-
-            // 응답 데이터를 Message로 변환하여 반환
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("offset", currentOffset);
-            payload.put("data", response.getShortData());
-            return new Message(payload);
+            stats.recordSuccess(System.nanoTime() - started);
+            log.debug("Modbus에서 {}개의 레지스터를 읽어왔습니다. 주소: {}, NodeId: {}", count, address,
+                    getId());
+            return response.getShortData();
         } catch (ModbusTransportException e) {
-            log.error("Modbus 전송 오류 발생: {}", e.getMessage(), e);
+            stats.recordFailure();
+            log.error("Modbus 전송 오류 발생: {}, 연속 실패: {}, NodeId: {}", e.getMessage(),
+                    stats.getConsecutiveFailures(), getId());
             return null;
-        } catch (InterruptedException e) {
-            log.error("스레드가 인터럽트되었습니다: {}", e.getMessage(), e);
-            Thread.currentThread().interrupt(); // InterruptedException 처리
-            return null;
-        } finally {
-            updateOffset();
-            cleanUp(master);
         }
+    }
 
+    /**
+     * 메시지를 버퍼에 넣습니다. 버퍼가 가득 찼으면 가장 오래된 메시지를 버립니다.
+     *
+     * @param message 읽은 메시지
+     */
+    private void enqueue(Message message) {
+        while (!buffer.offer(message)) {
+            if (buffer.poll() != null) {
+                long dropped = droppedCount.incrementAndGet();
+                log.warn("버퍼가 가득 차 가장 오래된 메시지를 버렸습니다. NodeId: {}, 누적: {}", getId(), dropped);
+            }
+        }
     }
 
     /**
      * 오프셋을 업데이트합니다.
      */
     private void updateOffset() {
-        log.info("currentOffset : {}, offsetInterval : {}, maxOffset : {}", currentOffset,
+        log.debug("currentOffset : {}, offsetInterval : {}, maxOffset : {}", currentOffset,
                 offsetInterval, maxOffset);
         if (currentOffset * offsetInterval >= maxOffset) {
             currentOffset = startOffset; // 오프셋 리셋
@@ -155,16 +459,63 @@ public class ModbusNode extends OutNode {
     }
 
     /**
-     * Modbus 마스터 객체를 종료합니다.
-     *
-     * @param master ModbusMaster 객체
+     * 폴링을 취소하고 장치 연결을 반환합니다. 진행 중인 폴링은 기다리지 않으며, 연결이 닫혔으면 그 폴링의 남은 요청은 곧바로 실패합니다.
      */
-    private void cleanUp(ModbusMaster master) {
-        try {
-            master.destroy();
-            log.info("Modbus 마스터가 종료되었습니다.");
-        } catch (Exception e) {
-            log.error("Modbus 마스터 종료 중 오류 발생: {}", e.getMessage(), e);
+    public synchronized void close() {
+        if (task != null) {
+            task.cancel();
+            task = null;
         }
+        if (connection != null) {
+            ModbusConnectionRegistry.release(connection);
+            connection = null;
+        }
+        buffer.clear();
+        log.info("Modbus 폴링 종료. NodeId: {}", getId());
+    }
+
+    /**
+     * 장치의 읽기 지연 시간과 실패 통계를 반환합니다.
+     *
+     * @return 장치 통계
+     */
+    public ModbusDeviceStats getStats() {
+        return stats;
+    }
+
+    /**
+     * changeOnly로 내보내지 않은 값(오프셋 방식에서는 레지스터) 수를 반환합니다.
+     *
+     * @return 내보내지 않은 값 수
+     */
+    public long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+
+    /**
+     * 폴링이 주기를 넘겨 남은 블록을 다음 폴링으로 미룬 횟수를 반환합니다.
+     *
+     * @return 미룬 횟수
+     */
+    public long getOverrunCount() {
+        return overrunCount.get();
+    }
+
+    /**
+     * 응답이 요청보다 짧아 읽지 못하고 건너뛴 레지스터 맵 항목 수를 반환합니다.
+     *
+     * @return 건너뛴 항목 수
+     */
+    public long getTruncatedCount() {
+        return truncatedCount.get();
+    }
+
+    /**
+     * 버퍼 초과로 버려진 메시지 수를 반환합니다.
+     *
+     * @return 버려진 메시지 수
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
     }
 }
@@ -1,54 +1,164 @@
 package com.samsa.node.out;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
-import org.eclipse.paho.client.mqttv3.MqttCallback;
-import org.eclipse.paho.client.mqttv3.MqttClient;
-import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
 import org.eclipse.paho.client.mqttv3.MqttException;
-import org.eclipse.paho.client.mqttv3.MqttMessage;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.samsa.annotation.NodeType;
 import com.samsa.core.Message;
+import com.samsa.core.MqttPayload;
 import com.samsa.core.node.OutNode;
+import com.samsa.mqtt.MqttConnection;
+import com.samsa.mqtt.MqttConnectionRegistry;
+import com.samsa.mqtt.MqttDelivery;
+import com.samsa.mqtt.MqttSubscriber;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * MQTT 입력 노드 클래스. MQTT 브로커로부터 메시지를 구독하고 처리합니다.
+ *
+ * <p>
+ * 수신한 메시지는 토픽, QoS, retained 플래그와 원본 본문 바이트를 담은 {@link MqttPayload}로 방출됩니다. 본문은 복사되거나 디코딩되지 않으며, 하위
+ * 노드가 필요할 때만 디코딩합니다.
+ * </p>
+ *
+ * <p>
+ * Paho 콜백 스레드는 수신한 메시지를 제한된 크기의 버퍼에 대기 없이 넣기만 하고, 하위 파이프로의 전달은 노드 스레드가 담당합니다. 따라서 Flow가
+ * 느려져도 Paho 수신 스레드가 막혀 keepalive가 끊기지 않습니다. QoS 1/2 메시지는 수동 ACK 모드로 수신하여 하위 파이프에 전달된 뒤에 ACK를
+ * 보내므로, 처리되지 않은 메시지가 브로커의 in-flight 창을 채우면 브로커가 전송을 멈춥니다. 버퍼 크기가 브로커의 in-flight 창보다 크면 QoS 1/2
+ * 메시지는 버려지지 않습니다. 버퍼가 가득 찼을 때 버릴 메시지는 {@link OverflowPolicy}로 지정하며, 버린 수는 {@link #getDroppedCount()}로
+ * 확인합니다.
+ * </p>
+ *
+ * <p>
+ * 브로커 연결은 {@link MqttConnectionRegistry}를 통해 같은 브로커와 인증 정보를 사용하는 다른 MQTT 노드와 공유됩니다. 공유 연결의 콜백 스레드는
+ * MqttOutNode의 발행 완료 콜백도 처리하므로, 수신 버퍼에서 콜백 스레드를 대기시키면 같은 브로커로 발행하는 Flow가 교착될 수 있습니다. 그래서 버퍼가
+ * 가득 차도 콜백 스레드를 대기시키지 않습니다.
+ * </p>
+ *
+ * <p>
+ * 연결 하나의 수신은 Paho 콜백 스레드 하나로 처리되므로, {@code clients}를 2 이상으로 지정하면 여러 연결(레인)로 나누어 병렬 수신합니다.
+ * {@code shareGroup}이 지정되면 모든 연결이 {@code $share/그룹/토픽}으로 공유 구독하여 브로커가 메시지를 연결 간에 분산하고, 지정되지 않으면
+ * 토픽을 연결들에 나누어 구독합니다. 모든 연결의 메시지는 같은 수신 버퍼를 거쳐 하나의 출력 포트로 방출됩니다. 공유 구독은 같은 연결에서 토픽이
+ * 겹치는 다른 구독과 함께 사용할 수 없으므로, 같은 브로커의 다른 노드가 같은 토픽을 일반 구독하면 구독이 거부됩니다.
+ * </p>
  */
 @NodeType("MqttInNode")
 @Slf4j
 public class MqttInNode extends OutNode {
 
-    private MqttClient mqttClient;
-    private MqttConnectOptions connectOptions;
+    private static final int DEFAULT_QOS = 1;
+    private static final int DEFAULT_BUFFER_CAPACITY = 1024;
+    private static final String SHARED_PREFIX = "$share/";
+
+    /**
+     * 수신 버퍼가 가득 찼을 때의 처리 정책입니다.
+     */
+    public enum OverflowPolicy {
+        /** 새로 수신한 메시지를 버립니다. */
+        DROP_NEWEST,
+        /** 버퍼에서 가장 오래된 메시지를 버리고 새 메시지를 넣습니다. */
+        DROP_OLDEST
+    }
+
+    /**
+     * 하나의 수신 연결과 그 연결로 구독하는 토픽 필터입니다.
+     */
+    private record Lane(MqttConnection connection, List<String> filters) {
+    }
+
+    private final List<Lane> lanes = new ArrayList<>();
     private String broker;
     private String clientId;
+    private String username;
+    private String password;
     private String[] topics;
-    private int[] qos;
+    private int qos;
+    private final int clients;
+    private final String shareGroup;
+
+    private final MqttSubscriber subscriber = this::enqueue;
+    private final BlockingQueue<MqttDelivery> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong droppedCount = new AtomicLong();
 
     /**
-     * Jackson 역직렬화를 위한 생성자
+     * 기본 QoS(1), 기본 버퍼 크기와 {@link OverflowPolicy#DROP_NEWEST} 정책으로 MqttInNode를 생성합니다.
+     *
+     * @param broker MQTT 브로커의 URL
+     * @param clientId 연결에 사용할 클라이언트 ID
+     * @param topics 구독할 토픽 배열
+     */
+    public MqttInNode(String broker, String clientId, String[] topics) {
+        this(broker, clientId, topics, DEFAULT_QOS, DEFAULT_BUFFER_CAPACITY, OverflowPolicy.DROP_NEWEST,
+                null, null, 1, null);
+    }
+
+    /**
+     * Jackson 역직렬화를 위한 생성자. 생략된 설정은 기본값을 사용합니다.
+     *
+     * @param broker MQTT 브로커의 URL
+     * @param clientId 연결에 사용할 클라이언트 ID
+     * @param topics 구독할 토픽 배열
+     * @param qos 구독 QoS 레벨 (0~2), null이면 1
+     * @param bufferCapacity Paho 콜백과 노드 스레드 사이의 수신 버퍼 크기, null이면 1024
+     * @param overflowPolicy 수신 버퍼가 가득 찼을 때의 처리 정책, null이면 {@link OverflowPolicy#DROP_NEWEST}
+     * @param username 브로커 사용자 이름, 인증이 없으면 null
+     * @param password 브로커 비밀번호, 인증이 없으면 null
+     * @param clients 병렬 수신에 사용할 연결 수, null이면 1
+     * @param shareGroup 공유 구독 그룹 이름, null이면 토픽을 연결들에 나누어 구독
+     * @throws IllegalArgumentException 브로커, 클라이언트 ID 또는 토픽이 null이거나 설정 값이 잘못된 경우
      */
     @JsonCreator
     public MqttInNode(@JsonProperty("broker") String broker,
-            @JsonProperty("clientId") String clientId, @JsonProperty("topics") String[] topics) {
+            @JsonProperty("clientId") String clientId, @JsonProperty("topics") String[] topics,
+            @JsonProperty("qos") Integer qos, @JsonProperty("bufferCapacity") Integer bufferCapacity,
+            @JsonProperty("overflowPolicy") OverflowPolicy overflowPolicy,
+            @JsonProperty("username") String username, @JsonProperty("password") String password,
+            @JsonProperty("clients") Integer clients,
+            @JsonProperty("shareGroup") String shareGroup) {
         super();
+        int subscribeQos = qos != null ? qos : DEFAULT_QOS;
+        int capacity = bufferCapacity != null ? bufferCapacity : DEFAULT_BUFFER_CAPACITY;
         if (Objects.isNull(broker) || Objects.isNull(clientId)) {
             throw new IllegalArgumentException("브로커와 클라이언트 ID는 null일 수 없습니다.");
         }
+        if (Objects.isNull(topics) || topics.length == 0) {
+            throw new IllegalArgumentException("구독할 토픽이 필요합니다.");
+        }
+        if (subscribeQos < 0 || subscribeQos > 2) {
+            throw new IllegalArgumentException("QoS는 0에서 2 사이여야 합니다: " + subscribeQos);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("버퍼 크기는 0보다 커야 합니다: " + capacity);
+        }
+        int clientCount = clients != null ? clients : 1;
+        if (clientCount <= 0) {
+            throw new IllegalArgumentException("연결 수는 0보다 커야 합니다: " + clientCount);
+        }
+        if (shareGroup != null && (shareGroup.isBlank() || shareGroup.contains("/")
+                || shareGroup.contains("+") || shareGroup.contains("#"))) {
+            throw new IllegalArgumentException("공유 구독 그룹 이름이 잘못되었습니다: " + shareGroup);
+        }
         this.broker = broker;
         this.clientId = clientId;
+        this.username = username;
+        this.password = password;
         this.topics = topics;
-        this.qos = new int[topics.length];
-        // 기본 QoS 레벨을 설정 (0)
-        for (int i = 0; i < topics.length; i++) {
-            this.qos[i] = 0;
-        }
+        this.qos = subscribeQos;
+        this.clients = clientCount;
+        this.shareGroup = shareGroup;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy != null ? overflowPolicy : OverflowPolicy.DROP_NEWEST;
     }
 
     @Override
@@ -58,78 +168,161 @@ public class MqttInNode extends OutNode {
     }
 
     /**
-     * MQTT 연결이 끊어졌을 때 재연결을 시도하는 메서드입니다.
-     * 
-     * @param client MQTT 클라이언트 인스턴스
-     * @param options MQTT 연결 옵션
-     * @param cause 연결 끊김 원인
-     * @param topics 구독할 토픽 배열
-     * @param qos QoS 레벨 배열
+     * 공유 연결의 콜백 스레드에서 호출되어 수신 메시지를 버퍼에 넣습니다. 버퍼가 가득 찬 경우 대기하지 않고 {@link OverflowPolicy}에 따라
+     * 메시지를 버립니다.
+     *
+     * @param delivery 수신 메시지
      */
-    private void handleConnectionLost(MqttClient client, MqttConnectOptions options,
-            Throwable cause, String[] topics, int[] qos) {
-        log.trace("연결이 끊어졌습니다: {}", cause.getMessage());
-
-        while (!client.isConnected()) {
-            try {
-                log.info("재연결 시도 중...");
-                client.connect(options);
-                log.info("재연결 성공!");
-                client.subscribe(topics, qos);
-                log.info("토픽 재구독 완료");
-            } catch (MqttException e) {
-                log.error("재연결 실패: {}", e.getMessage());
-                try {
-                    Thread.sleep(5000); // 5초 후 재시도
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt(); // 인터럽트 처리
-                    break;
+    private void enqueue(MqttDelivery delivery) {
+        log.debug("토픽 '{}'에서 메시지 수신. 크기: {} bytes", delivery.getTopic(),
+                delivery.getPayload().getBody().length);
+
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+                if (!buffer.offer(delivery)) {
+                    drop(delivery);
                 }
-            }
+                break;
+            case DROP_OLDEST:
+                while (!buffer.offer(delivery)) {
+                    MqttDelivery oldest = buffer.poll();
+                    if (oldest != null) {
+                        drop(oldest);
+                    }
+                }
+                break;
         }
     }
 
-    @Override
-    public void run() {
-        try {
-            mqttClient = new MqttClient(broker, clientId);
-            connectOptions = new MqttConnectOptions();
-            connectOptions.setAutomaticReconnect(true); // 자동 재연결 활성화
-            connectOptions.setCleanSession(true); // 클린 세션
-            connectOptions.setConnectionTimeout(10); // 연결 타임아웃 설정 (초)
-
-            mqttClient.connect(connectOptions); // 연결 시도
+    /**
+     * 버퍼 초과로 메시지를 버립니다. 버린 메시지도 브로커의 in-flight 창을 비우기 위해 처리 완료로 표시합니다.
+     *
+     * @param delivery 버릴 메시지
+     */
+    private void drop(MqttDelivery delivery) {
+        long dropped = droppedCount.incrementAndGet();
+        log.warn("수신 버퍼가 가득 차 메시지를 버렸습니다. NodeId: {}, Topic: {}, 누적: {}", getId(),
+                delivery.getTopic(), dropped);
+        delivery.complete();
+    }
 
-            // 토픽 구독
+    /**
+     * 연결별로 구독할 토픽 필터를 나눕니다. 공유 구독 그룹이 있으면 모든 연결이 모든 토픽을 공유 구독하고, 없으면 토픽을 연결들에 번갈아 배정합니다.
+     *
+     * @return 연결(레인)별 토픽 필터 목록
+     */
+    private List<List<String>> planLanes() {
+        List<List<String>> plan = new ArrayList<>();
+        if (shareGroup != null) {
+            List<String> shared = new ArrayList<>();
             for (String topic : topics) {
-                mqttClient.subscribe(topic);
-                log.info("토픽 '{}'을 구독했습니다.", topic);
+                shared.add(topic.startsWith(SHARED_PREFIX) ? topic
+                        : SHARED_PREFIX + shareGroup + "/" + topic);
             }
+            for (int i = 0; i < clients; i++) {
+                plan.add(shared);
+            }
+            return plan;
+        }
 
-            mqttClient.setCallback(new MqttCallback() {
-                @Override
-                public void connectionLost(Throwable cause) {
-                    log.error("MQTT 연결이 끊어졌습니다.", cause);
-                    handleConnectionLost(mqttClient, connectOptions, cause, topics, qos);
-                }
+        int laneCount = Math.min(clients, topics.length);
+        if (laneCount < clients) {
+            log.warn("토픽 수({})보다 연결 수({})가 많아 {}개의 연결만 사용합니다. NodeId: {}", topics.length, clients,
+                    laneCount, getId());
+        }
+        for (int i = 0; i < laneCount; i++) {
+            plan.add(new ArrayList<>());
+        }
+        for (int i = 0; i < topics.length; i++) {
+            plan.get(i % laneCount).add(topics[i]);
+        }
+        return plan;
+    }
 
-                @Override
-                public void messageArrived(String topic, MqttMessage mqttMessage) throws Exception {
-                    log.info("토픽 '{}'에서 메시지 수신: {}", topic, new String(mqttMessage.getPayload()));
-                    String payload = String.format("{topic: %s, %s}", topic,
-                            new String(mqttMessage.getPayload()));
-                    Message message = new Message(payload);
-                    emit(message); // 수신된 메시지를 처리
+    /**
+     * 연결을 얻어 토픽을 구독한 뒤, 수신 버퍼의 메시지를 하위 파이프로 전달합니다. 하위 파이프가 가득 차면 이 스레드만 대기하며 Paho 콜백 스레드는
+     * 영향을 받지 않습니다. 스레드가 인터럽트되면 구독을 해제하고 연결을 반환합니다.
+     */
+    @Override
+    public void run() {
+        try {
+            List<List<String>> plan = planLanes();
+            for (int lane = 0; lane < plan.size(); lane++) {
+                MqttConnection connection = MqttConnectionRegistry.acquire(broker, clientId,
+                        username, password, lane);
+                List<String> filters = new ArrayList<>();
+                lanes.add(new Lane(connection, filters));
+                for (String filter : plan.get(lane)) {
+                    connection.subscribe(filter, qos, subscriber);
+                    filters.add(filter);
                 }
+            }
+            log.info("토픽 {}을 {}개의 연결로 구독했습니다.", Arrays.toString(topics), lanes.size());
+        } catch (MqttException | RuntimeException e) {
+            log.error("MQTT 처리 중 오류 발생", e);
+            close();
+            return;
+        }
 
-                @Override
-                public void deliveryComplete(IMqttDeliveryToken token) {
-                    // 발행 완료 시 호출
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    MqttDelivery delivery = buffer.take();
+                    try {
+                        emit(new Message(delivery.getPayload()));
+                    } finally {
+                        // 하위 파이프에 전달된 뒤 ACK가 전송되도록 처리 완료를 알립니다.
+                        delivery.complete();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    log.error("run 실행 중 오류 발생. NodeId: {}", getId(), e);
                 }
-            });
+            }
+        } finally {
+            close();
+        }
+    }
 
-        } catch (MqttException e) {
-            log.error("MQTT 처리 중 오류 발생", e);
+    /**
+     * 구독을 해제하고 연결을 반환합니다. 버퍼에 남은 메시지는 처리 완료로 표시합니다.
+     */
+    public void close() {
+        if (lanes.isEmpty()) {
+            return;
+        }
+        for (Lane lane : lanes) {
+            for (String filter : lane.filters()) {
+                lane.connection().unsubscribe(filter, subscriber);
+            }
+        }
+        MqttDelivery remaining;
+        while ((remaining = buffer.poll()) != null) {
+            remaining.complete();
         }
+        for (Lane lane : lanes) {
+            MqttConnectionRegistry.release(lane.connection());
+        }
+        lanes.clear();
+        log.info("MQTT 구독 종료. NodeId: {}", getId());
+    }
+
+    /**
+     * 수신 버퍼 초과로 버려진 메시지 수를 반환합니다.
+     *
+     * @return 버려진 메시지 수
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * 현재 수신 버퍼에 대기 중인 메시지 수를 반환합니다.
+     *
+     * @return 대기 중인 메시지 수
+     */
+    public int getBufferedCount() {
+        return buffer.size();
     }
 }
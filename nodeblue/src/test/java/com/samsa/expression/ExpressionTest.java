@@ -0,0 +1,182 @@
+package com.samsa.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.samsa.core.Message;
+
+class ExpressionTest {
+
+    private static Object eval(String source) {
+        return Expression.compile(source).evaluate(null);
+    }
+
+    private static Object eval(String source, Map<String, Object> payload) {
+        return Expression.compile(source).evaluate(new Message(payload));
+    }
+
+    private static Map<String, Object> payload(Object... keyValues) {
+        Map<String, Object> payload = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            payload.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return payload;
+    }
+
+    @Test
+    @DisplayName("곱셈/나눗셈이 덧셈/뺄셈보다 먼저 계산되고, 같은 우선순위는 왼쪽부터 계산된다")
+    void arithmeticPrecedence() {
+        assertEquals(7L, eval("1 + 2 * 3"));
+        assertEquals(9L, eval("(1 + 2) * 3"));
+        assertEquals(3L, eval("10 - 4 - 3"));
+        assertEquals(2L, eval("8 % 3 * 1"));
+        assertEquals(-6L, eval("-2 * 3"));
+        assertEquals(4.0, eval("2 * 4 / 2"));
+    }
+
+    @Test
+    @DisplayName("비교는 산술보다 나중에, &&는 ||보다 먼저, 삼항 연산자는 가장 나중에 계산된다")
+    void logicalPrecedence() {
+        assertEquals(true, eval("1 + 2 > 2 && 1 == 1"));
+        assertEquals(true, eval("true || false && false"));
+        assertEquals(false, eval("(true || false) && false"));
+        assertEquals(true, eval("!false == true"));
+        assertEquals("a", eval("1 < 2 ? 'a' : 'b'"));
+        assertEquals(2L, eval("false ? 1 : true ? 2 : 3"));
+    }
+
+    @Test
+    @DisplayName("지수 표기 숫자 리터럴은 부호가 있어도 double로 읽힌다")
+    void exponentLiterals() {
+        assertEquals(1000.0, eval("1e3"));
+        assertEquals(0.015, eval("1.5E-2"));
+        assertEquals(200.0, eval("2e+2"));
+        assertEquals(1.0, (Double) eval("1e-5 * 100000"), 1e-9);
+        assertEquals(9.0, eval("1e1 - 1"));
+    }
+
+    @Test
+    @DisplayName("잘못된 숫자 리터럴은 위치가 포함된 컴파일 오류가 된다")
+    void malformedNumberLiterals() {
+        ExpressionException e = assertThrows(ExpressionException.class, () -> eval("1e"));
+        assertTrue(e.getMessage().contains("위치 0"), e.getMessage());
+        assertThrows(ExpressionException.class, () -> eval("1.2.3"));
+        assertThrows(ExpressionException.class, () -> eval("2 + 3e+"));
+    }
+
+    @Test
+    @DisplayName("문자열 리터럴의 이스케이프와 문자열 연결")
+    void stringLiterals() {
+        assertEquals("it's", eval("'it\\'s'"));
+        assertEquals("a\"b", eval("\"a\\\"b\""));
+        assertEquals("a1", eval("'a' + 1"));
+        assertThrows(ExpressionException.class, () -> eval("'open"));
+    }
+
+    @Test
+    @DisplayName("나눗셈은 항상 double이고, 나머지는 정수끼리면 long이다")
+    void divisionAndModulo() {
+        assertEquals(3.5, eval("7 / 2"));
+        assertEquals(1L, eval("7 % 3"));
+        assertEquals(1.5, eval("7.5 % 2"));
+    }
+
+    @Test
+    @DisplayName("상수 0으로 나누면 컴파일 시점에 오류가 발생한다")
+    void constantDivisionByZero() {
+        assertThrows(ExpressionException.class, () -> Expression.compile("1 / 0"));
+        assertThrows(ExpressionException.class, () -> Expression.compile("1 % 0"));
+        assertThrows(ExpressionException.class, () -> Expression.compile("1.5 % 0.0"));
+    }
+
+    @Test
+    @DisplayName("실행 시점에 0으로 나누면 평가 오류가 발생한다")
+    void runtimeDivisionByZero() {
+        Map<String, Object> payload = payload("a", 10, "b", 0, "c", 0.0);
+        assertThrows(ExpressionException.class, () -> eval("payload.a / payload.b", payload));
+        assertThrows(ExpressionException.class, () -> eval("payload.a % payload.b", payload));
+        assertThrows(ExpressionException.class, () -> eval("payload.a % payload.c", payload));
+        assertEquals(5.0, eval("payload.a / 2", payload));
+    }
+
+    @Test
+    @DisplayName("없는 필드는 null이며, null과의 크기 비교는 평가 오류가 된다")
+    void missingFieldComparison() {
+        Map<String, Object> payload = payload("humidity", 40);
+        assertNull(eval("payload.temp", payload));
+        assertEquals(true, eval("payload.temp == null", payload));
+        assertEquals(true, eval("payload.temp != 30", payload));
+        assertFalse(Expression.compile("payload.temp").test(new Message(payload)));
+        assertThrows(ExpressionException.class, () -> eval("payload.temp > 30", payload));
+        assertThrows(ExpressionException.class, () -> eval("payload.temp.startsWith('a')", payload));
+    }
+
+    @Test
+    @DisplayName("숫자가 아닌 문자열과 숫자를 비교하면 평가 오류가 발생한다")
+    void nonNumericComparison() {
+        Map<String, Object> payload = payload("temp", "hot", "level", "42");
+        assertThrows(ExpressionException.class, () -> eval("payload.temp > 30", payload));
+        assertEquals(true, eval("payload.level > 30", payload));
+        assertEquals(true, eval("payload.level == '42'", payload));
+    }
+
+    @Test
+    @DisplayName("숫자 비교는 타입과 관계없이 값으로 하며, NaN은 자기 자신과도 같지 않다")
+    void numericEquality() {
+        Map<String, Object> payload = payload("i", 3, "d", 3.0, "nan", Double.NaN);
+        assertEquals(true, eval("payload.i == payload.d", payload));
+        assertEquals(true, eval("payload.i == 3", payload));
+        assertEquals(false, eval("payload.nan == payload.nan", payload));
+        assertEquals(true, eval("payload.nan != payload.nan", payload));
+    }
+
+    @Test
+    @DisplayName("상수만으로 된 식은 컴파일 시점에 값으로 접힌다")
+    void constantFolding() {
+        // 메시지 없이 평가할 수 있으면 상수로 접힌 것입니다.
+        assertEquals(14L, Expression.compile("2 * (3 + 4)").evaluate(null));
+        assertEquals("AB", Expression.compile("'ab'.toUpperCase()").evaluate(null));
+        assertEquals(3L, Expression.compile("max(1, 3)").evaluate(null));
+        assertEquals("b", Expression.compile("false ? payload.x : 'b'").evaluate(null));
+        assertEquals(false, Expression.compile("!(1 < 2)").evaluate(null));
+
+        Map<String, Object> payload = payload("x", 1);
+        assertEquals(7L, eval("payload.x + 2 * 3", payload));
+    }
+
+    @Test
+    @DisplayName("속성 경로, 인덱스, 문자열 메서드")
+    void propertyAccess() {
+        Map<String, Object> payload = payload("meta", Map.of("device", "pump-1"), "values",
+                List.of(10, 20), "topic", "sensors/a");
+        assertEquals("pump-1", eval("payload.meta.device", payload));
+        assertEquals("pump-1", eval("payload['meta']['device']", payload));
+        assertEquals(20, eval("payload.values[1]", payload));
+        assertNull(eval("payload.values[5]", payload));
+        assertEquals(2L, eval("payload.values.length", payload));
+        assertEquals(true, eval("payload.topic.startsWith('sensors/')", payload));
+        assertEquals("a", eval("payload.topic.substring(8)", payload));
+    }
+
+    @Test
+    @DisplayName("문법 오류는 컴파일 시점에 ExpressionException이 된다")
+    void syntaxErrors() {
+        assertThrows(ExpressionException.class, () -> Expression.compile(" "));
+        assertThrows(ExpressionException.class, () -> Expression.compile("1 +"));
+        assertThrows(ExpressionException.class, () -> Expression.compile("(1 + 2"));
+        assertThrows(ExpressionException.class, () -> Expression.compile("1 2"));
+        assertThrows(ExpressionException.class, () -> Expression.compile("unknown"));
+        assertThrows(ExpressionException.class, () -> Expression.compile("min(1)"));
+        assertThrows(ExpressionException.class, () -> Expression.compile("1 # 2"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.samsa.modbus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.samsa.modbus.ModbusReadPlanner.Block;
+
+class ModbusReadPlannerTest {
+
+    private static ModbusRegister register(String name, int address, ModbusRegisterType type) {
+        return new ModbusRegister(name, address, type, null, null);
+    }
+
+    private static ModbusRegister int16(String name, int address) {
+        return register(name, address, ModbusRegisterType.INT16);
+    }
+
+    private static List<String> names(Block block) {
+        return block.registers().stream().map(ModbusRegister::getName).toList();
+    }
+
+    @Test
+    @DisplayName("연속된 항목은 주소 순으로 정렬되어 하나의 요청으로 묶인다")
+    void mergesContiguousEntries() {
+        List<Block> blocks = ModbusReadPlanner.plan(
+                List.of(int16("c", 2), int16("a", 0), register("b", 1, ModbusRegisterType.INT32)),
+                0);
+
+        assertEquals(1, blocks.size());
+        assertEquals(0, blocks.get(0).start());
+        assertEquals(3, blocks.get(0).count());
+        assertEquals(List.of("a", "b", "c"), names(blocks.get(0)));
+    }
+
+    @Test
+    @DisplayName("빈 레지스터 수가 maxGap 이하일 때만 같은 요청에 넣는다")
+    void respectsMaxGap() {
+        // a는 0에서 끝나고(끝 주소 1), b는 5에서 시작하므로 빈 레지스터는 4개입니다.
+        List<ModbusRegister> registers = List.of(int16("a", 0), int16("b", 5));
+
+        List<Block> split = ModbusReadPlanner.plan(registers, 3);
+        assertEquals(2, split.size());
+        assertEquals(0, split.get(0).start());
+        assertEquals(1, split.get(0).count());
+        assertEquals(5, split.get(1).start());
+        assertEquals(1, split.get(1).count());
+
+        List<Block> merged = ModbusReadPlanner.plan(registers, 4);
+        assertEquals(1, merged.size());
+        assertEquals(0, merged.get(0).start());
+        assertEquals(6, merged.get(0).count());
+    }
+
+    @Test
+    @DisplayName("한 요청은 125개 레지스터를 넘지 않는다")
+    void splitsAtRequestLimit() {
+        List<ModbusRegister> registers = new ArrayList<>();
+        for (int i = 0; i < 126; i++) {
+            registers.add(int16("r" + i, i));
+        }
+
+        List<Block> blocks = ModbusReadPlanner.plan(registers, 0);
+        assertEquals(2, blocks.size());
+        assertEquals(ModbusReadPlanner.MAX_REGISTERS_PER_REQUEST, blocks.get(0).count());
+        assertEquals(125, blocks.get(1).start());
+        assertEquals(1, blocks.get(1).count());
+    }
+
+    @Test
+    @DisplayName("여러 워드 항목이 125개 경계에 걸치면 다음 요청으로 넘어간다")
+    void multiWordEntryDoesNotCrossRequestLimit() {
+        List<Block> blocks = ModbusReadPlanner.plan(
+                List.of(int16("first", 0), register("last", 124, ModbusRegisterType.FLOAT32)),
+                200);
+
+        assertEquals(2, blocks.size());
+        assertEquals(1, blocks.get(0).count());
+        assertEquals(124, blocks.get(1).start());
+        assertEquals(2, blocks.get(1).count());
+    }
+
+    @Test
+    @DisplayName("겹치는 항목은 같은 요청에 들어가고 각자 값을 읽는다")
+    void overlappingEntries() {
+        ModbusRegister wide = register("wide", 10, ModbusRegisterType.INT32);
+        ModbusRegister low = register("low", 11, ModbusRegisterType.UINT16);
+        ModbusRegister inside = int16("inside", 10);
+
+        List<Block> blocks = ModbusReadPlanner.plan(List.of(wide, low, inside), 0);
+        assertEquals(1, blocks.size());
+        Block block = blocks.get(0);
+        assertEquals(10, block.start());
+        assertEquals(2, block.count());
+
+        Map<String, Object> values = new HashMap<>();
+        assertEquals(0, block.decode(new short[] {0x0001, (short) 0xFFFF}, values));
+        assertEquals(0x0001FFFFL, values.get("wide"));
+        assertEquals(0xFFFFL, values.get("low"));
+        assertEquals(1L, values.get("inside"));
+    }
+
+    @Test
+    @DisplayName("응답이 요청보다 짧으면 들어 있지 않은 항목을 건너뛴다")
+    void decodeSkipsEntriesBeyondResponse() {
+        Block block = ModbusReadPlanner
+                .plan(List.of(int16("a", 0), register("b", 1, ModbusRegisterType.INT32)), 0).get(0);
+
+        Map<String, Object> values = new HashMap<>();
+        assertEquals(1, block.decode(new short[] {7, 0}, values));
+        assertEquals(Map.of("a", 7L), values);
+    }
+
+    @Test
+    @DisplayName("잘못된 레지스터 맵과 maxGap은 거부된다")
+    void rejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> ModbusReadPlanner.plan(List.of(), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ModbusReadPlanner.plan(List.of(int16("a", 0)), -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> ModbusReadPlanner.plan(List.of(int16("a", 0), int16("a", 1)), 0));
+    }
+}
@@ -0,0 +1,88 @@
+package com.samsa.mqtt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TopicFiltersTest {
+
+    @Test
+    @DisplayName("와일드카드가 레벨 전체를 차지하지 않거나 '#'이 마지막이 아니면 거부된다")
+    void validate() {
+        assertEquals(3, TopicFilters.validate("a/+/#").length);
+        assertEquals(3, TopicFilters.validate("a//b").length);
+        assertThrows(IllegalArgumentException.class, () -> TopicFilters.validate(""));
+        assertThrows(IllegalArgumentException.class, () -> TopicFilters.validate(null));
+        assertThrows(IllegalArgumentException.class, () -> TopicFilters.validate("a/#/b"));
+        assertThrows(IllegalArgumentException.class, () -> TopicFilters.validate("a/b+"));
+        assertThrows(IllegalArgumentException.class, () -> TopicFilters.validate("a/#b"));
+    }
+
+    @Test
+    @DisplayName("'+'와 '#'을 고려하여 두 필터가 겹치는지 판단한다")
+    void intersects() {
+        assertTrue(TopicFilters.intersects("a/b", "a/b"));
+        assertTrue(TopicFilters.intersects("a/+", "a/b"));
+        assertTrue(TopicFilters.intersects("a/#", "a/b/c"));
+        assertTrue(TopicFilters.intersects("a/#", "a"));
+        assertTrue(TopicFilters.intersects("+/b", "a/+"));
+        assertTrue(TopicFilters.intersects("#", "a/b"));
+
+        assertFalse(TopicFilters.intersects("a/b", "a/c"));
+        assertFalse(TopicFilters.intersects("a/+", "a/b/c"));
+        assertFalse(TopicFilters.intersects("a", "a/b"));
+        assertFalse(TopicFilters.intersects("+/+", "a"));
+    }
+
+    @Test
+    @DisplayName("'$' 토픽은 첫 레벨의 와일드카드와 겹치지 않는다")
+    void systemTopics() {
+        assertFalse(TopicFilters.intersects("#", "$SYS/broker"));
+        assertFalse(TopicFilters.intersects("+/broker", "$SYS/broker"));
+        assertTrue(TopicFilters.intersects("$SYS/#", "$SYS/broker"));
+        assertTrue(TopicFilters.intersects("$SYS/+", "$SYS/broker"));
+    }
+
+    @Test
+    @DisplayName("두 필터를 모두 포함하는 가장 좁은 필터로 합친다")
+    void union() {
+        assertEquals("a/b", TopicFilters.union("a/b", "a/b"));
+        assertEquals("a/+", TopicFilters.union("a/b", "a/c"));
+        assertEquals("a/+", TopicFilters.union("a/+", "a/b"));
+        assertEquals("+/+", TopicFilters.union("a/+", "+/b"));
+        assertEquals("a/#", TopicFilters.union("a/#", "a/b/c"));
+        assertEquals("a/#", TopicFilters.union("a", "a/#"));
+        assertEquals("$SYS/+", TopicFilters.union("$SYS/a", "$SYS/b"));
+    }
+
+    @Test
+    @DisplayName("합친 필터는 원래 두 필터와 일치하던 토픽과 모두 일치한다")
+    void unionCoversBothFilters() {
+        List<String[]> pairs = List.of(new String[] {"a/b/c", "a/+/d"},
+                new String[] {"a/#", "a/b"}, new String[] {"+/x", "y/+"},
+                new String[] {"a/b", "a/b/#"});
+        List<String> topics = List.of("a", "a/b", "a/b/c", "a/b/d", "a/x/d", "y/x", "q/x",
+                "y/q", "a/b/c/d");
+
+        for (String[] pair : pairs) {
+            String union = TopicFilters.union(pair[0], pair[1]);
+            TopicTrie<String> original = new TopicTrie<>();
+            original.add(pair[0], "s");
+            original.add(pair[1], "s");
+            TopicTrie<String> merged = new TopicTrie<>();
+            merged.add(union, "s");
+            for (String topic : topics) {
+                if (!original.match(topic).isEmpty()) {
+                    assertFalse(merged.match(topic).isEmpty(),
+                            union + " 필터가 " + topic + " 토픽과 일치해야 합니다");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.samsa.mqtt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TopicTrieTest {
+
+    @Test
+    @DisplayName("정확히 일치하는 필터만 찾는다")
+    void exactMatch() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("sensors/a/temperature", "s1");
+
+        assertEquals(Set.of("s1"), trie.match("sensors/a/temperature"));
+        assertEquals(Set.of(), trie.match("sensors/a"));
+        assertEquals(Set.of(), trie.match("sensors/a/temperature/x"));
+    }
+
+    @Test
+    @DisplayName("'+'는 정확히 한 레벨과 일치한다")
+    void singleLevelWildcard() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("sensors/+/temperature", "s1");
+
+        assertEquals(Set.of("s1"), trie.match("sensors/a/temperature"));
+        assertEquals(Set.of("s1"), trie.match("sensors//temperature"));
+        assertEquals(Set.of(), trie.match("sensors/a/b/temperature"));
+        assertEquals(Set.of(), trie.match("sensors/temperature"));
+    }
+
+    @Test
+    @DisplayName("'#'은 부모 레벨과 그 아래 모든 레벨과 일치한다")
+    void multiLevelWildcard() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("sensors/#", "s1");
+        trie.add("#", "all");
+
+        assertEquals(Set.of("s1", "all"), trie.match("sensors"));
+        assertEquals(Set.of("s1", "all"), trie.match("sensors/a/b"));
+        assertEquals(Set.of("all"), trie.match("other"));
+    }
+
+    @Test
+    @DisplayName("'$' 토픽은 첫 레벨의 와일드카드와 일치하지 않는다")
+    void systemTopics() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("#", "all");
+        trie.add("+/broker", "plus");
+        trie.add("$SYS/#", "sys");
+        trie.add("$SYS/+", "sysPlus");
+
+        assertEquals(Set.of("sys", "sysPlus"), trie.match("$SYS/broker"));
+        assertEquals(Set.of("all", "plus"), trie.match("a/broker"));
+    }
+
+    @Test
+    @DisplayName("여러 필터에 일치하는 구독자는 한 번만 포함된다")
+    void deduplicatesSubscribers() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("a/b", "s1");
+        trie.add("a/+", "s1");
+        trie.add("a/#", "s2");
+
+        assertEquals(Set.of("s1", "s2"), trie.match("a/b"));
+    }
+
+    @Test
+    @DisplayName("구독 추가와 제거")
+    void addAndRemove() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        assertTrue(trie.add("a/+/c", "s1"));
+        assertFalse(trie.add("a/+/c", "s1"));
+        assertTrue(trie.add("a/b/c", "s2"));
+
+        assertTrue(trie.remove("a/+/c", "s1"));
+        assertFalse(trie.remove("a/+/c", "s1"));
+        assertFalse(trie.remove("x/y", "s1"));
+        assertEquals(Set.of("s2"), trie.match("a/b/c"));
+
+        assertTrue(trie.remove("a/b/c", "s2"));
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    @DisplayName("잘못된 필터는 등록할 수 없다")
+    void rejectsInvalidFilter() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        assertThrows(IllegalArgumentException.class, () -> trie.add("a/#/b", "s1"));
+        assertThrows(IllegalArgumentException.class, () -> trie.add("a+", "s1"));
+        assertTrue(trie.isEmpty());
+    }
+}